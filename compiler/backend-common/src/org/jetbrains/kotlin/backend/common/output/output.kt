@@ -44,4 +44,15 @@ public class SimpleOutputFile(
     override fun asText(): String = content
 
     override fun toString() = "$relativePath (compiled from $sourceFiles)"
-}
\ No newline at end of file
+}
+
+public class SimpleBinaryOutputFile(
+        override val sourceFiles: List<File>,
+        override val relativePath: String,
+        private val content: ByteArray
+) : OutputFile {
+    override fun asByteArray(): ByteArray = content
+    override fun asText(): String = String(content, Charsets.UTF_8)
+
+    override fun toString() = "$relativePath (compiled from $sourceFiles)"
+}
@@ -148,7 +148,7 @@ public class ClosureCodegen extends MemberCodegen<KtElement> {
         }
 
         v.defineClass(element,
-                      V1_6,
+                      state.getClassFileVersion(),
                       ACC_FINAL | ACC_SUPER | visibilityFlag,
                       asmType.getInternalName(),
                       sw.makeJavaGenericSignature(),
@@ -169,13 +169,7 @@ public class ClosureCodegen extends MemberCodegen<KtElement> {
 
     @Override
     protected void generateBody() {
-        FunctionDescriptor erasedInterfaceFunction;
-        if (samType == null) {
-            erasedInterfaceFunction = getErasedInvokeFunction(funDescriptor);
-        }
-        else {
-            erasedInterfaceFunction = samType.getAbstractMethod().getOriginal();
-        }
+        FunctionDescriptor erasedInterfaceFunction = getErasedInterfaceFunction();
 
         generateBridge(
                 typeMapper.mapSignature(erasedInterfaceFunction).getAsmMethod(),
@@ -268,6 +262,42 @@ public class ClosureCodegen extends MemberCodegen<KtElement> {
         );
     }
 
+    /**
+     * Replaces the generated class with a static method in the outer class and an invokedynamic instruction creating the function object,
+     * see {@link LambdaMetafactoryCall#forClosure}. Returns null if the class can't be replaced and {@link #putInstanceOnStack} should be used
+     */
+    @Nullable
+    public StackValue putInstanceOnStackViaLambdaMetafactory(@NotNull final ExpressionCodegen codegen) {
+        if (state.getClassBuilderMode() != ClassBuilderMode.FULL || functionReferenceTarget != null) return null;
+
+        final LambdaMetafactoryCall call = LambdaMetafactoryCall.forClosure(
+                state, asmType, calculateConstructorParameters(typeMapper, closure, asmType),
+                typeMapper.mapSignature(getErasedInterfaceFunction()).getAsmMethod(), getParentCodegen(),
+                JvmDeclarationOriginKt.OtherOrigin(element, funDescriptor)
+        );
+        if (call == null) return null;
+
+        state.getFactory().removeClasses(Collections.singleton(asmType.getInternalName()));
+        getParentCodegen().innerClasses.remove(classDescriptor);
+
+        return StackValue.operation(
+                call.getInterfaceType(),
+                new Function1<InstructionAdapter, Unit>() {
+                    @Override
+                    public Unit invoke(InstructionAdapter v) {
+                        codegen.pushClosureOnStack(classDescriptor, true, codegen.defaultCallGenerator);
+                        call.invoke(v);
+                        return Unit.INSTANCE$;
+                    }
+                }
+        );
+    }
+
+    @NotNull
+    private FunctionDescriptor getErasedInterfaceFunction() {
+        return samType == null ? getErasedInvokeFunction(funDescriptor) : samType.getAbstractMethod().getOriginal();
+    }
+
     private void generateBridge(@NotNull Method bridge, @NotNull Method delegate) {
         if (bridge.equals(delegate)) return;
 
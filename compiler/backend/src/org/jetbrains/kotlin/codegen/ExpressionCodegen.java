@@ -541,6 +541,19 @@ public class ExpressionCodegen extends KtVisitor<StackValue, StackValue> impleme
             }
         }
 
+        // Is it "0 until n", "a.indices.reversed()", "n downTo 0 step 2" or so
+        RangeCodegenUtil.ProgressionLiteral progressionLiteral = RangeCodegenUtil.getProgressionLiteral(forExpression, bindingContext);
+        if (progressionLiteral != null) {
+            generateForLoop(new ForInProgressionLiteralLoopGenerator(forExpression, progressionLiteral));
+            return StackValue.none();
+        }
+
+        KtExpression arrayWithIndex = RangeCodegenUtil.getArrayWithIndexReceiver(forExpression, bindingContext);
+        if (arrayWithIndex != null) {
+            generateForLoop(new ForInArrayWithIndexLoopGenerator(forExpression, arrayWithIndex));
+            return StackValue.none();
+        }
+
         KtExpression loopRange = forExpression.getLoopRange();
         assert loopRange != null;
         KotlinType loopRangeType = bindingContext.getType(loopRange);
@@ -671,7 +684,8 @@ public class ExpressionCodegen extends KtVisitor<StackValue, StackValue> impleme
         }
 
         private void generateMultiVariables(List<KtMultiDeclarationEntry> entries) {
-            for (KtMultiDeclarationEntry variableDeclaration : entries) {
+            for (int i = 0; i < entries.size(); i++) {
+                KtMultiDeclarationEntry variableDeclaration = entries.get(i);
                 final VariableDescriptor componentDescriptor = bindingContext.get(VARIABLE, variableDeclaration);
 
                 @SuppressWarnings("ConstantConditions") final Type componentAsmType = asmType(componentDescriptor.getReturnType());
@@ -689,13 +703,17 @@ public class ExpressionCodegen extends KtVisitor<StackValue, StackValue> impleme
 
                 ResolvedCall<FunctionDescriptor> resolvedCall = bindingContext.get(COMPONENT_RESOLVED_CALL, variableDeclaration);
                 assert resolvedCall != null : "Resolved call is null for " + variableDeclaration.getText();
-                Call call = makeFakeCall(new TransientReceiver(elementType));
 
-                StackValue value = invokeFunction(call, resolvedCall, StackValue.local(loopParameterVar, asmElementType));
-                StackValue.local(componentVarIndex, componentAsmType).store(value, v);
+                StackValue.local(componentVarIndex, componentAsmType).store(generateComponent(i, resolvedCall), v);
             }
         }
 
+        @NotNull
+        protected StackValue generateComponent(int index, @NotNull ResolvedCall<FunctionDescriptor> componentCall) {
+            Call call = makeFakeCall(new TransientReceiver(elementType));
+            return invokeFunction(call, componentCall, StackValue.local(loopParameterVar, asmElementType));
+        }
+
         protected abstract void assignToLoopParameter();
 
         protected abstract void increment(@NotNull Label loopExit);
@@ -825,13 +843,20 @@ public class ExpressionCodegen extends KtVisitor<StackValue, StackValue> impleme
     }
 
     private class ForInArrayLoopGenerator extends AbstractForLoopGenerator {
-        private int indexVar;
+        protected int indexVar;
         private int arrayVar;
+        private final KtExpression array;
         private final KotlinType loopRangeType;
 
         private ForInArrayLoopGenerator(@NotNull KtForExpression forExpression) {
+            //noinspection ConstantConditions
+            this(forExpression, forExpression.getLoopRange());
+        }
+
+        private ForInArrayLoopGenerator(@NotNull KtForExpression forExpression, @NotNull KtExpression array) {
             super(forExpression);
-            loopRangeType = bindingContext.getType(forExpression.getLoopRange());
+            this.array = array;
+            loopRangeType = bindingContext.getType(array);
         }
 
         @Override
@@ -840,8 +865,7 @@ public class ExpressionCodegen extends KtVisitor<StackValue, StackValue> impleme
 
             indexVar = createLoopTempVariable(Type.INT_TYPE);
 
-            KtExpression loopRange = forExpression.getLoopRange();
-            StackValue value = gen(loopRange);
+            StackValue value = gen(array);
             Type asmLoopRangeType = asmType(loopRangeType);
             if (value instanceof StackValue.Local && value.type.equals(asmLoopRangeType)) {
                 arrayVar = ((StackValue.Local) value).index; // no need to copy local variable into another variable
@@ -870,19 +894,23 @@ public class ExpressionCodegen extends KtVisitor<StackValue, StackValue> impleme
 
         @Override
         protected void assignToLoopParameter() {
+            loadArrayElement(asmElementType);
+            v.store(loopParameterVar, asmElementType);
+        }
+
+        protected void loadArrayElement(@NotNull Type type) {
             Type arrayElParamType;
             if (KotlinBuiltIns.isArray(loopRangeType)) {
-                arrayElParamType = boxType(asmElementType);
+                arrayElParamType = boxType(type);
             }
             else {
-                arrayElParamType = asmElementType;
+                arrayElParamType = correctElementType(asmType(loopRangeType));
             }
 
             v.load(arrayVar, OBJECT_TYPE);
             v.load(indexVar, Type.INT_TYPE);
             v.aload(arrayElParamType);
-            StackValue.onStack(arrayElParamType).put(asmElementType, v);
-            v.store(loopParameterVar, asmElementType);
+            StackValue.onStack(arrayElParamType).put(type, v);
         }
 
         @Override
@@ -1053,6 +1081,220 @@ public class ExpressionCodegen extends KtVisitor<StackValue, StackValue> impleme
         }
     }
 
+    private class ForInArrayWithIndexLoopGenerator extends ForInArrayLoopGenerator {
+        private ForInArrayWithIndexLoopGenerator(@NotNull KtForExpression forExpression, @NotNull KtExpression array) {
+            super(forExpression, array);
+        }
+
+        @Override
+        protected void assignToLoopParameter() {
+            // No IndexedValue is created, the destructuring declaration takes the index and the element directly
+        }
+
+        @NotNull
+        @Override
+        protected StackValue generateComponent(int index, @NotNull ResolvedCall<FunctionDescriptor> componentCall) {
+            if (index == 0) {
+                return StackValue.local(indexVar, Type.INT_TYPE);
+            }
+
+            //noinspection ConstantConditions
+            Type componentType = asmType(componentCall.getResultingDescriptor().getReturnType());
+            loadArrayElement(componentType);
+            return StackValue.onStack(componentType);
+        }
+    }
+
+    private class ForInProgressionLiteralLoopGenerator extends AbstractForInProgressionOrRangeLoopGenerator {
+        private final RangeCodegenUtil.ProgressionLiteral progression;
+        private final Type incrementType;
+
+        private int incrementVar = -1;
+        private int finalVar;
+
+        private ForInProgressionLiteralLoopGenerator(
+                @NotNull KtForExpression forExpression,
+                @NotNull RangeCodegenUtil.ProgressionLiteral progression
+        ) {
+            super(forExpression);
+            this.progression = progression;
+            this.incrementType = asmElementType.getSort() == Type.LONG ? Type.LONG_TYPE : Type.INT_TYPE;
+        }
+
+        @Override
+        protected int getFinalVar() {
+            return finalVar;
+        }
+
+        @Override
+        public void beforeLoop() {
+            super.beforeLoop();
+
+            // Bounds are evaluated in the order they're written in, a reversed progression starts from the second one
+            generateBound(progression.first, progression.isReversed ? endVar : loopParameterVar);
+            generateBound(progression.second, progression.isReversed ? loopParameterVar : endVar);
+
+            if (progression.step == null) {
+                finalVar = endVar;
+                return;
+            }
+
+            incrementVar = createLoopTempVariable(incrementType);
+            gen(progression.step, incrementType);
+            v.store(incrementVar, incrementType);
+            checkStepIsPositive();
+
+            if (progression.isDecreasing) {
+                v.load(incrementVar, incrementType);
+                v.neg(incrementType);
+                v.store(incrementVar, incrementType);
+            }
+
+            v.load(loopParameterVar, asmElementType);
+            v.load(endVar, asmElementType);
+            v.load(incrementVar, incrementType);
+            v.invokestatic("kotlin/internal/ProgressionUtilKt", "getProgressionFinalElement",
+                           Type.getMethodDescriptor(incrementType, incrementType, incrementType, incrementType), false);
+
+            finalVar = createLoopTempVariable(asmElementType);
+            StackValue.coerce(incrementType, asmElementType, v);
+            v.store(finalVar, asmElementType);
+        }
+
+        private void generateBound(@NotNull RangeCodegenUtil.ProgressionBound bound, int varToStore) {
+            switch (bound.kind) {
+                case ZERO:
+                    v.iconst(0);
+                    break;
+
+                case VALUE:
+                    gen(bound.expression, asmElementType);
+                    break;
+
+                case EXCLUSIVE_VALUE:
+                    gen(bound.expression, asmElementType);
+                    if (expressionType(bound.expression).equals(asmElementType)) {
+                        // "a until Int.MIN_VALUE" throws instead of producing an empty range
+                        checkExclusiveBoundIsNotMinValue();
+                    }
+                    genIncrement(asmElementType, -1, v);
+                    break;
+
+                case ARRAY_LAST_INDEX:
+                    gen(bound.expression, OBJECT_TYPE);
+                    v.arraylength();
+                    genIncrement(Type.INT_TYPE, -1, v);
+                    break;
+
+                case COLLECTION_LAST_INDEX:
+                    gen(bound.expression, OBJECT_TYPE);
+                    v.invokeinterface("java/util/Collection", "size", "()I");
+                    genIncrement(Type.INT_TYPE, -1, v);
+                    break;
+
+                default:
+                    throw new IllegalStateException("Unexpected bound kind: " + bound.kind);
+            }
+
+            v.store(varToStore, asmElementType);
+        }
+
+        private void checkExclusiveBoundIsNotMinValue() {
+            Label ok = new Label();
+            String minValue;
+            if (asmElementType.getSort() == Type.LONG) {
+                v.dup2();
+                v.lconst(Long.MIN_VALUE);
+                v.lcmp();
+                v.ifne(ok);
+                minValue = String.valueOf(Long.MIN_VALUE);
+            }
+            else {
+                v.dup();
+                v.iconst(Integer.MIN_VALUE);
+                v.ificmpne(ok);
+                minValue = String.valueOf(Integer.MIN_VALUE);
+            }
+            genThrow(v, "java/lang/IllegalArgumentException", "The to argument value '" + minValue + "' was too small.");
+            v.mark(ok);
+        }
+
+        private void checkStepIsPositive() {
+            Label ok = new Label();
+            v.load(incrementVar, incrementType);
+            if (incrementType.getSort() == Type.LONG) {
+                v.lconst(0L);
+                v.lcmp();
+            }
+            v.ifgt(ok);
+
+            v.anew(Type.getObjectType("java/lang/IllegalArgumentException"));
+            v.dup();
+            genStringBuilderConstructor(v);
+            v.aconst("Step must be positive, was: ");
+            genInvokeAppendMethod(v, JAVA_STRING_TYPE);
+            v.load(incrementVar, incrementType);
+            genInvokeAppendMethod(v, incrementType);
+            v.invokevirtual("java/lang/StringBuilder", "toString", "()Ljava/lang/String;", false);
+            v.invokespecial("java/lang/IllegalArgumentException", "<init>", "(Ljava/lang/String;)V", false);
+            v.athrow();
+
+            v.mark(ok);
+        }
+
+        @Override
+        public void checkEmptyLoop(@NotNull Label loopExit) {
+            v.load(loopParameterVar, asmElementType);
+            v.load(endVar, asmElementType);
+            if (asmElementType.getSort() == Type.LONG) {
+                v.lcmp();
+                if (progression.isDecreasing) {
+                    v.iflt(loopExit);
+                }
+                else {
+                    v.ifgt(loopExit);
+                }
+            }
+            else {
+                if (progression.isDecreasing) {
+                    v.ificmplt(loopExit);
+                }
+                else {
+                    v.ificmpgt(loopExit);
+                }
+            }
+        }
+
+        @Override
+        public void checkPreCondition(@NotNull Label loopExit) {
+        }
+
+        @Override
+        protected void assignToLoopParameter() {
+        }
+
+        @Override
+        protected void increment(@NotNull Label loopExit) {
+            checkPostCondition(loopExit);
+
+            if (incrementVar == -1 && asmElementType == Type.INT_TYPE) {
+                v.iinc(loopParameterVar, progression.isDecreasing ? -1 : 1);
+                return;
+            }
+
+            v.load(loopParameterVar, asmElementType);
+            if (incrementVar == -1) {
+                genIncrement(asmElementType, progression.isDecreasing ? -1 : 1, v);
+            }
+            else {
+                v.load(incrementVar, incrementType);
+                v.add(incrementType);
+                StackValue.coerce(incrementType, asmElementType, v);
+            }
+            v.store(loopParameterVar, asmElementType);
+        }
+    }
+
     private class ForInProgressionExpressionLoopGenerator extends AbstractForInProgressionOrRangeLoopGenerator {
         private int incrementVar;
         private Type incrementType;
@@ -1437,6 +1679,11 @@ public class ExpressionCodegen extends KtVisitor<StackValue, StackValue> impleme
             ReifiedTypeInliner.putNeedClassReificationMarker(v);
             propagateChildReifiedTypeParametersUsages(closureCodegen.getReifiedTypeParametersUsages());
         }
+        else if (state.isJvm8Target() && declaration instanceof KtFunctionLiteral && !context.isInsideInliningContext()) {
+            // The body of an inline function is copied to other classes, which can't call a private method of this one
+            StackValue lambda = closureCodegen.putInstanceOnStackViaLambdaMetafactory(this);
+            if (lambda != null) return lambda;
+        }
 
         return closureCodegen.putInstanceOnStack(this);
     }
@@ -2312,6 +2559,10 @@ public class ExpressionCodegen extends KtVisitor<StackValue, StackValue> impleme
             return genClosure((KtNamedFunction) expression, samType);
         }
 
+        if (state.isJvm8Target()) {
+            return genSamInterfaceValueViaLambdaMetafactory(samType, expression, visitor);
+        }
+
         final Type asmType =
                 state.getSamWrapperClasses().getSamWrapperClass(samType, expression.getContainingJetFile(), getParentCodegen());
 
@@ -2345,6 +2596,40 @@ public class ExpressionCodegen extends KtVisitor<StackValue, StackValue> impleme
         });
     }
 
+    @NotNull
+    private StackValue genSamInterfaceValueViaLambdaMetafactory(
+            @NotNull SamType samType,
+            @NotNull final KtExpression expression,
+            @NotNull final KtVisitor<StackValue, StackValue> visitor
+    ) {
+        final Type functionType = typeMapper.mapType(samType.getKotlinFunctionType());
+        final LambdaMetafactoryCall call = LambdaMetafactoryCall.forFunctionValue(samType, functionType, typeMapper);
+
+        return StackValue.operation(call.getInterfaceType(), new Function1<InstructionAdapter, Unit>() {
+            @Override
+            public Unit invoke(InstructionAdapter v) {
+                expression.accept(visitor, StackValue.none()).put(functionType, v);
+
+                Label ifNonNull = new Label();
+                Label afterAll = new Label();
+
+                v.dup();
+                v.ifnonnull(ifNonNull);
+
+                // if null: pop function value, put null
+                v.pop();
+                v.aconst(null);
+                v.goTo(afterAll);
+
+                v.mark(ifNonNull);
+                call.invoke(v);
+
+                v.mark(afterAll);
+                return null;
+            }
+        });
+    }
+
     @NotNull
     private FunctionDescriptor accessibleFunctionDescriptor(@NotNull ResolvedCall<?> resolvedCall) {
         FunctionDescriptor descriptor = (FunctionDescriptor) resolvedCall.getResultingDescriptor();
@@ -2609,8 +2894,13 @@ public class ExpressionCodegen extends KtVisitor<StackValue, StackValue> impleme
                 else {
                     Type currentScriptType = asmTypeForScriptDescriptor(bindingContext, scriptContext.getScriptDescriptor());
                     Type classType = asmTypeForScriptDescriptor(bindingContext, receiverDeclarationDescriptor);
-                    String fieldName = scriptContext.getScriptFieldName(receiverDeclarationDescriptor);
-                    return StackValue.field(classType, currentScriptType, fieldName, false, result, receiverDeclarationDescriptor);
+                    StackValue earlierScripts = StackValue.field(ScriptContext.EARLIER_SCRIPTS_TYPE, currentScriptType,
+                                                                 ScriptContext.EARLIER_SCRIPTS_FIELD_NAME, false, result);
+                    int index = scriptContext.getEarlierScriptIndex(receiverDeclarationDescriptor);
+                    return StackValue.coercion(
+                            StackValue.arrayElement(OBJECT_TYPE, earlierScripts, StackValue.constant(index, Type.INT_TYPE)),
+                            classType
+                    );
                 }
             }
 
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.codegen;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import kotlin.Unit;
+import kotlin.jvm.functions.Function1;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.kotlin.lexer.KtTokens;
+import org.jetbrains.kotlin.psi.Call;
+import org.jetbrains.kotlin.psi.KtElement;
+import org.jetbrains.kotlin.psi.KtFile;
+import org.jetbrains.kotlin.psi.KtNamedFunction;
+import org.jetbrains.kotlin.resolve.BindingTraceContext;
+import org.jetbrains.kotlin.util.slicedMap.WritableSlice;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.jetbrains.kotlin.resolve.BindingContext.*;
+
+/**
+ * Removes per-expression data of the files which have already been generated from the analysis trace, to lower the peak heap usage
+ * of the compilation. Declaration-level data is kept, as well as everything inside inline functions, because their bodies
+ * may be inlined into the code generated later. Compile-time constants are kept for the same reason.
+ */
+public class GeneratedFilesBindingsReleaser implements Function1<Collection<KtFile>, Unit> {
+    private static final List<WritableSlice<?, ?>> PER_EXPRESSION_SLICES = Arrays.<WritableSlice<?, ?>>asList(
+            EXPRESSION_TYPE_INFO,
+            EXPECTED_EXPRESSION_TYPE,
+            DATAFLOW_INFO_AFTER_CONDITION,
+            QUALIFIER,
+            REFERENCE_TARGET,
+            SHORT_REFERENCE_TO_COMPANION_OBJECT,
+            RESOLVED_CALL,
+            CONSTRAINT_SYSTEM_COMPLETER,
+            CALL,
+            AMBIGUOUS_REFERENCE_TARGET,
+            LOOP_RANGE_ITERATOR_RESOLVED_CALL,
+            LOOP_RANGE_HAS_NEXT_RESOLVED_CALL,
+            LOOP_RANGE_NEXT_RESOLVED_CALL,
+            COMPONENT_RESOLVED_CALL,
+            INDEXED_LVALUE_GET,
+            INDEXED_LVALUE_SET,
+            SMARTCAST,
+            LEXICAL_SCOPE,
+            VARIABLE_REASSIGNMENT,
+            PROCESSED,
+            USED_AS_EXPRESSION,
+            UNREACHABLE_CODE,
+            LABEL_TARGET,
+            AMBIGUOUS_LABEL_TARGET
+    );
+
+    private final BindingTraceContext trace;
+
+    public GeneratedFilesBindingsReleaser(@NotNull BindingTraceContext trace) {
+        this.trace = trace;
+    }
+
+    @Override
+    public Unit invoke(@NotNull Collection<KtFile> files) {
+        final Set<PsiFile> generatedFiles = new HashSet<PsiFile>(files);
+        trace.removeSlices(PER_EXPRESSION_SLICES, new Function1<Object, Boolean>() {
+            @Override
+            public Boolean invoke(Object key) {
+                KtElement element = getElement(key);
+                return element != null && generatedFiles.contains(element.getContainingFile()) && !isInsideInlineFunction(element);
+            }
+        });
+        return Unit.INSTANCE$;
+    }
+
+    @Nullable
+    private static KtElement getElement(@Nullable Object key) {
+        if (key instanceof KtElement) return (KtElement) key;
+        if (key instanceof Call) return ((Call) key).getCallElement();
+        return null;
+    }
+
+    private static boolean isInsideInlineFunction(@NotNull PsiElement element) {
+        for (PsiElement parent = element; parent != null && !(parent instanceof KtFile); parent = parent.getParent()) {
+            if (parent instanceof KtNamedFunction && ((KtNamedFunction) parent).hasModifier(KtTokens.INLINE_KEYWORD)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -18,7 +18,10 @@ package org.jetbrains.kotlin.codegen;
 
 import com.google.common.collect.Sets;
 import com.intellij.util.containers.MultiMap;
+import kotlin.Unit;
+import kotlin.jvm.functions.Function1;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.kotlin.codegen.state.GenerationState;
 import org.jetbrains.kotlin.fileClasses.JvmFileClassInfo;
 import org.jetbrains.kotlin.progress.ProgressIndicatorAndCompilationCanceledStatus;
@@ -53,6 +56,17 @@ public class KotlinCodegenFacade {
     public static void compileCorrectFiles(
             @NotNull GenerationState state,
             @NotNull CompilationErrorHandler errorHandler
+    ) {
+        compileCorrectFiles(state, errorHandler, null);
+    }
+
+    /**
+     * @param afterFilesGenerated is invoked with the files of each package or multifile class right after they are generated
+     */
+    public static void compileCorrectFiles(
+            @NotNull GenerationState state,
+            @NotNull CompilationErrorHandler errorHandler,
+            @Nullable Function1<Collection<KtFile>, Unit> afterFilesGenerated
     ) {
         ProgressIndicatorAndCompilationCanceledStatus.checkCanceled();
 
@@ -60,13 +74,22 @@ public class KotlinCodegenFacade {
 
         ProgressIndicatorAndCompilationCanceledStatus.checkCanceled();
 
-        doGenerateFiles(state.getFiles(), state, errorHandler);
+        doGenerateFiles(state.getFiles(), state, errorHandler, afterFilesGenerated);
     }
 
     public static void doGenerateFiles(
             @NotNull Collection<KtFile> files,
             @NotNull GenerationState state,
             @NotNull CompilationErrorHandler errorHandler
+    ) {
+        doGenerateFiles(files, state, errorHandler, null);
+    }
+
+    private static void doGenerateFiles(
+            @NotNull Collection<KtFile> files,
+            @NotNull GenerationState state,
+            @NotNull CompilationErrorHandler errorHandler,
+            @Nullable Function1<Collection<KtFile>, Unit> afterFilesGenerated
     ) {
         MultiMap<FqName, KtFile> filesInPackages = new MultiMap<FqName, KtFile>();
         MultiMap<FqName, KtFile> filesInMultifileClasses = new MultiMap<FqName, KtFile>();
@@ -87,13 +110,21 @@ public class KotlinCodegenFacade {
         Set<FqName> obsoleteMultifileClasses = new HashSet<FqName>(state.getObsoleteMultifileClasses());
         for (FqName multifileClassFqName : Sets.union(filesInMultifileClasses.keySet(), obsoleteMultifileClasses)) {
             doCheckCancelled(state);
-            generateMultifileClass(state, multifileClassFqName, filesInMultifileClasses.get(multifileClassFqName), errorHandler);
+            Collection<KtFile> multifileClassFiles = filesInMultifileClasses.get(multifileClassFqName);
+            generateMultifileClass(state, multifileClassFqName, multifileClassFiles, errorHandler);
+            if (afterFilesGenerated != null) {
+                afterFilesGenerated.invoke(multifileClassFiles);
+            }
         }
 
         Set<FqName> packagesWithObsoleteParts = new HashSet<FqName>(state.getPackagesWithObsoleteParts());
         for (FqName packageFqName : Sets.union(packagesWithObsoleteParts, filesInPackages.keySet())) {
             doCheckCancelled(state);
-            generatePackage(state, packageFqName, filesInPackages.get(packageFqName), errorHandler);
+            Collection<KtFile> packageFiles = filesInPackages.get(packageFqName);
+            generatePackage(state, packageFqName, packageFiles, errorHandler);
+            if (afterFilesGenerated != null) {
+                afterFilesGenerated.invoke(packageFiles);
+            }
         }
 
         doCheckCancelled(state);
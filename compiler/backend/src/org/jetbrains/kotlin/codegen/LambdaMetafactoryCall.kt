@@ -0,0 +1,278 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.codegen
+
+import org.jetbrains.kotlin.codegen.state.GenerationState
+import org.jetbrains.kotlin.codegen.state.JetTypeMapper
+import org.jetbrains.kotlin.load.java.JvmAbi
+import org.jetbrains.kotlin.resolve.DescriptorUtils
+import org.jetbrains.kotlin.resolve.jvm.AsmTypes
+import org.jetbrains.kotlin.resolve.jvm.diagnostics.JvmDeclarationOrigin
+import org.jetbrains.org.objectweb.asm.ClassReader
+import org.jetbrains.org.objectweb.asm.Handle
+import org.jetbrains.org.objectweb.asm.Opcodes.*
+import org.jetbrains.org.objectweb.asm.Type
+import org.jetbrains.org.objectweb.asm.commons.InstructionAdapter
+import org.jetbrains.org.objectweb.asm.commons.Method
+import org.jetbrains.org.objectweb.asm.tree.*
+import java.util.HashMap
+
+/**
+ * Creates an instance of a functional interface with `invokedynamic` bootstrapped by `java.lang.invoke.LambdaMetafactory`.
+ * The values of [capturedTypes] are expected on the stack, the instance of [interfaceType] is left there instead.
+ *
+ * `FLAG_SERIALIZABLE` is not requested, so unlike closure classes the created instances are not `java.io.Serializable`
+ */
+public class LambdaMetafactoryCall(
+        public val interfaceType: Type,
+        private val interfaceMethod: Method,
+        private val implementation: Handle,
+        private val instantiatedMethodType: Type,
+        private val bridges: List<Type>,
+        private val capturedTypes: List<Type>
+) {
+    public fun invoke(v: InstructionAdapter) {
+        val descriptor = Type.getMethodDescriptor(interfaceType, *capturedTypes.toTypedArray())
+        val samMethodType = Type.getMethodType(interfaceMethod.getDescriptor())
+
+        if (bridges.isEmpty()) {
+            v.invokedynamic(interfaceMethod.getName(), descriptor, METAFACTORY, arrayOf(samMethodType, implementation, instantiatedMethodType))
+        }
+        else {
+            v.invokedynamic(interfaceMethod.getName(), descriptor, ALT_METAFACTORY, arrayOf(
+                    samMethodType, implementation, instantiatedMethodType, FLAG_BRIDGES, bridges.size(), *bridges.toTypedArray()
+            ))
+        }
+    }
+
+    companion object {
+        private val LAMBDA_METAFACTORY = "java/lang/invoke/LambdaMetafactory"
+
+        private val METAFACTORY = Handle(
+                H_INVOKESTATIC, LAMBDA_METAFACTORY, "metafactory",
+                "(Ljava/lang/invoke/MethodHandles\$Lookup;Ljava/lang/String;Ljava/lang/invoke/MethodType;" +
+                "Ljava/lang/invoke/MethodType;Ljava/lang/invoke/MethodHandle;Ljava/lang/invoke/MethodType;)" +
+                "Ljava/lang/invoke/CallSite;"
+        )
+
+        private val ALT_METAFACTORY = Handle(
+                H_INVOKESTATIC, LAMBDA_METAFACTORY, "altMetafactory",
+                "(Ljava/lang/invoke/MethodHandles\$Lookup;Ljava/lang/String;Ljava/lang/invoke/MethodType;[Ljava/lang/Object;)" +
+                "Ljava/lang/invoke/CallSite;"
+        )
+
+        // LambdaMetafactory.FLAG_BRIDGES
+        private val FLAG_BRIDGES = 4
+
+        /**
+         * SAM conversion of a value of a Kotlin function type: the interface method delegates to `invoke` of the function,
+         * which is the only captured value
+         */
+        @JvmStatic
+        public fun forFunctionValue(samType: SamType, functionType: Type, typeMapper: JetTypeMapper): LambdaMetafactoryCall {
+            val samMethod = samType.getAbstractMethod().getOriginal()
+            val interfaceMethod = typeMapper.mapSignature(samMethod).getAsmMethod()
+            val samMethodType = Type.getMethodType(interfaceMethod.getDescriptor())
+
+            val bridges = DescriptorUtils.getAllOverriddenDescriptors(samMethod)
+                    .map { Type.getMethodType(typeMapper.mapSignature(it.getOriginal()).getAsmMethod().getDescriptor()) }
+                    .filter { it != samMethodType }
+                    .distinct()
+
+            val invokeParameters = Array(interfaceMethod.getArgumentTypes().size()) { AsmTypes.OBJECT_TYPE }
+            val implementation = Handle(
+                    H_INVOKEINTERFACE, functionType.getInternalName(), "invoke", Type.getMethodDescriptor(AsmTypes.OBJECT_TYPE, *invokeParameters)
+            )
+
+            return LambdaMetafactoryCall(
+                    typeMapper.mapType(samType.getType()), interfaceMethod, implementation, samMethodType, bridges, listOf(functionType)
+            )
+        }
+
+        /**
+         * Moves the body of an already generated closure class to a synthetic static method of the class of [parentCodegen],
+         * so that the class is no longer needed. The captured values, passed to the constructor of the closure
+         * in the order of [capturedFields], become the first parameters of that method.
+         *
+         * This is only possible when the closure class is nothing more than a function object: the body must not use `this`
+         * other than to read the captured values and must not refer to the class in any other way.
+         * Returns null if that's not the case, and the class must be kept
+         */
+        @JvmStatic
+        public fun forClosure(
+                state: GenerationState,
+                closureType: Type,
+                capturedFields: List<FieldInfo>,
+                interfaceMethod: Method,
+                parentCodegen: MemberCodegen<*>,
+                origin: JvmDeclarationOrigin
+        ): LambdaMetafactoryCall? {
+            if (DescriptorUtils.isInterface(parentCodegen.getContext().getContextDescriptor())) return null
+
+            val bytes = state.factory.get(closureType.getInternalName() + ".class")?.asByteArray() ?: return null
+            val classNode = ClassNode()
+            ClassReader(bytes).accept(classNode, ClassReader.SKIP_FRAMES)
+
+            val closureName = classNode.name
+            // Line numbers of code inlined into the closure are only meaningful with its own source mapping
+            if (classNode.sourceDebug != null || classNode.interfaces.size() != 1) return null
+            // Classes declared inside the closure refer to it as to their outer class
+            if (classNode.innerClasses.any { it.name.startsWith(closureName + "$") }) return null
+
+            val capturedSlots = HashMap<String, Int>()
+            var capturedSize = 0
+            for (field in capturedFields) {
+                capturedSlots[field.getFieldName()] = capturedSize
+                capturedSize += field.getFieldType().getSize()
+            }
+
+            for (field in classNode.fields) {
+                val expected = if (field.access and ACC_STATIC != 0) field.name == JvmAbi.INSTANCE_FIELD else field.name in capturedSlots
+                if (!expected) return null
+            }
+
+            var body: MethodNode? = null
+            val bridges = linkedSetOf<Type>()
+            for (method in classNode.methods) {
+                when {
+                    method.name == "<init>" || method.name == "<clinit>" -> {}
+                    method.access and ACC_BRIDGE != 0 -> {
+                        if (method.name != interfaceMethod.getName()) return null
+                        bridges.add(Type.getMethodType(method.desc))
+                    }
+                    body == null && method.access and ACC_STATIC == 0 -> body = method
+                    else -> return null
+                }
+            }
+            if (body == null) return null
+            bridges.remove(Type.getMethodType(interfaceMethod.getDescriptor()))
+            bridges.remove(Type.getMethodType(body.desc))
+
+            val implementationType = Type.getMethodType(body.desc)
+            val parameterTypes = implementationType.getArgumentTypes()
+            val interfaceParameterTypes = interfaceMethod.getArgumentTypes()
+            if (parameterTypes.size() != interfaceParameterTypes.size()) return null
+
+            val returnsUnit = implementationType.getReturnType() == Type.VOID_TYPE && interfaceMethod.getReturnType() != Type.VOID_TYPE
+            if (!moveToStaticMethod(body, closureName, capturedSlots, capturedSize, returnsUnit)) return null
+
+            // Primitive parameters of the interface method must match exactly, other ones can be specialized
+            val instantiatedParameterTypes = arrayOfNulls<Type>(parameterTypes.size())
+            for ((i, parameterType) in parameterTypes.withIndex()) {
+                val interfaceParameterType = interfaceParameterTypes[i]
+                if (AsmUtil.isPrimitive(interfaceParameterType) && interfaceParameterType != parameterType) return null
+                instantiatedParameterTypes[i] = if (AsmUtil.isPrimitive(interfaceParameterType)) interfaceParameterType else AsmUtil.boxType(parameterType)
+            }
+            val returnType = if (returnsUnit) AsmTypes.UNIT_TYPE else implementationType.getReturnType()
+            val interfaceReturnType = interfaceMethod.getReturnType()
+            val instantiatedReturnType =
+                    if (interfaceReturnType == Type.VOID_TYPE || AsmUtil.isPrimitive(interfaceReturnType)) interfaceReturnType
+                    else AsmUtil.boxType(returnType)
+
+            val capturedTypes = capturedFields.map { it.getFieldType() }
+            val descriptor = Type.getMethodDescriptor(returnType, *(capturedTypes + parameterTypes).toTypedArray())
+            val ownerName = parentCodegen.getClassName()
+            val name = "lambda$" + if (closureName.startsWith(ownerName + "$")) closureName.substring(ownerName.length() + 1)
+                                   else closureName.substringAfterLast('/')
+
+            val mv = parentCodegen.v.newMethod(origin, ACC_PRIVATE or ACC_STATIC or ACC_SYNTHETIC, name, descriptor, null, null)
+            body.accept(mv)
+
+            return LambdaMetafactoryCall(
+                    Type.getObjectType(classNode.interfaces.single()),
+                    interfaceMethod,
+                    Handle(H_INVOKESTATIC, ownerName, name, descriptor),
+                    Type.getMethodType(instantiatedReturnType, *instantiatedParameterTypes),
+                    bridges.toList(),
+                    capturedTypes
+            )
+        }
+
+        /**
+         * Rewrites the body of an instance method of the closure class so that it can be a static method taking the captured values
+         * as its first parameters: reads of captured fields become reads of these parameters, other local variables are shifted.
+         * Returns false if the body uses `this` or the closure class in any other way
+         */
+        private fun moveToStaticMethod(
+                body: MethodNode,
+                closureName: String,
+                capturedSlots: Map<String, Int>,
+                capturedSize: Int,
+                returnsUnit: Boolean
+        ): Boolean {
+            val instructions = body.instructions
+            val shift = capturedSize - 1
+
+            var insn = instructions.getFirst()
+            while (insn != null) {
+                var next = insn.getNext()
+                when {
+                    insn is VarInsnNode && insn.`var` == 0 -> {
+                        val field = next as? FieldInsnNode
+                        if (insn.getOpcode() != ALOAD || field == null || field.getOpcode() != GETFIELD || field.owner != closureName) {
+                            return false
+                        }
+                        val slot = capturedSlots[field.name] ?: return false
+                        next = field.getNext()
+                        instructions.set(insn, VarInsnNode(Type.getType(field.desc).getOpcode(ILOAD), slot))
+                        instructions.remove(field)
+                    }
+                    insn is VarInsnNode -> insn.`var` += shift
+                    insn is IincInsnNode -> {
+                        if (insn.`var` == 0) return false
+                        insn.`var` += shift
+                    }
+                    insn.refersTo(closureName) -> return false
+                    returnsUnit && insn.getOpcode() == RETURN -> {
+                        val unit = MethodNode()
+                        StackValue.putUnitInstance(InstructionAdapter(unit))
+                        instructions.insertBefore(insn, unit.instructions)
+                        instructions.set(insn, InsnNode(ARETURN))
+                    }
+                }
+                insn = next
+            }
+
+            body.localVariables = body.localVariables?.filter { it.index != 0 }
+            body.localVariables?.forEach { it.index += shift }
+            body.maxLocals += shift
+            if (returnsUnit) {
+                body.maxStack = Math.max(body.maxStack, 1)
+            }
+
+            body.visibleAnnotations = null
+            body.invisibleAnnotations = null
+            body.visibleParameterAnnotations = null
+            body.invisibleParameterAnnotations = null
+            body.parameters = null
+            return true
+        }
+
+        private fun AbstractInsnNode.refersTo(className: String): Boolean {
+            val classDescriptor = "L$className;"
+            return when (this) {
+                is FieldInsnNode -> owner == className || desc.contains(classDescriptor)
+                is MethodInsnNode -> owner == className || desc.contains(classDescriptor)
+                is TypeInsnNode -> desc == className || desc.contains(classDescriptor)
+                is LdcInsnNode -> cst.let { it is Type && it.getDescriptor().contains(classDescriptor) }
+                is MultiANewArrayInsnNode -> desc.contains(classDescriptor)
+                is InvokeDynamicInsnNode -> desc.contains(classDescriptor) || bsmArgs.any { it is Handle && it.getOwner() == className }
+                else -> false
+            }
+        }
+    }
+}
@@ -45,7 +45,7 @@ public class MultifileClassPartCodegen(
     }
 
     override fun generateDeclaration() {
-        v.defineClass(element, Opcodes.V1_6,
+        v.defineClass(element, state.classFileVersion,
                       Opcodes.ACC_FINAL or Opcodes.ACC_SYNTHETIC,
                       filePartType.internalName,
                       null,
@@ -76,7 +76,7 @@ public class PropertyReferenceCodegen(
     override fun generateDeclaration() {
         v.defineClass(
                 element,
-                V1_6,
+                state.classFileVersion,
                 ACC_FINAL or ACC_SUPER or AsmUtil.getVisibilityAccessFlagForAnonymous(classDescriptor),
                 asmType.getInternalName(),
                 null,
@@ -20,23 +20,30 @@ import com.google.common.collect.ImmutableMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.kotlin.builtins.PrimitiveType;
-import org.jetbrains.kotlin.descriptors.CallableDescriptor;
-import org.jetbrains.kotlin.descriptors.ClassifierDescriptor;
+import org.jetbrains.kotlin.builtins.KotlinBuiltIns;
+import org.jetbrains.kotlin.descriptors.*;
 import org.jetbrains.kotlin.name.FqName;
 import org.jetbrains.kotlin.name.FqNameUnsafe;
 import org.jetbrains.kotlin.name.Name;
 import org.jetbrains.kotlin.psi.*;
+import org.jetbrains.kotlin.resolve.BindingContext;
 import org.jetbrains.kotlin.resolve.DescriptorUtils;
+import org.jetbrains.kotlin.resolve.calls.callUtil.CallUtilKt;
+import org.jetbrains.kotlin.resolve.calls.model.ResolvedCall;
+import org.jetbrains.kotlin.resolve.scopes.receivers.ExpressionReceiver;
+import org.jetbrains.kotlin.resolve.scopes.receivers.ReceiverValue;
 import org.jetbrains.kotlin.types.KotlinType;
 
 import java.util.List;
 
 import static org.jetbrains.kotlin.builtins.KotlinBuiltIns.BUILT_INS_PACKAGE_FQ_NAME;
 import static org.jetbrains.kotlin.codegen.AsmUtil.isPrimitiveNumberClassDescriptor;
+import static org.jetbrains.kotlin.resolve.BindingContext.COMPONENT_RESOLVED_CALL;
 
 public class RangeCodegenUtil {
     private static final ImmutableMap<FqName, PrimitiveType> RANGE_TO_ELEMENT_TYPE;
     private static final ImmutableMap<FqName, PrimitiveType> PROGRESSION_TO_ELEMENT_TYPE;
+    private static final FqNameUnsafe INDEXED_VALUE_FQ_NAME = BUILT_INS_PACKAGE_FQ_NAME.child(Name.identifier("IndexedValue")).toUnsafe();
 
     static {
         ImmutableMap.Builder<FqName, PrimitiveType> rangeBuilder = ImmutableMap.builder();
@@ -101,6 +108,12 @@ public class RangeCodegenUtil {
         return getPrimitiveRangeOrProgressionElementType(rangeType, PROGRESSION_TO_ELEMENT_TYPE);
     }
 
+    @Nullable
+    private static PrimitiveType getPrimitiveRangeOrProgressionElementType(@NotNull KotlinType rangeOrProgression) {
+        PrimitiveType result = getPrimitiveRangeElementType(rangeOrProgression);
+        return result != null ? result : getPrimitiveProgressionElementType(rangeOrProgression);
+    }
+
     @Nullable
     private static PrimitiveType getPrimitiveRangeOrProgressionElementType(
             @NotNull KotlinType rangeOrProgression,
@@ -132,6 +145,204 @@ public class RangeCodegenUtil {
         return false;
     }
 
+    /**
+     * Recognizes loop ranges built of stdlib calls which can be iterated with a counter, without creating a progression:
+     * `a..b`, `a until b`, `a downTo b`, `x.indices` for arrays and collections, and `reversed()` and `step` applied to those
+     */
+    @Nullable
+    public static ProgressionLiteral getProgressionLiteral(@NotNull KtForExpression forExpression, @NotNull BindingContext bindingContext) {
+        KtExpression loopRange = forExpression.getLoopRange();
+        assert loopRange != null;
+        KotlinType loopRangeType = bindingContext.getType(loopRange);
+        if (loopRangeType == null || !(isRange(loopRangeType) || isProgression(loopRangeType))) return null;
+
+        PrimitiveType elementType = getPrimitiveRangeOrProgressionElementType(loopRangeType);
+        if (elementType == PrimitiveType.FLOAT || elementType == PrimitiveType.DOUBLE) return null;
+
+        return getProgressionLiteral(loopRange, bindingContext);
+    }
+
+    @Nullable
+    private static ProgressionLiteral getProgressionLiteral(@NotNull KtExpression expression, @NotNull BindingContext bindingContext) {
+        ResolvedCall<? extends CallableDescriptor> resolvedCall =
+                CallUtilKt.getResolvedCall(KtPsiUtil.deparenthesize(expression), bindingContext);
+        if (resolvedCall == null) return null;
+
+        CallableDescriptor descriptor = resolvedCall.getResultingDescriptor();
+        KotlinType returnType = descriptor.getReturnType();
+        if (returnType == null || !(isRange(returnType) || isProgression(returnType))) return null;
+
+        if (isOptimizableRangeTo(descriptor)) {
+            KtExpression receiver = getReceiverExpression(resolvedCall.getDispatchReceiver());
+            KtExpression argument = getSingleArgumentExpression(resolvedCall);
+            if (receiver == null || argument == null) return null;
+            return new ProgressionLiteral(
+                    new ProgressionBound(BoundKind.VALUE, receiver), new ProgressionBound(BoundKind.VALUE, argument), false, false, null
+            );
+        }
+
+        String name = getStdlibFunctionName(descriptor);
+        if (name == null) return null;
+
+        KtExpression receiver = getReceiverExpression(resolvedCall.getExtensionReceiver());
+        if (receiver == null) return null;
+
+        if ("indices".equals(name)) {
+            ReceiverParameterDescriptor receiverParameter = descriptor.getExtensionReceiverParameter();
+            assert receiverParameter != null : "Extension receiver expected for " + descriptor;
+            KotlinType receiverType = receiverParameter.getType();
+            BoundKind kind;
+            if (KotlinBuiltIns.isArray(receiverType) || KotlinBuiltIns.isPrimitiveArray(receiverType)) {
+                kind = BoundKind.ARRAY_LAST_INDEX;
+            }
+            else if (KotlinBuiltIns.isCollectionOrNullableCollection(receiverType)) {
+                kind = BoundKind.COLLECTION_LAST_INDEX;
+            }
+            else {
+                return null;
+            }
+            return new ProgressionLiteral(new ProgressionBound(BoundKind.ZERO, null), new ProgressionBound(kind, receiver), false, false, null);
+        }
+
+        if ("reversed".equals(name)) {
+            ProgressionLiteral progression = getProgressionLiteral(receiver, bindingContext);
+            return progression != null ? progression.reverse() : null;
+        }
+
+        KtExpression argument = getSingleArgumentExpression(resolvedCall);
+        if (argument == null) return null;
+
+        if ("step".equals(name)) {
+            ProgressionLiteral progression = getProgressionLiteral(receiver, bindingContext);
+            return progression != null && progression.step == null ? progression.withStep(argument) : null;
+        }
+
+        if ("downTo".equals(name)) {
+            return new ProgressionLiteral(
+                    new ProgressionBound(BoundKind.VALUE, receiver), new ProgressionBound(BoundKind.VALUE, argument), true, false, null
+            );
+        }
+
+        if ("until".equals(name)) {
+            // Ranges of other types use their own checks for the exclusive bound
+            PrimitiveType elementType = getPrimitiveRangeElementType(returnType);
+            if (elementType != PrimitiveType.INT && elementType != PrimitiveType.LONG) return null;
+            return new ProgressionLiteral(
+                    new ProgressionBound(BoundKind.VALUE, receiver), new ProgressionBound(BoundKind.EXCLUSIVE_VALUE, argument), false, false, null
+            );
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the array in the `for ((index, value) in array.withIndex())` loop, which can be iterated without creating
+     * IndexedValue instances
+     */
+    @Nullable
+    public static KtExpression getArrayWithIndexReceiver(@NotNull KtForExpression forExpression, @NotNull BindingContext bindingContext) {
+        KtMultiDeclaration multiParameter = forExpression.getMultiParameter();
+        if (multiParameter == null) return null;
+
+        List<KtMultiDeclarationEntry> entries = multiParameter.getEntries();
+        for (int i = 0; i < entries.size(); i++) {
+            ResolvedCall<FunctionDescriptor> componentCall = bindingContext.get(COMPONENT_RESOLVED_CALL, entries.get(i));
+            if (componentCall == null) return null;
+            FunctionDescriptor component = componentCall.getResultingDescriptor();
+            if (!component.getName().asString().equals("component" + (i + 1)) ||
+                !INDEXED_VALUE_FQ_NAME.equals(DescriptorUtils.getFqName(component.getContainingDeclaration()))) {
+                return null;
+            }
+        }
+
+        KtExpression loopRange = forExpression.getLoopRange();
+        assert loopRange != null;
+        ResolvedCall<? extends CallableDescriptor> resolvedCall =
+                CallUtilKt.getResolvedCall(KtPsiUtil.deparenthesize(loopRange), bindingContext);
+        if (resolvedCall == null || !"withIndex".equals(getStdlibFunctionName(resolvedCall.getResultingDescriptor()))) return null;
+
+        ReceiverParameterDescriptor receiverParameter = resolvedCall.getResultingDescriptor().getExtensionReceiverParameter();
+        if (receiverParameter == null) return null;
+        KotlinType receiverType = receiverParameter.getType();
+        if (!KotlinBuiltIns.isArray(receiverType) && !KotlinBuiltIns.isPrimitiveArray(receiverType)) return null;
+
+        return getReceiverExpression(resolvedCall.getExtensionReceiver());
+    }
+
+    @Nullable
+    private static String getStdlibFunctionName(@NotNull CallableDescriptor descriptor) {
+        DeclarationDescriptor container = descriptor.getContainingDeclaration();
+        if (!(container instanceof PackageFragmentDescriptor) ||
+            !BUILT_INS_PACKAGE_FQ_NAME.equals(((PackageFragmentDescriptor) container).getFqName())) {
+            return null;
+        }
+        return descriptor.getName().asString();
+    }
+
+    @Nullable
+    private static KtExpression getReceiverExpression(@Nullable ReceiverValue receiver) {
+        return receiver instanceof ExpressionReceiver ? ((ExpressionReceiver) receiver).getExpression() : null;
+    }
+
+    @Nullable
+    private static KtExpression getSingleArgumentExpression(@NotNull ResolvedCall<?> resolvedCall) {
+        List<? extends ValueArgument> arguments = resolvedCall.getCall().getValueArguments();
+        return arguments.size() == 1 ? arguments.get(0).getArgumentExpression() : null;
+    }
+
+    public enum BoundKind {
+        ZERO,
+        VALUE,
+        // the value minus one, as the end of `a until b`
+        EXCLUSIVE_VALUE,
+        ARRAY_LAST_INDEX,
+        COLLECTION_LAST_INDEX
+    }
+
+    public static class ProgressionBound {
+        public final BoundKind kind;
+        public final KtExpression expression;
+
+        private ProgressionBound(@NotNull BoundKind kind, @Nullable KtExpression expression) {
+            this.kind = kind;
+            this.expression = expression;
+        }
+    }
+
+    public static class ProgressionLiteral {
+        // Bounds in the order of their evaluation, i.e. start and end unless the progression is reversed
+        public final ProgressionBound first;
+        public final ProgressionBound second;
+        public final boolean isDecreasing;
+        public final boolean isReversed;
+        // The absolute value of the increment, null means 1
+        public final KtExpression step;
+
+        private ProgressionLiteral(
+                @NotNull ProgressionBound first,
+                @NotNull ProgressionBound second,
+                boolean isDecreasing,
+                boolean isReversed,
+                @Nullable KtExpression step
+        ) {
+            this.first = first;
+            this.second = second;
+            this.isDecreasing = isDecreasing;
+            this.isReversed = isReversed;
+            this.step = step;
+        }
+
+        @NotNull
+        private ProgressionLiteral reverse() {
+            return new ProgressionLiteral(first, second, !isDecreasing, !isReversed, step);
+        }
+
+        @NotNull
+        private ProgressionLiteral withStep(@NotNull KtExpression step) {
+            return new ProgressionLiteral(first, second, isDecreasing, isReversed, step);
+        }
+    }
+
     public static class BinaryCall {
         public final KtExpression left;
         public final KtExpression op;
@@ -84,7 +84,7 @@ public class SamWrapperCodegen {
 
         ClassBuilder cv = state.getFactory().newVisitor(JvmDeclarationOriginKt.OtherOrigin(erasedInterfaceFunction), asmType, file);
         cv.defineClass(file,
-                       V1_6,
+                       state.getClassFileVersion(),
                        ACC_FINAL,
                        asmType.getInternalName(),
                        null,
@@ -93,7 +93,7 @@ public class ScriptCodegen extends MemberCodegen<KtScript> {
         Type classType = typeMapper.mapClass(context.getContextDescriptor());
 
         v.defineClass(scriptDeclaration,
-                      V1_6,
+                      state.getClassFileVersion(),
                       ACC_PUBLIC,
                       classType.getInternalName(),
                       null,
@@ -128,7 +128,8 @@ public class ScriptCodegen extends MemberCodegen<KtScript> {
                               ACC_PUBLIC | ACC_FINAL, scriptResultProperty.getName().asString(),
                               blockType.getDescriptor(), null, null);
 
-        JvmMethodSignature jvmSignature = typeMapper.mapScriptSignature(scriptDescriptor, context.getEarlierScripts());
+        boolean isReplLine = state.getEarlierScriptsForReplInterpreter() != null;
+        JvmMethodSignature jvmSignature = typeMapper.mapScriptSignature(scriptDescriptor, isReplLine);
 
         MethodVisitor mv = classBuilder.newMethod(
                 JvmDeclarationOriginKt.OtherOrigin(scriptDeclaration, scriptDescriptor.getClassDescriptor().getUnsubstitutedPrimaryConstructor()),
@@ -150,12 +151,12 @@ public class ScriptCodegen extends MemberCodegen<KtScript> {
             FrameMap frameMap = new FrameMap();
             frameMap.enterTemp(OBJECT_TYPE);
 
-            for (ScriptDescriptor importedScript : context.getEarlierScripts()) {
-                frameMap.enter(importedScript, OBJECT_TYPE);
+            if (isReplLine) {
+                frameMap.enterTemp(ScriptContext.EARLIER_SCRIPTS_TYPE);
             }
 
             Type[] argTypes = jvmSignature.getAsmMethod().getArgumentTypes();
-            int add = 0;
+            int add = isReplLine ? 1 : 0;
 
             for (int i = 0; i < scriptDescriptor.getScriptCodeDescriptor().getValueParameters().size(); i++) {
                 ValueParameterDescriptor parameter = scriptDescriptor.getScriptCodeDescriptor().getValueParameters().get(i);
@@ -164,12 +165,12 @@ public class ScriptCodegen extends MemberCodegen<KtScript> {
 
             int offset = 1;
 
-            for (ScriptDescriptor earlierScript : context.getEarlierScripts()) {
-                Type earlierClassType = asmTypeForScriptDescriptor(bindingContext, earlierScript);
+            if (isReplLine) {
                 iv.load(0, classType);
-                iv.load(offset, earlierClassType);
-                offset += earlierClassType.getSize();
-                iv.putfield(classType.getInternalName(), context.getScriptFieldName(earlierScript), earlierClassType.getDescriptor());
+                iv.load(offset, ScriptContext.EARLIER_SCRIPTS_TYPE);
+                offset += ScriptContext.EARLIER_SCRIPTS_TYPE.getSize();
+                iv.putfield(classType.getInternalName(), ScriptContext.EARLIER_SCRIPTS_FIELD_NAME,
+                            ScriptContext.EARLIER_SCRIPTS_TYPE.getDescriptor());
             }
 
             for (ValueParameterDescriptor parameter : scriptDescriptor.getScriptCodeDescriptor().getValueParameters()) {
@@ -207,10 +208,10 @@ public class ScriptCodegen extends MemberCodegen<KtScript> {
     }
 
     private void genFieldsForParameters(@NotNull ScriptDescriptor script, @NotNull ClassBuilder classBuilder) {
-        for (ScriptDescriptor earlierScript : context.getEarlierScripts()) {
-            Type earlierClassName = asmTypeForScriptDescriptor(bindingContext, earlierScript);
+        if (state.getEarlierScriptsForReplInterpreter() != null) {
             int access = ACC_PRIVATE | ACC_FINAL;
-            classBuilder.newField(NO_ORIGIN, access, context.getScriptFieldName(earlierScript), earlierClassName.getDescriptor(), null, null);
+            classBuilder.newField(NO_ORIGIN, access, ScriptContext.EARLIER_SCRIPTS_FIELD_NAME,
+                                  ScriptContext.EARLIER_SCRIPTS_TYPE.getDescriptor(), null, null);
         }
 
         for (ValueParameterDescriptor parameter : script.getScriptCodeDescriptor().getValueParameters()) {
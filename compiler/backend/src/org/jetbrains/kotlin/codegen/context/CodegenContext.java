@@ -622,7 +622,7 @@ public abstract class CodegenContext<T extends DeclarationDescriptor> {
         return value instanceof StackValue.Field && ((StackValue.Field) value).isStaticPut;
     }
 
-    private boolean isInsideInliningContext() {
+    public boolean isInsideInliningContext() {
         CodegenContext current = this;
         while (current != null) {
             if (current instanceof MethodContext && ((MethodContext) current).isInlineFunction()) {
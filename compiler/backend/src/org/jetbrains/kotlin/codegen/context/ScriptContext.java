@@ -22,11 +22,15 @@ import org.jetbrains.kotlin.codegen.OwnerKind;
 import org.jetbrains.kotlin.codegen.binding.MutableClosure;
 import org.jetbrains.kotlin.descriptors.ClassDescriptor;
 import org.jetbrains.kotlin.descriptors.ScriptDescriptor;
+import org.jetbrains.org.objectweb.asm.Type;
 
 import java.util.List;
 
 // SCRIPT: script as field owner context
 public class ScriptContext extends FieldOwnerContext<ClassDescriptor> {
+    public static final String EARLIER_SCRIPTS_FIELD_NAME = "earlierScripts$";
+    public static final Type EARLIER_SCRIPTS_TYPE = Type.getType("[Ljava/lang/Object;");
+
     private final ScriptDescriptor scriptDescriptor;
     private final List<ScriptDescriptor> earlierScripts;
 
@@ -53,13 +57,14 @@ public class ScriptContext extends FieldOwnerContext<ClassDescriptor> {
         return earlierScripts;
     }
 
-    @NotNull
-    public String getScriptFieldName(@NotNull ScriptDescriptor scriptDescriptor) {
+    // Instances of the earlier REPL lines are not stored in separate fields, but in one array shared by all lines,
+    // so that the size of a line class and its constructor doesn't depend on the number of lines evaluated before it
+    public int getEarlierScriptIndex(@NotNull ScriptDescriptor scriptDescriptor) {
         int index = earlierScripts.indexOf(scriptDescriptor);
         if (index < 0) {
             throw new IllegalStateException("Unregistered script: " + scriptDescriptor);
         }
-        return "script$" + (index + 1);
+        return index;
     }
 
     @Override
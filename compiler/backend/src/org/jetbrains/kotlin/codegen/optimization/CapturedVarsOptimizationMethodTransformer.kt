@@ -0,0 +1,232 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.codegen.optimization
+
+import org.jetbrains.kotlin.codegen.StackValue
+import org.jetbrains.kotlin.codegen.optimization.common.OptimizationBasicInterpreter
+import org.jetbrains.kotlin.codegen.optimization.transformer.MethodTransformer
+import org.jetbrains.kotlin.resolve.jvm.AsmTypes
+import org.jetbrains.kotlin.resolve.jvm.JvmPrimitiveType
+import org.jetbrains.org.objectweb.asm.Opcodes
+import org.jetbrains.org.objectweb.asm.Type
+import org.jetbrains.org.objectweb.asm.tree.*
+import org.jetbrains.org.objectweb.asm.tree.analysis.BasicValue
+import org.jetbrains.org.objectweb.asm.tree.analysis.Frame
+import java.util.LinkedHashMap
+import java.util.LinkedHashSet
+
+/**
+ * Replaces `kotlin.jvm.internal.Ref` instances created for captured local variables with plain local variables,
+ * if the reference never leaves the method. This is the case for variables captured only by inlined lambdas:
+ * after inlining, the lambda body accesses `element` of the same reference directly
+ */
+public class CapturedVarsOptimizationMethodTransformer : MethodTransformer() {
+    override fun transform(internalClassName: String, methodNode: MethodNode) {
+        if (methodNode.instructions.toArray().none { it.getOpcode() == Opcodes.NEW && getElementType(it as TypeInsnNode) != null }) return
+
+        val interpreter = CapturedVarsInterpreter()
+        val frames = MethodTransformer.analyze(internalClassName, methodNode, interpreter)
+        val insns = methodNode.instructions.toArray()
+
+        // POP is not passed to the interpreter by the analyzer
+        for ((index, insn) in insns.withIndex()) {
+            val frame = frames[index] ?: continue
+            val opcode = insn.getOpcode()
+            if (opcode == Opcodes.POP || opcode == Opcodes.POP2) {
+                val top = frame.getStack(frame.getStackSize() - 1)
+                if (top is CapturedVarValue) {
+                    if (opcode == Opcodes.POP) top.usages.add(insn) else top.escapes = true
+                }
+            }
+        }
+
+        // Another instance created by the same instruction should never be alive at that point, but be safe about it
+        for (value in interpreter.values) {
+            val frame = frames[methodNode.instructions.indexOf(value.newInsn)] ?: continue
+            if ((0..frame.getLocals() - 1).any { frame.getLocal(it) === value } ||
+                (0..frame.getStackSize() - 1).any { frame.getStack(it) === value }) {
+                value.escapes = true
+            }
+        }
+
+        val values = interpreter.values.filter { !it.escapes }
+        if (values.isEmpty()) return
+
+        for (value in values) {
+            value.elementVar = methodNode.maxLocals
+            methodNode.maxLocals += value.elementType.getSize()
+        }
+
+        remapLocalVariables(methodNode, frames, values)
+
+        for (value in values) {
+            rewrite(methodNode, value)
+        }
+    }
+
+    private fun remapLocalVariables(methodNode: MethodNode, frames: Array<Frame<BasicValue>?>, values: List<CapturedVarValue>) {
+        val instructions = methodNode.instructions
+        for (localVariable in methodNode.localVariables) {
+            if (!localVariable.desc.startsWith("L" + AsmTypes.REF_TYPE_PREFIX)) continue
+
+            val start = instructions.indexOf(localVariable.start)
+            val end = instructions.indexOf(localVariable.end)
+            val value = (start..end).map { frames[it]?.getLocal(localVariable.index) }.firstOrNull { it in values } ?: continue
+            value as CapturedVarValue
+
+            localVariable.index = value.elementVar
+            localVariable.desc = value.elementType.getDescriptor()
+        }
+    }
+
+    private fun rewrite(methodNode: MethodNode, value: CapturedVarValue) {
+        val instructions = methodNode.instructions
+        val elementType = value.elementType
+
+        instructions.insertBefore(value.newInsn, createDefaultValue(elementType))
+        instructions.set(value.newInsn, VarInsnNode(elementType.getOpcode(Opcodes.ISTORE), value.elementVar))
+
+        for (insn in value.usages) {
+            when (insn.getOpcode()) {
+                Opcodes.GETFIELD -> instructions.set(insn, VarInsnNode(elementType.getOpcode(Opcodes.ILOAD), value.elementVar))
+                Opcodes.PUTFIELD -> instructions.set(insn, VarInsnNode(elementType.getOpcode(Opcodes.ISTORE), value.elementVar))
+                // ALOAD, ASTORE, DUP, POP and the constructor call
+                else -> instructions.remove(insn)
+            }
+        }
+    }
+
+    private fun createDefaultValue(type: Type): AbstractInsnNode =
+            when (type.getSort()) {
+                Type.LONG -> InsnNode(Opcodes.LCONST_0)
+                Type.FLOAT -> InsnNode(Opcodes.FCONST_0)
+                Type.DOUBLE -> InsnNode(Opcodes.DCONST_0)
+                Type.OBJECT -> InsnNode(Opcodes.ACONST_NULL)
+                else -> InsnNode(Opcodes.ICONST_0)
+            }
+}
+
+private fun getElementType(newInsn: TypeInsnNode): Type? {
+    if (newInsn.desc == AsmTypes.OBJECT_REF_TYPE.getInternalName()) return AsmTypes.OBJECT_TYPE
+
+    return JvmPrimitiveType.values()
+            .map { Type.getType(it.getDesc()) }
+            .firstOrNull { StackValue.sharedTypeForType(it).getInternalName() == newInsn.desc }
+}
+
+private class CapturedVarValue(val newInsn: TypeInsnNode, val elementType: Type) : BasicValue(Type.getObjectType(newInsn.desc)) {
+    var escapes = false
+    var elementVar = -1
+
+    // Instructions operating on the reference, they are all rewritten if it doesn't escape
+    val usages = LinkedHashSet<AbstractInsnNode>()
+
+    override fun equals(other: Any?) = this === other
+
+    override fun hashCode() = System.identityHashCode(this)
+}
+
+/**
+ * Tracks references created by `NEW Ref$...` and marks them as escaping on any usage other than
+ * loading/storing them in local variables, accessing `element` and calling the constructor
+ */
+private class CapturedVarsInterpreter : OptimizationBasicInterpreter() {
+    private val valuesByInsn = LinkedHashMap<AbstractInsnNode, CapturedVarValue>()
+
+    val values: Collection<CapturedVarValue>
+        get() = valuesByInsn.values()
+
+    override fun newOperation(insn: AbstractInsnNode): BasicValue? {
+        if (insn.getOpcode() == Opcodes.NEW) {
+            insn as TypeInsnNode
+            val elementType = getElementType(insn)
+            if (elementType != null) {
+                return valuesByInsn.getOrPut(insn) { CapturedVarValue(insn, elementType) }
+            }
+        }
+        return super.newOperation(insn)
+    }
+
+    override fun copyOperation(insn: AbstractInsnNode, value: BasicValue): BasicValue? {
+        if (value is CapturedVarValue) {
+            when (insn.getOpcode()) {
+                Opcodes.ALOAD, Opcodes.ASTORE, Opcodes.DUP -> value.usages.add(insn)
+                else -> value.escapes = true
+            }
+            return value
+        }
+        return super.copyOperation(insn, value)
+    }
+
+    override fun unaryOperation(insn: AbstractInsnNode, value: BasicValue): BasicValue? {
+        if (value is CapturedVarValue) {
+            if (insn.isElementAccess(value)) value.usages.add(insn) else value.escapes = true
+        }
+        return super.unaryOperation(insn, value)
+    }
+
+    override fun binaryOperation(insn: AbstractInsnNode, value1: BasicValue, value2: BasicValue): BasicValue? {
+        if (value2 is CapturedVarValue) {
+            value2.escapes = true
+        }
+        if (value1 is CapturedVarValue) {
+            if (insn.isElementAccess(value1)) value1.usages.add(insn) else value1.escapes = true
+        }
+        return super.binaryOperation(insn, value1, value2)
+    }
+
+    override fun ternaryOperation(insn: AbstractInsnNode, value1: BasicValue, value2: BasicValue, value3: BasicValue): BasicValue? {
+        for (value in listOf(value1, value2, value3)) {
+            if (value is CapturedVarValue) value.escapes = true
+        }
+        return super.ternaryOperation(insn, value1, value2, value3)
+    }
+
+    override fun naryOperation(insn: AbstractInsnNode, values: List<BasicValue>): BasicValue? {
+        for ((index, value) in values.withIndex()) {
+            if (value !is CapturedVarValue) continue
+
+            if (index == 0 && insn.isConstructorCall(value)) value.usages.add(insn) else value.escapes = true
+        }
+        return super.naryOperation(insn, values)
+    }
+
+    override fun returnOperation(insn: AbstractInsnNode, value: BasicValue, expected: BasicValue) {
+        if (value is CapturedVarValue) {
+            value.escapes = true
+        }
+        super.returnOperation(insn, value, expected)
+    }
+
+    override fun merge(v: BasicValue, w: BasicValue): BasicValue {
+        if (v === w) return v
+
+        // The value of a variable going out of scope is merged with an uninitialized one, the reference is not used after that
+        if (v is CapturedVarValue && w !== BasicValue.UNINITIALIZED_VALUE) v.escapes = true
+        if (w is CapturedVarValue && v !== BasicValue.UNINITIALIZED_VALUE) w.escapes = true
+
+        return super.merge(v, w)
+    }
+
+    private fun AbstractInsnNode.isElementAccess(value: CapturedVarValue) =
+            this is FieldInsnNode && (getOpcode() == Opcodes.GETFIELD || getOpcode() == Opcodes.PUTFIELD) &&
+            owner == value.newInsn.desc && name == "element"
+
+    private fun AbstractInsnNode.isConstructorCall(value: CapturedVarValue) =
+            this is MethodInsnNode && getOpcode() == Opcodes.INVOKESPECIAL &&
+            owner == value.newInsn.desc && name == "<init>" && desc == "()V"
+}
@@ -40,6 +40,7 @@ public class OptimizationMethodVisitor extends MethodVisitor {
 
     private static final MethodTransformer[] OPTIMIZATION_TRANSFORMERS = new MethodTransformer[] {
             new RedundantNullCheckMethodTransformer(),
+            new CapturedVarsOptimizationMethodTransformer(),
             new RedundantBoxingMethodTransformer(),
             new DeadCodeEliminationMethodTransformer(),
             new RedundantGotoMethodTransformer()
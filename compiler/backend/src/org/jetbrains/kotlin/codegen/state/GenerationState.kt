@@ -38,6 +38,7 @@ import org.jetbrains.kotlin.psi.KtScript
 import org.jetbrains.kotlin.resolve.BindingContext
 import org.jetbrains.kotlin.resolve.BindingTrace
 import org.jetbrains.kotlin.resolve.DelegatingBindingTrace
+import org.jetbrains.org.objectweb.asm.Opcodes
 import java.io.File
 
 public class GenerationState @JvmOverloads constructor(
@@ -63,7 +64,8 @@ public class GenerationState @JvmOverloads constructor(
         // TODO: get rid of it with the proper module infrastructure
         public val outDirectory: File? = null,
         public val incrementalCompilationComponents: IncrementalCompilationComponents? = null,
-        public val progress: Progress = Progress.DEAF
+        public val progress: Progress = Progress.DEAF,
+        jvm8Target: Boolean = false
 ) {
     public abstract class GenerateClassFilter {
         public abstract fun shouldAnnotateClass(classOrObject: KtClassOrObject): Boolean
@@ -116,6 +118,12 @@ public class GenerationState @JvmOverloads constructor(
     public val isInlineEnabled: Boolean = !disableInline
         @JvmName("isInlineEnabled") get
 
+    // Lambdas and SAM conversions are generated via invokedynamic when targeting JVM 8
+    public val isJvm8Target: Boolean = jvm8Target
+        @JvmName("isJvm8Target") get
+
+    public val classFileVersion: Int = if (jvm8Target) Opcodes.V1_8 else Opcodes.V1_6
+
 
     public val rootContext: CodegenContext<*> = RootContext(this)
 
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.codegen.when;
+
+import com.google.common.collect.Maps;
+import com.intellij.openapi.util.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.kotlin.codegen.ExpressionCodegen;
+import org.jetbrains.kotlin.psi.KtWhenCondition;
+import org.jetbrains.kotlin.psi.KtWhenEntry;
+import org.jetbrains.kotlin.psi.KtWhenExpression;
+import org.jetbrains.kotlin.resolve.constants.ConstantValue;
+import org.jetbrains.org.objectweb.asm.Label;
+import org.jetbrains.org.objectweb.asm.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.jetbrains.kotlin.resolve.jvm.AsmTypes.JAVA_CLASS_TYPE;
+import static org.jetbrains.kotlin.resolve.jvm.AsmTypes.JAVA_STRING_TYPE;
+import static org.jetbrains.kotlin.resolve.jvm.AsmTypes.OBJECT_TYPE;
+
+/**
+ * Generates `when` with `is` checks against final classes only as a switch by the hash code of the subject's class name.
+ * Since the classes are final, the subject is an instance of one of them only if its class is exactly that class,
+ * which is checked after the switch. If the class name is not found, e.g. because the classes were renamed after compilation,
+ * the usual instanceof checks are performed
+ */
+public class ClassSwitchCodegen extends SwitchCodegen {
+    private static final String HASH_CODE_METHOD_DESC = Type.getMethodDescriptor(Type.INT_TYPE);
+
+    private final Map<Integer, List<Pair<Type, Label>>> hashCodesToClassAndEntryLabel = Maps.newHashMap();
+    private final List<Pair<Type, Label>> classesAndEntryLabels = new ArrayList<Pair<Type, Label>>();
+    private final Label instanceOfChecksLabel = new Label();
+    private Label noMatchLabel;
+    private int tempVarIndex;
+
+    public ClassSwitchCodegen(
+            @NotNull KtWhenExpression expression,
+            boolean isStatement,
+            @NotNull ExpressionCodegen codegen
+    ) {
+        super(expression, isStatement, codegen);
+    }
+
+    @Override
+    protected void processEntry(@NotNull KtWhenEntry entry, @NotNull Label entryLabel) {
+        for (KtWhenCondition condition : entry.getConditions()) {
+            Type type = SwitchCodegenUtil.getFinalClassOfIsCondition(condition, codegen);
+            assert type != null : "guaranteed by usage contract";
+
+            // The same class in a later condition can never match
+            if (isAlreadyProcessed(type)) continue;
+
+            classesAndEntryLabels.add(new Pair<Type, Label>(type, entryLabel));
+
+            int hashCode = type.getClassName().hashCode();
+            if (!transitionsTable.containsKey(hashCode)) {
+                transitionsTable.put(hashCode, new Label());
+                hashCodesToClassAndEntryLabel.put(hashCode, new ArrayList<Pair<Type, Label>>());
+            }
+            hashCodesToClassAndEntryLabel.get(hashCode).add(new Pair<Type, Label>(type, entryLabel));
+        }
+    }
+
+    private boolean isAlreadyProcessed(@NotNull Type type) {
+        for (Pair<Type, Label> classAndEntryLabel : classesAndEntryLabels) {
+            if (classAndEntryLabel.first.equals(type)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    protected void processConstant(@NotNull ConstantValue<?> constant, @NotNull Label entryLabel) {
+        throw new IllegalStateException("when by classes has no constants: " + constant);
+    }
+
+    @Override
+    public void generate() {
+        super.generate();
+        codegen.myFrameMap.leaveTemp(subjectType);
+    }
+
+    @Override
+    protected void generateSubject() {
+        // Subjects which are not found by the switch go through instanceof checks first
+        noMatchLabel = defaultLabel;
+        defaultLabel = instanceOfChecksLabel;
+
+        tempVarIndex = codegen.myFrameMap.enterTemp(subjectType);
+        super.generateSubject();
+        v.store(tempVarIndex, subjectType);
+
+        v.load(tempVarIndex, subjectType);
+        v.ifnull(instanceOfChecksLabel);
+
+        v.load(tempVarIndex, subjectType);
+        v.invokevirtual(OBJECT_TYPE.getInternalName(), "getClass", Type.getMethodDescriptor(JAVA_CLASS_TYPE), false);
+        v.invokevirtual(JAVA_CLASS_TYPE.getInternalName(), "getName", Type.getMethodDescriptor(JAVA_STRING_TYPE), false);
+        v.invokevirtual(JAVA_STRING_TYPE.getInternalName(), "hashCode", HASH_CODE_METHOD_DESC, false);
+    }
+
+    @Override
+    protected void generateEntries() {
+        for (int hashCode : hashCodesToClassAndEntryLabel.keySet()) {
+            v.visitLabel(transitionsTable.get(hashCode));
+
+            for (Pair<Type, Label> classAndEntryLabel : hashCodesToClassAndEntryLabel.get(hashCode)) {
+                v.load(tempVarIndex, subjectType);
+                v.invokevirtual(OBJECT_TYPE.getInternalName(), "getClass", Type.getMethodDescriptor(JAVA_CLASS_TYPE), false);
+                v.aconst(classAndEntryLabel.first);
+                v.ifacmpeq(classAndEntryLabel.second);
+            }
+
+            v.goTo(instanceOfChecksLabel);
+        }
+
+        v.visitLabel(instanceOfChecksLabel);
+        for (Pair<Type, Label> classAndEntryLabel : classesAndEntryLabels) {
+            v.load(tempVarIndex, subjectType);
+            v.instanceOf(classAndEntryLabel.first);
+            v.ifne(classAndEntryLabel.second);
+        }
+        v.goTo(noMatchLabel);
+
+        super.generateEntries();
+    }
+}
@@ -19,20 +19,34 @@ package org.jetbrains.kotlin.codegen.when;
 import kotlin.jvm.functions.Function1;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.kotlin.codegen.AsmUtil;
 import org.jetbrains.kotlin.codegen.ExpressionCodegen;
 import org.jetbrains.kotlin.codegen.binding.CodegenBinding;
+import org.jetbrains.kotlin.descriptors.ClassDescriptor;
+import org.jetbrains.kotlin.descriptors.ClassKind;
+import org.jetbrains.kotlin.descriptors.ClassifierDescriptor;
+import org.jetbrains.kotlin.descriptors.Modality;
 import org.jetbrains.kotlin.psi.*;
 import org.jetbrains.kotlin.resolve.BindingContext;
 import org.jetbrains.kotlin.resolve.constants.ConstantValue;
 import org.jetbrains.kotlin.resolve.constants.IntegerValueConstant;
 import org.jetbrains.kotlin.resolve.constants.NullValue;
 import org.jetbrains.kotlin.resolve.constants.StringValue;
+import org.jetbrains.kotlin.types.KotlinType;
 import org.jetbrains.org.objectweb.asm.Type;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class SwitchCodegenUtil {
+    /**
+     * An unmeasured guess: with fewer classes, a chain of instanceof checks is assumed to be not slower than getting
+     * the hash code of the class name. No benchmark backs this number, it should be revisited when one exists
+     */
+    private static final int MIN_CLASSES_FOR_CLASS_SWITCH = 6;
+
     public static boolean checkAllItemsAreConstantsSatisfying(
             @NotNull KtWhenExpression expression,
             @NotNull BindingContext bindingContext,
@@ -105,12 +119,16 @@ public class SwitchCodegenUtil {
             @NotNull ExpressionCodegen codegen
     ) {
         BindingContext bindingContext = codegen.getBindingContext();
+        Type subjectType = codegen.expressionType(expression.getSubjectExpression());
+
+        if (isClassSwitch(expression, subjectType, codegen)) {
+            return new ClassSwitchCodegen(expression, isStatement, codegen);
+        }
+
         if (!isThereConstantEntriesButNulls(expression, bindingContext)) {
             return null;
         }
 
-        Type subjectType = codegen.expressionType(expression.getSubjectExpression());
-
         WhenByEnumsMapping mapping = codegen.getBindingContext().get(CodegenBinding.MAPPING_FOR_WHEN_BY_ENUM, expression);
 
         if (mapping != null) {
@@ -128,6 +146,49 @@ public class SwitchCodegenUtil {
         return null;
     }
 
+    private static boolean isClassSwitch(
+            @NotNull KtWhenExpression expression,
+            @NotNull Type subjectType,
+            @NotNull ExpressionCodegen codegen
+    ) {
+        if (subjectType.getSort() != Type.OBJECT) return false;
+
+        Set<Type> classes = new HashSet<Type>();
+        for (KtWhenEntry entry : expression.getEntries()) {
+            for (KtWhenCondition condition : entry.getConditions()) {
+                Type type = getFinalClassOfIsCondition(condition, codegen);
+                if (type == null) return false;
+                classes.add(type);
+            }
+        }
+
+        return classes.size() >= MIN_CLASSES_FOR_CLASS_SWITCH;
+    }
+
+    /**
+     * @return the class checked by a condition of the form `is C`, if C is a final class, so that only instances of C itself are C
+     */
+    @Nullable
+    public static Type getFinalClassOfIsCondition(@NotNull KtWhenCondition condition, @NotNull ExpressionCodegen codegen) {
+        if (!(condition instanceof KtWhenConditionIsPattern)) return null;
+
+        KtWhenConditionIsPattern isPattern = (KtWhenConditionIsPattern) condition;
+        if (isPattern.isNegated()) return null;
+
+        KotlinType type = codegen.getBindingContext().get(BindingContext.TYPE, isPattern.getTypeReference());
+        if (type == null || type.isMarkedNullable()) return null;
+
+        ClassifierDescriptor classifier = type.getConstructor().getDeclarationDescriptor();
+        if (!(classifier instanceof ClassDescriptor)) return null;
+
+        ClassDescriptor classDescriptor = (ClassDescriptor) classifier;
+        ClassKind kind = classDescriptor.getKind();
+        if (classDescriptor.getModality() != Modality.FINAL || (kind != ClassKind.CLASS && kind != ClassKind.OBJECT)) return null;
+
+        Type asmType = AsmUtil.boxType(codegen.getState().getTypeMapper().mapType(type));
+        return asmType.getSort() == Type.OBJECT ? asmType : null;
+    }
+
     private static boolean isThereConstantEntriesButNulls(
             @NotNull KtWhenExpression expression,
             @NotNull BindingContext bindingContext
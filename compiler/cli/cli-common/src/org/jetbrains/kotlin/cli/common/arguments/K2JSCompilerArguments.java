@@ -58,6 +58,13 @@ public class K2JSCompilerArguments extends CommonCompilerArguments {
     @ValueDescription("<path>")
     public String outputPostfix;
 
+    @Argument(value = "Xremove-unused-code",
+              description = "Remove declarations not reachable from main and tests, the output can't be used as a library")
+    public boolean removeUnusedDeclarations;
+
+    @Argument(value = "Xbinary-meta-info", description = "Also write metadata to a binary .kjsmeta file, which is faster to load")
+    public boolean binaryMetaInfo;
+
     @Override
     @NotNull
     public String executableScriptFileName() {
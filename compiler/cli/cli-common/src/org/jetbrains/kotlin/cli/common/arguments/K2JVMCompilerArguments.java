@@ -65,6 +65,23 @@ public class K2JVMCompilerArguments extends CommonCompilerArguments {
     @Argument(value = "Xreport-perf", description = "Report detailed performance statistics")
     public boolean reportPerf;
 
+    @Argument(value = "Xmetadata-cache", description = "Cache Kotlin metadata of library jars in the given directory between compiler runs")
+    @ValueDescription("<path>")
+    public String metadataCache;
+
+    @Argument(value = "Xmodule-threads", description = "Generate code for independent modules of a module script in parallel")
+    @ValueDescription("<count>")
+    public String moduleThreads;
+
+    @Argument(value = "Xlow-memory", description = "Release analysis data of each package after its code is generated")
+    public boolean lowMemory;
+
+    @Argument(value = "Xjava-class-files", description = "Read Java classes of the classpath from class files instead of building PSI for them")
+    public boolean javaClassFiles;
+
+    @Argument(value = "Xjvm8-target", description = "Generate Java 8 class files, with lambdas and SAM conversions created via invokedynamic (such lambdas are not Serializable)")
+    public boolean jvm8Target;
+
     @Override
     @NotNull
     public String executableScriptFileName() {
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.cli.common.messages;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps all reported messages until they are flushed to another collector, e.g. to report messages of tasks running in parallel
+ * in a stable order.
+ */
+public class BufferingMessageCollector implements MessageCollector {
+    private final List<Message> messages = new ArrayList<Message>();
+
+    @Override
+    public synchronized void report(
+            @NotNull CompilerMessageSeverity severity,
+            @NotNull String message,
+            @NotNull CompilerMessageLocation location
+    ) {
+        messages.add(new Message(severity, message, location));
+    }
+
+    public synchronized void flush(@NotNull MessageCollector delegate) {
+        for (Message message : messages) {
+            delegate.report(message.severity, message.message, message.location);
+        }
+        messages.clear();
+    }
+
+    private static class Message {
+        private final CompilerMessageSeverity severity;
+        private final String message;
+        private final CompilerMessageLocation location;
+
+        private Message(@NotNull CompilerMessageSeverity severity, @NotNull String message, @NotNull CompilerMessageLocation location) {
+            this.severity = severity;
+            this.message = message;
+            this.location = location;
+        }
+    }
+}
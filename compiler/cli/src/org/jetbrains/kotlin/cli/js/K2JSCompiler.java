@@ -127,6 +127,18 @@ public class K2JSCompiler extends CLICompiler<K2JSCompilerArguments> {
 
         File outputFile = new File(arguments.outputFile);
 
+        if (arguments.removeUnusedDeclarations && arguments.metaInfo) {
+            messageSeverityCollector.report(CompilerMessageSeverity.WARNING,
+                                            "Metadata is generated for all declarations, including the ones removed as unused",
+                                            CompilerMessageLocation.NO_LOCATION);
+        }
+
+        if (arguments.binaryMetaInfo && !arguments.metaInfo) {
+            messageSeverityCollector.report(CompilerMessageSeverity.WARNING,
+                                            "Binary metadata is only generated together with -meta-info",
+                                            CompilerMessageLocation.NO_LOCATION);
+        }
+
         Config config = getConfig(arguments, project);
         if (config.checkLibFilesAndReportErrors(new Function1<String, Unit>() {
             @Override
@@ -189,6 +201,12 @@ public class K2JSCompiler extends CLICompiler<K2JSCompilerArguments> {
         if (!(translationResult instanceof TranslationResult.Success)) return ExitCode.COMPILATION_ERROR;
 
         TranslationResult.Success successResult = (TranslationResult.Success) translationResult;
+        if (!successResult.getRemovedDeclarations().isEmpty()) {
+            messageSeverityCollector.report(CompilerMessageSeverity.LOGGING,
+                                            "Removed unused declarations: " + Joiner.on(", ").join(successResult.getRemovedDeclarations()),
+                                            CompilerMessageLocation.NO_LOCATION);
+        }
+
         OutputFileCollection outputFiles = successResult.getOutputFiles(outputFile, outputPrefixFile, outputPostfixFile);
 
         if (outputFile.isDirectory()) {
@@ -261,6 +279,8 @@ public class K2JSCompiler extends CLICompiler<K2JSCompilerArguments> {
                 .sourceMap(arguments.sourceMap)
                 .inlineEnabled(inlineEnabled)
                 .metaInfo(arguments.metaInfo)
+                .removeUnusedDeclarations(arguments.removeUnusedDeclarations)
+                .binaryMetaInfo(arguments.binaryMetaInfo)
                 .build();
     }
 
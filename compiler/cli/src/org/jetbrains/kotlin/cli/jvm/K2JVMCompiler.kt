@@ -48,6 +48,7 @@ import org.jetbrains.kotlin.utils.KotlinPathsFromHomeDir
 import org.jetbrains.kotlin.utils.PathUtil
 import java.io.File
 import java.lang.management.ManagementFactory
+import java.lang.management.MemoryType
 import java.util.concurrent.TimeUnit
 
 public open class K2JVMCompiler : CLICompiler<K2JVMCompilerArguments>() {
@@ -133,7 +134,8 @@ public open class K2JVMCompiler : CLICompiler<K2JVMCompilerArguments>() {
         else
             emptyList<AnalyzerScriptParameter>())
 
-        putAdvancedOptions(configuration, arguments)
+        putAdvancedOptions(configuration, arguments, messageSeverityCollector)
+        if (messageSeverityCollector.anyReported(CompilerMessageSeverity.ERROR)) return COMPILATION_ERROR
 
         messageSeverityCollector.report(CompilerMessageSeverity.LOGGING, "Configuring the compilation environment", CompilerMessageLocation.NO_LOCATION)
         try {
@@ -197,6 +199,9 @@ public open class K2JVMCompiler : CLICompiler<K2JVMCompilerArguments>() {
                 reportCompilationTime(environment.configuration)
                 PerformanceCounter.report { s -> reportPerf(environment.configuration, s) }
             }
+            if (arguments.reportPerf || arguments.lowMemory) {
+                reportPeakHeapUsage(environment.configuration)
+            }
             return OK
         }
         catch (e: CompilationException) {
@@ -246,10 +251,21 @@ public open class K2JVMCompiler : CLICompiler<K2JVMCompilerArguments>() {
         }
 
         public fun reportPerf(configuration: CompilerConfiguration, message: String) {
-            val collector = configuration[CLIConfigurationKeys.MESSAGE_COLLECTOR_KEY]!!
+            reportPerf(configuration[CLIConfigurationKeys.MESSAGE_COLLECTOR_KEY]!!, message)
+        }
+
+        public fun reportPerf(collector: MessageCollector, message: String) {
             collector.report(CompilerMessageSeverity.INFO, "PERF: " + message, CompilerMessageLocation.NO_LOCATION)
         }
 
+        fun reportPeakHeapUsage(configuration: CompilerConfiguration) {
+            val peakBytes = ManagementFactory.getMemoryPoolMXBeans()
+                    .filter { it.getType() == MemoryType.HEAP }
+                    .map { it.getPeakUsage().getUsed() }
+                    .sum()
+            reportPerf(configuration, "Peak heap usage is ${peakBytes / (1024 * 1024)} MB")
+        }
+
         fun reportGCTime(configuration: CompilerConfiguration) {
             ManagementFactory.getGarbageCollectorMXBeans().forEach {
                 val currentTime = it.getCollectionTime()
@@ -267,11 +283,28 @@ public open class K2JVMCompiler : CLICompiler<K2JVMCompilerArguments>() {
             elapsedJITTime = currentTime
         }
 
-        private fun putAdvancedOptions(configuration: CompilerConfiguration, arguments: K2JVMCompilerArguments) {
+        private fun putAdvancedOptions(configuration: CompilerConfiguration, arguments: K2JVMCompilerArguments, messageCollector: MessageCollector) {
             configuration.put(JVMConfigurationKeys.DISABLE_CALL_ASSERTIONS, arguments.noCallAssertions)
             configuration.put(JVMConfigurationKeys.DISABLE_PARAM_ASSERTIONS, arguments.noParamAssertions)
             configuration.put(JVMConfigurationKeys.DISABLE_INLINE, arguments.noInline)
             configuration.put(JVMConfigurationKeys.DISABLE_OPTIMIZATION, arguments.noOptimize)
+            configuration.put(JVMConfigurationKeys.LOW_MEMORY_CODEGEN, arguments.lowMemory)
+            configuration.put(JVMConfigurationKeys.USE_JAVA_CLASS_FILES, arguments.javaClassFiles)
+            configuration.put(JVMConfigurationKeys.JVM8_TARGET, arguments.jvm8Target)
+            if (arguments.metadataCache != null) {
+                configuration.put(JVMConfigurationKeys.LIBRARY_METADATA_CACHE_DIRECTORY, File(arguments.metadataCache))
+            }
+            if (arguments.moduleThreads != null) {
+                val threads = try { arguments.moduleThreads.toInt() } catch (e: NumberFormatException) { 0 }
+                if (threads > 0) {
+                    configuration.put(JVMConfigurationKeys.MODULE_CODEGEN_THREADS, threads)
+                }
+                else {
+                    messageCollector.report(CompilerMessageSeverity.ERROR,
+                                            "Number of threads for -Xmodule-threads should be a positive integer: ${arguments.moduleThreads}",
+                                            CompilerMessageLocation.NO_LOCATION)
+                }
+            }
         }
 
         private fun getClasspath(paths: KotlinPaths, arguments: K2JVMCompilerArguments): List<File> {
@@ -33,6 +33,7 @@ import org.jetbrains.kotlin.descriptors.ClassDescriptor
 import org.jetbrains.kotlin.descriptors.DeclarationDescriptor
 import org.jetbrains.kotlin.descriptors.ModuleDescriptor
 import org.jetbrains.kotlin.descriptors.PackageViewDescriptor
+import org.jetbrains.kotlin.diagnostics.Diagnostic
 import org.jetbrains.kotlin.fileClasses.JvmFileClassUtil
 import org.jetbrains.kotlin.load.kotlin.PackagePartClassUtils
 import org.jetbrains.kotlin.name.FqName
@@ -45,7 +46,10 @@ import org.jetbrains.kotlin.resolve.lazy.KotlinCodeAnalyzer
 import org.jetbrains.kotlin.resolve.lazy.ResolveSessionUtils
 import org.jetbrains.kotlin.resolve.scopes.DescriptorKindFilter
 import org.jetbrains.kotlin.resolve.scopes.KtScope
+import org.jetbrains.kotlin.util.slicedMap.MutableSlicedMap
 import org.jetbrains.kotlin.util.slicedMap.ReadOnlySlice
+import org.jetbrains.kotlin.util.slicedMap.SlicedMapImpl
+import org.jetbrains.kotlin.util.slicedMap.SynchronizedSlicedMap
 import org.jetbrains.kotlin.util.slicedMap.WritableSlice
 import org.jetbrains.kotlin.utils.emptyOrSingletonList
 import kotlin.properties.Delegates
@@ -170,7 +174,11 @@ public class CliLightClassGenerationSupport(project: Project) : LightClassGenera
         return NoScopeRecordCliBindingTrace()
     }
 
-    public class NoScopeRecordCliBindingTrace : CliBindingTrace() {
+    public open class NoScopeRecordCliBindingTrace : CliBindingTrace {
+        public constructor() : super()
+
+        protected constructor(map: MutableSlicedMap) : super(map)
+
         override fun <K, V> record(slice: WritableSlice<K, V>, key: K, value: V) {
             if (slice === BindingContext.LEXICAL_SCOPE) {
                 // In the compiler there's no need to keep scopes
@@ -184,7 +192,27 @@ public class CliLightClassGenerationSupport(project: Project) : LightClassGenera
         }
     }
 
-    public open class CliBindingTrace @TestOnly constructor() : BindingTraceContext() {
+    /**
+     * The trace shared by threads which generate code for different modules: lazy resolution started by codegen of one module
+     * records into it while codegen of other modules reads it. Resolution itself is done under the lock of the storage manager.
+     */
+    public class ThreadSafeNoScopeRecordCliBindingTrace : NoScopeRecordCliBindingTrace(SynchronizedSlicedMap(SlicedMapImpl.create())) {
+        @Synchronized
+        override fun report(diagnostic: Diagnostic) {
+            super.report(diagnostic)
+        }
+
+        override fun toString(): String {
+            return ThreadSafeNoScopeRecordCliBindingTrace::class.java.name
+        }
+    }
+
+    public open class CliBindingTrace : BindingTraceContext {
+        @TestOnly
+        public constructor() : super()
+
+        protected constructor(map: MutableSlicedMap) : super(map)
+
         private var kotlinCodeAnalyzer: KotlinCodeAnalyzer? = null
 
         override fun toString(): String {
@@ -17,10 +17,25 @@
 package org.jetbrains.kotlin.cli.jvm.compiler
 
 import com.intellij.openapi.vfs.VirtualFile
+import org.jetbrains.kotlin.load.kotlin.KotlinJarMetadataCacheStorage
+import org.jetbrains.kotlin.load.kotlin.KotlinJvmBinaryClass
 import org.jetbrains.kotlin.load.kotlin.VirtualFileKotlinClassFinder
 import org.jetbrains.kotlin.name.ClassId
 
-public class JvmCliVirtualFileFinder(private val index: JvmDependenciesIndex) : VirtualFileKotlinClassFinder() {
+public class JvmCliVirtualFileFinder(
+        private val index: JvmDependenciesIndex,
+        private val metadataCacheStorage: KotlinJarMetadataCacheStorage? = null
+) : VirtualFileKotlinClassFinder() {
+
+    override fun findKotlinClass(classId: ClassId): KotlinJvmBinaryClass? {
+        if (metadataCacheStorage != null) {
+            val file = findVirtualFileWithHeader(classId) ?: return null
+            val result = metadataCacheStorage.findKotlinClass(file)
+            if (result is KotlinJarMetadataCacheStorage.FindResult.Cached) return result.kotlinClass
+        }
+
+        return super.findKotlinClass(classId)
+    }
 
     override fun findVirtualFileWithHeader(classId: ClassId): VirtualFile? {
         val classFileName = classId.getRelativeClassName().asString().replace('.', '$')
@@ -19,7 +19,11 @@ package org.jetbrains.kotlin.cli.jvm.compiler
 import com.intellij.psi.search.GlobalSearchScope
 import org.jetbrains.kotlin.load.kotlin.JvmVirtualFileFinder
 import org.jetbrains.kotlin.load.kotlin.JvmVirtualFileFinderFactory
+import org.jetbrains.kotlin.load.kotlin.KotlinJarMetadataCacheStorage
 
-public class JvmCliVirtualFileFinderFactory(private val index: JvmDependenciesIndex) : JvmVirtualFileFinderFactory {
-    override fun create(scope: GlobalSearchScope): JvmVirtualFileFinder = JvmCliVirtualFileFinder(index)
+public class JvmCliVirtualFileFinderFactory(
+        private val index: JvmDependenciesIndex,
+        private val metadataCacheStorage: KotlinJarMetadataCacheStorage? = null
+) : JvmVirtualFileFinderFactory {
+    override fun create(scope: GlobalSearchScope): JvmVirtualFileFinder = JvmCliVirtualFileFinder(index, metadataCacheStorage)
 }
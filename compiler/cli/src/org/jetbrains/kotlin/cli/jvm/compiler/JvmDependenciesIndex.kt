@@ -37,7 +37,7 @@ public data class JavaRoot(public val file: VirtualFile, public val type: JavaRo
 }
 
 // speeds up finding files/classes in classpath/java source roots
-// NOT THREADSAFE, needs to be adapted/removed if we want compiler to be multithreaded
+// searches are serialized, because code for independent modules may be generated in parallel (see KotlinToJVMBytecodeCompiler.compileModules)
 // the main idea of this class is for each package to store roots which contains it to avoid excessive file system traversal
 public class JvmDependenciesIndex(_roots: List<JavaRoot>) {
 
@@ -100,6 +100,7 @@ public class JvmDependenciesIndex(_roots: List<JavaRoot>) {
 
     private data class HandleResult<T : Any>(val result: T?, val continueSearch: Boolean)
 
+    @Synchronized
     private fun <T : Any> search(
             request: SearchRequest,
             handler: (VirtualFile, JavaRoot.RootType) -> HandleResult<T>
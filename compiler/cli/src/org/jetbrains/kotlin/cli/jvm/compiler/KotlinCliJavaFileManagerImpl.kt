@@ -26,11 +26,15 @@ import com.intellij.psi.PsiManager
 import com.intellij.psi.PsiPackage
 import com.intellij.psi.impl.file.PsiPackageImpl
 import com.intellij.psi.search.GlobalSearchScope
+import org.jetbrains.kotlin.load.java.structure.JavaClass
+import org.jetbrains.kotlin.load.java.structure.impl.JavaClassImpl
+import org.jetbrains.kotlin.load.java.structure.impl.classFiles.BinaryJavaClass
 import org.jetbrains.kotlin.name.ClassId
 import org.jetbrains.kotlin.name.FqName
 import org.jetbrains.kotlin.resolve.jvm.KotlinCliJavaFileManager
 import org.jetbrains.kotlin.util.PerformanceCounter
 import java.util.ArrayList
+import java.util.concurrent.ConcurrentHashMap
 import kotlin.properties.Delegates
 
 public class KotlinCliJavaFileManagerImpl(private val myPsiManager: PsiManager)
@@ -38,9 +42,15 @@ public class KotlinCliJavaFileManagerImpl(private val myPsiManager: PsiManager)
 
     private val perfCounter = PerformanceCounter.create("Find Java class")
     private var index: JvmDependenciesIndex by Delegates.notNull()
+    private var useClassFileModel = false
 
-    public fun initIndex(packagesCache: JvmDependenciesIndex) {
+    // The same instance has to be returned for the same class file, see BinaryJavaClass
+    private val binaryClassCache = ConcurrentHashMap<VirtualFile, BinaryJavaClass>()
+    private val allScope by lazy { GlobalSearchScope.allScope(myPsiManager.getProject()) }
+
+    public fun initIndex(packagesCache: JvmDependenciesIndex, useClassFileModel: Boolean = false) {
         this.index = packagesCache
+        this.useClassFileModel = useClassFileModel
     }
 
     public override fun findClass(classId: ClassId, searchScope: GlobalSearchScope): PsiClass? {
@@ -52,6 +62,22 @@ public class KotlinCliJavaFileManagerImpl(private val myPsiManager: PsiManager)
         }
     }
 
+    override fun findJavaClass(classId: ClassId, searchScope: GlobalSearchScope): JavaClass? {
+        if (!useClassFileModel) {
+            return findClass(classId, searchScope)?.let { JavaClassImpl(it) }
+        }
+
+        return perfCounter.time {
+            val classNameWithInnerClasses = classId.getRelativeClassName().asString()
+            index.findClass(classId) { dir, type ->
+                when (type) {
+                    JavaRoot.RootType.BINARY -> findBinaryClassGivenPackage(searchScope, dir, classId)
+                    JavaRoot.RootType.SOURCE -> findClassGivenPackage(searchScope, dir, classNameWithInnerClasses, type)?.let { JavaClassImpl(it) }
+                }
+            }
+        }
+    }
+
     override fun findClass(qName: String, scope: GlobalSearchScope): PsiClass? {
         // this method is called from IDEA to resolve dependencies in Java code
         // which supposedly shouldn't have errors so the dependencies exist in general
@@ -121,6 +147,25 @@ public class KotlinCliJavaFileManagerImpl(private val myPsiManager: PsiManager)
         return findClassInPsiFile(classNameWithInnerClasses, file)
     }
 
+    private fun findBinaryClassGivenPackage(scope: GlobalSearchScope, packageDir: VirtualFile, classId: ClassId): JavaClass? {
+        val classNameWithInnerClasses = classId.getRelativeClassName().asString()
+        val vFile = packageDir.findChild(classNameWithInnerClasses.replace('.', '$') + ".class") ?: return null
+        if (!vFile.isValid() || vFile !in scope) return null
+
+        binaryClassCache[vFile]?.let { return it }
+
+        val javaClass = try {
+            // Classes referenced from class files are looked up everywhere, like PSI of class files does it
+            BinaryJavaClass(vFile, classId) { findJavaClass(it, allScope) }
+        }
+        catch (e: RuntimeException) {
+            // E.g. the class file version is not supported by ASM, such classes are still read via PSI
+            LOG.warn("Failed to read ${vFile.getPath()}, falling back to PSI", e)
+            return findClassGivenPackage(scope, packageDir, classNameWithInnerClasses, JavaRoot.RootType.BINARY)?.let { JavaClassImpl(it) }
+        }
+        return binaryClassCache.putIfAbsent(vFile, javaClass) ?: javaClass
+    }
+
     companion object {
         private val LOG = Logger.getInstance(javaClass<KotlinCliJavaFileManagerImpl>())
 
@@ -33,6 +33,7 @@ import org.jetbrains.kotlin.cli.common.CLIConfigurationKeys;
 import org.jetbrains.kotlin.cli.common.CompilerPlugin;
 import org.jetbrains.kotlin.cli.common.CompilerPluginContext;
 import org.jetbrains.kotlin.cli.common.messages.AnalyzerWithCompilerReport;
+import org.jetbrains.kotlin.cli.common.messages.BufferingMessageCollector;
 import org.jetbrains.kotlin.cli.common.messages.MessageCollector;
 import org.jetbrains.kotlin.cli.common.output.outputUtils.OutputUtilsKt;
 import org.jetbrains.kotlin.cli.jvm.K2JVMCompiler;
@@ -41,6 +42,7 @@ import org.jetbrains.kotlin.cli.jvm.config.JvmContentRootsKt;
 import org.jetbrains.kotlin.cli.jvm.config.ModuleNameKt;
 import org.jetbrains.kotlin.codegen.*;
 import org.jetbrains.kotlin.codegen.state.GenerationState;
+import org.jetbrains.kotlin.codegen.state.Progress;
 import org.jetbrains.kotlin.config.CompilerConfiguration;
 import org.jetbrains.kotlin.config.ContentRootsKt;
 import org.jetbrains.kotlin.context.ModuleContext;
@@ -64,13 +66,14 @@ import org.jetbrains.kotlin.resolve.ScriptNameUtil;
 import org.jetbrains.kotlin.resolve.jvm.JvmClassName;
 import org.jetbrains.kotlin.resolve.jvm.TopDownAnalyzerFacadeForJVM;
 import org.jetbrains.kotlin.util.PerformanceCounter;
+import org.jetbrains.kotlin.utils.ExceptionUtilsKt;
 import org.jetbrains.kotlin.utils.KotlinPaths;
 
 import java.io.File;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 
 public class KotlinToJVMBytecodeCompiler {
 
@@ -98,12 +101,23 @@ public class KotlinToJVMBytecodeCompiler {
             @Nullable File jarPath,
             boolean jarRuntime,
             @Nullable FqName mainClass
+    ) {
+        MessageCollector messageCollector = configuration.get(CLIConfigurationKeys.MESSAGE_COLLECTOR_KEY, MessageCollector.NONE);
+        writeOutput(messageCollector, outputFiles, outputDir, jarPath, jarRuntime, mainClass);
+    }
+
+    private static void writeOutput(
+            @NotNull MessageCollector messageCollector,
+            @NotNull ClassFileFactory outputFiles,
+            @Nullable File outputDir,
+            @Nullable File jarPath,
+            boolean jarRuntime,
+            @Nullable FqName mainClass
     ) {
         if (jarPath != null) {
             CompileEnvironmentUtil.writeToJar(jarPath, jarRuntime, mainClass, outputFiles);
         }
         else {
-            MessageCollector messageCollector = configuration.get(CLIConfigurationKeys.MESSAGE_COLLECTOR_KEY, MessageCollector.NONE);
             OutputUtilsKt.writeAll(outputFiles, outputDir == null ? new File(".") : outputDir, messageCollector);
         }
     }
@@ -130,7 +144,14 @@ public class KotlinToJVMBytecodeCompiler {
                 return input != null ? input.getModuleName() + "-" + input.getModuleType() : "<null>";
             }
         })) + "] ";
-        AnalysisResult result = analyze(environment, targetDescription);
+        Integer codegenThreads = configuration.get(JVMConfigurationKeys.MODULE_CODEGEN_THREADS);
+        boolean generateInParallel = codegenThreads != null && codegenThreads > 1 && chunk.size() > 1;
+
+        // Codegen may resolve declarations lazily, so when modules are generated in parallel the analysis trace is shared by the threads
+        BindingTraceContext analysisTrace = generateInParallel
+                                            ? new CliLightClassGenerationSupport.ThreadSafeNoScopeRecordCliBindingTrace()
+                                            : new CliLightClassGenerationSupport.NoScopeRecordCliBindingTrace();
+        AnalysisResult result = analyze(environment, targetDescription, analysisTrace);
         if (result == null) {
             return false;
         }
@@ -139,20 +160,19 @@ public class KotlinToJVMBytecodeCompiler {
 
         result.throwIfError();
 
+        if (generateInParallel) {
+            compileModulesInParallel(environment, configuration, result, chunk, directory, jarPath, jarRuntime, codegenThreads);
+            return true;
+        }
+
+        Function1<Collection<KtFile>, Unit> bindingsReleaser = createBindingsReleaser(environment, analysisTrace);
         for (Module module : chunk) {
             ProgressIndicatorAndCompilationCanceledStatus.checkCanceled();
-            List<KtFile> jetFiles = CompileEnvironmentUtil.getJetFiles(
-                    environment.getProject(), getAbsolutePaths(directory, module), new Function1<String, Unit>() {
-                        @Override
-                        public Unit invoke(String s) {
-                            throw new IllegalStateException("Should have been checked before: " + s);
-                        }
-                    }
-            );
+            List<KtFile> jetFiles = getModuleSourceFiles(environment, directory, module);
             File moduleOutputDirectory = new File(module.getOutputDirectory());
             GenerationState generationState =
                     generate(environment, result, jetFiles, module, moduleOutputDirectory,
-                             module.getModuleName());
+                             module.getModuleName(), bindingsReleaser);
             outputFiles.put(module, generationState.getFactory());
         }
 
@@ -163,6 +183,140 @@ public class KotlinToJVMBytecodeCompiler {
         return true;
     }
 
+    // Analysis data is shared by all modules, so it's not released when modules are generated in parallel.
+    // Each module records codegen data into the trace of its own GenerationState; the shared analysis trace is thread-safe,
+    // and lazy resolution (including loading of Java classes) is done under the lock of the storage manager
+    private static void compileModulesInParallel(
+            @NotNull final KotlinCoreEnvironment environment,
+            @NotNull CompilerConfiguration configuration,
+            @NotNull final AnalysisResult result,
+            @NotNull List<Module> chunk,
+            @NotNull File directory,
+            @Nullable final File jarPath,
+            final boolean jarRuntime,
+            int threads
+    ) {
+        MessageCollector messageCollector = configuration.get(CLIConfigurationKeys.MESSAGE_COLLECTOR_KEY, MessageCollector.NONE);
+
+        // PSI is created on the calling thread, only codegen and output writing are done by the pool
+        final Map<Module, List<KtFile>> sourceFiles = Maps.newHashMap();
+        for (Module module : chunk) {
+            sourceFiles.put(module, getModuleSourceFiles(environment, directory, module));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, chunk.size()));
+        try {
+            for (List<Module> modules : groupModulesByDependencies(chunk)) {
+                List<Future<ModuleCodegenResult>> futures = Lists.newArrayList();
+                for (final Module module : modules) {
+                    futures.add(executor.submit(new Callable<ModuleCodegenResult>() {
+                        @Override
+                        public ModuleCodegenResult call() {
+                            ProgressIndicatorAndCompilationCanceledStatus.checkCanceled();
+                            BufferingMessageCollector moduleMessages = new BufferingMessageCollector();
+                            File moduleOutputDirectory = new File(module.getOutputDirectory());
+                            GenerationState generationState =
+                                    generate(environment, result, sourceFiles.get(module), module, moduleOutputDirectory,
+                                             module.getModuleName(), null, moduleMessages);
+
+                            // all modules are written into the same jar, this is done sequentially below
+                            if (jarPath == null) {
+                                ProgressIndicatorAndCompilationCanceledStatus.checkCanceled();
+                                writeOutput(moduleMessages, generationState.getFactory(), moduleOutputDirectory, null, jarRuntime, null);
+                            }
+                            return new ModuleCodegenResult(generationState.getFactory(), moduleMessages);
+                        }
+                    }));
+                }
+
+                for (int i = 0; i < modules.size(); i++) {
+                    ModuleCodegenResult moduleResult;
+                    try {
+                        moduleResult = futures.get(i).get();
+                    }
+                    catch (InterruptedException e) {
+                        throw ExceptionUtilsKt.rethrow(e);
+                    }
+                    catch (ExecutionException e) {
+                        throw ExceptionUtilsKt.rethrow(e.getCause());
+                    }
+
+                    moduleResult.messages.flush(messageCollector);
+                    if (jarPath != null) {
+                        writeOutput(messageCollector, moduleResult.outputFiles, new File(modules.get(i).getOutputDirectory()), jarPath, jarRuntime, null);
+                    }
+                }
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Modules of each group depend only on modules from the previous groups, dependencies are found by output directories in classpath
+    @NotNull
+    private static List<List<Module>> groupModulesByDependencies(@NotNull List<Module> chunk) {
+        Map<String, Module> modulesByOutputDirectory = Maps.newHashMap();
+        for (Module module : chunk) {
+            modulesByOutputDirectory.put(new File(module.getOutputDirectory()).getAbsolutePath(), module);
+        }
+
+        List<List<Module>> groups = Lists.newArrayList();
+        Set<Module> processed = new HashSet<Module>();
+        List<Module> remaining = Lists.newArrayList(chunk);
+        while (!remaining.isEmpty()) {
+            List<Module> group = Lists.newArrayList();
+            for (Module module : remaining) {
+                if (processed.containsAll(getDependenciesInChunk(module, modulesByOutputDirectory))) {
+                    group.add(module);
+                }
+            }
+            if (group.isEmpty()) {
+                // modules depend on each other, there's no order to keep
+                group.addAll(remaining);
+            }
+
+            processed.addAll(group);
+            remaining.removeAll(group);
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    @NotNull
+    private static Set<Module> getDependenciesInChunk(@NotNull Module module, @NotNull Map<String, Module> modulesByOutputDirectory) {
+        Set<Module> result = new HashSet<Module>();
+        for (String classpathRoot : module.getClasspathRoots()) {
+            Module dependency = modulesByOutputDirectory.get(new File(classpathRoot).getAbsolutePath());
+            if (dependency != null && dependency != module) {
+                result.add(dependency);
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private static List<KtFile> getModuleSourceFiles(@NotNull KotlinCoreEnvironment environment, @NotNull File directory, @NotNull Module module) {
+        return CompileEnvironmentUtil.getJetFiles(
+                environment.getProject(), getAbsolutePaths(directory, module), new Function1<String, Unit>() {
+                    @Override
+                    public Unit invoke(String s) {
+                        throw new IllegalStateException("Should have been checked before: " + s);
+                    }
+                }
+        );
+    }
+
+    private static class ModuleCodegenResult {
+        private final ClassFileFactory outputFiles;
+        private final BufferingMessageCollector messages;
+
+        private ModuleCodegenResult(@NotNull ClassFileFactory outputFiles, @NotNull BufferingMessageCollector messages) {
+            this.outputFiles = outputFiles;
+            this.messages = messages;
+        }
+    }
+
     @NotNull
     public static CompilerConfiguration createCompilerConfiguration(
             @NotNull CompilerConfiguration base,
@@ -292,7 +446,8 @@ public class KotlinToJVMBytecodeCompiler {
 
     @Nullable
     public static GenerationState analyzeAndGenerate(@NotNull KotlinCoreEnvironment environment) {
-        AnalysisResult result = analyze(environment, null);
+        BindingTraceContext analysisTrace = new CliLightClassGenerationSupport.NoScopeRecordCliBindingTrace();
+        AnalysisResult result = analyze(environment, null, analysisTrace);
 
         if (result == null) {
             return null;
@@ -302,11 +457,16 @@ public class KotlinToJVMBytecodeCompiler {
 
         result.throwIfError();
 
-        return generate(environment, result, environment.getSourceFiles(), null, null, null);
+        return generate(environment, result, environment.getSourceFiles(), null, null, null,
+                        createBindingsReleaser(environment, analysisTrace));
     }
 
     @Nullable
-    private static AnalysisResult analyze(@NotNull final KotlinCoreEnvironment environment, @Nullable String targetDescription) {
+    private static AnalysisResult analyze(
+            @NotNull final KotlinCoreEnvironment environment,
+            @Nullable String targetDescription,
+            @NotNull final BindingTrace sharedTrace
+    ) {
         MessageCollector collector = environment.getConfiguration().get(CLIConfigurationKeys.MESSAGE_COLLECTOR_KEY);
         assert collector != null;
 
@@ -317,7 +477,6 @@ public class KotlinToJVMBytecodeCompiler {
                     @NotNull
                     @Override
                     public AnalysisResult invoke() {
-                        BindingTrace sharedTrace = new CliLightClassGenerationSupport.NoScopeRecordCliBindingTrace();
                         ModuleContext moduleContext = TopDownAnalyzerFacadeForJVM.createContextWithSealedModule(environment.getProject(),
                                                                                                                 ModuleNameKt
                                                                                                                         .getModuleName(environment));
@@ -359,7 +518,33 @@ public class KotlinToJVMBytecodeCompiler {
             @NotNull List<KtFile> sourceFiles,
             @Nullable Module module,
             File outputDirectory,
-            String moduleName
+            String moduleName,
+            @Nullable Function1<Collection<KtFile>, Unit> afterFilesGenerated
+    ) {
+        MessageCollector messageCollector = environment.getConfiguration().get(CLIConfigurationKeys.MESSAGE_COLLECTOR_KEY);
+        assert messageCollector != null;
+        return generate(environment, result, sourceFiles, module, outputDirectory, moduleName, afterFilesGenerated, messageCollector);
+    }
+
+    @Nullable
+    private static Function1<Collection<KtFile>, Unit> createBindingsReleaser(
+            @NotNull KotlinCoreEnvironment environment,
+            @NotNull BindingTraceContext analysisTrace
+    ) {
+        if (!environment.getConfiguration().get(JVMConfigurationKeys.LOW_MEMORY_CODEGEN, false)) return null;
+        return new GeneratedFilesBindingsReleaser(analysisTrace);
+    }
+
+    @NotNull
+    private static GenerationState generate(
+            @NotNull KotlinCoreEnvironment environment,
+            @NotNull AnalysisResult result,
+            @NotNull List<KtFile> sourceFiles,
+            @Nullable Module module,
+            File outputDirectory,
+            String moduleName,
+            @Nullable Function1<Collection<KtFile>, Unit> afterFilesGenerated,
+            @NotNull MessageCollector messageCollector
     ) {
         CompilerConfiguration configuration = environment.getConfiguration();
         IncrementalCompilationComponents incrementalCompilationComponents = configuration.get(JVMConfigurationKeys.INCREMENTAL_COMPILATION_COMPONENTS);
@@ -405,19 +590,21 @@ public class KotlinToJVMBytecodeCompiler {
                 targetId,
                 moduleName,
                 outputDirectory,
-                incrementalCompilationComponents
+                incrementalCompilationComponents,
+                Progress.DEAF,
+                configuration.get(JVMConfigurationKeys.JVM8_TARGET, false)
         );
         ProgressIndicatorAndCompilationCanceledStatus.checkCanceled();
 
         long generationStart = PerformanceCounter.Companion.currentTime();
 
-        KotlinCodegenFacade.compileCorrectFiles(generationState, CompilationErrorHandler.THROW_EXCEPTION);
+        KotlinCodegenFacade.compileCorrectFiles(generationState, CompilationErrorHandler.THROW_EXCEPTION, afterFilesGenerated);
 
         long generationNanos = PerformanceCounter.Companion.currentTime() - generationStart;
         String desc = module != null ? "target " + module.getModuleName() + "-" + module.getModuleType() + " " : "";
         String message = "GENERATE: " + sourceFiles.size() + " files (" +
                          environment.countLinesOfCode(sourceFiles) + " lines) " + desc + "in " + TimeUnit.NANOSECONDS.toMillis(generationNanos) + " ms";
-        K2JVMCompiler.Companion.reportPerf(environment.getConfiguration(), message);
+        K2JVMCompiler.Companion.reportPerf(messageCollector, message);
         ProgressIndicatorAndCompilationCanceledStatus.checkCanceled();
 
         AnalyzerWithCompilerReport.reportDiagnostics(
@@ -425,7 +612,7 @@ public class KotlinToJVMBytecodeCompiler {
                         diagnosticHolder.getBindingContext().getDiagnostics(),
                         result.getBindingContext().getDiagnostics()
                 ),
-                environment.getConfiguration().get(CLIConfigurationKeys.MESSAGE_COLLECTOR_KEY)
+                messageCollector
         );
         ProgressIndicatorAndCompilationCanceledStatus.checkCanceled();
         return generationState;
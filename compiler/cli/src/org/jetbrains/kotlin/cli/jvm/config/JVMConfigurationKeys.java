@@ -22,6 +22,7 @@ import org.jetbrains.kotlin.config.CompilerConfigurationKey;
 import org.jetbrains.kotlin.load.kotlin.incremental.components.IncrementalCompilationComponents;
 import org.jetbrains.kotlin.resolve.AnalyzerScriptParameter;
 
+import java.io.File;
 import java.util.List;
 
 public class JVMConfigurationKeys {
@@ -52,4 +53,19 @@ public class JVMConfigurationKeys {
     public static final CompilerConfigurationKey<String> MODULE_NAME =
             CompilerConfigurationKey.create("module name");
 
+    public static final CompilerConfigurationKey<File> LIBRARY_METADATA_CACHE_DIRECTORY =
+            CompilerConfigurationKey.create("library metadata cache directory");
+
+    public static final CompilerConfigurationKey<Integer> MODULE_CODEGEN_THREADS =
+            CompilerConfigurationKey.create("number of threads for parallel module codegen");
+
+    public static final CompilerConfigurationKey<Boolean> LOW_MEMORY_CODEGEN =
+            CompilerConfigurationKey.create("release analysis data after codegen");
+
+    public static final CompilerConfigurationKey<Boolean> USE_JAVA_CLASS_FILES =
+            CompilerConfigurationKey.create("read java classes from class files without psi");
+
+    public static final CompilerConfigurationKey<Boolean> JVM8_TARGET =
+            CompilerConfigurationKey.create("generate java 8 class files and invokedynamic lambdas");
+
 }
@@ -23,6 +23,7 @@ import org.jetbrains.org.objectweb.asm.ClassReader;
 import org.jetbrains.org.objectweb.asm.util.TraceClassVisitor;
 
 import java.io.PrintWriter;
+import java.util.Iterator;
 import java.util.Map;
 
 public class ReplClassLoader extends ClassLoader {
@@ -52,6 +53,20 @@ public class ReplClassLoader extends ClassLoader {
         }
     }
 
+    /**
+     * Forgets the bytes of the classes which are already defined, so that memory used by a long REPL session doesn't grow
+     * with the bytecode of all lines. After this only the classes which are not loaded yet are dumped by {@link #dumpClasses}
+     */
+    public void releaseDefinedClassBytes() {
+        Iterator<JvmClassName> iterator = classes.keySet().iterator();
+        while (iterator.hasNext()) {
+            JvmClassName className = iterator.next();
+            if (findLoadedClass(className.getInternalName().replace('/', '.')) != null) {
+                iterator.remove();
+            }
+        }
+    }
+
     public void dumpClasses(@NotNull PrintWriter writer) {
         for (byte[] classBytes : classes.values()) {
             new ClassReader(classBytes).accept(new TraceClassVisitor(writer), 0);
@@ -213,7 +213,7 @@ public class ReplFromTerminal {
             replWriter.printlnHelpMessage("Available commands:\n" +
                                           ":help                   show this help\n" +
                                           ":quit                   exit the interpreter\n" +
-                                          ":dump bytecode          dump classes to terminal\n" +
+                                          ":dump bytecode          dump classes of the last line to terminal\n" +
                                           ":load <file>            load script from specified file"
             );
             return true;
@@ -20,9 +20,7 @@ import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.util.Pair;
 import com.intellij.openapi.vfs.CharsetToolkit;
-import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFileFactory;
 import com.intellij.psi.impl.PsiFileFactoryImpl;
 import com.intellij.psi.search.ProjectScope;
@@ -89,14 +87,16 @@ import java.util.List;
 
 import static org.jetbrains.kotlin.codegen.AsmUtil.asmTypeByFqNameWithoutInnerClasses;
 import static org.jetbrains.kotlin.codegen.binding.CodegenBinding.registerClassNameForScript;
-import static org.jetbrains.kotlin.resolve.DescriptorToSourceUtils.descriptorToDeclaration;
 
 public class ReplInterpreter {
     private int lineNumber = 0;
 
     @Nullable
     private KtScope lastLineScope;
-    private final List<EarlierLine> earlierLines = Lists.newArrayList();
+    // Descriptors and instances of the successfully evaluated lines, with the same indices.
+    // The array is shared by all line instances: a line only reads the elements before its own index, which never change
+    private final List<ScriptDescriptor> earlierScriptDescriptors = new ArrayList<ScriptDescriptor>();
+    private Object[] earlierScriptInstances = new Object[16];
     private final List<String> previousIncompleteLines = Lists.newArrayList();
     private final ReplClassLoader classLoader;
 
@@ -313,17 +313,15 @@ public class ReplInterpreter {
             return LineResult.compileError(errorHolder.getRenderedDiagnostics());
         }
 
-        List<Pair<ScriptDescriptor, Type>> earlierScripts = Lists.newArrayList();
-
-        for (EarlierLine earlierLine : earlierLines) {
-            earlierScripts.add(Pair.create(earlierLine.getScriptDescriptor(), earlierLine.getClassType()));
-        }
-
         GenerationState state = new GenerationState(psiFile.getProject(), ClassBuilderFactories.BINARIES,
                                                     module, trace.getBindingContext(), Collections.singletonList(psiFile));
 
-        compileScript(psiFile.getScript(), scriptClassType, earlierScripts, state, CompilationErrorHandler.THROW_EXCEPTION);
+        // Recorded to the trace of the whole session, so that the following lines don't need to register earlier scripts again
+        registerClassNameForScript(trace, psiFile.getScript(), scriptClassType, state.getFileClassesProvider());
+
+        compileScript(psiFile.getScript(), earlierScriptDescriptors, state, CompilationErrorHandler.THROW_EXCEPTION);
 
+        classLoader.releaseDefinedClassBytes();
         for (OutputFile outputFile : state.getFactory().asList()) {
             if(outputFile.getRelativePath().endsWith(".class")) {
                 classLoader.addClass(JvmClassName.byInternalName(outputFile.getRelativePath().replaceFirst("\\.class$", "")),
@@ -334,19 +332,11 @@ public class ReplInterpreter {
         try {
             Class<?> scriptClass = classLoader.loadClass(scriptFqName.asString());
 
-            Class<?>[] constructorParams = new Class<?>[earlierLines.size()];
-            Object[] constructorArgs = new Object[earlierLines.size()];
-
-            for (int i = 0; i < earlierLines.size(); ++i) {
-                constructorParams[i] = earlierLines.get(i).getScriptClass();
-                constructorArgs[i] = earlierLines.get(i).getScriptInstance();
-            }
-
-            Constructor<?> scriptInstanceConstructor = scriptClass.getConstructor(constructorParams);
+            Constructor<?> scriptInstanceConstructor = scriptClass.getConstructor(Object[].class);
             Object scriptInstance;
             try {
                 setReplScriptExecuting(true);
-                scriptInstance = scriptInstanceConstructor.newInstance(constructorArgs);
+                scriptInstance = scriptInstanceConstructor.newInstance(new Object[] {earlierScriptInstances});
             }
             catch (Throwable e) {
                 return LineResult.runtimeError(renderStackTrace(e.getCause()));
@@ -358,7 +348,7 @@ public class ReplInterpreter {
             rvField.setAccessible(true);
             Object rv = rvField.get(scriptInstance);
 
-            earlierLines.add(new EarlierLine(line, scriptDescriptor, scriptClass, scriptInstance, scriptClassType));
+            addEarlierScript(scriptDescriptor, scriptInstance);
 
             KotlinType returnType = scriptDescriptor.getScriptCodeDescriptor().getReturnType();
             return LineResult.successful(rv, returnType != null && KotlinBuiltIns.isUnit(returnType));
@@ -372,6 +362,16 @@ public class ReplInterpreter {
         }
     }
 
+    private void addEarlierScript(@NotNull ScriptDescriptor scriptDescriptor, @NotNull Object scriptInstance) {
+        int index = earlierScriptDescriptors.size();
+        if (index == earlierScriptInstances.length) {
+            // Instances of the earlier lines keep the old array, it contains everything they can refer to
+            earlierScriptInstances = Arrays.copyOf(earlierScriptInstances, index * 2);
+        }
+        earlierScriptInstances[index] = scriptInstance;
+        earlierScriptDescriptors.add(scriptDescriptor);
+    }
+
     private void setReplScriptExecuting(boolean isExecuting) {
         if (replReader != null) {
             replReader.setReplScriptExecuting(isExecuting);
@@ -435,33 +435,16 @@ public class ReplInterpreter {
         classLoader.dumpClasses(out);
     }
 
-    private static void registerEarlierScripts(
-            @NotNull GenerationState state,
-            @NotNull List<Pair<ScriptDescriptor, Type>> earlierScripts
-    ) {
-        List<ScriptDescriptor> earlierScriptDescriptors = new ArrayList<ScriptDescriptor>(earlierScripts.size());
-        for (Pair<ScriptDescriptor, Type> pair : earlierScripts) {
-            ScriptDescriptor earlierDescriptor = pair.first;
-            Type earlierClassType = pair.second;
-
-            PsiElement jetScript = descriptorToDeclaration(earlierDescriptor);
-            if (jetScript != null) {
-                registerClassNameForScript(state.getBindingTrace(), (KtScript) jetScript, earlierClassType, state.getFileClassesProvider());
-                earlierScriptDescriptors.add(earlierDescriptor);
-            }
-        }
-        state.setEarlierScriptsForReplInterpreter(earlierScriptDescriptors);
-    }
-
+    /**
+     * Class names of the script and all the earlier scripts should already be registered in the binding context of the state
+     */
     public static void compileScript(
             @NotNull KtScript script,
-            @NotNull Type classType,
-            @NotNull List<Pair<ScriptDescriptor, Type>> earlierScripts,
+            @NotNull List<ScriptDescriptor> earlierScripts,
             @NotNull GenerationState state,
             @NotNull CompilationErrorHandler errorHandler
     ) {
-        registerEarlierScripts(state, earlierScripts);
-        registerClassNameForScript(state.getBindingTrace(), script, classType, state.getFileClassesProvider());
+        state.setEarlierScriptsForReplInterpreter(earlierScripts);
 
         state.beforeCompile();
         KotlinCodegenFacade.generatePackage(
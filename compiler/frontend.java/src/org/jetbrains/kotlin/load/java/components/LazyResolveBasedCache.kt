@@ -16,9 +16,12 @@
 
 package org.jetbrains.kotlin.load.java.components
 
+import com.intellij.psi.PsiElement
 import org.jetbrains.kotlin.descriptors.*
 import org.jetbrains.kotlin.load.java.structure.*
 import org.jetbrains.kotlin.load.java.structure.impl.*
+import org.jetbrains.kotlin.load.java.structure.impl.classFiles.BinaryJavaClass
+import org.jetbrains.kotlin.load.java.structure.impl.classFiles.BinaryJavaMember
 import org.jetbrains.kotlin.resolve.lazy.ResolveSession
 import org.jetbrains.kotlin.resolve.lazy.ResolveSessionUtils
 import org.jetbrains.kotlin.name.FqName
@@ -37,19 +40,35 @@ public class LazyResolveBasedCache(private val resolveSession: ResolveSession) :
     }
 
     override fun recordMethod(method: JavaMethod, descriptor: SimpleFunctionDescriptor) {
-        BindingContextUtils.recordFunctionDeclarationToDescriptor(trace, (method as JavaMethodImpl).getPsi(), descriptor)
+        val psi = method.getPsiOrNull() ?: return
+        BindingContextUtils.recordFunctionDeclarationToDescriptor(trace, psi, descriptor)
     }
 
     override fun recordConstructor(element: JavaElement, descriptor: ConstructorDescriptor) {
-        trace.record(CONSTRUCTOR, (element as JavaElementImpl<*>).getPsi(), descriptor)
+        val psi = element.getPsiOrNull() ?: return
+        trace.record(CONSTRUCTOR, psi, descriptor)
     }
 
     override fun recordField(field: JavaField, descriptor: PropertyDescriptor) {
-        trace.record(VARIABLE, (field as JavaFieldImpl).getPsi(), descriptor)
+        val psi = field.getPsiOrNull() ?: return
+        trace.record(VARIABLE, psi, descriptor)
     }
 
     override fun recordClass(javaClass: JavaClass, descriptor: ClassDescriptor) {
-        trace.record(CLASS, (javaClass as JavaClassImpl).getPsi(), descriptor)
+        val psi = javaClass.getPsiOrNull() ?: return
+        trace.record(CLASS, psi, descriptor)
+    }
+
+    /**
+     * Declarations are recorded by their PSI, so nothing is recorded for classes read from class files without PSI
+     * (see [BinaryJavaClass]) and their descriptors can't be found in the binding context by PSI.
+     * Such classes are only created by the CLI compiler with the opt-in -Xjava-class-files option
+     */
+    private fun JavaElement.getPsiOrNull(): PsiElement? {
+        if (this is JavaElementImpl<*>) return getPsi()
+
+        assert(this is BinaryJavaClass || this is BinaryJavaMember) { "Java element is neither PSI-based nor read from a class file: $this" }
+        return null
     }
 
     private fun findInPackageFragments(fullFqName: FqName): ClassDescriptor? {
@@ -21,14 +21,20 @@ import com.intellij.psi.util.PsiUtil
 import org.jetbrains.kotlin.descriptors.PropertyDescriptor
 import org.jetbrains.kotlin.load.java.structure.JavaField
 import org.jetbrains.kotlin.load.java.structure.JavaPropertyInitializerEvaluator
+import org.jetbrains.kotlin.load.java.structure.impl.classFiles.BinaryJavaField
 import org.jetbrains.kotlin.resolve.constants.ConstantValue
 import org.jetbrains.kotlin.resolve.constants.ConstantValueFactory
 import org.jetbrains.kotlin.resolve.descriptorUtil.builtIns
 
 public class JavaPropertyInitializerEvaluatorImpl : JavaPropertyInitializerEvaluator {
     override fun getInitializerConstant(field: JavaField, descriptor: PropertyDescriptor): ConstantValue<*>? {
-        val initializer = (field as JavaFieldImpl).getInitializer()
-        val evaluated = JavaConstantExpressionEvaluator.computeConstantExpression(initializer, false) ?: return null
+        val evaluated = if (field is BinaryJavaField) {
+            field.initializerValue ?: return null
+        }
+        else {
+            val initializer = (field as JavaFieldImpl).getInitializer()
+            JavaConstantExpressionEvaluator.computeConstantExpression(initializer, false) ?: return null
+        }
         val factory = ConstantValueFactory(descriptor.builtIns)
         when (evaluated) {
             //Note: evaluated expression may be of class that does not match field type in some cases
@@ -43,6 +49,9 @@ public class JavaPropertyInitializerEvaluatorImpl : JavaPropertyInitializerEvalu
     }
 
     override fun isNotNullCompileTimeConstant(field: JavaField): Boolean {
+        // Class files only have the ConstantValue attribute for final fields initialized with constants
+        if (field is BinaryJavaField) return field.isFinal() && field.initializerValue != null
+
         // PsiUtil.isCompileTimeConstant returns false for null-initialized fields,
         // see com.intellij.psi.util.IsConstantExpressionVisitor.visitLiteralExpression()
         return PsiUtil.isCompileTimeConstant((field as JavaFieldImpl).getPsi())
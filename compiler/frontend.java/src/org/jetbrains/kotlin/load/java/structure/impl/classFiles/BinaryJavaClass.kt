@@ -0,0 +1,222 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.load.java.structure.impl.classFiles
+
+import com.intellij.openapi.vfs.VirtualFile
+import com.intellij.util.SmartList
+import org.jetbrains.kotlin.load.java.structure.*
+import org.jetbrains.kotlin.name.ClassId
+import org.jetbrains.kotlin.name.FqName
+import org.jetbrains.kotlin.name.Name
+import org.jetbrains.org.objectweb.asm.*
+import org.jetbrains.org.objectweb.asm.Opcodes.*
+import java.util.ArrayList
+
+/**
+ * [JavaClass] read directly from a class file with ASM, without building PSI for it.
+ *
+ * Members are read eagerly into compact objects, while their signatures are parsed and the classes they refer to are resolved
+ * only when requested. Classes are resolved via [classFinder], which is expected to return the same instance for the same
+ * class, so that type parameters of outer classes referred to from signatures are the ones of [getOuterClass]
+ */
+public class BinaryJavaClass(
+        public val virtualFile: VirtualFile,
+        private val classId: ClassId,
+        classFinder: (ClassId) -> JavaClass?
+) : JavaClass {
+    private val context = ClassifierResolutionContext(classFinder) { findClassTypeParameter(it) }
+
+    private var access = 0
+    private var internalName = ""
+    private var signature: String? = null
+    private var superName: String? = null
+    private var interfaceNames: Array<String> = emptyArray()
+
+    private val innerClassNames = SmartList<Name>()
+    private val annotations = SmartList<JavaAnnotation>()
+    private val methods = ArrayList<JavaMethod>()
+    private val fields = ArrayList<JavaField>()
+    private val constructors = SmartList<JavaConstructor>()
+
+    private class ClassSignature(val typeParameters: List<JavaTypeParameter>, val supertypes: List<JavaClassifierType>)
+
+    private val classSignature by lazy { parseClassSignature() }
+
+    init {
+        ClassReader(virtualFile.contentsToByteArray()).accept(Reader(), ClassReader.SKIP_FRAMES)
+    }
+
+    internal val isInner: Boolean
+        get() = classId.isNestedClass() && !isStatic()
+
+    override fun getName(): Name = classId.getShortClassName()
+
+    override fun getFqName(): FqName = classId.asSingleFqName()
+
+    override fun getInnerClasses(): Collection<JavaClass> = innerClassNames.map { context.findClass(classId.createNestedClassId(it)) }.filterNotNull()
+
+    override fun getOuterClass(): JavaClass? = if (classId.isNestedClass()) context.findClass(classId.getOuterClassId()) else null
+
+    override fun isInterface() = access.isSet(ACC_INTERFACE)
+
+    override fun isAnnotationType() = access.isSet(ACC_ANNOTATION)
+
+    override fun isEnum() = access.isSet(ACC_ENUM)
+
+    override fun isAbstract() = access.isSet(ACC_ABSTRACT)
+
+    override fun isStatic() = access.isSet(ACC_STATIC)
+
+    override fun isFinal() = access.isSet(ACC_FINAL)
+
+    override fun getVisibility() = access.toVisibility()
+
+    override fun getTypeParameters() = classSignature.typeParameters
+
+    override fun getSupertypes(): Collection<JavaClassifierType> = classSignature.supertypes
+
+    override fun getMethods(): Collection<JavaMethod> = methods
+
+    override fun getFields(): Collection<JavaField> = fields
+
+    override fun getConstructors(): Collection<JavaConstructor> = constructors
+
+    override fun getAnnotations(): Collection<JavaAnnotation> = annotations
+
+    override fun findAnnotation(fqName: FqName) = annotations.findAnnotation(fqName)
+
+    override fun isDeprecatedInJavaDoc() = access.isSet(ACC_DEPRECATED)
+
+    override fun getOriginKind() = JavaClass.OriginKind.COMPILED
+
+    override fun getDefaultType() = createImmediateType(JavaTypeSubstitutor.EMPTY) as JavaClassifierType
+
+    override fun createImmediateType(substitutor: JavaTypeSubstitutor): JavaType {
+        val arguments = ArrayList<List<JavaType>>(1)
+        var current: JavaClass? = this
+        while (current != null) {
+            // A type parameter substituted with null means a raw type
+            arguments.add(current.getTypeParameters().map { substitutor.substitute(it) ?: return createClassType(emptyList(), emptyList()) })
+            if (current.isStatic()) break
+            current = current.getOuterClass()
+        }
+
+        val outerArguments = arguments.drop(1)
+        return createClassType(arguments.first(), if (outerArguments.all { it.isEmpty() }) emptyList() else outerArguments)
+    }
+
+    private fun createClassType(typeArguments: List<JavaType>, outerTypeArguments: List<List<JavaType>>) =
+            PlainJavaClassifierType({ this }, internalName, typeArguments, outerTypeArguments)
+
+    private fun parseClassSignature(): ClassSignature {
+        val signature = signature
+        val typeParameters: List<JavaTypeParameter>
+        val superclass: JavaClassifierType?
+        val interfaces = ArrayList<JavaClassifierType>(interfaceNames.size())
+
+        if (signature != null) {
+            val parser = SignatureParser(signature, context)
+            typeParameters = parser.parseTypeParameters(this)
+            superclass = parser.parseFieldType() as JavaClassifierType
+            while (!parser.isAtEnd) {
+                interfaces.add(parser.parseFieldType() as JavaClassifierType)
+            }
+        }
+        else {
+            typeParameters = emptyList()
+            superclass = superName?.let { createSupertype(it) }
+            interfaceNames.mapTo(interfaces) { createSupertype(it) }
+        }
+        // Interfaces have java.lang.Object as the superclass in class files, but it's only a supertype if they extend nothing else
+        val supertypes = if (superclass == null || (isInterface() && interfaces.isNotEmpty())) interfaces else listOf(superclass) + interfaces
+        return ClassSignature(typeParameters, supertypes)
+    }
+
+    private fun createSupertype(internalName: String): JavaClassifierType =
+            PlainJavaClassifierType({ context.resolveClass(internalName) }, internalName, emptyList(), emptyList())
+
+    /**
+     * Type variables are resolved only after the class is read, so the class signature can be parsed here whatever member
+     * or type is resolved first
+     */
+    private fun findClassTypeParameter(name: String): JavaTypeParameter? {
+        return getTypeParameters().firstOrNull { it.getName().asString() == name } ?: findOuterTypeParameter(name)
+    }
+
+    private fun findOuterTypeParameter(name: String): JavaTypeParameter? {
+        var outer = getOuterClass()
+        while (outer != null) {
+            val typeParameter = outer.getTypeParameters().firstOrNull { it.getName().asString() == name }
+            if (typeParameter != null) return typeParameter
+            outer = outer.getOuterClass()
+        }
+        return null
+    }
+
+    override fun toString() = javaClass.getSimpleName() + ": " + classId
+
+    private inner class Reader : ClassVisitor(ASM5) {
+        override fun visit(version: Int, access: Int, name: String, signature: String?, superName: String?, interfaces: Array<String>?) {
+            this@BinaryJavaClass.access = access
+            this@BinaryJavaClass.internalName = name
+            this@BinaryJavaClass.signature = signature
+            this@BinaryJavaClass.superName = superName
+            this@BinaryJavaClass.interfaceNames = interfaces ?: emptyArray()
+        }
+
+        override fun visitInnerClass(name: String, outerName: String?, innerName: String?, access: Int) {
+            context.addInnerClass(name, outerName, innerName)
+
+            if (name == internalName) {
+                // Modifiers of a nested class, such as static or protected, are only recorded in the InnerClasses attribute
+                this@BinaryJavaClass.access = access or (this@BinaryJavaClass.access and ACC_DEPRECATED)
+            }
+            else if (outerName == internalName && innerName != null && !access.isSet(ACC_SYNTHETIC)) {
+                innerClassNames.add(Name.identifier(innerName))
+            }
+        }
+
+        override fun visitAnnotation(desc: String, visible: Boolean): AnnotationVisitor =
+                BinaryJavaAnnotation.addAnnotation(annotations, desc, context)
+
+        override fun visitField(access: Int, name: String, desc: String, signature: String?, value: Any?): FieldVisitor? {
+            if (access.isSet(ACC_SYNTHETIC) || !Name.isValidIdentifier(name)) return null
+
+            val field = BinaryJavaField(access, this@BinaryJavaClass, Name.identifier(name), signature ?: desc, context, value)
+            fields.add(field)
+            return field.createVisitor()
+        }
+
+        override fun visitMethod(access: Int, name: String, desc: String, signature: String?, exceptions: Array<String>?): MethodVisitor? {
+            if (access.isSet(ACC_SYNTHETIC)) return null
+
+            val method = when {
+                name == "<init>" ->
+                    BinaryJavaConstructor(access, this@BinaryJavaClass, desc, signature, context.createChildContext()).apply {
+                        constructors.add(this)
+                    }
+                Name.isValidIdentifier(name) ->
+                    BinaryJavaMethod(access, this@BinaryJavaClass, Name.identifier(name), desc, signature, context.createChildContext()).apply {
+                        methods.add(this)
+                    }
+                // Static initializers
+                else -> return null
+            }
+            return method.createVisitor()
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.load.java.structure.impl.classFiles
+
+import org.jetbrains.kotlin.load.java.structure.JavaClass
+import org.jetbrains.kotlin.load.java.structure.JavaTypeParameter
+import org.jetbrains.kotlin.load.java.structure.JavaTypeProvider
+import org.jetbrains.kotlin.name.ClassId
+import org.jetbrains.kotlin.name.FqName
+import java.util.ArrayList
+import java.util.Collections
+import java.util.HashMap
+
+/**
+ * Resolves names found in a class file: internal class names via the InnerClasses attribute of the class, and type variables
+ * via the type parameters of the member, the class and its outer classes.
+ * Classes are looked up only when a type is resolved, so reading a class file never loads the classes it refers to
+ */
+internal class ClassifierResolutionContext private constructor(
+        private val classFinder: (ClassId) -> JavaClass?,
+        private val innerClasses: MutableMap<String, InnerClassInfo>,
+        private val parent: ClassifierResolutionContext?,
+        private val classTypeParameterFinder: (String) -> JavaTypeParameter?
+) {
+    constructor(
+            classFinder: (ClassId) -> JavaClass?,
+            classTypeParameterFinder: (String) -> JavaTypeParameter?
+    ) : this(classFinder, HashMap(), null, classTypeParameterFinder)
+
+    private class InnerClassInfo(val outerInternalName: String?, val simpleName: String?)
+
+    /**
+     * Type parameters declared by the member of this context. Type parameters of the class and its outer classes are found
+     * with the class type parameter finder instead, so that they don't depend on the order in which signatures are parsed.
+     * They are set after the signature is parsed, because their bounds may refer to themselves
+     */
+    var typeParameters: List<JavaTypeParameter> = emptyList()
+
+    val typeProvider: JavaTypeProvider by lazy { PlainJavaTypeProvider(this) }
+
+    fun createChildContext(): ClassifierResolutionContext =
+            ClassifierResolutionContext(classFinder, innerClasses, this, classTypeParameterFinder)
+
+    fun addInnerClass(internalName: String, outerInternalName: String?, simpleName: String?) {
+        innerClasses[internalName] = InnerClassInfo(outerInternalName, simpleName)
+    }
+
+    fun findClass(classId: ClassId): JavaClass? = classFinder(classId)
+
+    fun resolveClass(internalName: String): JavaClass? = classFinder(mapInternalNameToClassId(internalName))
+
+    fun resolveTypeParameter(name: String): JavaTypeParameter? {
+        return typeParameters.firstOrNull { it.getName().asString() == name }
+               ?: if (parent != null) parent.resolveTypeParameter(name) else classTypeParameterFinder(name)
+    }
+
+    fun mapInternalNameToClassId(internalName: String): ClassId {
+        if ('$' !in internalName) {
+            return ClassId.topLevel(FqName(internalName.replace('/', '.')))
+        }
+
+        val classes = ArrayList<String>(1)
+        var local = false
+        var name = internalName
+
+        while (true) {
+            val info = innerClasses[name] ?: break
+            if (info.outerInternalName == null || info.simpleName == null) {
+                local = true
+                break
+            }
+            classes.add(info.simpleName)
+            name = info.outerInternalName
+        }
+
+        val outermostClassFqName = FqName(name.replace('/', '.'))
+        classes.add(outermostClassFqName.shortName().asString())
+        Collections.reverse(classes)
+
+        return ClassId(outermostClassFqName.parent(), FqName.fromSegments(classes), local)
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.load.java.structure.impl.classFiles
+
+import org.jetbrains.kotlin.builtins.PrimitiveType
+import org.jetbrains.kotlin.load.java.structure.JavaClassifierType
+import org.jetbrains.kotlin.load.java.structure.JavaType
+import org.jetbrains.kotlin.load.java.structure.JavaTypeParameter
+import org.jetbrains.kotlin.load.java.structure.JavaTypeParameterListOwner
+import org.jetbrains.kotlin.name.Name
+import org.jetbrains.kotlin.resolve.jvm.JvmPrimitiveType
+import java.util.ArrayList
+import java.util.Collections
+import java.util.HashMap
+
+/**
+ * Parses JVM descriptors and generic signatures (JVMS 4.7.9.1) into Java types.
+ * Names are not resolved here, [context] is asked for them only when the corresponding type is resolved
+ */
+internal class SignatureParser(private val signature: String, private val context: ClassifierResolutionContext) {
+    private var position = 0
+
+    val isAtEnd: Boolean
+        get() = position >= signature.length()
+
+    fun parseTypeParameters(owner: JavaTypeParameterListOwner): List<JavaTypeParameter> {
+        if (isAtEnd || signature[position] != '<') return emptyList()
+        position++
+
+        val result = ArrayList<JavaTypeParameter>(1)
+        while (signature[position] != '>') {
+            val colon = signature.indexOf(':', position)
+            val name = signature.substring(position, colon)
+            position = colon
+
+            val bounds = ArrayList<JavaClassifierType>(1)
+            while (signature[position] == ':') {
+                position++
+                // The class bound is empty if the type parameter is bounded by interfaces only
+                if (signature[position] != ':') {
+                    bounds.add(parseFieldType() as JavaClassifierType)
+                }
+            }
+
+            // Type parameters with no explicit bounds have java.lang.Object as a bound in class files
+            val upperBounds = if (bounds.singleOrNull() == context.typeProvider.createJavaLangObjectType()) emptyList() else bounds
+            result.add(BinaryJavaTypeParameter(Name.identifier(name), owner, upperBounds, context.typeProvider))
+        }
+        position++
+
+        return result
+    }
+
+    fun parseValueParameterTypes(): List<JavaType> {
+        assert(signature[position] == '(') { "Value parameters expected at $position in $signature" }
+        position++
+
+        if (signature[position] == ')') {
+            position++
+            return emptyList()
+        }
+
+        val result = ArrayList<JavaType>(2)
+        while (signature[position] != ')') {
+            result.add(parseType())
+        }
+        position++
+
+        return result
+    }
+
+    fun parseType(): JavaType {
+        val char = signature[position]
+        if (char == 'V') {
+            position++
+            return PlainJavaPrimitiveType.VOID
+        }
+
+        val primitiveType = PRIMITIVE_TYPES[char]
+        if (primitiveType != null) {
+            position++
+            return PlainJavaPrimitiveType.get(primitiveType)
+        }
+
+        return parseFieldType()
+    }
+
+    fun parseFieldType(): JavaType {
+        return when (signature[position]) {
+            'L' -> parseClassType()
+            '[' -> {
+                position++
+                PlainJavaArrayType(parseType())
+            }
+            'T' -> {
+                val end = signature.indexOf(';', position)
+                val name = signature.substring(position + 1, end)
+                position = end + 1
+                PlainJavaClassifierType({ context.resolveTypeParameter(name) }, name, emptyList(), emptyList())
+            }
+            else -> throw IllegalStateException("Unexpected character at $position in $signature")
+        }
+    }
+
+    private fun parseClassType(): JavaClassifierType {
+        position++
+
+        val internalName = StringBuilder()
+        var arguments = emptyList<JavaType>()
+        var outerArguments: MutableList<List<JavaType>>? = null
+
+        while (true) {
+            val start = position
+            while (signature[position] != ';' && signature[position] != '<' && signature[position] != '.') {
+                position++
+            }
+            internalName.append(signature, start, position)
+
+            if (signature[position] == '<') {
+                arguments = parseTypeArguments()
+            }
+
+            if (signature[position] == ';') break
+
+            // Inner class of a parameterized outer class, e.g. Outer<A>.Inner<B>
+            if (outerArguments == null) {
+                outerArguments = ArrayList(1)
+            }
+            outerArguments.add(arguments)
+            arguments = emptyList()
+            internalName.append('$')
+            position++
+        }
+        position++
+
+        val name = internalName.toString()
+        if (outerArguments != null) {
+            Collections.reverse(outerArguments)
+        }
+        return PlainJavaClassifierType(
+                { context.resolveClass(name) }, name, arguments,
+                if (outerArguments == null || outerArguments.all { it.isEmpty() }) emptyList() else outerArguments
+        )
+    }
+
+    private fun parseTypeArguments(): List<JavaType> {
+        position++
+
+        val result = ArrayList<JavaType>(1)
+        while (signature[position] != '>') {
+            val argument = when (signature[position]) {
+                '*' -> {
+                    position++
+                    context.typeProvider.createUnboundedWildcard()
+                }
+                '+' -> {
+                    position++
+                    context.typeProvider.createUpperBoundWildcard(parseFieldType())
+                }
+                '-' -> {
+                    position++
+                    context.typeProvider.createLowerBoundWildcard(parseFieldType())
+                }
+                else -> parseFieldType()
+            }
+            result.add(argument)
+        }
+        position++
+
+        return result
+    }
+
+    companion object {
+        private val PRIMITIVE_TYPES = HashMap<Char, PrimitiveType>().apply {
+            for (type in JvmPrimitiveType.values()) {
+                put(type.getDesc()[0], type.getPrimitiveType())
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.load.java.structure.impl.classFiles
+
+import org.jetbrains.kotlin.load.java.structure.*
+import org.jetbrains.kotlin.name.ClassId
+import org.jetbrains.kotlin.name.FqName
+import org.jetbrains.kotlin.name.Name
+import org.jetbrains.org.objectweb.asm.AnnotationVisitor
+import org.jetbrains.org.objectweb.asm.Opcodes.ASM5
+import org.jetbrains.org.objectweb.asm.Type
+import java.util.ArrayList
+
+internal class BinaryJavaAnnotation(
+        private val desc: String,
+        private val context: ClassifierResolutionContext
+) : JavaAnnotation {
+    private val arguments = ArrayList<JavaAnnotationArgument>(1)
+
+    // Annotation descriptors are always of the form "Lname;"
+    private val internalName: String
+        get() = desc.substring(1, desc.length() - 1)
+
+    override fun findArgument(name: Name) = arguments.firstOrNull { it.name == name }
+
+    override fun getArguments(): Collection<JavaAnnotationArgument> = arguments
+
+    override fun getClassId(): ClassId = context.mapInternalNameToClassId(internalName)
+
+    override fun resolve(): JavaClass? = context.resolveClass(internalName)
+
+    override fun toString() = "@${getClassId().asSingleFqName()}"
+
+    companion object {
+        fun addAnnotation(
+                annotations: MutableList<JavaAnnotation>,
+                desc: String,
+                context: ClassifierResolutionContext
+        ): AnnotationVisitor {
+            val annotation = BinaryJavaAnnotation(desc, context)
+            annotations.add(annotation)
+            return BinaryJavaAnnotationVisitor(context) { annotation.arguments.add(it) }
+        }
+    }
+}
+
+internal class BinaryJavaAnnotationVisitor(
+        private val context: ClassifierResolutionContext,
+        private val sink: (JavaAnnotationArgument) -> Unit
+) : AnnotationVisitor(ASM5) {
+    override fun visit(name: String?, value: Any?) {
+        sink(createArgument(name?.let { Name.identifier(it) }, value))
+    }
+
+    private fun createArgument(name: Name?, value: Any?): JavaAnnotationArgument {
+        return when (value) {
+            is Type -> PlainJavaClassObjectAnnotationArgument(name, value.getDescriptor(), context)
+            // ASM reports arrays of primitives as a single value
+            is BooleanArray -> PlainJavaArrayAnnotationArgument(name, value.map { createArgument(null, it) })
+            is CharArray -> PlainJavaArrayAnnotationArgument(name, value.map { createArgument(null, it) })
+            is ByteArray -> PlainJavaArrayAnnotationArgument(name, value.map { createArgument(null, it) })
+            is ShortArray -> PlainJavaArrayAnnotationArgument(name, value.map { createArgument(null, it) })
+            is IntArray -> PlainJavaArrayAnnotationArgument(name, value.map { createArgument(null, it) })
+            is LongArray -> PlainJavaArrayAnnotationArgument(name, value.map { createArgument(null, it) })
+            is FloatArray -> PlainJavaArrayAnnotationArgument(name, value.map { createArgument(null, it) })
+            is DoubleArray -> PlainJavaArrayAnnotationArgument(name, value.map { createArgument(null, it) })
+            else -> PlainJavaLiteralAnnotationArgument(name, value)
+        }
+    }
+
+    override fun visitEnum(name: String?, desc: String, value: String) {
+        sink(PlainJavaEnumValueAnnotationArgument(name?.let { Name.identifier(it) }, desc, value, context))
+    }
+
+    override fun visitAnnotation(name: String?, desc: String): AnnotationVisitor {
+        val annotations = ArrayList<JavaAnnotation>(1)
+        val visitor = BinaryJavaAnnotation.addAnnotation(annotations, desc, context)
+        sink(PlainJavaAnnotationAsAnnotationArgument(name?.let { Name.identifier(it) }, annotations.single()))
+        return visitor
+    }
+
+    override fun visitArray(name: String?): AnnotationVisitor {
+        val elements = ArrayList<JavaAnnotationArgument>()
+        sink(PlainJavaArrayAnnotationArgument(name?.let { Name.identifier(it) }, elements))
+        return BinaryJavaAnnotationVisitor(context) { elements.add(it) }
+    }
+}
+
+internal class PlainJavaLiteralAnnotationArgument(
+        override val name: Name?,
+        override val value: Any?
+) : JavaLiteralAnnotationArgument
+
+internal class PlainJavaArrayAnnotationArgument(
+        override val name: Name?,
+        private val elements: List<JavaAnnotationArgument>
+) : JavaArrayAnnotationArgument {
+    override fun getElements() = elements
+}
+
+internal class PlainJavaEnumValueAnnotationArgument(
+        override val name: Name?,
+        private val enumDesc: String,
+        private val entryName: String,
+        private val context: ClassifierResolutionContext
+) : JavaEnumValueAnnotationArgument {
+    override fun resolve(): JavaField? {
+        val enumClass = context.resolveClass(enumDesc.substring(1, enumDesc.length() - 1)) ?: return null
+        return enumClass.getFields().firstOrNull { it.isEnumEntry() && it.getName().asString() == entryName }
+    }
+}
+
+internal class PlainJavaClassObjectAnnotationArgument(
+        override val name: Name?,
+        private val desc: String,
+        private val context: ClassifierResolutionContext
+) : JavaClassObjectAnnotationArgument {
+    override fun getReferencedType() = SignatureParser(desc, context).parseType()
+}
+
+internal class PlainJavaAnnotationAsAnnotationArgument(
+        override val name: Name?,
+        private val annotation: JavaAnnotation
+) : JavaAnnotationAsAnnotationArgument {
+    override fun getAnnotation() = annotation
+}
+
+internal fun Collection<JavaAnnotation>.findAnnotation(fqName: FqName): JavaAnnotation? =
+        firstOrNull { it.getClassId()?.asSingleFqName() == fqName }
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.load.java.structure.impl.classFiles
+
+import com.intellij.util.SmartList
+import org.jetbrains.kotlin.descriptors.Visibilities
+import org.jetbrains.kotlin.descriptors.Visibility
+import org.jetbrains.kotlin.load.java.JavaVisibilities
+import org.jetbrains.kotlin.load.java.structure.*
+import org.jetbrains.kotlin.name.FqName
+import org.jetbrains.kotlin.name.Name
+import org.jetbrains.org.objectweb.asm.AnnotationVisitor
+import org.jetbrains.org.objectweb.asm.FieldVisitor
+import org.jetbrains.org.objectweb.asm.Label
+import org.jetbrains.org.objectweb.asm.MethodVisitor
+import org.jetbrains.org.objectweb.asm.Opcodes.*
+import org.jetbrains.org.objectweb.asm.Type
+
+internal fun Int.isSet(flag: Int) = this and flag != 0
+
+internal fun Int.toVisibility(): Visibility = when {
+    isSet(ACC_PUBLIC) -> Visibilities.PUBLIC
+    isSet(ACC_PRIVATE) -> Visibilities.PRIVATE
+    isSet(ACC_PROTECTED) -> if (isSet(ACC_STATIC)) JavaVisibilities.PROTECTED_STATIC_VISIBILITY else JavaVisibilities.PROTECTED_AND_PACKAGE
+    else -> JavaVisibilities.PACKAGE_VISIBILITY
+}
+
+internal abstract class BinaryJavaMember(
+        protected val access: Int,
+        private val containingClass: BinaryJavaClass,
+        private val name: Name
+) : JavaMember {
+    private val annotations: MutableList<JavaAnnotation> = SmartList()
+
+    override fun getContainingClass(): JavaClass = containingClass
+
+    override fun getName() = name
+
+    override fun isAbstract() = access.isSet(ACC_ABSTRACT)
+
+    override fun isStatic() = access.isSet(ACC_STATIC)
+
+    override fun isFinal() = access.isSet(ACC_FINAL)
+
+    override fun getVisibility() = access.toVisibility()
+
+    override fun getAnnotations(): Collection<JavaAnnotation> = annotations
+
+    override fun findAnnotation(fqName: FqName) = annotations.findAnnotation(fqName)
+
+    override fun isDeprecatedInJavaDoc() = access.isSet(ACC_DEPRECATED)
+
+    protected fun addAnnotation(desc: String, context: ClassifierResolutionContext): AnnotationVisitor =
+            BinaryJavaAnnotation.addAnnotation(annotations, desc, context)
+
+    override fun toString() = javaClass.getSimpleName() + ": " + containingClass.getFqName() + "." + name
+}
+
+internal class BinaryJavaField(
+        access: Int,
+        containingClass: BinaryJavaClass,
+        name: Name,
+        private val typeSignature: String,
+        private val context: ClassifierResolutionContext,
+        initializer: Any?
+) : BinaryJavaMember(access, containingClass, name), JavaField {
+    private val parsedType by lazy { SignatureParser(typeSignature, context).parseType() }
+
+    /**
+     * The value of the ConstantValue attribute converted to the type of the field:
+     * booleans, chars, bytes and shorts are all stored as ints in class files
+     */
+    val initializerValue: Any? = when (typeSignature) {
+        "Z" -> (initializer as? Int)?.let { it != 0 }
+        "C" -> (initializer as? Int)?.toChar()
+        "B" -> (initializer as? Int)?.toByte()
+        "S" -> (initializer as? Int)?.toShort()
+        else -> initializer
+    }
+
+    override fun isEnumEntry() = access.isSet(ACC_ENUM)
+
+    override fun getType() = parsedType
+
+    fun createVisitor(): FieldVisitor = object : FieldVisitor(ASM5) {
+        override fun visitAnnotation(desc: String, visible: Boolean) = addAnnotation(desc, context)
+    }
+}
+
+internal abstract class BinaryJavaMethodBase(
+        access: Int,
+        private val containingClass: BinaryJavaClass,
+        name: Name,
+        private val desc: String,
+        private val signature: String?,
+        protected val context: ClassifierResolutionContext
+) : BinaryJavaMember(access, containingClass, name), JavaTypeParameterListOwner {
+    private class ParsedSignature(
+            val typeParameters: List<JavaTypeParameter>,
+            val valueParameters: List<JavaValueParameter>,
+            val returnType: JavaType
+    )
+
+    // Both are read from the class file before the signature is parsed and are indexed as the parameters in the descriptor
+    private var parameterNames: Array<String?>? = null
+    private var parameterAnnotations: Array<MutableList<JavaAnnotation>?>? = null
+
+    private val parsedSignature by lazy { parseSignature() }
+
+    protected val parsedReturnType: JavaType
+        get() = parsedSignature.returnType
+
+    override fun getTypeParameters() = parsedSignature.typeParameters
+
+    fun getValueParameters() = parsedSignature.valueParameters
+
+    private fun parseSignature(): ParsedSignature {
+        val parser = SignatureParser(signature ?: desc, context)
+        val typeParameters = parser.parseTypeParameters(this)
+        context.typeParameters = typeParameters
+
+        val types = parser.parseValueParameterTypes()
+        val returnType = parser.parseType()
+
+        // The outer instance of an inner class and the name and the ordinal of an enum entry are passed to the constructor
+        // as synthetic parameters. Generic signatures don't mention them, descriptors do
+        val descriptorParameterCount = Type.getArgumentTypes(desc).size()
+        val syntheticParameterCount = when {
+            signature != null -> Math.max(descriptorParameterCount - types.size(), 0)
+            this !is BinaryJavaConstructor -> 0
+            containingClass.isEnum() -> 2
+            containingClass.isInner -> 1
+            else -> 0
+        }
+        val valueParameterTypes = if (signature != null) types else types.drop(syntheticParameterCount)
+
+        val isVararg = access.isSet(ACC_VARARGS)
+        val valueParameters = valueParameterTypes.withIndex().map { indexedType ->
+            val descriptorIndex = indexedType.index + syntheticParameterCount
+            BinaryJavaValueParameter(
+                    parameterNames?.getOrNull(descriptorIndex)?.let { if (Name.isValidIdentifier(it)) Name.identifier(it) else null },
+                    indexedType.value,
+                    isVararg && indexedType.index == valueParameterTypes.lastIndex,
+                    parameterAnnotations?.getOrNull(descriptorIndex) ?: emptyList<JavaAnnotation>()
+            )
+        }
+
+        return ParsedSignature(typeParameters, valueParameters, returnType)
+    }
+
+    protected open fun onAnnotationDefault() {
+    }
+
+    /**
+     * Collects annotations and parameter names. The latter are taken from the MethodParameters attribute if it's present,
+     * or from the local variable table, which is why the code of methods can't be skipped while reading the class file
+     */
+    fun createVisitor(): MethodVisitor = object : MethodVisitor(ASM5) {
+        private var parameterSlots: IntArray? = null
+        private var visitedParameters = 0
+
+        override fun visitAnnotation(desc: String, visible: Boolean) = addAnnotation(desc, context)
+
+        override fun visitAnnotationDefault(): AnnotationVisitor? {
+            onAnnotationDefault()
+            return null
+        }
+
+        override fun visitParameterAnnotation(parameter: Int, desc: String, visible: Boolean): AnnotationVisitor? {
+            // ASM reports this fake annotation on synthetic parameters which have no annotations in the class file
+            if (desc == "Ljava/lang/Synthetic;") return null
+
+            val allAnnotations = parameterAnnotations ?: arrayOfNulls<MutableList<JavaAnnotation>>(descriptorParameterCount()).apply {
+                parameterAnnotations = this
+            }
+            if (parameter >= allAnnotations.size()) return null
+            val annotations = allAnnotations[parameter] ?: SmartList<JavaAnnotation>().apply { allAnnotations[parameter] = this }
+            return BinaryJavaAnnotation.addAnnotation(annotations, desc, context)
+        }
+
+        override fun visitParameter(name: String?, access: Int) {
+            if (name != null) {
+                setParameterName(visitedParameters, name)
+            }
+            visitedParameters++
+        }
+
+        override fun visitLocalVariable(name: String, desc: String, signature: String?, start: Label, end: Label, index: Int) {
+            val slots = parameterSlots ?: computeParameterSlots().apply { parameterSlots = this }
+            val parameter = slots.indexOf(index)
+            if (parameter >= 0 && parameterNames?.get(parameter) == null) {
+                setParameterName(parameter, name)
+            }
+        }
+
+        private fun setParameterName(index: Int, name: String) {
+            val names = parameterNames ?: arrayOfNulls<String>(descriptorParameterCount()).apply { parameterNames = this }
+            if (index < names.size()) {
+                names[index] = name
+            }
+        }
+
+        private fun computeParameterSlots(): IntArray {
+            val types = Type.getArgumentTypes(desc)
+            val slots = IntArray(types.size())
+            var slot = if (isStatic()) 0 else 1
+            for (index in types.indices) {
+                slots[index] = slot
+                slot += types[index].getSize()
+            }
+            return slots
+        }
+
+        private fun descriptorParameterCount() = Type.getArgumentTypes(desc).size()
+    }
+}
+
+internal class BinaryJavaMethod(
+        access: Int,
+        containingClass: BinaryJavaClass,
+        name: Name,
+        desc: String,
+        signature: String?,
+        context: ClassifierResolutionContext
+) : BinaryJavaMethodBase(access, containingClass, name, desc, signature, context), JavaMethod {
+    private var hasDefaultValue = false
+
+    override fun hasAnnotationParameterDefaultValue() = hasDefaultValue
+
+    override fun onAnnotationDefault() {
+        hasDefaultValue = true
+    }
+
+    override fun getReturnType() = parsedReturnType
+}
+
+internal class BinaryJavaConstructor(
+        access: Int,
+        containingClass: BinaryJavaClass,
+        desc: String,
+        signature: String?,
+        context: ClassifierResolutionContext
+) : BinaryJavaMethodBase(access, containingClass, containingClass.getName(), desc, signature, context), JavaConstructor {
+    override fun isAbstract() = false
+}
+
+internal class BinaryJavaValueParameter(
+        private val name: Name?,
+        private val type: JavaType,
+        private val vararg: Boolean,
+        private val annotations: Collection<JavaAnnotation>
+) : JavaValueParameter {
+    override fun getName() = name
+
+    override fun getType() = type
+
+    override fun isVararg() = vararg
+
+    override fun getAnnotations() = annotations
+
+    override fun findAnnotation(fqName: FqName) = annotations.findAnnotation(fqName)
+
+    override fun isDeprecatedInJavaDoc() = false
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.load.java.structure.impl.classFiles
+
+import org.jetbrains.kotlin.builtins.PrimitiveType
+import org.jetbrains.kotlin.load.java.structure.*
+import org.jetbrains.kotlin.load.java.structure.impl.JavaTypeSubstitutorImpl
+import org.jetbrains.kotlin.name.FqName
+import org.jetbrains.kotlin.name.Name
+import org.jetbrains.kotlin.resolve.jvm.JvmPrimitiveType
+import java.util.EnumMap
+import java.util.HashMap
+
+internal abstract class PlainJavaType : JavaType {
+    override fun createArrayType(): JavaArrayType = PlainJavaArrayType(this)
+}
+
+internal class PlainJavaArrayType(private val componentType: JavaType) : PlainJavaType(), JavaArrayType {
+    override fun getComponentType() = componentType
+
+    override fun toString() = "$componentType[]"
+
+    override fun equals(other: Any?) = other is PlainJavaArrayType && componentType == other.componentType
+
+    override fun hashCode() = componentType.hashCode() * 31 + 1
+}
+
+internal class PlainJavaPrimitiveType private constructor(private val type: PrimitiveType?) : PlainJavaType(), JavaPrimitiveType {
+    override fun getType() = type
+
+    override fun toString() = if (type == null) "void" else JvmPrimitiveType.get(type).getJavaKeywordName()
+
+    companion object {
+        private val TYPES = EnumMap<PrimitiveType, JavaPrimitiveType>(PrimitiveType::class.java).apply {
+            for (type in PrimitiveType.values()) {
+                put(type, PlainJavaPrimitiveType(type))
+            }
+        }
+
+        val VOID: JavaPrimitiveType = PlainJavaPrimitiveType(null)
+
+        fun get(type: PrimitiveType): JavaPrimitiveType = TYPES[type]!!
+    }
+}
+
+internal class PlainJavaWildcardType(
+        private val bound: JavaType?,
+        private val isUpperBound: Boolean,
+        private val typeProvider: JavaTypeProvider
+) : PlainJavaType(), JavaWildcardType {
+    override fun getBound() = bound
+
+    override fun isExtends() = isUpperBound
+
+    override fun getTypeProvider() = typeProvider
+
+    override fun toString() = if (bound == null) "?" else if (isUpperBound) "? extends $bound" else "? super $bound"
+
+    override fun equals(other: Any?) = other is PlainJavaWildcardType && isUpperBound == other.isUpperBound && bound == other.bound
+
+    override fun hashCode() = (bound?.hashCode() ?: 0) * 31 + (if (isUpperBound) 1 else 0)
+}
+
+/**
+ * A class or type variable reference read from a signature, resolved on the first request.
+ * [typeArguments] belong to the class itself, [outerTypeArguments] to its outer classes starting from the innermost one,
+ * e.g. `Outer<A>.Inner<B>` has `[B]` and `[[A]]`
+ */
+internal class PlainJavaClassifierType(
+        classifierComputation: () -> JavaClassifier?,
+        private val classifierName: String,
+        private val typeArguments: List<JavaType>,
+        private val outerTypeArguments: List<List<JavaType>>
+) : PlainJavaType(), JavaClassifierType {
+    private val resolvedClassifier by lazy(classifierComputation)
+
+    private val resolvedSubstitutor by lazy { computeSubstitutor() }
+
+    override fun getClassifier(): JavaClassifier? = resolvedClassifier
+
+    override fun getSubstitutor(): JavaTypeSubstitutor = resolvedSubstitutor
+
+    private fun computeSubstitutor(): JavaTypeSubstitutor {
+        var javaClass = resolvedClassifier as? JavaClass ?: return JavaTypeSubstitutor.EMPTY
+
+        val substitutionMap = HashMap<JavaTypeParameter, JavaType?>()
+        var arguments = typeArguments
+        var depth = 0
+        while (true) {
+            // No arguments for a generic class means a raw type, its type parameters are mapped to null in this case
+            for ((index, typeParameter) in javaClass.getTypeParameters().withIndex()) {
+                substitutionMap[typeParameter] = arguments.getOrNull(index)
+            }
+
+            if (javaClass.isStatic()) break
+            javaClass = javaClass.getOuterClass() ?: break
+            arguments = outerTypeArguments.getOrNull(depth++) ?: emptyList()
+        }
+
+        return if (substitutionMap.isEmpty()) JavaTypeSubstitutor.EMPTY else JavaTypeSubstitutorImpl(substitutionMap)
+    }
+
+    override fun getSupertypes(): Collection<JavaClassifierType> {
+        val classifier = resolvedClassifier
+        return when (classifier) {
+            is JavaClass -> classifier.getSupertypes().map { resolvedSubstitutor.substitute(it) as? JavaClassifierType ?: it }
+            is JavaTypeParameter -> classifier.getUpperBounds()
+            else -> emptyList()
+        }
+    }
+
+    override fun getPresentableText(): String {
+        val shortName = classifierName.substringAfterLast('/').substringAfterLast('$')
+        return if (typeArguments.isEmpty()) shortName else shortName + typeArguments.joinToString(prefix = "<", postfix = ">")
+    }
+
+    override fun isRaw() = typeArguments.isEmpty() && (resolvedClassifier as? JavaClass)?.getTypeParameters()?.isNotEmpty() ?: false
+
+    override fun getTypeArguments() = typeArguments
+
+    override fun getAnnotations() = emptyList<JavaAnnotation>()
+
+    override fun findAnnotation(fqName: FqName): JavaAnnotation? = null
+
+    override fun isDeprecatedInJavaDoc() = false
+
+    override fun equals(other: Any?) =
+            other is PlainJavaClassifierType && classifierName == other.classifierName &&
+            typeArguments == other.typeArguments && outerTypeArguments == other.outerTypeArguments
+
+    override fun hashCode() = classifierName.hashCode() * 31 + typeArguments.hashCode()
+
+    override fun toString() = getPresentableText()
+}
+
+internal class PlainJavaTypeProvider(private val context: ClassifierResolutionContext) : JavaTypeProvider {
+    override fun createJavaLangObjectType(): JavaType =
+            PlainJavaClassifierType({ context.resolveClass(JAVA_LANG_OBJECT) }, JAVA_LANG_OBJECT, emptyList(), emptyList())
+
+    override fun createUpperBoundWildcard(bound: JavaType): JavaWildcardType = PlainJavaWildcardType(bound, true, this)
+
+    override fun createLowerBoundWildcard(bound: JavaType): JavaWildcardType = PlainJavaWildcardType(bound, false, this)
+
+    override fun createUnboundedWildcard(): JavaWildcardType = PlainJavaWildcardType(null, true, this)
+
+    companion object {
+        val JAVA_LANG_OBJECT = "java/lang/Object"
+    }
+}
+
+internal class BinaryJavaTypeParameter(
+        private val name: Name,
+        private val owner: JavaTypeParameterListOwner,
+        private val upperBounds: Collection<JavaClassifierType>,
+        private val typeProvider: JavaTypeProvider
+) : JavaTypeParameter {
+    override fun getName() = name
+
+    override fun getOwner() = owner
+
+    override fun getUpperBounds() = upperBounds
+
+    override fun getType(): JavaType = PlainJavaClassifierType({ this }, name.asString(), emptyList(), emptyList())
+
+    override fun getTypeProvider() = typeProvider
+
+    override fun toString() = name.asString()
+}
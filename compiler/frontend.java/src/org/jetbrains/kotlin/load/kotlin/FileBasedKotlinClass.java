@@ -16,10 +16,12 @@
 
 package org.jetbrains.kotlin.load.kotlin;
 
-import com.intellij.openapi.util.Ref;
+import kotlin.Unit;
 import kotlin.jvm.functions.Function3;
+import kotlin.jvm.functions.Function4;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.TestOnly;
 import org.jetbrains.kotlin.descriptors.SourceElement;
 import org.jetbrains.kotlin.load.kotlin.header.KotlinClassHeader;
 import org.jetbrains.kotlin.load.kotlin.header.ReadKotlinClassHeaderAnnotationVisitor;
@@ -40,15 +42,26 @@ public abstract class FileBasedKotlinClass implements KotlinJvmBinaryClass {
     private final ClassId classId;
     private final KotlinClassHeader classHeader;
     private final InnerClassesInfo innerClasses;
+    private volatile ClassContents contents;
 
     protected FileBasedKotlinClass(
             @NotNull ClassId classId,
             @NotNull KotlinClassHeader classHeader,
             @NotNull InnerClassesInfo innerClasses
+    ) {
+        this(classId, classHeader, innerClasses, null);
+    }
+
+    protected FileBasedKotlinClass(
+            @NotNull ClassId classId,
+            @NotNull KotlinClassHeader classHeader,
+            @NotNull InnerClassesInfo innerClasses,
+            @Nullable ClassContents contents
     ) {
         this.classId = classId;
         this.classHeader = classHeader;
         this.innerClasses = innerClasses;
+        this.contents = contents;
     }
 
     private static class OuterAndInnerName {
@@ -75,6 +88,251 @@ public abstract class FileBasedKotlinClass implements KotlinJvmBinaryClass {
         public OuterAndInnerName get(@NotNull String name) {
             return map == null ? null : map.get(name);
         }
+
+        public void forEach(@NotNull Function3<String, String, String, Unit> action) {
+            if (map == null) return;
+            for (Map.Entry<String, OuterAndInnerName> entry : map.entrySet()) {
+                action.invoke(entry.getKey(), entry.getValue().outerInternalName, entry.getValue().innerSimpleName);
+            }
+        }
+    }
+
+    /**
+     * Annotation exactly as it was reported by ASM, to be replayed later without reading the class file again.
+     * While the class file is read, the annotation is also passed to the delegate visitor
+     */
+    private static final class RecordedAnnotation extends org.jetbrains.org.objectweb.asm.AnnotationVisitor {
+        private static final int VALUE = 0;
+        private static final int ENUM = 1;
+        private static final int ANNOTATION = 2;
+        private static final int ARRAY = 3;
+
+        private static final class Argument {
+            private final int kind;
+            private final String name;
+            private final String desc;
+            private final Object value;
+
+            private Argument(int kind, @Nullable String name, @Nullable String desc, @Nullable Object value) {
+                this.kind = kind;
+                this.name = name;
+                this.desc = desc;
+                this.value = value;
+            }
+        }
+
+        public final String desc;
+        public final int parameter;
+        private List<Argument> arguments = Collections.emptyList();
+
+        private RecordedAnnotation(@Nullable String desc, int parameter) {
+            this(desc, parameter, null);
+        }
+
+        private RecordedAnnotation(@Nullable String desc, int parameter, @Nullable org.jetbrains.org.objectweb.asm.AnnotationVisitor delegate) {
+            super(ASM5, delegate);
+            this.desc = desc;
+            this.parameter = parameter;
+        }
+
+        private void add(@NotNull Argument argument) {
+            if (arguments.isEmpty()) {
+                arguments = new ArrayList<Argument>(2);
+            }
+            arguments.add(argument);
+        }
+
+        @Override
+        public void visit(String name, Object value) {
+            add(new Argument(VALUE, name, null, value));
+            super.visit(name, value);
+        }
+
+        @Override
+        public void visitEnum(String name, String desc, String value) {
+            add(new Argument(ENUM, name, desc, value));
+            super.visitEnum(name, desc, value);
+        }
+
+        @Override
+        public org.jetbrains.org.objectweb.asm.AnnotationVisitor visitAnnotation(String name, String desc) {
+            RecordedAnnotation annotation = new RecordedAnnotation(desc, -1, super.visitAnnotation(name, desc));
+            add(new Argument(ANNOTATION, name, desc, annotation));
+            return annotation;
+        }
+
+        @Override
+        public org.jetbrains.org.objectweb.asm.AnnotationVisitor visitArray(String name) {
+            RecordedAnnotation elements = new RecordedAnnotation(null, -1, super.visitArray(name));
+            add(new Argument(ARRAY, name, null, elements));
+            return elements;
+        }
+
+        @Override
+        public void visitEnd() {
+            super.visitEnd();
+            av = null;
+        }
+
+        public void accept(@Nullable org.jetbrains.org.objectweb.asm.AnnotationVisitor visitor) {
+            if (visitor == null) return;
+
+            for (Argument argument : arguments) {
+                switch (argument.kind) {
+                    case VALUE:
+                        visitor.visit(argument.name, argument.value);
+                        break;
+                    case ENUM:
+                        visitor.visitEnum(argument.name, argument.desc, (String) argument.value);
+                        break;
+                    case ANNOTATION:
+                        ((RecordedAnnotation) argument.value).accept(visitor.visitAnnotation(argument.name, argument.desc));
+                        break;
+                    case ARRAY:
+                        ((RecordedAnnotation) argument.value).accept(visitor.visitArray(argument.name));
+                        break;
+                }
+            }
+            visitor.visitEnd();
+        }
+    }
+
+    private static final class RecordedMember {
+        public final boolean isMethod;
+        public final String name;
+        public final String desc;
+        public final Object initializer;
+        // Includes parameter annotations of a method, which have non-negative RecordedAnnotation.parameter
+        private List<RecordedAnnotation> annotations = Collections.emptyList();
+
+        private RecordedMember(boolean isMethod, @NotNull String name, @NotNull String desc, @Nullable Object initializer) {
+            this.isMethod = isMethod;
+            this.name = name;
+            this.desc = desc;
+            this.initializer = initializer;
+        }
+
+        @NotNull
+        private RecordedAnnotation addAnnotation(@NotNull String desc, int parameter) {
+            if (annotations.isEmpty()) {
+                annotations = new ArrayList<RecordedAnnotation>(1);
+            }
+            RecordedAnnotation annotation = new RecordedAnnotation(desc, parameter);
+            annotations.add(annotation);
+            return annotation;
+        }
+    }
+
+    /**
+     * Everything {@link #loadClassAnnotations} and {@link #visitMembers} report, collected in the same pass over the class file
+     * as the header
+     */
+    protected static final class ClassContents {
+        private final List<RecordedAnnotation> classAnnotations = new ArrayList<RecordedAnnotation>(1);
+        private final List<RecordedMember> members = new ArrayList<RecordedMember>();
+
+        private ClassContents() {
+        }
+
+        @TestOnly
+        int getMemberCount() {
+            return members.size();
+        }
+    }
+
+    static class ClassContentsReader extends ClassVisitor {
+        private final ReadKotlinClassHeaderAnnotationVisitor headerVisitor;
+        private final boolean readMembers;
+        final ClassContents contents = new ClassContents();
+        private final InnerClassesInfo innerClasses = new InnerClassesInfo();
+        private String className = null;
+        private boolean recordMembers;
+
+        /**
+         * @param headerVisitor receives the class annotations while the file is read, or {@code null} if the header is already known.
+         *                      In the former case members are only recorded if the Kotlin header annotation is found
+         */
+        private ClassContentsReader(@Nullable ReadKotlinClassHeaderAnnotationVisitor headerVisitor, boolean readMembers) {
+            super(ASM5);
+            this.headerVisitor = headerVisitor;
+            this.readMembers = readMembers;
+            this.recordMembers = readMembers && headerVisitor == null;
+        }
+
+        @Override
+        public void visit(int version, int access, @NotNull String name, String signature, String superName, String[] interfaces) {
+            className = name;
+        }
+
+        @Override
+        public void visitInnerClass(@NotNull String name, String outerName, String innerName, int access) {
+            innerClasses.add(name, outerName, innerName);
+        }
+
+        @Override
+        public org.jetbrains.org.objectweb.asm.AnnotationVisitor visitAnnotation(@NotNull String desc, boolean visible) {
+            // The header is read with the inner classes known at this point, exactly as when it was read without recording
+            org.jetbrains.org.objectweb.asm.AnnotationVisitor headerAnnotationVisitor =
+                    headerVisitor == null ? null : convertAnnotationVisitor(headerVisitor, desc, innerClasses);
+            if (headerAnnotationVisitor != null) {
+                recordMembers = readMembers;
+            }
+
+            RecordedAnnotation annotation = new RecordedAnnotation(desc, -1, headerAnnotationVisitor);
+            contents.classAnnotations.add(annotation);
+            return annotation;
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, @NotNull String name, @NotNull String desc, String signature, Object value) {
+            if (!recordMembers) return null;
+
+            final RecordedMember member = new RecordedMember(false, name, desc, value);
+            contents.members.add(member);
+            return new FieldVisitor(ASM5) {
+                @Override
+                public org.jetbrains.org.objectweb.asm.AnnotationVisitor visitAnnotation(@NotNull String desc, boolean visible) {
+                    return member.addAnnotation(desc, -1);
+                }
+            };
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, @NotNull String name, @NotNull String desc, String signature, String[] exceptions) {
+            if (!recordMembers) return null;
+
+            final RecordedMember member = new RecordedMember(true, name, desc, null);
+            contents.members.add(member);
+            return new MethodVisitor(ASM5) {
+                @Override
+                public org.jetbrains.org.objectweb.asm.AnnotationVisitor visitAnnotation(@NotNull String desc, boolean visible) {
+                    return member.addAnnotation(desc, -1);
+                }
+
+                @Override
+                public org.jetbrains.org.objectweb.asm.AnnotationVisitor visitParameterAnnotation(int parameter, @NotNull String desc, boolean visible) {
+                    return member.addAnnotation(desc, parameter);
+                }
+            };
+        }
+
+        @Override
+        public void visitEnd() {
+            if (headerVisitor != null) {
+                headerVisitor.visitEnd();
+            }
+        }
+
+        @NotNull
+        static ClassContentsReader read(
+                @NotNull byte[] fileContents,
+                @Nullable ReadKotlinClassHeaderAnnotationVisitor headerVisitor,
+                boolean readMembers
+        ) {
+            ClassContentsReader reader = new ClassContentsReader(headerVisitor, readMembers);
+            new ClassReader(fileContents).accept(reader, SKIP_CODE | SKIP_DEBUG | SKIP_FRAMES);
+            return reader;
+        }
     }
 
     @NotNull
@@ -82,43 +340,57 @@ public abstract class FileBasedKotlinClass implements KotlinJvmBinaryClass {
 
     // TODO public to be accessible in companion object of subclass, workaround for KT-3974
     @Nullable
-    public static <T extends FileBasedKotlinClass> T create(
+    public static <T> T create(
             @NotNull byte[] fileContents,
-            @NotNull Function3<ClassId, KotlinClassHeader, InnerClassesInfo, T> factory
+            @NotNull final Function3<ClassId, KotlinClassHeader, InnerClassesInfo, T> factory
     ) {
-        final ReadKotlinClassHeaderAnnotationVisitor readHeaderVisitor = new ReadKotlinClassHeaderAnnotationVisitor();
-        final Ref<String> classNameRef = Ref.create();
-        final InnerClassesInfo innerClasses = new InnerClassesInfo();
-        new ClassReader(fileContents).accept(new ClassVisitor(ASM5) {
+        return create(fileContents, false, new Function4<ClassId, KotlinClassHeader, InnerClassesInfo, ClassContents, T>() {
             @Override
-            public void visit(int version, int access, @NotNull String name, String signature, String superName, String[] interfaces) {
-                classNameRef.set(name);
-            }
-
-            @Override
-            public void visitInnerClass(@NotNull String name, String outerName, String innerName, int access) {
-                innerClasses.add(name, outerName, innerName);
+            public T invoke(ClassId id, KotlinClassHeader header, InnerClassesInfo innerClasses, ClassContents contents) {
+                return factory.invoke(id, header, innerClasses);
             }
+        });
+    }
 
-            @Override
-            public org.jetbrains.org.objectweb.asm.AnnotationVisitor visitAnnotation(@NotNull String desc, boolean visible) {
-                return convertAnnotationVisitor(readHeaderVisitor, desc, innerClasses);
-            }
+    /**
+     * Same as {@link #create(byte[], Function3)}, but also collects the class annotations and the members in the same pass,
+     * so that the created class doesn't need to read the file again
+     */
+    @Nullable
+    public static <T> T createWithContents(
+            @NotNull byte[] fileContents,
+            @NotNull Function4<ClassId, KotlinClassHeader, InnerClassesInfo, ClassContents, T> factory
+    ) {
+        return create(fileContents, true, factory);
+    }
 
-            @Override
-            public void visitEnd() {
-                readHeaderVisitor.visitEnd();
-            }
-        }, SKIP_CODE | SKIP_DEBUG | SKIP_FRAMES);
+    @Nullable
+    private static <T> T create(
+            @NotNull byte[] fileContents,
+            boolean readMembers,
+            @NotNull Function4<ClassId, KotlinClassHeader, InnerClassesInfo, ClassContents, T> factory
+    ) {
+        ReadKotlinClassHeaderAnnotationVisitor readHeaderVisitor = new ReadKotlinClassHeaderAnnotationVisitor();
+        ClassContentsReader reader = ClassContentsReader.read(fileContents, readHeaderVisitor, readMembers);
 
-        String className = classNameRef.get();
+        String className = reader.className;
         if (className == null) return null;
 
         KotlinClassHeader header = readHeaderVisitor.createHeader();
         if (header == null) return null;
 
-        ClassId id = resolveNameByInternalName(className, innerClasses);
-        return factory.invoke(id, header, innerClasses);
+        ClassId id = resolveNameByInternalName(className, reader.innerClasses);
+        return factory.invoke(id, header, reader.innerClasses, readMembers ? reader.contents : null);
+    }
+
+    @NotNull
+    private ClassContents getContents() {
+        ClassContents result = contents;
+        if (result == null) {
+            result = ClassContentsReader.read(getFileContents(), null, true).contents;
+            contents = result;
+        }
+        return result;
     }
 
     @NotNull
@@ -134,18 +406,11 @@ public abstract class FileBasedKotlinClass implements KotlinJvmBinaryClass {
     }
 
     @Override
-    public void loadClassAnnotations(@NotNull final AnnotationVisitor annotationVisitor) {
-        new ClassReader(getFileContents()).accept(new ClassVisitor(ASM5) {
-            @Override
-            public org.jetbrains.org.objectweb.asm.AnnotationVisitor visitAnnotation(@NotNull String desc, boolean visible) {
-                return convertAnnotationVisitor(annotationVisitor, desc, innerClasses);
-            }
-
-            @Override
-            public void visitEnd() {
-                annotationVisitor.visitEnd();
-            }
-        }, SKIP_CODE | SKIP_DEBUG | SKIP_FRAMES);
+    public void loadClassAnnotations(@NotNull AnnotationVisitor annotationVisitor) {
+        for (RecordedAnnotation annotation : getContents().classAnnotations) {
+            annotation.accept(convertAnnotationVisitor(annotationVisitor, annotation.desc, innerClasses));
+        }
+        annotationVisitor.visitEnd();
     }
 
     @Nullable
@@ -206,50 +471,27 @@ public abstract class FileBasedKotlinClass implements KotlinJvmBinaryClass {
     }
 
     @Override
-    public void visitMembers(@NotNull final MemberVisitor memberVisitor) {
-        new ClassReader(getFileContents()).accept(new ClassVisitor(ASM5) {
-            @Override
-            public FieldVisitor visitField(int access, @NotNull String name, @NotNull String desc, String signature, Object value) {
-                final AnnotationVisitor v = memberVisitor.visitField(Name.guess(name), desc, value);
-                if (v == null) return null;
-
-                return new FieldVisitor(ASM5) {
-                    @Override
-                    public org.jetbrains.org.objectweb.asm.AnnotationVisitor visitAnnotation(@NotNull String desc, boolean visible) {
-                        return convertAnnotationVisitor(v, desc, innerClasses);
+    public void visitMembers(@NotNull MemberVisitor memberVisitor) {
+        for (RecordedMember member : getContents().members) {
+            AnnotationVisitor v = member.isMethod
+                                  ? memberVisitor.visitMethod(Name.guess(member.name), member.desc)
+                                  : memberVisitor.visitField(Name.guess(member.name), member.desc, member.initializer);
+            if (v == null) continue;
+
+            for (RecordedAnnotation annotation : member.annotations) {
+                if (annotation.parameter < 0) {
+                    annotation.accept(convertAnnotationVisitor(v, annotation.desc, innerClasses));
+                }
+                else {
+                    AnnotationArgumentVisitor av = ((MethodAnnotationVisitor) v).visitParameterAnnotation(
+                            annotation.parameter, resolveNameByDesc(annotation.desc, innerClasses), SourceElement.NO_SOURCE);
+                    if (av != null) {
+                        annotation.accept(convertAnnotationVisitor(av, innerClasses));
                     }
-
-                    @Override
-                    public void visitEnd() {
-                        v.visitEnd();
-                    }
-                };
+                }
             }
-
-            @Override
-            public MethodVisitor visitMethod(int access, @NotNull String name, @NotNull String desc, String signature, String[] exceptions) {
-                final MethodAnnotationVisitor v = memberVisitor.visitMethod(Name.guess(name), desc);
-                if (v == null) return null;
-
-                return new MethodVisitor(ASM5) {
-                    @Override
-                    public org.jetbrains.org.objectweb.asm.AnnotationVisitor visitAnnotation(@NotNull String desc, boolean visible) {
-                        return convertAnnotationVisitor(v, desc, innerClasses);
-                    }
-
-                    @Override
-                    public org.jetbrains.org.objectweb.asm.AnnotationVisitor visitParameterAnnotation(int parameter, @NotNull String desc, boolean visible) {
-                        AnnotationArgumentVisitor av = v.visitParameterAnnotation(parameter, resolveNameByDesc(desc, innerClasses), SourceElement.NO_SOURCE);
-                        return av == null ? null : convertAnnotationVisitor(av, innerClasses);
-                    }
-
-                    @Override
-                    public void visitEnd() {
-                        v.visitEnd();
-                    }
-                };
-            }
-        }, SKIP_CODE | SKIP_DEBUG | SKIP_FRAMES);
+            v.visitEnd();
+        }
     }
 
     @NotNull
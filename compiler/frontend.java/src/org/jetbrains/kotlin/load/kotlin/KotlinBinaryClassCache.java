@@ -25,57 +25,65 @@ import com.intellij.openapi.vfs.VirtualFile;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public final class KotlinBinaryClassCache implements Disposable {
-    private static class RequestCache {
-        VirtualFile virtualFile;
-        long modificationStamp;
-        VirtualFileKotlinClass virtualFileKotlinClass;
+    // Both Kotlin and non-Kotlin class files are remembered: the latter are requested at least as often by class finders
+    private static final int MAX_SIZE = 4096;
 
-        public VirtualFileKotlinClass cache(VirtualFile file, VirtualFileKotlinClass aClass) {
-            virtualFile = file;
-            virtualFileKotlinClass = aClass;
-            modificationStamp = file.getModificationStamp();
+    private static class Entry {
+        final long modificationStamp;
+        final VirtualFileKotlinClass virtualFileKotlinClass;
 
-            return aClass;
+        Entry(long modificationStamp, @Nullable VirtualFileKotlinClass virtualFileKotlinClass) {
+            this.modificationStamp = modificationStamp;
+            this.virtualFileKotlinClass = virtualFileKotlinClass;
         }
     }
 
-    private final ThreadLocal<RequestCache> cache =
-            new ThreadLocal<RequestCache>() {
-                @Override
-                protected RequestCache initialValue() {
-                    return new RequestCache();
-                }
-            };
+    private final Map<VirtualFile, Entry> cache = new LinkedHashMap<VirtualFile, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<VirtualFile, Entry> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
 
     @Nullable
     public static KotlinJvmBinaryClass getKotlinBinaryClass(@NotNull final VirtualFile file) {
         if (file.getFileType() != JavaClassFileType.INSTANCE) return null;
 
         KotlinBinaryClassCache service = ServiceManager.getService(KotlinBinaryClassCache.class);
-        RequestCache requestCache = service.cache.get();
+        long modificationStamp = file.getModificationStamp();
 
-        if (file.getModificationStamp() == requestCache.modificationStamp && file.equals(requestCache.virtualFile)) {
-            return requestCache.virtualFileKotlinClass;
+        synchronized (service.cache) {
+            Entry entry = service.cache.get(file);
+            if (entry != null && entry.modificationStamp == modificationStamp) {
+                return entry.virtualFileKotlinClass;
+            }
         }
-        else {
-            VirtualFileKotlinClass aClass = ApplicationManager.getApplication().runReadAction(new Computable<VirtualFileKotlinClass>() {
-                @Override
-                public VirtualFileKotlinClass compute() {
-                    //noinspection deprecation
-                    return VirtualFileKotlinClass.Factory.create(file);
-                }
-            });
 
-            return requestCache.cache(file, aClass);
+        VirtualFileKotlinClass aClass = ApplicationManager.getApplication().runReadAction(new Computable<VirtualFileKotlinClass>() {
+            @Override
+            public VirtualFileKotlinClass compute() {
+                //noinspection deprecation
+                return VirtualFileKotlinClass.Factory.create(file);
+            }
+        });
+
+        synchronized (service.cache) {
+            service.cache.put(file, new Entry(modificationStamp, aClass));
         }
+
+        return aClass;
     }
 
     @Override
     public void dispose() {
-        // This is only relevant for tests. We create a new instance of Application for each test, and so a new instance of this service is
-        // also created for each test. However all tests share the same event dispatch thread, which would collect all instances of this
-        // thread-local if they're not removed properly. Each instance would transitively retain VFS resulting in OutOfMemoryError
-        cache.remove();
+        // This is only relevant for tests. We create a new instance of Application for each test, and the cached files
+        // would otherwise retain VFS of the previous test
+        synchronized (cache) {
+            cache.clear();
+        }
     }
 }
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.load.kotlin
+
+import com.intellij.openapi.diagnostic.Logger
+import com.intellij.openapi.util.io.FileUtil
+import com.intellij.openapi.vfs.StandardFileSystems
+import com.intellij.openapi.vfs.VirtualFile
+import com.intellij.util.io.URLUtil
+import org.jetbrains.kotlin.load.kotlin.header.KotlinClassHeader
+import org.jetbrains.kotlin.name.ClassId
+import org.jetbrains.kotlin.name.FqName
+import org.jetbrains.kotlin.serialization.deserialization.BinaryVersion
+import java.io.*
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.util.HashMap
+import java.util.zip.ZipFile
+
+/**
+ * Pre-extracted Kotlin class headers of a single library jar.
+ *
+ * The cache file is memory-mapped and its entries are decoded on demand, so that a class of an unchanged library
+ * can be loaded without inflating the jar entry and scanning it with ASM.
+ */
+public class KotlinJarMetadataCache private constructor(
+        private val data: ByteBuffer,
+        // offset of the entry in [data] or NOT_KOTLIN_CLASS if the class file has no valid Kotlin header
+        private val offsets: Map<String, Int>
+) {
+    public fun isKnown(relativePath: String): Boolean = relativePath in offsets
+
+    // Should only be called for the paths for which isKnown() returned true
+    public fun createKotlinClass(file: VirtualFile, relativePath: String): VirtualFileKotlinClass? {
+        val offset = offsets[relativePath] ?: error("Class $relativePath is not in the cache")
+        if (offset == NOT_KOTLIN_CLASS) return null
+
+        val buffer = data.duplicate()
+        buffer.position(offset)
+        val input = DataInputStream(ByteBufferInputStream(buffer))
+
+        val classId = ClassId(FqName(input.readUTF()), FqName(input.readUTF()), input.readBoolean())
+        val header = readHeader(input)
+        val innerClasses = FileBasedKotlinClass.InnerClassesInfo()
+        repeat(input.readInt()) {
+            innerClasses.add(input.readUTF(), input.readNullableUTF(), input.readNullableUTF())
+        }
+
+        return VirtualFileKotlinClass.createFromCachedData(file, classId, header, innerClasses)
+    }
+
+    private class ByteBufferInputStream(private val buffer: ByteBuffer) : InputStream() {
+        override fun read(): Int = if (buffer.hasRemaining()) buffer.get().toInt() and 0xFF else -1
+
+        override fun read(b: ByteArray, off: Int, len: Int): Int {
+            if (!buffer.hasRemaining()) return -1
+            val count = Math.min(len, buffer.remaining())
+            buffer.get(b, off, count)
+            return count
+        }
+    }
+
+    companion object {
+        private val LOG = Logger.getInstance(javaClass<KotlinJarMetadataCache>())
+
+        private val MAGIC = 0x4b4d4331 // "KMC1"
+        private val FORMAT_VERSION = 1
+        private val NOT_KOTLIN_CLASS = -1
+
+        /**
+         * Loads the cache for [jar] from [cacheFile] if it's up to date, otherwise scans the jar and writes a new cache file
+         */
+        @JvmStatic
+        public fun loadOrBuild(jar: File, cacheFile: File): KotlinJarMetadataCache? {
+            try {
+                if (cacheFile.exists()) {
+                    load(jar, cacheFile)?.let { return it }
+                }
+
+                build(jar, cacheFile)
+                return load(jar, cacheFile)
+            }
+            catch (e: IOException) {
+                LOG.warn("Could not use Kotlin metadata cache for $jar: ${e.getMessage()}")
+                return null
+            }
+        }
+
+        private fun load(jar: File, cacheFile: File): KotlinJarMetadataCache? {
+            val buffer = RandomAccessFile(cacheFile, "r").use { file ->
+                file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length())
+            }
+
+            val input = DataInputStream(ByteBufferInputStream(buffer))
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) return null
+            if (input.readUTF() != jar.getAbsolutePath() || input.readLong() != jar.length() || input.readLong() != jar.lastModified()) {
+                return null
+            }
+
+            val offsets = HashMap<String, Int>()
+            repeat(input.readInt()) {
+                offsets[input.readUTF()] = input.readInt()
+            }
+
+            return KotlinJarMetadataCache(buffer.slice(), offsets)
+        }
+
+        private fun build(jar: File, cacheFile: File) {
+            val offsets = linkedMapOf<String, Int>()
+            val entries = ByteArrayOutputStream()
+            val entriesOutput = DataOutputStream(entries)
+
+            ZipFile(jar).use { zip ->
+                for (entry in zip.entries()) {
+                    if (entry.isDirectory() || !entry.getName().endsWith(".class")) continue
+
+                    val bytes = zip.getInputStream(entry).use { it.readBytes() }
+                    val offset = entriesOutput.size()
+                    val written = FileBasedKotlinClass.create(bytes) {
+                        classId, header, innerClasses ->
+                        writeClass(entriesOutput, classId, header, innerClasses)
+                        true
+                    }
+                    offsets[entry.getName()] = if (written == true) offset else NOT_KOTLIN_CLASS
+                }
+            }
+
+            FileUtil.createParentDirs(cacheFile)
+            // Other compilers may be writing the same cache file, so each one writes its own temporary file and then renames it
+            val tmpFile = File.createTempFile(cacheFile.getName(), ".tmp", cacheFile.getParentFile())
+            try {
+                writeCacheFile(tmpFile, jar, offsets, entries)
+                FileUtil.rename(tmpFile, cacheFile)
+            }
+            finally {
+                FileUtil.delete(tmpFile)
+            }
+        }
+
+        private fun writeCacheFile(tmpFile: File, jar: File, offsets: Map<String, Int>, entries: ByteArrayOutputStream) {
+            DataOutputStream(BufferedOutputStream(FileOutputStream(tmpFile))).use { output ->
+                output.writeInt(MAGIC)
+                output.writeInt(FORMAT_VERSION)
+                output.writeUTF(jar.getAbsolutePath())
+                output.writeLong(jar.length())
+                output.writeLong(jar.lastModified())
+
+                output.writeInt(offsets.size())
+                for ((path, offset) in offsets) {
+                    output.writeUTF(path)
+                    output.writeInt(offset)
+                }
+
+                entries.writeTo(output)
+            }
+        }
+
+        private fun writeClass(
+                output: DataOutputStream,
+                classId: ClassId,
+                header: KotlinClassHeader,
+                innerClasses: FileBasedKotlinClass.InnerClassesInfo
+        ) {
+            output.writeUTF(classId.getPackageFqName().asString())
+            output.writeUTF(classId.getRelativeClassName().asString())
+            output.writeBoolean(classId.isLocal())
+
+            writeHeader(output, header)
+
+            val innerClassEntries = arrayListOf<Triple<String, String?, String?>>()
+            innerClasses.forEach { name, outerName, innerName -> innerClassEntries.add(Triple(name, outerName, innerName)) }
+            output.writeInt(innerClassEntries.size())
+            for ((name, outerName, innerName) in innerClassEntries) {
+                output.writeUTF(name)
+                output.writeNullableUTF(outerName)
+                output.writeNullableUTF(innerName)
+            }
+        }
+
+        private fun writeHeader(output: DataOutputStream, header: KotlinClassHeader) {
+            output.writeUTF(header.kind.name())
+            val version = header.version.toArray()
+            output.writeInt(version.size())
+            version.forEach { output.writeInt(it) }
+            output.writeNullableStringArray(header.annotationData)
+            output.writeNullableStringArray(header.strings)
+            output.writeNullableUTF(header.syntheticClassKind)
+            output.writeNullableStringArray(header.filePartClassNames)
+            output.writeNullableUTF(header.multifileClassName)
+            output.writeBoolean(header.isInterfaceDefaultImpls)
+            output.writeBoolean(header.isLocalClass)
+        }
+
+        private fun readHeader(input: DataInputStream): KotlinClassHeader {
+            val kind = KotlinClassHeader.Kind.valueOf(input.readUTF())
+            val version = BinaryVersion.create(IntArray(input.readInt()) { input.readInt() })
+            return KotlinClassHeader(
+                    kind, version,
+                    annotationData = input.readNullableStringArray(),
+                    strings = input.readNullableStringArray(),
+                    syntheticClassKind = input.readNullableUTF(),
+                    filePartClassNames = input.readNullableStringArray(),
+                    multifileClassName = input.readNullableUTF(),
+                    isInterfaceDefaultImpls = input.readBoolean(),
+                    isLocalClass = input.readBoolean()
+            )
+        }
+
+        private fun DataOutputStream.writeNullableUTF(value: String?) {
+            writeBoolean(value != null)
+            if (value != null) writeUTF(value)
+        }
+
+        private fun DataInputStream.readNullableUTF(): String? = if (readBoolean()) readUTF() else null
+
+        private fun DataOutputStream.writeNullableStringArray(value: Array<String>?) {
+            writeInt(value?.size() ?: -1)
+            value?.forEach { writeUTF(it) }
+        }
+
+        private fun DataInputStream.readNullableStringArray(): Array<String>? {
+            val size = readInt()
+            return if (size < 0) null else Array(size) { readUTF() }
+        }
+    }
+}
+
+/**
+ * Holds [KotlinJarMetadataCache]s of all library jars used in the compilation, stored in [cacheDirectory].
+ * A cache file is keyed by the jar path and is rebuilt whenever the size or the modification time of the jar changes
+ */
+public class KotlinJarMetadataCacheStorage(private val cacheDirectory: File) {
+    private val caches = HashMap<String, KotlinJarMetadataCache?>()
+
+    public fun findKotlinClass(file: VirtualFile): FindResult {
+        if (file.getFileSystem().getProtocol() != StandardFileSystems.JAR_PROTOCOL) return FindResult.NotCached
+
+        val path = file.getPath()
+        val separatorIndex = path.indexOf(URLUtil.JAR_SEPARATOR)
+        if (separatorIndex < 0) return FindResult.NotCached
+
+        val jarPath = path.substring(0, separatorIndex)
+        val relativePath = path.substring(separatorIndex + URLUtil.JAR_SEPARATOR.length())
+
+        val cache = getCache(jarPath)
+        if (cache == null || !cache.isKnown(relativePath)) return FindResult.NotCached
+
+        return FindResult.Cached(cache.createKotlinClass(file, relativePath))
+    }
+
+    @Synchronized
+    private fun getCache(jarPath: String): KotlinJarMetadataCache? {
+        return caches.getOrPut(jarPath) {
+            val jar = File(jarPath)
+            val cacheFileName = "${jar.getName()}-${Integer.toHexString(jar.getAbsolutePath().hashCode())}.kotlin_metadata_cache"
+            KotlinJarMetadataCache.loadOrBuild(jar, File(cacheDirectory, cacheFileName))
+        }
+    }
+
+    public sealed class FindResult {
+        object NotCached : FindResult()
+        class Cached(val kotlinClass: VirtualFileKotlinClass?) : FindResult()
+    }
+}
@@ -30,8 +30,9 @@ public class VirtualFileKotlinClass private constructor(
         public val file: VirtualFile,
         className: ClassId,
         classHeader: KotlinClassHeader,
-        innerClasses: FileBasedKotlinClass.InnerClassesInfo
-) : FileBasedKotlinClass(className, classHeader, innerClasses) {
+        innerClasses: FileBasedKotlinClass.InnerClassesInfo,
+        contents: FileBasedKotlinClass.ClassContents?
+) : FileBasedKotlinClass(className, classHeader, innerClasses, contents) {
 
     override fun getLocation() = file.getPath()
 
@@ -61,9 +62,9 @@ public class VirtualFileKotlinClass private constructor(
                 try {
                     val byteContent = file.contentsToByteArray(false)
                     if (!byteContent.isEmpty()) {
-                        return@time FileBasedKotlinClass.create(byteContent) {
-                            name, header, innerClasses ->
-                            VirtualFileKotlinClass(file, name, header, innerClasses)
+                        return@time FileBasedKotlinClass.createWithContents(byteContent) {
+                            name, header, innerClasses, contents ->
+                            VirtualFileKotlinClass(file, name, header, innerClasses, contents)
                         }
                     }
                 }
@@ -77,6 +78,13 @@ public class VirtualFileKotlinClass private constructor(
             }
         }
 
+        internal fun createFromCachedData(
+                file: VirtualFile,
+                className: ClassId,
+                classHeader: KotlinClassHeader,
+                innerClasses: FileBasedKotlinClass.InnerClassesInfo
+        ): VirtualFileKotlinClass = VirtualFileKotlinClass(file, className, classHeader, innerClasses, contents = null)
+
         private fun renderFileReadingErrorMessage(file: VirtualFile): String =
                 "Could not read file: ${file.getPath()}; size in bytes: ${file.getLength()}; file type: ${file.getFileType().getName()}"
     }
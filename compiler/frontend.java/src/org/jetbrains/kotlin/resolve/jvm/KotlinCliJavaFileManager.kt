@@ -19,8 +19,14 @@ package org.jetbrains.kotlin.resolve.jvm
 import com.intellij.psi.PsiClass
 import com.intellij.psi.impl.file.impl.JavaFileManager
 import com.intellij.psi.search.GlobalSearchScope
+import org.jetbrains.kotlin.load.java.structure.JavaClass
 import org.jetbrains.kotlin.name.ClassId
 
 public interface KotlinCliJavaFileManager : JavaFileManager {
     public fun findClass(classId: ClassId, searchScope: GlobalSearchScope): PsiClass?
-}
\ No newline at end of file
+
+    /**
+     * Finds the same class as [findClass], but may read it directly from the class file if it's located in a binary root
+     */
+    public fun findJavaClass(classId: ClassId, searchScope: GlobalSearchScope): JavaClass?
+}
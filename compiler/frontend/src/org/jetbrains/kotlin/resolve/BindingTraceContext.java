@@ -17,6 +17,7 @@
 package org.jetbrains.kotlin.resolve;
 
 import com.google.common.collect.ImmutableMap;
+import kotlin.jvm.functions.Function1;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.TestOnly;
@@ -83,7 +84,7 @@ public class BindingTraceContext implements BindingTrace {
     }
 
 
-    private BindingTraceContext(@NotNull MutableSlicedMap map) {
+    protected BindingTraceContext(@NotNull MutableSlicedMap map) {
         this.map = map;
         this.mutableDiagnostics = new MutableDiagnosticsWithSuppression(bindingContext, Diagnostics.Companion.getEMPTY());
     }
@@ -102,6 +103,10 @@ public class BindingTraceContext implements BindingTrace {
         mutableDiagnostics.clear();
     }
 
+    public void removeSlices(@NotNull Collection<? extends WritableSlice<?, ?>> slices, @NotNull Function1<Object, Boolean> keyFilter) {
+        map.removeSlices(slices, keyFilter);
+    }
+
     @NotNull
     @Override
     public BindingContext getBindingContext() {
@@ -17,15 +17,23 @@
 package org.jetbrains.kotlin.util.slicedMap;
 
 import com.google.common.collect.ImmutableMap;
+import kotlin.jvm.functions.Function1;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.TestOnly;
 
+import java.util.Collection;
+
 public interface MutableSlicedMap extends SlicedMap {
 
     <K, V> void put(WritableSlice<K, V> slice, K key, V value);
 
     void clear();
 
+    /**
+     * Removes values of the given (non-collective) slices for all keys accepted by the filter
+     */
+    void removeSlices(@NotNull Collection<? extends WritableSlice<?, ?>> slices, @NotNull Function1<Object, Boolean> keyFilter);
+
     @NotNull
     @TestOnly
     <K, V> ImmutableMap<K, V> getSliceContents(@NotNull ReadOnlySlice<K, V> slice);
@@ -22,11 +22,13 @@ import com.google.common.collect.Multimap;
 import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.UserDataHolder;
 import gnu.trove.THashMap;
+import kotlin.jvm.functions.Function1;
 import kotlin.jvm.functions.Function3;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
 
 public class SlicedMapImpl implements MutableSlicedMap {
@@ -81,6 +83,28 @@ public class SlicedMapImpl implements MutableSlicedMap {
         collectiveSliceKeys = null;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public void removeSlices(@NotNull Collection<? extends WritableSlice<?, ?>> slices, @NotNull Function1<Object, Boolean> keyFilter) {
+        for (WritableSlice<?, ?> slice : slices) {
+            assert !slice.isCollective() : "Can't remove values of collective slice " + slice;
+        }
+
+        Iterator<Map.Entry<Object, UserDataHolderImpl>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Object, UserDataHolderImpl> entry = iterator.next();
+            if (!keyFilter.invoke(entry.getKey())) continue;
+
+            UserDataHolderImpl holder = entry.getValue();
+            for (WritableSlice<?, ?> slice : slices) {
+                holder.putUserData((Key) slice.getKey(), null);
+            }
+            if (holder.isUserDataEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
     @Override
     public <K, V> V get(ReadOnlySlice<K, V> slice, K key) {
         UserDataHolderImpl holder = map.get(key);
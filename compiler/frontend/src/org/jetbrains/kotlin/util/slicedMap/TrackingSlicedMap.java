@@ -17,11 +17,14 @@
 package org.jetbrains.kotlin.util.slicedMap;
 
 import com.google.common.collect.Maps;
+import kotlin.jvm.functions.Function1;
 import kotlin.jvm.functions.Function3;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.kotlin.utils.Printer;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 public class TrackingSlicedMap extends SlicedMapImpl {
@@ -68,6 +71,15 @@ public class TrackingSlicedMap extends SlicedMapImpl {
         super.put(wrapSlice(slice), key, new TrackableValue<V>(value, trackWithStackTraces));
     }
 
+    @Override
+    public void removeSlices(@NotNull Collection<? extends WritableSlice<?, ?>> slices, @NotNull Function1<Object, Boolean> keyFilter) {
+        List<WritableSlice<?, ?>> wrappedSlices = new ArrayList<WritableSlice<?, ?>>(slices.size());
+        for (WritableSlice<?, ?> slice : slices) {
+            wrappedSlices.add(wrapSlice(slice));
+        }
+        super.removeSlices(wrappedSlices, keyFilter);
+    }
+
     private static class TrackableValue<V> {
         private final static StackTraceElement[] EMPTY_STACK_TRACE = new StackTraceElement[0];
 
@@ -77,6 +77,18 @@ public class BlackBoxWithJava8CodegenTestGenerated extends AbstractBlackBoxCodeg
         doTestWithJava(fileName);
     }
 
+    @TestMetadata("lambdaMetafactoryFallbacks")
+    public void testLambdaMetafactoryFallbacks() throws Exception {
+        String fileName = JetTestUtils.navigationMetadata("compiler/testData/codegen/java8/boxWithJava/lambdaMetafactoryFallbacks/");
+        doTestWithJava(fileName);
+    }
+
+    @TestMetadata("lambdasViaInvokeDynamic")
+    public void testLambdasViaInvokeDynamic() throws Exception {
+        String fileName = JetTestUtils.navigationMetadata("compiler/testData/codegen/java8/boxWithJava/lambdasViaInvokeDynamic/");
+        doTestWithJava(fileName);
+    }
+
     @TestMetadata("longChainOfKotlinExtendsFromJavaWithDefault")
     public void testLongChainOfKotlinExtendsFromJavaWithDefault() throws Exception {
         String fileName = JetTestUtils.navigationMetadata("compiler/testData/codegen/java8/boxWithJava/longChainOfKotlinExtendsFromJavaWithDefault/");
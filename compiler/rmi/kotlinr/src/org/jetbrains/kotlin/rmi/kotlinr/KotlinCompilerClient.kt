@@ -23,6 +23,9 @@ import org.jetbrains.kotlin.rmi.*
 import java.io.*
 import java.rmi.ConnectException
 import java.rmi.registry.LocateRegistry
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.FutureTask
 import java.util.concurrent.Semaphore
 import java.util.concurrent.TimeUnit
 import kotlin.concurrent.thread
@@ -52,6 +55,65 @@ public object KotlinCompilerClient {
                                        checkId: Boolean = true
     ): CompileService? {
 
+        val connectionKey = makeConnectionKey(compilerId, daemonOptions)
+        prewarmTasks.remove(connectionKey)?.let {
+            reportingTargets.report(DaemonReportCategory.DEBUG, "waiting for the daemon pre-warm to complete")
+            try {
+                it.get()
+            }
+            catch (e: ExecutionException) {
+                reportingTargets.report(DaemonReportCategory.DEBUG, "daemon pre-warm failed: ${e.getCause()}")
+            }
+        }
+
+        connections.get(connectionKey)?.let { service ->
+            if (isDaemonAlive(service)) {
+                reportingTargets.report(DaemonReportCategory.DEBUG, "reusing cached connection to the daemon")
+                return service
+            }
+            reportingTargets.report(DaemonReportCategory.DEBUG, "cached daemon connection is not alive anymore")
+            connections.remove(connectionKey, service)
+        }
+
+        val service = doConnectToCompileService(compilerId, daemonJVMOptions, daemonOptions, reportingTargets, autostart, checkId)
+        if (service != null && checkId) {
+            connections.put(connectionKey, service)
+        }
+        return service
+    }
+
+
+    /**
+     * Starts looking for (and if necessary starting) the daemon in background, so the first compilation does not have to wait
+     * for the daemon JVM and RMI startup. Subsequent [connectToCompileService] calls with the same compiler id and daemon options
+     * wait for the pre-warm to complete and reuse its connection.
+     */
+    public fun prewarmCompileService(compilerId: CompilerId,
+                                     daemonJVMOptions: DaemonJVMOptions,
+                                     daemonOptions: DaemonOptions,
+                                     reportingTargets: DaemonReportingTargets
+    ) {
+        val connectionKey = makeConnectionKey(compilerId, daemonOptions)
+        if (connections.containsKey(connectionKey)) return
+
+        val task = FutureTask<CompileService?> {
+            doConnectToCompileService(compilerId, daemonJVMOptions, daemonOptions, reportingTargets, autostart = true, checkId = true)
+                    ?.apply { connections.put(connectionKey, this) }
+        }
+        if (prewarmTasks.putIfAbsent(connectionKey, task) == null) {
+            thread(daemon = true, name = "kotlin-daemon-prewarm") { task.run() }
+        }
+    }
+
+
+    private fun doConnectToCompileService(compilerId: CompilerId,
+                                          daemonJVMOptions: DaemonJVMOptions,
+                                          daemonOptions: DaemonOptions,
+                                          reportingTargets: DaemonReportingTargets,
+                                          autostart: Boolean,
+                                          checkId: Boolean
+    ): CompileService? {
+
         var attempts = 0
         var fileLock: FileBasedLock? = null
         var shutdonwnPerformed = false
@@ -103,6 +165,7 @@ public object KotlinCompilerClient {
     public fun shutdownCompileService(compilerId: CompilerId, daemonOptions: DaemonOptions): Unit {
         KotlinCompilerClient.connectToCompileService(compilerId, DaemonJVMOptions(), daemonOptions, DaemonReportingTargets(out = System.out), autostart = false, checkId = false)
                 ?.shutdown()
+        connections.remove(makeConnectionKey(compilerId, daemonOptions))
     }
 
 
@@ -239,6 +302,23 @@ public object KotlinCompilerClient {
 
     // --- Implementation ---------------------------------------
 
+    // connections to the daemons that passed the compiler id check, keyed by the compiler classpath digest and daemon run files path
+    private val connections = ConcurrentHashMap<String, CompileService>()
+
+    private val prewarmTasks = ConcurrentHashMap<String, FutureTask<CompileService?>>()
+
+    private fun makeConnectionKey(compilerId: CompilerId, daemonOptions: DaemonOptions): String =
+            compilerId.compilerClasspath.map { File(it).absolutePath }.distinctStringsDigest() + ":" + compilerId.compilerDigest + ":" +
+            File(daemonOptions.runFilesPath).absolutePath
+
+    private fun isDaemonAlive(service: CompileService): Boolean =
+            try {
+                service.ping()
+            }
+            catch (e: Exception) {
+                false
+            }
+
     fun DaemonReportingTargets.report(category: DaemonReportCategory, message: String, source: String = "daemon client") {
         if (category == DaemonReportCategory.DEBUG && !verboseReporting) return
         out?.println("[$source] ${category.name()}: $message")
@@ -37,6 +37,10 @@ public interface CompileService : Remote {
     @Throws(RemoteException::class)
     public fun getUsedMemory(): Long
 
+    // lightweight liveness check, used by clients to validate cached connections
+    @Throws(RemoteException::class)
+    public fun ping(): Boolean
+
     @Throws(RemoteException::class)
     public fun shutdown()
 
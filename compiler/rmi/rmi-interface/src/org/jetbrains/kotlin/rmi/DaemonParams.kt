@@ -210,7 +210,8 @@ public data class DaemonOptions(
         public var forceShutdownTimeoutMilliseconds: Long = COMPILE_DAEMON_FORCE_SHUTDOWN_DEFAULT_TIMEOUT_MS,
         public var clientAliveFlagPath: String? = null,
         public var verbose: Boolean = false,
-        public var reportPerf: Boolean = false
+        public var reportPerf: Boolean = false,
+        public var materializeBuiltIns: Boolean = false
 ) : OptionsGroup {
 
     override val mappers: List<PropMapper<*, *, *>>
@@ -220,7 +221,8 @@ public data class DaemonOptions(
                        PropMapper(this, DaemonOptions::forceShutdownTimeoutMilliseconds, fromString = { it.toLong() }, skipIf = { it == COMPILE_DAEMON_FORCE_SHUTDOWN_DEFAULT_TIMEOUT_MS }, mergeDelimiter = "="),
                        NullablePropMapper(this, DaemonOptions::clientAliveFlagPath, fromString = { it }, toString = { "${it?.trimQuotes()}" }, mergeDelimiter = "="),
                        BoolPropMapper(this, DaemonOptions::verbose),
-                       BoolPropMapper(this, DaemonOptions::reportPerf))
+                       BoolPropMapper(this, DaemonOptions::reportPerf),
+                       BoolPropMapper(this, DaemonOptions::materializeBuiltIns))
 }
 
 
@@ -19,6 +19,7 @@ package org.jetbrains.kotlin.rmi.service
 import org.jetbrains.kotlin.cli.common.CLICompiler
 import org.jetbrains.kotlin.cli.js.K2JSCompiler
 import org.jetbrains.kotlin.cli.jvm.K2JVMCompiler
+import org.jetbrains.kotlin.platform.JvmBuiltIns
 import org.jetbrains.kotlin.rmi.*
 import java.io.File
 import java.io.IOException
@@ -31,10 +32,12 @@ import java.rmi.registry.LocateRegistry
 import java.rmi.registry.Registry
 import java.text.SimpleDateFormat
 import java.util.*
+import java.util.concurrent.TimeUnit
 import java.util.jar.Manifest
 import java.util.logging.Level
 import java.util.logging.LogManager
 import java.util.logging.Logger
+import kotlin.concurrent.thread
 import kotlin.concurrent.timer
 
 val DAEMON_PERIODIC_CHECK_INTERVAL_MS = 1000L
@@ -145,6 +148,15 @@ public object CompileDaemon {
             }
             val compilerService = CompileServiceImpl(registry, compilerSelector, compilerId, daemonOptions, port)
 
+            if (daemonOptions.materializeBuiltIns) {
+                // done in background to not delay the daemon startup, compilations started meanwhile just resolve built-ins lazily
+                thread(daemon = true, name = "kotlin-builtins-materialization") {
+                    val startTime = System.nanoTime()
+                    JvmBuiltIns.Instance.materialize()
+                    log.info("Built-ins materialized in ${TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)} ms")
+                }
+            }
+
             if (daemonOptions.runFilesPath.isNotEmpty())
                 println(daemonOptions.runFilesPath)
 
@@ -55,6 +55,8 @@ class CompileServiceImpl(
 
     override fun getUsedMemory(): Long = ifAlive { usedMemory(withGC = true) }
 
+    override fun ping(): Boolean = rwlock.read { alive }
+
     override fun shutdown() {
         ifAliveExclusive {
             log.info("Shutdown started")
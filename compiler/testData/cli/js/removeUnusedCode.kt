@@ -0,0 +1,18 @@
+package foo
+
+class UsedClass {
+    fun usedMember() = 1
+}
+
+class UnusedClass
+
+fun usedFunction() = UsedClass().usedMember()
+
+fun unusedFunction() = UnusedClass()
+
+val unusedProperty: Int
+    get() = 2
+
+fun main(args: Array<String>) {
+    usedFunction()
+}
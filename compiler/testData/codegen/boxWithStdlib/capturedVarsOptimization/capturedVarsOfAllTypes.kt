@@ -0,0 +1,72 @@
+inline fun run(block: () -> Unit) {
+    block()
+}
+
+fun primitives(): String {
+    var z = false
+    var c = 'a'
+    var b: Byte = 1
+    var s: Short = 2
+    var i = 3
+    var l = 4L
+    var f = 5.0f
+    var d = 6.0
+    run {
+        z = !z
+        c++
+        b++
+        s++
+        i++
+        l++
+        f++
+        d++
+    }
+    return "$z $c $b $s $i $l $f $d"
+}
+
+fun objects(): String {
+    var result: String? = null
+    listOf("a", "b", "c").forEach { result = (result ?: "") + it }
+    return result!!
+}
+
+fun inLoop(): Int {
+    var total = 0
+    for (i in 1..3) {
+        var local = i
+        run { local *= 10 }
+        run { total += local }
+    }
+    return total
+}
+
+fun withEscaping(): Int {
+    var captured = 1
+    run { captured++ }
+    val lambda = { captured * 10 }
+    run { captured++ }
+    return lambda()
+}
+
+fun inTryCatch(): Int {
+    var x = 0
+    try {
+        run {
+            x = 1
+            throw RuntimeException()
+        }
+    }
+    catch (e: RuntimeException) {
+        run { x++ }
+    }
+    return x
+}
+
+fun box(): String {
+    if (primitives() != "true b 2 3 4 5 6.0 7.0") return "Fail primitives: ${primitives()}"
+    if (objects() != "abc") return "Fail objects: ${objects()}"
+    if (inLoop() != 60) return "Fail inLoop: ${inLoop()}"
+    if (withEscaping() != 30) return "Fail withEscaping: ${withEscaping()}"
+    if (inTryCatch() != 2) return "Fail inTryCatch: ${inTryCatch()}"
+    return "OK"
+}
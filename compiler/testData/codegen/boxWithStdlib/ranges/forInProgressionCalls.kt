@@ -0,0 +1,67 @@
+fun <T> Iterable<T>.collect(): List<T> {
+    val result = arrayListOf<T>()
+    for (element in this) {
+        result.add(element)
+    }
+    return result
+}
+
+fun box(): String {
+    val ints = arrayListOf<Int>()
+    for (i in 1 until 4) ints.add(i)
+    for (i in 4 until 4) ints.add(i)
+    for (i in 10 downTo 1 step 4) ints.add(i)
+    for (i in (1..10 step 3).reversed()) ints.add(i)
+    for (i in (0 until 3).reversed()) ints.add(i)
+    for (i in Int.MAX_VALUE - 1..Int.MAX_VALUE step 2) ints.add(i)
+    val expectedInts = (1 until 4).collect() + (4 until 4).collect() + (10 downTo 1 step 4).collect() +
+                       (1..10 step 3).reversed().collect() + (0 until 3).reversed().collect() +
+                       (Int.MAX_VALUE - 1..Int.MAX_VALUE step 2).collect()
+    if (ints != expectedInts) return "Fail ints: $ints"
+
+    val longs = arrayListOf<Long>()
+    for (i in 0L until 10L step 3L) longs.add(i)
+    for (i in Long.MIN_VALUE + 1 downTo Long.MIN_VALUE) longs.add(i)
+    if (longs != (0L until 10L step 3L).collect() + (Long.MIN_VALUE + 1 downTo Long.MIN_VALUE).collect()) return "Fail longs: $longs"
+
+    val chars = StringBuilder()
+    for (c in 'z' downTo 'a' step 5) chars.append(c)
+    if (chars.toString() != "zupkfa") return "Fail chars: $chars"
+
+    val array = arrayOf("a", "b", "c")
+    val list = listOf("x", "y")
+    val indices = arrayListOf<Int>()
+    for (i in array.indices) indices.add(i)
+    for (i in list.indices.reversed()) indices.add(i)
+    for (i in intArrayOf().indices) indices.add(i)
+    if (indices != listOf(0, 1, 2, 1, 0)) return "Fail indices: $indices"
+
+    val withIndex = StringBuilder()
+    for ((i, s) in array.withIndex()) withIndex.append(i).append(s)
+    for ((i, x) in intArrayOf(7, 8).withIndex()) withIndex.append(i).append(x)
+    if (withIndex.toString() != "0a1b2c0718") return "Fail withIndex: $withIndex"
+
+    val order = StringBuilder()
+    for (i in (order.append("a").length() until order.append("bc").length() + 1 step order.append("d").length()).reversed()) {
+        order.append(i)
+    }
+    if (order.toString() != "abcd3") return "Fail order: $order"
+
+    try {
+        for (i in 0 until Int.MIN_VALUE) return "Fail: iterating over 0 until Int.MIN_VALUE"
+        return "Fail: no exception for 0 until Int.MIN_VALUE"
+    }
+    catch (e: IllegalArgumentException) {
+        if (e.message != "The to argument value '-2147483648' was too small.") return "Fail until message: ${e.message}"
+    }
+
+    try {
+        for (i in 0..10 step 0) return "Fail: iterating with step 0"
+        return "Fail: no exception for step 0"
+    }
+    catch (e: IllegalArgumentException) {
+        if (e.message != "Step must be positive, was: 0") return "Fail step message: ${e.message}"
+    }
+
+    return "OK"
+}
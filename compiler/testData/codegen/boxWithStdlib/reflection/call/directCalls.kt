@@ -0,0 +1,54 @@
+// FULL_JDK
+
+import java.lang.reflect.InvocationTargetException
+import kotlin.reflect.*
+
+class A(val x: Int) {
+    var s: String = ""
+
+    fun plus(y: Int): Int = x + y
+
+    fun fail(message: String): Unit = throw AssertionError(message)
+}
+
+fun box(): String {
+    // Callers are switched to generated bytecode after several calls, check that the results stay the same
+    val constructor = A::class.primaryConstructor!!
+    val x = A::x
+    val s = A::s
+    val plus = A::plus
+    val fail = A::fail
+
+    for (i in 1..100) {
+        val a = constructor.call(i)
+        if (x.get(a) != i) return "Fail get $i: ${x.get(a)}"
+        if (x.getter.call(a) != i) return "Fail getter $i: ${x.getter.call(a)}"
+
+        s.set(a, "s$i")
+        if (a.s != "s$i") return "Fail set $i: ${a.s}"
+
+        if (plus.call(a, 1) != i + 1) return "Fail plus $i: ${plus.call(a, 1)}"
+
+        try {
+            fail.call(a, "$i")
+            return "Fail: no exception"
+        }
+        catch (e: InvocationTargetException) {
+            if (e.targetException.message != "$i") return "Fail exception $i: ${e.targetException}"
+        }
+
+        try {
+            plus.call(a, "1")
+            return "Fail: argument of a wrong type was accepted"
+        }
+        catch (e: IllegalArgumentException) {}
+
+        try {
+            x.getter.call(null)
+            return "Fail: null receiver was accepted"
+        }
+        catch (e: NullPointerException) {}
+    }
+
+    return "OK"
+}
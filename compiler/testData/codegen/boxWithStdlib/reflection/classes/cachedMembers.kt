@@ -0,0 +1,41 @@
+import kotlin.reflect.*
+import kotlin.reflect.jvm.*
+import kotlin.test.*
+
+open class Base {
+    val inherited: String = "inherited"
+}
+
+class A(val x: Int) : Base() {
+    var y: String = "y"
+
+    fun foo() = x
+
+    val Int.ext: Int get() = this + x
+}
+
+fun box(): String {
+    A::class.warmUpReflection()
+
+    assertTrue(A::class.members === A::class.members)
+    assertTrue(A::class.memberProperties === A::class.memberProperties)
+    assertTrue(A::class.constructors === A::class.constructors)
+
+    assertEquals(listOf("inherited", "x", "y"), A::class.memberProperties.map { it.name }.sorted())
+    assertEquals(listOf("x", "y"), A::class.declaredMemberProperties.map { it.name }.sorted())
+    assertEquals(listOf("ext"), A::class.declaredMemberExtensionProperties.map { it.name })
+    assertEquals(listOf("ext", "foo", "x", "y"), A::class.declaredMembers.map { it.name }.sorted())
+
+    // The cached lists are shared by all callers, so they can't be modified
+    fails { (A::class.members as MutableCollection<*>).clear() }
+    fails { (A::class.memberProperties as MutableCollection<*>).clear() }
+    fails { (A::class.constructors as MutableCollection<*>).clear() }
+    assertEquals(listOf("ext", "foo", "x", "y"), A::class.declaredMembers.map { it.name }.sorted())
+
+    val a = A(42)
+    assertEquals(42, A::class.memberProperties.single { it.name == "x" }.get(a))
+    assertEquals(42, A::class.declaredMemberFunctions.single { it.name == "foo" }.call(a))
+    assertEquals(a.x, A::class.primaryConstructor!!.call(42).x)
+
+    return "OK"
+}
@@ -0,0 +1,27 @@
+// "Aa" and "BB" have the same hash code, as do "AaAa", "AaBB" and "BBAa"
+
+class Aa
+class BB
+class AaAa
+class AaBB
+class BBAa
+class C
+
+fun test(x: Any): String = when (x) {
+    is Aa -> "Aa"
+    is BB -> "BB"
+    is AaAa -> "AaAa"
+    is AaBB -> "AaBB"
+    is BBAa -> "BBAa"
+    is C -> "C"
+    else -> "else"
+}
+
+fun box(): String {
+    if ("Aa".hashCode() != "BB".hashCode()) return "Fail: no hash code collision"
+
+    val result = listOf(Aa(), BB(), AaAa(), AaBB(), BBAa(), C(), "BBBB", 1).map { test(it) }.joinToString()
+    if (result != "Aa, BB, AaAa, AaBB, BBAa, C, else, else") return "Fail: $result"
+
+    return "OK"
+}
@@ -0,0 +1,43 @@
+sealed class Message {
+    class A : Message()
+    class B : Message()
+    class C : Message()
+    data class D(val x: Int) : Message()
+    class E : Message()
+    object F : Message()
+    class G : Message()
+}
+
+fun dispatch(m: Message?): String = when (m) {
+    is Message.A -> "A"
+    is Message.B, is Message.C -> "BC"
+    is Message.D -> "D" + m.x
+    is Message.E -> "E"
+    is Message.F -> "F"
+    is Message.A -> "unreachable"
+    else -> "else"
+}
+
+fun exhaustive(m: Message): String = when (m) {
+    is Message.A -> "A"
+    is Message.B -> "B"
+    is Message.C -> "C"
+    is Message.D -> "D"
+    is Message.E -> "E"
+    is Message.F -> "F"
+    is Message.G -> "G"
+}
+
+fun box(): String {
+    val result = listOf(Message.A(), Message.B(), Message.C(), Message.D(42), Message.E(), Message.F, Message.G(), null)
+            .map { dispatch(it) }
+            .joinToString()
+    if (result != "A, BC, BC, D42, E, F, else, else") return "Fail dispatch: $result"
+
+    val exhaustiveResult = listOf(Message.A(), Message.B(), Message.C(), Message.D(0), Message.E(), Message.F, Message.G())
+            .map { exhaustive(it) }
+            .joinToString("")
+    if (exhaustiveResult != "ABCDEFG") return "Fail exhaustive: $exhaustiveResult"
+
+    return "OK"
+}
@@ -0,0 +1,13 @@
+fun sum(list: List<Int>): Long {
+    var sum = 0L
+    var last: String? = null
+    list.forEach {
+        sum += it
+        last = it.toString()
+    }
+    return sum + last!!.length()
+}
+
+// 0 NEW kotlin/jvm/internal/Ref
+// 0 kotlin/jvm/internal/Ref\$LongRef
+// 0 kotlin/jvm/internal/Ref\$ObjectRef
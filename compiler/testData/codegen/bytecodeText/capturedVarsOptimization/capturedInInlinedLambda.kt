@@ -0,0 +1,14 @@
+inline fun run(block: () -> Unit) {
+    block()
+}
+
+fun test(): Int {
+    var x = 0
+    run { x++ }
+    run { x += 2 }
+    return x
+}
+
+// 0 NEW kotlin/jvm/internal/Ref
+// 0 GETFIELD kotlin/jvm/internal/Ref
+// 0 PUTFIELD kotlin/jvm/internal/Ref
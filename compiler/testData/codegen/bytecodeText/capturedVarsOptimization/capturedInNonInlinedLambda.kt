@@ -0,0 +1,15 @@
+inline fun run(block: () -> Unit) {
+    block()
+}
+
+fun test(): Int {
+    var inlined = 0
+    run { inlined++ }
+
+    var escaping = 0
+    val increment = { escaping++ }
+    increment()
+    return inlined + escaping
+}
+
+// 1 NEW kotlin/jvm/internal/Ref\$IntRef
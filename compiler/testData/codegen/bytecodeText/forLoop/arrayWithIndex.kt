@@ -0,0 +1,11 @@
+fun f(a: Array<String>, b: IntArray) {
+    for ((i, s) in a.withIndex()) {
+    }
+    for ((i, x) in b.withIndex()) {
+    }
+}
+
+// 0 iterator
+// 0 withIndex
+// 0 IndexedValue
+// 2 ARRAYLENGTH
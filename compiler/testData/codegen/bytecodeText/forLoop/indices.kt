@@ -0,0 +1,16 @@
+fun f(a: IntArray, s: Array<String>, c: Collection<String>) {
+    for (i in a.indices) {
+    }
+    for (i in s.indices) {
+    }
+    for (i in c.indices) {
+    }
+    for (i in c.indices.reversed()) {
+    }
+}
+
+// 0 iterator
+// 0 getIndices
+// 0 reversed
+// 2 ARRAYLENGTH
+// 2 INVOKEINTERFACE java/util/Collection.size
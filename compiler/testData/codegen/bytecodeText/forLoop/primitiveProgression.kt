@@ -6,6 +6,6 @@ fun f() {
 }
 
 // 0 iterator
-// 2 getStart
-// 2 getEnd
-// 2 getIncrement
\ No newline at end of file
+// 0 getStart
+// 0 getEnd
+// 0 getIncrement
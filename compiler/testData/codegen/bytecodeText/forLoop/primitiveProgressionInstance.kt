@@ -0,0 +1,9 @@
+fun f(p: IntProgression) {
+    for (i in p) {
+    }
+}
+
+// 0 iterator
+// 1 getStart
+// 1 getEnd
+// 1 getIncrement
@@ -0,0 +1,12 @@
+fun f(a: Int, b: Int) {
+    for (i in (a..b).reversed()) {
+    }
+    for (i in (a until b).reversed()) {
+    }
+    for (i in (a downTo b step 2).reversed()) {
+    }
+}
+
+// 0 iterator
+// 0 reversed
+// 0 NEW kotlin/
@@ -0,0 +1,18 @@
+fun f(a: Int, b: Int, s: Int) {
+    for (i in a until b) {
+    }
+    for (i in b downTo a) {
+    }
+    for (i in a..b step s) {
+    }
+    for (i in b downTo a step s) {
+    }
+    for (i in 0L until 10L step 3L) {
+    }
+    for (c in 'z' downTo 'a' step 2) {
+    }
+}
+
+// 0 iterator
+// 0 RangesKt
+// 0 NEW kotlin/
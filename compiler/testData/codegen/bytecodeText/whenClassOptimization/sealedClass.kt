@@ -0,0 +1,39 @@
+sealed class Message {
+    class A : Message()
+    class B : Message()
+    class C : Message()
+    class D : Message()
+    class E : Message()
+    object F : Message()
+    open class G : Message()
+}
+
+fun dispatch(m: Message): Int = when (m) {
+    is Message.A -> 1
+    is Message.B -> 2
+    is Message.C -> 3
+    is Message.D -> 4
+    is Message.E -> 5
+    is Message.F -> 6
+    else -> 0
+}
+
+fun notFinal(m: Message): Int = when (m) {
+    is Message.A -> 1
+    is Message.B -> 2
+    is Message.C -> 3
+    is Message.D -> 4
+    is Message.E -> 5
+    is Message.G -> 7
+    else -> 0
+}
+
+fun fewClasses(m: Message): Int = when (m) {
+    is Message.A -> 1
+    is Message.B -> 2
+    else -> 0
+}
+
+// 1 LOOKUPSWITCH
+// 1 INVOKEVIRTUAL java/lang/Class.getName
+// 14 INSTANCEOF
@@ -0,0 +1,5 @@
+class JavaCall {
+    static boolean isCreatedByLambdaMetafactory(Object o) {
+        return o.getClass().getName().contains("$$Lambda$");
+    }
+}
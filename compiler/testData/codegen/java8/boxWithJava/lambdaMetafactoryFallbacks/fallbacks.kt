@@ -0,0 +1,41 @@
+// JVM8_TARGET
+
+interface WithDefault {
+    fun lambda(): () -> String = { "OK" }
+}
+
+class WithDefaultImpl : WithDefault
+
+inline fun inlineLambda(s: String): () -> String = { s }
+
+fun notInlined(f: () -> Int): Int = f()
+
+fun box(): String {
+    val nested = { x: Int -> { y: Int -> x + y } }
+    if (JavaCall.isCreatedByLambdaMetafactory(nested)) return "Fail: lambda containing a lambda is not a class"
+    if (nested(40)(2) != 42) return "Fail: nested lambda"
+
+    val withLocalClass = { s: String ->
+        class Local(val value: String)
+        Local(s).value
+    }
+    if (JavaCall.isCreatedByLambdaMetafactory(withLocalClass)) return "Fail: lambda containing a local class is not a class"
+    if (withLocalClass("OK") != "OK") return "Fail: lambda containing a local class"
+
+    val fromInline = inlineLambda("OK")
+    if (JavaCall.isCreatedByLambdaMetafactory(fromInline)) return "Fail: lambda from an inline function is not a class"
+    if (fromInline() != "OK") return "Fail: lambda from an inline function"
+
+    val base = 40
+    val fromInlinedArgument = run {
+        val inner = { x: Int -> base + x }
+        notInlined { inner(2) }
+    }
+    if (fromInlinedArgument != 42) return "Fail: lambda in an inlined lambda argument"
+
+    val fromInterface = WithDefaultImpl().lambda()
+    if (JavaCall.isCreatedByLambdaMetafactory(fromInterface)) return "Fail: lambda in an interface is not a class"
+    if (fromInterface() != "OK") return "Fail: lambda in an interface"
+
+    return "OK"
+}
@@ -0,0 +1,3 @@
+interface IntTransformer {
+    int transform(int x);
+}
@@ -0,0 +1,9 @@
+class JavaCall {
+    static int transform(IntTransformer transformer, int x) {
+        return transformer.transform(x);
+    }
+
+    static void run(Runnable runnable) {
+        runnable.run();
+    }
+}
@@ -0,0 +1,45 @@
+// JVM8_TARGET
+
+class Counter(val start: Int) {
+    fun adder(): (Int) -> Int = { start + it }
+}
+
+fun isCreatedByLambdaMetafactory(o: Any) = o.javaClass.getName().contains("\$\$Lambda\$")
+
+fun box(): String {
+    val nonCapturing = { x: Int -> x + 1 }
+    if (!isCreatedByLambdaMetafactory(nonCapturing)) return "Fail: non-capturing lambda is a class"
+    if (nonCapturing(1) != 2) return "Fail: non-capturing lambda"
+    if (nonCapturing is java.io.Serializable) return "Fail: lambda created by LambdaMetafactory is serializable"
+
+    var counter = 0
+    val capturingVar = { x: Int -> counter += x }
+    if (!isCreatedByLambdaMetafactory(capturingVar)) return "Fail: lambda capturing a var is a class"
+    if (capturingVar(5) != Unit || counter != 5) return "Fail: lambda capturing a var"
+
+    val prefix = "O"
+    val extension: String.(Long) -> String = { prefix + this + it }
+    if (!isCreatedByLambdaMetafactory(extension)) return "Fail: extension lambda is a class"
+    if ("K".extension(1L) != "OK1") return "Fail: extension lambda"
+
+    val adder = Counter(40).adder()
+    if (!isCreatedByLambdaMetafactory(adder)) return "Fail: lambda capturing this is a class"
+    if (adder(2) != 42) return "Fail: lambda capturing this"
+
+    val samLambda = IntTransformer { it * 2 }
+    if (!isCreatedByLambdaMetafactory(samLambda)) return "Fail: SAM lambda is a class"
+    if (JavaCall.transform(samLambda, 21) != 42) return "Fail: SAM lambda"
+    if (JavaCall.transform({ it * counter }, 3) != 15) return "Fail: SAM adapter with a lambda"
+
+    val function: (Int) -> Int = { it - 1 }
+    val samWrapper = IntTransformer(function)
+    if (!isCreatedByLambdaMetafactory(samWrapper)) return "Fail: SAM wrapper is a class"
+    if (JavaCall.transform(samWrapper, 43) != 42) return "Fail: SAM wrapper"
+    if (JavaCall.transform(function, 1) != 0) return "Fail: SAM adapter with a function value"
+
+    val increment: () -> Unit = { counter++ }
+    JavaCall.run(increment)
+    if (counter != 6) return "Fail: SAM wrapper for a Unit function"
+
+    return "OK"
+}
@@ -253,6 +253,12 @@ public class KotlincExecutableTestGenerated extends AbstractKotlincExecutableTes
             doJvmTest(fileName);
         }
 
+        @TestMetadata("wrongModuleThreads.args")
+        public void testWrongModuleThreads() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/cli/jvm/wrongModuleThreads.args");
+            doJvmTest(fileName);
+        }
+
         @TestMetadata("wrongScriptWithNoSource.args")
         public void testWrongScriptWithNoSource() throws Exception {
             String fileName = JetTestUtils.navigationMetadata("compiler/testData/cli/jvm/wrongScriptWithNoSource.args");
@@ -268,6 +274,12 @@ public class KotlincExecutableTestGenerated extends AbstractKotlincExecutableTes
             JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/cli/js"), Pattern.compile("^(.+)\\.args$"), false);
         }
 
+        @TestMetadata("createBinaryMetadata.args")
+        public void testCreateBinaryMetadata() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/cli/js/createBinaryMetadata.args");
+            doJsTest(fileName);
+        }
+
         @TestMetadata("createMetadata.args")
         public void testCreateMetadata() throws Exception {
             String fileName = JetTestUtils.navigationMetadata("compiler/testData/cli/js/createMetadata.args");
@@ -352,6 +364,12 @@ public class KotlincExecutableTestGenerated extends AbstractKotlincExecutableTes
             doJsTest(fileName);
         }
 
+        @TestMetadata("removeUnusedCode.args")
+        public void testRemoveUnusedCode() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/cli/js/removeUnusedCode.args");
+            doJsTest(fileName);
+        }
+
         @TestMetadata("simple2js.args")
         public void testSimple2js() throws Exception {
             String fileName = JetTestUtils.navigationMetadata("compiler/testData/cli/js/simple2js.args");
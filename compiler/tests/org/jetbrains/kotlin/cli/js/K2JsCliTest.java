@@ -16,11 +16,16 @@
 
 package org.jetbrains.kotlin.cli.js;
 
+import com.intellij.openapi.util.io.FileUtil;
 import org.jetbrains.kotlin.cli.CliBaseTest;
+import org.jetbrains.kotlin.utils.KotlinJavascriptMetadata;
+import org.jetbrains.kotlin.utils.KotlinJavascriptMetadataUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 public class K2JsCliTest extends CliBaseTest {
     @Test
@@ -30,6 +35,15 @@ public class K2JsCliTest extends CliBaseTest {
         Assert.assertTrue(new File(tmpdir.getTmpDir(), "out.js").isFile());
     }
 
+    @Test
+    public void removeUnusedCode() throws Exception {
+        executeCompilerCompareOutputJS();
+
+        String code = FileUtil.loadFile(new File(tmpdir.getTmpDir(), "out.js"));
+        Assert.assertTrue(code.contains("usedFunction") && code.contains("UsedClass") && code.contains("usedMember"));
+        Assert.assertFalse(code.contains("unusedFunction") || code.contains("UnusedClass") || code.contains("unusedProperty"));
+    }
+
     @Test
     public void outputIsDirectory() throws Exception {
         executeCompilerCompareOutputJS();
@@ -99,6 +113,32 @@ public class K2JsCliTest extends CliBaseTest {
         Assert.assertTrue(new File(tmpdir.getTmpDir(), "jslib-example.js").isFile());
     }
 
+    @Test
+    public void createBinaryMetadata() throws Exception {
+        executeCompilerCompareOutputJS();
+
+        File metaFile = new File(tmpdir.getTmpDir(), "jslib-example.meta.js");
+        File binaryMetaFile = new File(tmpdir.getTmpDir(), "jslib-example.kjsmeta");
+        Assert.assertTrue(binaryMetaFile.isFile());
+
+        List<KotlinJavascriptMetadata> textMetadata = new ArrayList<KotlinJavascriptMetadata>();
+        KotlinJavascriptMetadataUtils.parseMetadata(FileUtil.loadFile(metaFile), textMetadata);
+        Assert.assertEquals(1, textMetadata.size());
+
+        // The text metadata is replaced but stays older than the binary one, so only the binary file can provide the module
+        FileUtil.writeToFile(metaFile, "// no metadata\n");
+        Assert.assertTrue(metaFile.setLastModified(binaryMetaFile.lastModified()));
+        List<KotlinJavascriptMetadata> loadedMetadata = KotlinJavascriptMetadataUtils.loadMetadata(metaFile);
+
+        Assert.assertEquals(1, loadedMetadata.size());
+        Assert.assertEquals(textMetadata.get(0).getModuleName(), loadedMetadata.get(0).getModuleName());
+        Assert.assertArrayEquals(textMetadata.get(0).getBody(), loadedMetadata.get(0).getBody());
+
+        // A binary file older than the text one is ignored
+        Assert.assertTrue(metaFile.setLastModified(binaryMetaFile.lastModified() + 10000));
+        Assert.assertTrue(KotlinJavascriptMetadataUtils.loadMetadata(metaFile).isEmpty());
+    }
+
     @Test
     public void libraryDirNotFound() throws Exception {
         executeCompilerCompareOutputJS();
@@ -16,13 +16,23 @@
 
 package org.jetbrains.kotlin.cli.jvm;
 
+import com.intellij.openapi.util.Pair;
+import com.intellij.openapi.util.io.FileUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.kotlin.cli.CliBaseTest;
+import org.jetbrains.kotlin.cli.common.ExitCode;
 import org.jetbrains.kotlin.load.kotlin.PackageClassUtils;
 import org.jetbrains.kotlin.name.FqName;
-import org.jetbrains.kotlin.cli.CliBaseTest;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
 
 public class K2JvmCliTest extends CliBaseTest {
     @Test
@@ -76,4 +86,117 @@ public class K2JvmCliTest extends CliBaseTest {
     public void warningsInDummy() throws Exception {
         executeCompilerCompareOutputJVM();
     }
+
+    @Test
+    public void wrongModuleThreads() throws Exception {
+        executeCompilerCompareOutputJVM();
+    }
+
+    @Test
+    public void moduleThreads() throws Exception {
+        File sources = new File(tmpdir.getTmpDir(), "src");
+        writeSource(sources, "a/a.kt", "package a\n\n" +
+                                       "inline fun <T> twice(f: () -> T): List<T> = listOf(f(), f())\n\n" +
+                                       "open class Base(val name: String) {\n" +
+                                       "    open fun greet() = { \"Hello, $name\" }\n" +
+                                       "}\n");
+        writeSource(sources, "b/b.kt", "package b\n\n" +
+                                       "import a.*\n\n" +
+                                       "class Derived : Base(\"b\") {\n" +
+                                       "    override fun greet() = { twice { name }.joinToString() }\n" +
+                                       "}\n\n" +
+                                       "fun main(args: Array<String>) = println(Derived().greet()())\n");
+        writeSource(sources, "c/c.kt", "package c\n\n" +
+                                       "data class Point(val x: Int, val y: Int)\n\n" +
+                                       "fun points() = (1..10).map { Point(it, it * it) }.filter { it.y % 2 == 0 }\n");
+        writeSource(sources, "d/d.kt", "package d\n\n" +
+                                       "object Registry {\n" +
+                                       "    val items = hashMapOf<String, () -> Int>()\n" +
+                                       "    fun register(name: String, f: () -> Int) { items[name] = f }\n" +
+                                       "}\n");
+
+        Map<String, byte[]> serial = compileModules(sources, new File(tmpdir.getTmpDir(), "serial"), false);
+        Map<String, byte[]> parallel = compileModules(sources, new File(tmpdir.getTmpDir(), "parallel"), true);
+
+        Assert.assertEquals(serial.keySet(), parallel.keySet());
+        Assert.assertTrue(serial.keySet().contains("b/b/Derived.class"));
+        for (String path : serial.keySet()) {
+            Assert.assertTrue("Class files differ: " + path, Arrays.equals(serial.get(path), parallel.get(path)));
+        }
+    }
+
+    @Test
+    public void lowMemory() throws Exception {
+        File sources = new File(tmpdir.getTmpDir(), "src");
+        writeSource(sources, "a/a.kt", "package a\n\n" +
+                                       "import b.*\n\n" +
+                                       "inline fun <T> twice(f: () -> T): List<T> = listOf(f(), f())\n\n" +
+                                       "fun useB() = Point(1, 2).copy(y = 3).let { twice { it.x + it.y } }\n");
+        writeSource(sources, "a/a2.kt", "package a\n\n" +
+                                        "val lazyValue by lazy { useB().sum() }\n");
+        writeSource(sources, "b/b.kt", "package b\n\n" +
+                                       "import a.*\n\n" +
+                                       "data class Point(val x: Int, val y: Int)\n\n" +
+                                       "fun useA() = twice { Point(lazyValue, 0) }.map { it.toString() }\n");
+        writeSource(sources, "c/c.kt", "package c\n\n" +
+                                       "class Outer {\n" +
+                                       "    inner class Inner { fun f() = object : Runnable { override fun run() = b.useA().forEach { println(it) } } }\n" +
+                                       "}\n");
+
+        File normalOutput = new File(tmpdir.getTmpDir(), "normal");
+        File lowMemoryOutput = new File(tmpdir.getTmpDir(), "lowMemory");
+        Map<String, byte[]> normal =
+                compileAndLoadClassFiles(Arrays.asList(sources.getPath(), "-d", normalOutput.getPath()), normalOutput);
+        Map<String, byte[]> lowMemory =
+                compileAndLoadClassFiles(Arrays.asList(sources.getPath(), "-d", lowMemoryOutput.getPath(), "-Xlow-memory"), lowMemoryOutput);
+
+        Assert.assertEquals(normal.keySet(), lowMemory.keySet());
+        Assert.assertTrue(normal.keySet().contains("c/Outer$Inner$f$1.class"));
+        for (String path : normal.keySet()) {
+            Assert.assertTrue("Class files differ: " + path, Arrays.equals(normal.get(path), lowMemory.get(path)));
+        }
+    }
+
+    private static void writeSource(@NotNull File sources, @NotNull String path, @NotNull String text) throws IOException {
+        FileUtil.writeToFile(new File(sources, path), text);
+    }
+
+    @NotNull
+    private static Map<String, byte[]> compileModules(@NotNull File sources, @NotNull File output, boolean parallel) throws IOException {
+        String outA = new File(output, "a").getAbsolutePath();
+        String moduleScript = "<modules>\n" +
+                              module("a", outA, new File(sources, "a"), null) +
+                              module("b", new File(output, "b").getAbsolutePath(), new File(sources, "b"), outA) +
+                              module("c", new File(output, "c").getAbsolutePath(), new File(sources, "c"), null) +
+                              module("d", new File(output, "d").getAbsolutePath(), new File(sources, "d"), null) +
+                              "</modules>\n";
+        File moduleFile = new File(output, "modules.xml");
+        FileUtil.writeToFile(moduleFile, moduleScript);
+
+        return compileAndLoadClassFiles(
+                parallel ? Arrays.asList("-module", moduleFile.getPath(), "-Xmodule-threads", "3")
+                         : Arrays.asList("-module", moduleFile.getPath()),
+                output
+        );
+    }
+
+    @NotNull
+    private static Map<String, byte[]> compileAndLoadClassFiles(@NotNull List<String> args, @NotNull File output) throws IOException {
+        Pair<String, ExitCode> outputAndExitCode = executeCompilerGrabOutput(new K2JVMCompiler(), args);
+        Assert.assertEquals(outputAndExitCode.first, ExitCode.OK, outputAndExitCode.second);
+
+        Map<String, byte[]> classFiles = new TreeMap<String, byte[]>();
+        for (File file : FileUtil.findFilesByMask(Pattern.compile(".+\\.class"), output)) {
+            classFiles.put(FileUtil.toSystemIndependentName(FileUtil.getRelativePath(output, file)), FileUtil.loadFileBytes(file));
+        }
+        return classFiles;
+    }
+
+    @NotNull
+    private static String module(@NotNull String name, @NotNull String outputDir, @NotNull File sources, String dependency) {
+        return "  <module name=\"" + name + "\" outputDir=\"" + outputDir + "\" type=\"java-production\">\n" +
+               "    <sources path=\"" + sources.getAbsolutePath() + "\"/>\n" +
+               (dependency != null ? "    <classpath path=\"" + dependency + "\"/>\n" : "") +
+               "  </module>\n";
+    }
 }
@@ -22,7 +22,10 @@ import org.jetbrains.kotlin.analyzer.AnalysisResult;
 import org.jetbrains.kotlin.cli.jvm.compiler.JvmPackagePartProvider;
 import org.jetbrains.kotlin.cli.jvm.compiler.KotlinCoreEnvironment;
 import org.jetbrains.kotlin.codegen.state.GenerationState;
+import org.jetbrains.kotlin.codegen.state.Progress;
 import org.jetbrains.kotlin.descriptors.PackagePartProvider;
+import org.jetbrains.kotlin.diagnostics.DiagnosticSink;
+import org.jetbrains.kotlin.name.FqName;
 import org.jetbrains.kotlin.psi.KtFile;
 import org.jetbrains.kotlin.resolve.lazy.JvmResolveUtil;
 
@@ -60,10 +63,17 @@ public class GenerationUtils {
     @NotNull
     public static GenerationState compileManyFilesGetGenerationStateForTest(@NotNull Project project, @NotNull List<KtFile> files,
             @NotNull PackagePartProvider packagePartProvider
+    ) {
+        return compileManyFilesGetGenerationStateForTest(project, files, packagePartProvider, false);
+    }
+
+    @NotNull
+    public static GenerationState compileManyFilesGetGenerationStateForTest(@NotNull Project project, @NotNull List<KtFile> files,
+            @NotNull PackagePartProvider packagePartProvider, boolean jvm8Target
     ) {
         AnalysisResult analysisResult = JvmResolveUtil.analyzeFilesWithJavaIntegrationAndCheckForErrors(
                 project, files, packagePartProvider);
-        return compileFilesGetGenerationState(project, analysisResult, files, false);
+        return compileFilesGetGenerationState(project, analysisResult, files, false, jvm8Target);
     }
 
     @NotNull
@@ -72,6 +82,17 @@ public class GenerationUtils {
             @NotNull AnalysisResult analysisResult,
             @NotNull List<KtFile> files,
             boolean useTypeTableInSerializer
+    ) {
+        return compileFilesGetGenerationState(project, analysisResult, files, useTypeTableInSerializer, false);
+    }
+
+    @NotNull
+    public static GenerationState compileFilesGetGenerationState(
+            @NotNull Project project,
+            @NotNull AnalysisResult analysisResult,
+            @NotNull List<KtFile> files,
+            boolean useTypeTableInSerializer,
+            boolean jvm8Target
     ) {
         analysisResult.throwIfError();
         GenerationState state = new GenerationState(
@@ -83,7 +104,16 @@ public class GenerationUtils {
                 GenerationState.GenerateClassFilter.GENERATE_ALL,
                 /* disableInline = */ false,
                 /* disableOptimization = */ false,
-                useTypeTableInSerializer
+                useTypeTableInSerializer,
+                DiagnosticSink.DO_NOTHING,
+                /* packagesWithObsoleteParts = */ Collections.<FqName>emptySet(),
+                /* obsoleteMultifileClasses = */ Collections.<FqName>emptySet(),
+                /* targetId = */ null,
+                /* moduleName = */ null,
+                /* outDirectory = */ null,
+                /* incrementalCompilationComponents = */ null,
+                Progress.DEAF,
+                jvm8Target
         );
         KotlinCodegenFacade.compileCorrectFiles(state, CompilationErrorHandler.THROW_EXCEPTION);
         return state;
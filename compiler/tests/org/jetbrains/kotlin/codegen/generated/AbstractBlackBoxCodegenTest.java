@@ -25,6 +25,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.kotlin.cli.common.output.outputUtils.OutputUtilsKt;
 import org.jetbrains.kotlin.cli.jvm.compiler.EnvironmentConfigFiles;
 import org.jetbrains.kotlin.cli.jvm.compiler.KotlinCoreEnvironment;
+import org.jetbrains.kotlin.cli.jvm.config.JVMConfigurationKeys;
 import org.jetbrains.kotlin.cli.jvm.config.JvmContentRootsKt;
 import org.jetbrains.kotlin.codegen.CodegenTestCase;
 import org.jetbrains.kotlin.codegen.GeneratedClassLoader;
@@ -54,7 +55,12 @@ public abstract class AbstractBlackBoxCodegenTest extends CodegenTestCase {
     }
 
     public void doTestAgainstJava(@NotNull String filename) {
-        blackBoxFileAgainstJavaByFullPath(filename);
+        blackBoxFileAgainstJavaByFullPath(filename, false);
+    }
+
+    // Same as doTestAgainstJava, but the compiled Java classes are read from class files without PSI
+    public void doTestAgainstJavaClassFiles(@NotNull String filename) {
+        blackBoxFileAgainstJavaByFullPath(filename, true);
     }
 
     public void doTestWithJava(@NotNull String filename) {
@@ -112,17 +118,15 @@ public abstract class AbstractBlackBoxCodegenTest extends CodegenTestCase {
         ) ? TestJdkKind.FULL_JDK : TestJdkKind.MOCK_JDK;
     }
 
-    private void blackBoxFileAgainstJavaByFullPath(@NotNull String ktFileFullPath) {
+    private void blackBoxFileAgainstJavaByFullPath(@NotNull String ktFileFullPath, boolean useJavaClassFiles) {
         String ktFile = relativePath(new File(ktFileFullPath));
         File javaClassesTempDirectory = compileJava(ktFile.replaceFirst("\\.kt$", ".java"));
 
-        myEnvironment = KotlinCoreEnvironment.createForTests(
-                getTestRootDisposable(),
-                JetTestUtils.compilerConfigurationForTests(
-                        ConfigurationKind.ALL, getTestJdkKind(ktFileFullPath), JetTestUtils.getAnnotationsJar(), javaClassesTempDirectory
-                ),
-                EnvironmentConfigFiles.JVM_CONFIG_FILES
+        CompilerConfiguration configuration = JetTestUtils.compilerConfigurationForTests(
+                ConfigurationKind.ALL, getTestJdkKind(ktFileFullPath), JetTestUtils.getAnnotationsJar(), javaClassesTempDirectory
         );
+        configuration.put(JVMConfigurationKeys.USE_JAVA_CLASS_FILES, useJavaClassFiles);
+        myEnvironment = KotlinCoreEnvironment.createForTests(getTestRootDisposable(), configuration, EnvironmentConfigFiles.JVM_CONFIG_FILES);
 
         loadFile(ktFile);
         blackBox();
@@ -153,9 +157,15 @@ public abstract class AbstractBlackBoxCodegenTest extends CodegenTestCase {
         JvmContentRootsKt.addJavaSourceRoot(configuration, dirFile);
         myEnvironment = KotlinCoreEnvironment.createForTests(getTestRootDisposable(), configuration, EnvironmentConfigFiles.JVM_CONFIG_FILES);
         loadFiles(ArrayUtil.toStringArray(ktFilePaths));
+
+        boolean jvm8Target = false;
+        for (KtFile jetFile : myFiles.getPsiFiles()) {
+            jvm8Target |= InTextDirectivesUtils.isDirectiveDefined(jetFile.getText(), "JVM8_TARGET");
+        }
+
         classFileFactory =
                 GenerationUtils.compileManyFilesGetGenerationStateForTest(myEnvironment.getProject(), myFiles.getPsiFiles(),
-                                                                          new JvmPackagePartProvider(myEnvironment)).getFactory();
+                                                                          new JvmPackagePartProvider(myEnvironment), jvm8Target).getFactory();
         File kotlinOut = JetTestUtils.tmpDir(toString());
         OutputUtilsKt.writeAllTo(classFileFactory, kotlinOut);
 
@@ -185,6 +185,33 @@ public class CompilerDaemonTest : KotlinIntegrationTestBase() {
         logFile2.delete()
     }
 
+    public fun testDaemonConnectionReuse() {
+        val flagFile = createTempFile(getTestName(true), ".alive")
+        flagFile.deleteOnExit()
+        val daemonOptions = DaemonOptions(runFilesPath = File(tmpdir, getTestName(true)).absolutePath,
+                                          clientAliveFlagPath = flagFile.absolutePath)
+        val daemonJVMOptions = configureDaemonJVMOptions(false)
+        val reportingTargets = DaemonReportingTargets(out = System.err)
+
+        KotlinCompilerClient.shutdownCompileService(compilerId, daemonOptions)
+
+        try {
+            KotlinCompilerClient.prewarmCompileService(compilerId, daemonJVMOptions, daemonOptions, reportingTargets)
+            val daemon1 = KotlinCompilerClient.connectToCompileService(compilerId, daemonJVMOptions, daemonOptions, reportingTargets)
+            TestCase.assertNotNull("failed to connect daemon", daemon1)
+            TestCase.assertTrue(daemon1!!.ping())
+
+            val daemon2 = KotlinCompilerClient.connectToCompileService(compilerId, daemonJVMOptions, daemonOptions, reportingTargets)
+            TestCase.assertSame("expecting cached connection to be reused", daemon1, daemon2)
+        }
+        finally {
+            KotlinCompilerClient.shutdownCompileService(compilerId, daemonOptions)
+        }
+
+        val daemon3 = KotlinCompilerClient.connectToCompileService(compilerId, daemonJVMOptions, daemonOptions, reportingTargets, autostart = false)
+        TestCase.assertNull("expecting no daemon after shutdown", daemon3)
+    }
+
 
     /** Testing that running daemon in the child process doesn't block on s child process.waitFor()
      *  that may happen on windows if simple processBuilder.start is used due to handles inheritance:
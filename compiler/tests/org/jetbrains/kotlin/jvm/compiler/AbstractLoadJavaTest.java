@@ -25,6 +25,7 @@ import org.jetbrains.kotlin.cli.jvm.compiler.CliLightClassGenerationSupport;
 import org.jetbrains.kotlin.cli.jvm.compiler.EnvironmentConfigFiles;
 import org.jetbrains.kotlin.cli.jvm.compiler.JvmPackagePartProvider;
 import org.jetbrains.kotlin.cli.jvm.compiler.KotlinCoreEnvironment;
+import org.jetbrains.kotlin.cli.jvm.config.JVMConfigurationKeys;
 import org.jetbrains.kotlin.cli.jvm.config.JvmContentRootsKt;
 import org.jetbrains.kotlin.cli.jvm.config.ModuleNameKt;
 import org.jetbrains.kotlin.config.CompilerConfiguration;
@@ -68,6 +69,11 @@ import static org.jetbrains.kotlin.test.util.RecursiveDescriptorComparator.*;
     The generated test compares package descriptors loaded from kotlin sources and read from compiled java.
 */
 public abstract class AbstractLoadJavaTest extends TestCaseWithTmpdir {
+    // Compiled Java classes are read from class files without PSI if true, see JVMConfigurationKeys.USE_JAVA_CLASS_FILES
+    protected boolean useJavaClassFiles() {
+        return false;
+    }
+
     protected void doTestCompiledJava(@NotNull String javaFileName) throws Exception {
         doTestCompiledJava(javaFileName, DONT_INCLUDE_METHODS_OF_OBJECT);
     }
@@ -185,10 +191,11 @@ public abstract class AbstractLoadJavaTest extends TestCaseWithTmpdir {
                 null
         );
 
+        CompilerConfiguration configuration =
+                compilerConfigurationForTests(ConfigurationKind.JDK_ONLY, TestJdkKind.MOCK_JDK, getAnnotationsJar(), libraryOut);
+        configuration.put(JVMConfigurationKeys.USE_JAVA_CLASS_FILES, useJavaClassFiles());
         KotlinCoreEnvironment environment = KotlinCoreEnvironment.createForTests(
-                getTestRootDisposable(),
-                compilerConfigurationForTests(ConfigurationKind.JDK_ONLY, TestJdkKind.MOCK_JDK, getAnnotationsJar(), libraryOut),
-                EnvironmentConfigFiles.JVM_CONFIG_FILES);
+                getTestRootDisposable(), configuration, EnvironmentConfigFiles.JVM_CONFIG_FILES);
 
         KtFile jetFile = JetTestUtils.createFile(kotlinSrc.getPath(), FileUtil.loadFile(kotlinSrc, true), environment.getProject());
 
@@ -260,7 +267,9 @@ public abstract class AbstractLoadJavaTest extends TestCaseWithTmpdir {
             @NotNull ConfigurationKind configurationKind
     ) throws IOException {
         compileJavaWithAnnotationsJar(javaFiles, outDir);
-        return loadTestPackageAndBindingContextFromJavaRoot(outDir, myTestRootDisposable, TestJdkKind.MOCK_JDK, configurationKind, true);
+        return loadTestPackageAndBindingContextFromJavaRoot(
+                outDir, myTestRootDisposable, TestJdkKind.MOCK_JDK, configurationKind, true, useJavaClassFiles()
+        );
     }
 
     private static void checkJavaPackage(
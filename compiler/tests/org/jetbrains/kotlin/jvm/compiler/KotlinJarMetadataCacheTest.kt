@@ -0,0 +1,74 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.jvm.compiler
+
+import com.intellij.openapi.vfs.StandardFileSystems
+import com.intellij.openapi.vfs.VirtualFileManager
+import com.intellij.util.io.URLUtil
+import org.jetbrains.kotlin.cli.jvm.compiler.EnvironmentConfigFiles
+import org.jetbrains.kotlin.cli.jvm.compiler.KotlinCoreEnvironment
+import org.jetbrains.kotlin.codegen.forTestCompile.ForTestCompileRuntime
+import org.jetbrains.kotlin.load.kotlin.KotlinBinaryClassCache
+import org.jetbrains.kotlin.load.kotlin.KotlinJarMetadataCacheStorage
+import org.jetbrains.kotlin.test.ConfigurationKind
+import org.jetbrains.kotlin.test.JetTestUtils
+import org.jetbrains.kotlin.test.KotlinTestWithEnvironmentManagement
+import org.jetbrains.kotlin.test.TestJdkKind
+import kotlin.test.assertEquals
+import kotlin.test.assertNotNull
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+public class KotlinJarMetadataCacheTest : KotlinTestWithEnvironmentManagement() {
+    fun testCachedHeadersMatchClassFiles() {
+        val cacheDirectory = JetTestUtils.tmpDirForTest(this)
+        KotlinCoreEnvironment.createForTests(getTestRootDisposable()!!,
+                                             JetTestUtils.compilerConfigurationForTests(ConfigurationKind.ALL, TestJdkKind.MOCK_JDK),
+                                             EnvironmentConfigFiles.JVM_CONFIG_FILES)
+
+        val runtimeJar = ForTestCompileRuntime.runtimeJarForTests()
+        val jarFileSystem = VirtualFileManager.getInstance().getFileSystem(StandardFileSystems.JAR_PROTOCOL)
+
+        for (className in listOf("kotlin/Pair", "kotlin/Triple", "kotlin/CollectionsKt")) {
+            val file = jarFileSystem.findFileByPath(runtimeJar.getPath() + URLUtil.JAR_SEPARATOR + className + ".class")
+            assertNotNull(file, "No class file for $className")
+
+            val expected = KotlinBinaryClassCache.getKotlinBinaryClass(file!!)!!
+
+            // First storage builds the cache file, the second one reads it from disk
+            for (storage in listOf(KotlinJarMetadataCacheStorage(cacheDirectory), KotlinJarMetadataCacheStorage(cacheDirectory))) {
+                val result = storage.findKotlinClass(file)
+                assertTrue(result is KotlinJarMetadataCacheStorage.FindResult.Cached, "Class $className is not cached")
+
+                val actual = (result as KotlinJarMetadataCacheStorage.FindResult.Cached).kotlinClass!!
+                assertEquals(expected.getClassId(), actual.getClassId())
+                assertEquals(expected.getClassHeader().kind, actual.getClassHeader().kind)
+                assertEquals(expected.getClassHeader().version, actual.getClassHeader().version)
+                assertEquals(expected.getClassHeader().annotationData?.toList(), actual.getClassHeader().annotationData?.toList())
+                assertEquals(expected.getClassHeader().strings?.toList(), actual.getClassHeader().strings?.toList())
+                assertEquals(expected.getClassHeader().filePartClassNames?.toList(), actual.getClassHeader().filePartClassNames?.toList())
+                assertEquals(expected.getClassHeader().multifileClassName, actual.getClassHeader().multifileClassName)
+            }
+        }
+
+        val nonKotlinFile = jarFileSystem.findFileByPath(runtimeJar.getPath() + URLUtil.JAR_SEPARATOR + "kotlin/jvm/internal/Intrinsics.class")
+        assertNotNull(nonKotlinFile, "No class file for kotlin/jvm/internal/Intrinsics")
+        val result = KotlinJarMetadataCacheStorage(cacheDirectory).findKotlinClass(nonKotlinFile!!)
+        assertTrue(result is KotlinJarMetadataCacheStorage.FindResult.Cached, "Intrinsics is not in the cache")
+        assertNull((result as KotlinJarMetadataCacheStorage.FindResult.Cached).kotlinClass)
+    }
+}
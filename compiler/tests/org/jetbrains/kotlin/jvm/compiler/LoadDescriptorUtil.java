@@ -28,6 +28,7 @@ import org.jetbrains.kotlin.cli.jvm.compiler.CliLightClassGenerationSupport;
 import org.jetbrains.kotlin.cli.jvm.compiler.EnvironmentConfigFiles;
 import org.jetbrains.kotlin.cli.jvm.compiler.JvmPackagePartProvider;
 import org.jetbrains.kotlin.cli.jvm.compiler.KotlinCoreEnvironment;
+import org.jetbrains.kotlin.cli.jvm.config.JVMConfigurationKeys;
 import org.jetbrains.kotlin.codegen.GenerationUtils;
 import org.jetbrains.kotlin.codegen.forTestCompile.ForTestCompileRuntime;
 import org.jetbrains.kotlin.codegen.state.GenerationState;
@@ -84,6 +85,18 @@ public final class LoadDescriptorUtil {
             @NotNull TestJdkKind testJdkKind,
             @NotNull ConfigurationKind configurationKind,
             boolean isBinaryRoot
+    ) {
+        return loadTestPackageAndBindingContextFromJavaRoot(javaRoot, disposable, testJdkKind, configurationKind, isBinaryRoot, false);
+    }
+
+    @NotNull
+    public static Pair<PackageViewDescriptor, BindingContext> loadTestPackageAndBindingContextFromJavaRoot(
+            @NotNull File javaRoot,
+            @NotNull Disposable disposable,
+            @NotNull TestJdkKind testJdkKind,
+            @NotNull ConfigurationKind configurationKind,
+            boolean isBinaryRoot,
+            boolean useJavaClassFiles
     ) {
         List<File> javaBinaryRoots = new ArrayList<File>();
         javaBinaryRoots.add(JetTestUtils.getAnnotationsJar());
@@ -102,6 +115,7 @@ public final class LoadDescriptorUtil {
                 javaBinaryRoots,
                 javaSourceRoots
         );
+        configuration.put(JVMConfigurationKeys.USE_JAVA_CLASS_FILES, useJavaClassFiles);
         KotlinCoreEnvironment environment =
                 KotlinCoreEnvironment.createForTests(disposable, configuration, EnvironmentConfigFiles.JVM_CONFIG_FILES);
 
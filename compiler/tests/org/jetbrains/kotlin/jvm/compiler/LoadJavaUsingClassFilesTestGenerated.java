@@ -0,0 +1,1973 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.jvm.compiler;
+
+import com.intellij.testFramework.TestDataPath;
+import org.jetbrains.kotlin.test.JUnit3RunnerWithInners;
+import org.jetbrains.kotlin.test.JetTestUtils;
+import org.jetbrains.kotlin.test.TestMetadata;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.regex.Pattern;
+
+/** This class is generated by {@link org.jetbrains.kotlin.generators.tests.TestsPackage}. DO NOT MODIFY MANUALLY */
+@SuppressWarnings("all")
+@RunWith(JUnit3RunnerWithInners.class)
+public class LoadJavaUsingClassFilesTestGenerated extends AbstractLoadJavaUsingClassFilesTest {
+    @TestMetadata("compiler/testData/loadJava/compiledJava")
+    @TestDataPath("$PROJECT_ROOT")
+    @RunWith(JUnit3RunnerWithInners.class)
+    public static class CompiledJava extends AbstractLoadJavaUsingClassFilesTest {
+        public void testAllFilesPresentInCompiledJava() throws Exception {
+            JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava"), Pattern.compile("^(.+)\\.java$"), true);
+        }
+
+        @TestMetadata("ArrayTypeVariance.java")
+        public void testArrayTypeVariance() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/ArrayTypeVariance.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("ClassDoesNotOverrideMethod.java")
+        public void testClassDoesNotOverrideMethod() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/ClassDoesNotOverrideMethod.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("ClassWithConstVal.java")
+        public void testClassWithConstVal() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/ClassWithConstVal.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("ClassWithTypeP.java")
+        public void testClassWithTypeP() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/ClassWithTypeP.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("ClassWithTypePExtendsIterableP.java")
+        public void testClassWithTypePExtendsIterableP() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/ClassWithTypePExtendsIterableP.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("ClassWithTypePP.java")
+        public void testClassWithTypePP() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/ClassWithTypePP.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("ClassWithTypePRefNext.java")
+        public void testClassWithTypePRefNext() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/ClassWithTypePRefNext.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("ClassWithTypePRefSelf.java")
+        public void testClassWithTypePRefSelf() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/ClassWithTypePRefSelf.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("ClassWithTypePRefSelfAndClass.java")
+        public void testClassWithTypePRefSelfAndClass() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/ClassWithTypePRefSelfAndClass.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("FieldAsVar.java")
+        public void testFieldAsVar() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/FieldAsVar.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("FieldOfArrayType.java")
+        public void testFieldOfArrayType() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/FieldOfArrayType.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("FinalFieldAsVal.java")
+        public void testFinalFieldAsVal() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/FinalFieldAsVal.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("InheritMethodsDifferentReturnTypes.java")
+        public void testInheritMethodsDifferentReturnTypes() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/InheritMethodsDifferentReturnTypes.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("InheritMethodsDifferentReturnTypesGeneric.java")
+        public void testInheritMethodsDifferentReturnTypesGeneric() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/InheritMethodsDifferentReturnTypesGeneric.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("InnerClass.java")
+        public void testInnerClass() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/InnerClass.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("InnerClassReferencesOuterTP.java")
+        public void testInnerClassReferencesOuterTP() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/InnerClassReferencesOuterTP.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("InnerClassesInGeneric.java")
+        public void testInnerClassesInGeneric() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/InnerClassesInGeneric.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("InnerOfGeneric.java")
+        public void testInnerOfGeneric() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/InnerOfGeneric.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("IntrinsicCompanionObject.java")
+        public void testIntrinsicCompanionObject() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/IntrinsicCompanionObject.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("MethodReferencesOuterClassTP.java")
+        public void testMethodReferencesOuterClassTP() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/MethodReferencesOuterClassTP.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("MethodTypePOneUpperBound.java")
+        public void testMethodTypePOneUpperBound() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/MethodTypePOneUpperBound.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("MethodTypePTwoUpperBounds.java")
+        public void testMethodTypePTwoUpperBounds() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/MethodTypePTwoUpperBounds.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("MethodWithTypeP.java")
+        public void testMethodWithTypeP() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/MethodWithTypeP.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("MethodWithTypePP.java")
+        public void testMethodWithTypePP() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/MethodWithTypePP.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("MethodWithTypePRefClassP.java")
+        public void testMethodWithTypePRefClassP() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/MethodWithTypePRefClassP.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("MethosWithPRefTP.java")
+        public void testMethosWithPRefTP() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/MethosWithPRefTP.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("MyException.java")
+        public void testMyException() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/MyException.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("NestedClass.java")
+        public void testNestedClass() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/NestedClass.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("OverrideMethod.java")
+        public void testOverrideMethod() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/OverrideMethod.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("PackageLocalVisibility.java")
+        public void testPackageLocalVisibility() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/PackageLocalVisibility.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("PrivateMembers.java")
+        public void testPrivateMembers() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/PrivateMembers.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("PrivateMembersInHierarchy.java")
+        public void testPrivateMembersInHierarchy() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/PrivateMembersInHierarchy.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("RawTypeWithUpperBound.java")
+        public void testRawTypeWithUpperBound() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/RawTypeWithUpperBound.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("RawUpperBound.java")
+        public void testRawUpperBound() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/RawUpperBound.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("RecursiveRawUpperBound.java")
+        public void testRecursiveRawUpperBound() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/RecursiveRawUpperBound.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("RecursiveWildcardUpperBound.java")
+        public void testRecursiveWildcardUpperBound() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/RecursiveWildcardUpperBound.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("RemoveRedundantProjectionKind.java")
+        public void testRemoveRedundantProjectionKind() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/RemoveRedundantProjectionKind.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("Simple.java")
+        public void testSimple() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/Simple.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("SubclassFromNested.java")
+        public void testSubclassFromNested() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/SubclassFromNested.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("TwoFields.java")
+        public void testTwoFields() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/TwoFields.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("UnboundWildcard.java")
+        public void testUnboundWildcard() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/UnboundWildcard.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("WildcardBounds.java")
+        public void testWildcardBounds() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/WildcardBounds.java");
+            doTestCompiledJava(fileName);
+        }
+
+        @TestMetadata("compiler/testData/loadJava/compiledJava/annotations")
+        @TestDataPath("$PROJECT_ROOT")
+        @RunWith(JUnit3RunnerWithInners.class)
+        public static class Annotations extends AbstractLoadJavaUsingClassFilesTest {
+            public void testAllFilesPresentInAnnotations() throws Exception {
+                JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/annotations"), Pattern.compile("^(.+)\\.java$"), true);
+            }
+
+            @TestMetadata("AnnotatedAnnotation.java")
+            public void testAnnotatedAnnotation() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/AnnotatedAnnotation.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("AnnotatedConstructor.java")
+            public void testAnnotatedConstructor() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/AnnotatedConstructor.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("AnnotatedField.java")
+            public void testAnnotatedField() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/AnnotatedField.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("AnnotatedMethod.java")
+            public void testAnnotatedMethod() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/AnnotatedMethod.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("AnnotatedValueParameter.java")
+            public void testAnnotatedValueParameter() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/AnnotatedValueParameter.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("AnnotationInParam.java")
+            public void testAnnotationInParam() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/AnnotationInParam.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("AnnotationRetentions.java")
+            public void testAnnotationRetentions() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/AnnotationRetentions.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("AnnotationTargets.java")
+            public void testAnnotationTargets() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/AnnotationTargets.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("ArithmeticExpressionInParam.java")
+            public void testArithmeticExpressionInParam() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/ArithmeticExpressionInParam.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("ArrayOfEnumInParam.java")
+            public void testArrayOfEnumInParam() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/ArrayOfEnumInParam.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("ArrayOfStringInParam.java")
+            public void testArrayOfStringInParam() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/ArrayOfStringInParam.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("ClassObjectArrayInParam.java")
+            public void testClassObjectArrayInParam() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/ClassObjectArrayInParam.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("ClassObjectInParam.java")
+            public void testClassObjectInParam() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/ClassObjectInParam.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("ClassObjectInParamRaw.java")
+            public void testClassObjectInParamRaw() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/ClassObjectInParamRaw.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("ClassObjectInParamVariance.java")
+            public void testClassObjectInParamVariance() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/ClassObjectInParamVariance.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("CustomAnnotation.java")
+            public void testCustomAnnotation() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/CustomAnnotation.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("CustomAnnotationWithDefaultParameter.java")
+            public void testCustomAnnotationWithDefaultParameter() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/CustomAnnotationWithDefaultParameter.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("EmptyArrayInParam.java")
+            public void testEmptyArrayInParam() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/EmptyArrayInParam.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("EnumArgumentWithCustomToString.java")
+            public void testEnumArgumentWithCustomToString() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/EnumArgumentWithCustomToString.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("EnumConstructorParameter.java")
+            public void testEnumConstructorParameter() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/EnumConstructorParameter.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("EnumInParam.java")
+            public void testEnumInParam() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/EnumInParam.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("JavaDocDeprecated.java")
+            public void testJavaDocDeprecated() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/JavaDocDeprecated.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("NestedEnumArgument.java")
+            public void testNestedEnumArgument() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/NestedEnumArgument.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("PrimitiveValueInParam.java")
+            public void testPrimitiveValueInParam() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/PrimitiveValueInParam.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("RecursiveAnnotation.java")
+            public void testRecursiveAnnotation() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/RecursiveAnnotation.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("RecursiveAnnotation2.java")
+            public void testRecursiveAnnotation2() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/RecursiveAnnotation2.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("SimpleAnnotation.java")
+            public void testSimpleAnnotation() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/SimpleAnnotation.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("StringConcatenationInParam.java")
+            public void testStringConcatenationInParam() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/StringConcatenationInParam.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("StringConstantInParam.java")
+            public void testStringConstantInParam() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/StringConstantInParam.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("StringInParam.java")
+            public void testStringInParam() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/annotations/StringInParam.java");
+                doTestCompiledJava(fileName);
+            }
+        }
+
+        @TestMetadata("compiler/testData/loadJava/compiledJava/constructor")
+        @TestDataPath("$PROJECT_ROOT")
+        @RunWith(JUnit3RunnerWithInners.class)
+        public static class Constructor extends AbstractLoadJavaUsingClassFilesTest {
+            public void testAllFilesPresentInConstructor() throws Exception {
+                JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/constructor"), Pattern.compile("^(.+)\\.java$"), true);
+            }
+
+            @TestMetadata("ConstructorGenericDeep.java")
+            public void testConstructorGenericDeep() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/constructor/ConstructorGenericDeep.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("ConstructorGenericSimple.java")
+            public void testConstructorGenericSimple() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/constructor/ConstructorGenericSimple.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("ConstructorGenericUpperBound.java")
+            public void testConstructorGenericUpperBound() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/constructor/ConstructorGenericUpperBound.java");
+                doTestCompiledJava(fileName);
+            }
+        }
+
+        @TestMetadata("compiler/testData/loadJava/compiledJava/enum")
+        @TestDataPath("$PROJECT_ROOT")
+        @RunWith(JUnit3RunnerWithInners.class)
+        public static class Enum extends AbstractLoadJavaUsingClassFilesTest {
+            public void testAllFilesPresentInEnum() throws Exception {
+                JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/enum"), Pattern.compile("^(.+)\\.java$"), true);
+            }
+
+            @TestMetadata("EnumMembers.java")
+            public void testEnumMembers() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/enum/EnumMembers.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("EnumWithSpecializedEntry.java")
+            public void testEnumWithSpecializedEntry() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/enum/EnumWithSpecializedEntry.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("JavaEnum.java")
+            public void testJavaEnum() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/enum/JavaEnum.java");
+                doTestCompiledJava(fileName);
+            }
+        }
+
+        @TestMetadata("compiler/testData/loadJava/compiledJava/javaBean")
+        @TestDataPath("$PROJECT_ROOT")
+        @RunWith(JUnit3RunnerWithInners.class)
+        public static class JavaBean extends AbstractLoadJavaUsingClassFilesTest {
+            public void testAllFilesPresentInJavaBean() throws Exception {
+                JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/javaBean"), Pattern.compile("^(.+)\\.java$"), true);
+            }
+
+            @TestMetadata("DifferentGetterAndSetter.java")
+            public void testDifferentGetterAndSetter() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/javaBean/DifferentGetterAndSetter.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("JavaBeanAbstractGetter.java")
+            public void testJavaBeanAbstractGetter() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/javaBean/JavaBeanAbstractGetter.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("JavaBeanVal.java")
+            public void testJavaBeanVal() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/javaBean/JavaBeanVal.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("JavaBeanVar.java")
+            public void testJavaBeanVar() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/javaBean/JavaBeanVar.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("JavaBeanVarOfGenericType.java")
+            public void testJavaBeanVarOfGenericType() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/javaBean/JavaBeanVarOfGenericType.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("TwoSetters.java")
+            public void testTwoSetters() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/javaBean/TwoSetters.java");
+                doTestCompiledJava(fileName);
+            }
+        }
+
+        @TestMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature")
+        @TestDataPath("$PROJECT_ROOT")
+        @RunWith(JUnit3RunnerWithInners.class)
+        public static class KotlinSignature extends AbstractLoadJavaUsingClassFilesTest {
+            @TestMetadata("AllBoundsInWhen.java")
+            public void testAllBoundsInWhen() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/AllBoundsInWhen.java");
+                doTestCompiledJava(fileName);
+            }
+
+            public void testAllFilesPresentInKotlinSignature() throws Exception {
+                JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/kotlinSignature"), Pattern.compile("^(.+)\\.java$"), true);
+            }
+
+            @TestMetadata("ArrayType.java")
+            public void testArrayType() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/ArrayType.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("ConstructorWithNewTypeParams.java")
+            public void testConstructorWithNewTypeParams() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/ConstructorWithNewTypeParams.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("ConstructorWithParentTypeParams.java")
+            public void testConstructorWithParentTypeParams() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/ConstructorWithParentTypeParams.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("ConstructorWithSeveralParams.java")
+            public void testConstructorWithSeveralParams() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/ConstructorWithSeveralParams.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("ConstructorWithoutParams.java")
+            public void testConstructorWithoutParams() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/ConstructorWithoutParams.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("CustomProjectionKind.java")
+            public void testCustomProjectionKind() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/CustomProjectionKind.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("MethodWithFunctionTypes.java")
+            public void testMethodWithFunctionTypes() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/MethodWithFunctionTypes.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("MethodWithGenerics.java")
+            public void testMethodWithGenerics() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/MethodWithGenerics.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("MethodWithMappedClasses.java")
+            public void testMethodWithMappedClasses() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/MethodWithMappedClasses.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("MethodWithTypeParameters.java")
+            public void testMethodWithTypeParameters() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/MethodWithTypeParameters.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("MethodWithVararg.java")
+            public void testMethodWithVararg() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/MethodWithVararg.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("PropertyArrayTypes.java")
+            public void testPropertyArrayTypes() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/PropertyArrayTypes.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("PropertyComplexTypes.java")
+            public void testPropertyComplexTypes() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/PropertyComplexTypes.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("PropertySimpleType.java")
+            public void testPropertySimpleType() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/PropertySimpleType.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("StarProjection.java")
+            public void testStarProjection() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/StarProjection.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error")
+            @TestDataPath("$PROJECT_ROOT")
+            @RunWith(JUnit3RunnerWithInners.class)
+            public static class Error extends AbstractLoadJavaUsingClassFilesTest {
+                @TestMetadata("AddingNullability.java")
+                public void testAddingNullability() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/AddingNullability.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                public void testAllFilesPresentInError() throws Exception {
+                    JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/kotlinSignature/error"), Pattern.compile("^(.+)\\.java$"), true);
+                }
+
+                @TestMetadata("ConflictingProjectionKind.java")
+                public void testConflictingProjectionKind() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/ConflictingProjectionKind.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("ExplicitFieldGettersAndSetters.java")
+                public void testExplicitFieldGettersAndSetters() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/ExplicitFieldGettersAndSetters.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("ExtraUpperBound.java")
+                public void testExtraUpperBound() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/ExtraUpperBound.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("MissingUpperBound.java")
+                public void testMissingUpperBound() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/MissingUpperBound.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("NoFieldTypeRef.java")
+                public void testNoFieldTypeRef() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/NoFieldTypeRef.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("NotVarargReplacedWithVararg.java")
+                public void testNotVarargReplacedWithVararg() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/NotVarargReplacedWithVararg.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("RedundantProjectionKind.java")
+                public void testRedundantProjectionKind() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/RedundantProjectionKind.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("ReturnTypeMissing.java")
+                public void testReturnTypeMissing() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/ReturnTypeMissing.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("SyntaxError.java")
+                public void testSyntaxError() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/SyntaxError.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("SyntaxErrorInFieldAnnotation.java")
+                public void testSyntaxErrorInFieldAnnotation() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/SyntaxErrorInFieldAnnotation.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("VarargReplacedWithNotVararg.java")
+                public void testVarargReplacedWithNotVararg() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/VarargReplacedWithNotVararg.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("WrongFieldInitializer.java")
+                public void testWrongFieldInitializer() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/WrongFieldInitializer.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("WrongFieldMutability.java")
+                public void testWrongFieldMutability() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/WrongFieldMutability.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("WrongFieldName.java")
+                public void testWrongFieldName() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/WrongFieldName.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("WrongMethodName.java")
+                public void testWrongMethodName() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/WrongMethodName.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("WrongProjectionKind.java")
+                public void testWrongProjectionKind() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/WrongProjectionKind.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("WrongReturnTypeStructure.java")
+                public void testWrongReturnTypeStructure() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/WrongReturnTypeStructure.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("WrongTypeName1.java")
+                public void testWrongTypeName1() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/WrongTypeName1.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("WrongTypeName2.java")
+                public void testWrongTypeName2() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/WrongTypeName2.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("WrongTypeName3.java")
+                public void testWrongTypeName3() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/WrongTypeName3.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("WrongTypeParameterBoundStructure1.java")
+                public void testWrongTypeParameterBoundStructure1() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/WrongTypeParameterBoundStructure1.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("WrongTypeParameterBoundStructure2.java")
+                public void testWrongTypeParameterBoundStructure2() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/WrongTypeParameterBoundStructure2.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("WrongTypeParametersCount.java")
+                public void testWrongTypeParametersCount() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/WrongTypeParametersCount.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("WrongValueParameterStructure1.java")
+                public void testWrongValueParameterStructure1() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/WrongValueParameterStructure1.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("WrongValueParameterStructure2.java")
+                public void testWrongValueParameterStructure2() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/WrongValueParameterStructure2.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("WrongValueParametersCount.java")
+                public void testWrongValueParametersCount() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/error/WrongValueParametersCount.java");
+                    doTestCompiledJava(fileName);
+                }
+            }
+
+            @TestMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation")
+            @TestDataPath("$PROJECT_ROOT")
+            @RunWith(JUnit3RunnerWithInners.class)
+            public static class Propagation extends AbstractLoadJavaUsingClassFilesTest {
+                public void testAllFilesPresentInPropagation() throws Exception {
+                    JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation"), Pattern.compile("^(.+)\\.java$"), true);
+                }
+
+                @TestMetadata("PropagateTypeArgumentNullable.java")
+                public void testPropagateTypeArgumentNullable() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/PropagateTypeArgumentNullable.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter")
+                @TestDataPath("$PROJECT_ROOT")
+                @RunWith(JUnit3RunnerWithInners.class)
+                public static class Parameter extends AbstractLoadJavaUsingClassFilesTest {
+                    public void testAllFilesPresentInParameter() throws Exception {
+                        JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter"), Pattern.compile("^(.+)\\.java$"), true);
+                    }
+
+                    @TestMetadata("ChangeProjectionKind1.java")
+                    public void testChangeProjectionKind1() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/ChangeProjectionKind1.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("ChangeProjectionKind2.java")
+                    public void testChangeProjectionKind2() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/ChangeProjectionKind2.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("DeeplySubstitutedClassParameter.java")
+                    public void testDeeplySubstitutedClassParameter() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/DeeplySubstitutedClassParameter.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("DeeplySubstitutedClassParameter2.java")
+                    public void testDeeplySubstitutedClassParameter2() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/DeeplySubstitutedClassParameter2.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritMutability.java")
+                    public void testInheritMutability() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/InheritMutability.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritNotVararg.java")
+                    public void testInheritNotVararg() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/InheritNotVararg.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritNotVarargInteger.java")
+                    public void testInheritNotVarargInteger() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/InheritNotVarargInteger.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritNotVarargNotNull.java")
+                    public void testInheritNotVarargNotNull() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/InheritNotVarargNotNull.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritNotVarargPrimitive.java")
+                    public void testInheritNotVarargPrimitive() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/InheritNotVarargPrimitive.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritNullability.java")
+                    public void testInheritNullability() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/InheritNullability.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritProjectionKind.java")
+                    public void testInheritProjectionKind() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/InheritProjectionKind.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritReadOnliness.java")
+                    public void testInheritReadOnliness() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/InheritReadOnliness.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritVararg.java")
+                    public void testInheritVararg() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/InheritVararg.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritVarargInteger.java")
+                    public void testInheritVarargInteger() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/InheritVarargInteger.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritVarargNotNull.java")
+                    public void testInheritVarargNotNull() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/InheritVarargNotNull.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritVarargPrimitive.java")
+                    public void testInheritVarargPrimitive() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/InheritVarargPrimitive.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("Kt3302.java")
+                    public void testKt3302() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/Kt3302.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("MutableToReadOnly.java")
+                    public void testMutableToReadOnly() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/MutableToReadOnly.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("NotNullToNullable.java")
+                    public void testNotNullToNullable() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/NotNullToNullable.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("NullableToNotNull.java")
+                    public void testNullableToNotNull() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/NullableToNotNull.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("NullableToNotNullKotlinSignature.java")
+                    public void testNullableToNotNullKotlinSignature() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/NullableToNotNullKotlinSignature.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("OverrideWithErasedParameter.java")
+                    public void testOverrideWithErasedParameter() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/OverrideWithErasedParameter.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("ReadOnlyToMutable.java")
+                    public void testReadOnlyToMutable() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/ReadOnlyToMutable.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("SubclassFromGenericAndNot.java")
+                    public void testSubclassFromGenericAndNot() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/SubclassFromGenericAndNot.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("SubstitutedClassParameter.java")
+                    public void testSubstitutedClassParameter() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/SubstitutedClassParameter.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("SubstitutedClassParameters.java")
+                    public void testSubstitutedClassParameters() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/parameter/SubstitutedClassParameters.java");
+                        doTestCompiledJava(fileName);
+                    }
+                }
+
+                @TestMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return")
+                @TestDataPath("$PROJECT_ROOT")
+                @RunWith(JUnit3RunnerWithInners.class)
+                public static class Return extends AbstractLoadJavaUsingClassFilesTest {
+                    @TestMetadata("AddNotNullJavaSubtype.java")
+                    public void testAddNotNullJavaSubtype() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/AddNotNullJavaSubtype.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("AddNotNullSameJavaType.java")
+                    public void testAddNotNullSameJavaType() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/AddNotNullSameJavaType.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("AddNullabilityJavaSubtype.java")
+                    public void testAddNullabilityJavaSubtype() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/AddNullabilityJavaSubtype.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("AddNullabilitySameGenericType1.java")
+                    public void testAddNullabilitySameGenericType1() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/AddNullabilitySameGenericType1.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("AddNullabilitySameGenericType2.java")
+                    public void testAddNullabilitySameGenericType2() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/AddNullabilitySameGenericType2.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("AddNullabilitySameJavaType.java")
+                    public void testAddNullabilitySameJavaType() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/AddNullabilitySameJavaType.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    public void testAllFilesPresentInReturn() throws Exception {
+                        JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return"), Pattern.compile("^(.+)\\.java$"), true);
+                    }
+
+                    @TestMetadata("CantMakeImmutableInSubclass.java")
+                    public void testCantMakeImmutableInSubclass() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/CantMakeImmutableInSubclass.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("DeeplySubstitutedClassParameter.java")
+                    public void testDeeplySubstitutedClassParameter() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/DeeplySubstitutedClassParameter.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("DeeplySubstitutedClassParameter2.java")
+                    public void testDeeplySubstitutedClassParameter2() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/DeeplySubstitutedClassParameter2.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("HalfSubstitutedTypeParameters.java")
+                    public void testHalfSubstitutedTypeParameters() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/HalfSubstitutedTypeParameters.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritNullabilityGenericSubclassSimple.java")
+                    public void testInheritNullabilityGenericSubclassSimple() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/InheritNullabilityGenericSubclassSimple.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritNullabilityJavaSubtype.java")
+                    public void testInheritNullabilityJavaSubtype() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/InheritNullabilityJavaSubtype.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritNullabilitySameGenericType.java")
+                    public void testInheritNullabilitySameGenericType() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/InheritNullabilitySameGenericType.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritNullabilitySameJavaType.java")
+                    public void testInheritNullabilitySameJavaType() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/InheritNullabilitySameJavaType.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritProjectionKind.java")
+                    public void testInheritProjectionKind() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/InheritProjectionKind.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritReadOnlinessOfArgument.java")
+                    public void testInheritReadOnlinessOfArgument() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/InheritReadOnlinessOfArgument.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritReadOnlinessSameClass.java")
+                    public void testInheritReadOnlinessSameClass() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/InheritReadOnlinessSameClass.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritReadOnlinessSubclass.java")
+                    public void testInheritReadOnlinessSubclass() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/InheritReadOnlinessSubclass.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("SameProjectionKind.java")
+                    public void testSameProjectionKind() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/SameProjectionKind.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("SubclassFromGenericAndNot.java")
+                    public void testSubclassFromGenericAndNot() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/SubclassFromGenericAndNot.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("SubclassOfCollection.java")
+                    public void testSubclassOfCollection() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/SubclassOfCollection.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("SubclassOfMapEntry.java")
+                    public void testSubclassOfMapEntry() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/SubclassOfMapEntry.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("SubstitutedClassParameter.java")
+                    public void testSubstitutedClassParameter() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/SubstitutedClassParameter.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("SubstitutedClassParameters.java")
+                    public void testSubstitutedClassParameters() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/SubstitutedClassParameters.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("TwoSuperclassesConflictingProjectionKinds.java")
+                    public void testTwoSuperclassesConflictingProjectionKinds() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/TwoSuperclassesConflictingProjectionKinds.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("TwoSuperclassesInvariantAndCovariantInferMutability.java")
+                    public void testTwoSuperclassesInvariantAndCovariantInferMutability() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/TwoSuperclassesInvariantAndCovariantInferMutability.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("TwoSuperclassesInvariantAndCovariantInferNullability.java")
+                    public void testTwoSuperclassesInvariantAndCovariantInferNullability() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/TwoSuperclassesInvariantAndCovariantInferNullability.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("TwoSuperclassesMutableAndNot.java")
+                    public void testTwoSuperclassesMutableAndNot() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/TwoSuperclassesMutableAndNot.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("TwoSuperclassesReturnJavaSubtype.java")
+                    public void testTwoSuperclassesReturnJavaSubtype() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/TwoSuperclassesReturnJavaSubtype.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("TwoSuperclassesReturnSameJavaType.java")
+                    public void testTwoSuperclassesReturnSameJavaType() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/TwoSuperclassesReturnSameJavaType.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("TwoSuperclassesSupplementNotNull.java")
+                    public void testTwoSuperclassesSupplementNotNull() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/TwoSuperclassesSupplementNotNull.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("TypeParamOfClass.java")
+                    public void testTypeParamOfClass() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/TypeParamOfClass.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("TypeParamOfClassSubstituted.java")
+                    public void testTypeParamOfClassSubstituted() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/TypeParamOfClassSubstituted.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("TypeParamOfFun.java")
+                    public void testTypeParamOfFun() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/return/TypeParamOfFun.java");
+                        doTestCompiledJava(fileName);
+                    }
+                }
+
+                @TestMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/typeParameter")
+                @TestDataPath("$PROJECT_ROOT")
+                @RunWith(JUnit3RunnerWithInners.class)
+                public static class TypeParameter extends AbstractLoadJavaUsingClassFilesTest {
+                    public void testAllFilesPresentInTypeParameter() throws Exception {
+                        JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/typeParameter"), Pattern.compile("^(.+)\\.java$"), true);
+                    }
+
+                    @TestMetadata("InheritMutability.java")
+                    public void testInheritMutability() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/typeParameter/InheritMutability.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritNullability.java")
+                    public void testInheritNullability() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/typeParameter/InheritNullability.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritReadOnliness.java")
+                    public void testInheritReadOnliness() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/typeParameter/InheritReadOnliness.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("TwoBounds.java")
+                    public void testTwoBounds() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/typeParameter/TwoBounds.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("TwoSuperclasses.java")
+                    public void testTwoSuperclasses() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/typeParameter/TwoSuperclasses.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("TwoTypeParameters.java")
+                    public void testTwoTypeParameters() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/typeParameter/TwoTypeParameters.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("UseParameterAsUpperBound.java")
+                    public void testUseParameterAsUpperBound() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/typeParameter/UseParameterAsUpperBound.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("UseParameterInUpperBound.java")
+                    public void testUseParameterInUpperBound() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/typeParameter/UseParameterInUpperBound.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("UseParameterInUpperBoundWithKotlinSignature.java")
+                    public void testUseParameterInUpperBoundWithKotlinSignature() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/kotlinSignature/propagation/typeParameter/UseParameterInUpperBoundWithKotlinSignature.java");
+                        doTestCompiledJava(fileName);
+                    }
+                }
+            }
+        }
+
+        @TestMetadata("compiler/testData/loadJava/compiledJava/library")
+        @TestDataPath("$PROJECT_ROOT")
+        @RunWith(JUnit3RunnerWithInners.class)
+        public static class Library extends AbstractLoadJavaUsingClassFilesTest {
+            public void testAllFilesPresentInLibrary() throws Exception {
+                JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/library"), Pattern.compile("^(.+)\\.java$"), true);
+            }
+
+            @TestMetadata("LoadIterable.java")
+            public void testLoadIterable() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/library/LoadIterable.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("LoadIterator.java")
+            public void testLoadIterator() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/library/LoadIterator.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("Max.java")
+            public void testMax() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/library/Max.java");
+                doTestCompiledJava(fileName);
+            }
+        }
+
+        @TestMetadata("compiler/testData/loadJava/compiledJava/modality")
+        @TestDataPath("$PROJECT_ROOT")
+        @RunWith(JUnit3RunnerWithInners.class)
+        public static class Modality extends AbstractLoadJavaUsingClassFilesTest {
+            public void testAllFilesPresentInModality() throws Exception {
+                JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/modality"), Pattern.compile("^(.+)\\.java$"), true);
+            }
+
+            @TestMetadata("ModalityOfFakeOverrides.java")
+            public void testModalityOfFakeOverrides() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/modality/ModalityOfFakeOverrides.java");
+                doTestCompiledJava(fileName);
+            }
+        }
+
+        @TestMetadata("compiler/testData/loadJava/compiledJava/mutability")
+        @TestDataPath("$PROJECT_ROOT")
+        @RunWith(JUnit3RunnerWithInners.class)
+        public static class Mutability extends AbstractLoadJavaUsingClassFilesTest {
+            public void testAllFilesPresentInMutability() throws Exception {
+                JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/mutability"), Pattern.compile("^(.+)\\.java$"), true);
+            }
+
+            @TestMetadata("LoadIterable.java")
+            public void testLoadIterable() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/mutability/LoadIterable.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("LoadIterableWithConflict.java")
+            public void testLoadIterableWithConflict() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/mutability/LoadIterableWithConflict.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("LoadIterableWithNullability.java")
+            public void testLoadIterableWithNullability() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/mutability/LoadIterableWithNullability.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("LoadIterableWithPropagation.java")
+            public void testLoadIterableWithPropagation() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/mutability/LoadIterableWithPropagation.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("ReadOnlyExtendsWildcard.java")
+            public void testReadOnlyExtendsWildcard() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/mutability/ReadOnlyExtendsWildcard.java");
+                doTestCompiledJava(fileName);
+            }
+        }
+
+        @TestMetadata("compiler/testData/loadJava/compiledJava/notNull")
+        @TestDataPath("$PROJECT_ROOT")
+        @RunWith(JUnit3RunnerWithInners.class)
+        public static class NotNull extends AbstractLoadJavaUsingClassFilesTest {
+            public void testAllFilesPresentInNotNull() throws Exception {
+                JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/notNull"), Pattern.compile("^(.+)\\.java$"), true);
+            }
+
+            @TestMetadata("NotNullField.java")
+            public void testNotNullField() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/notNull/NotNullField.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("NotNullIntArray.java")
+            public void testNotNullIntArray() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/notNull/NotNullIntArray.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("NotNullMethod.java")
+            public void testNotNullMethod() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/notNull/NotNullMethod.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("NotNullObjectArray.java")
+            public void testNotNullObjectArray() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/notNull/NotNullObjectArray.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("NotNullParameter.java")
+            public void testNotNullParameter() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/notNull/NotNullParameter.java");
+                doTestCompiledJava(fileName);
+            }
+        }
+
+        @TestMetadata("compiler/testData/loadJava/compiledJava/protectedPackage")
+        @TestDataPath("$PROJECT_ROOT")
+        @RunWith(JUnit3RunnerWithInners.class)
+        public static class ProtectedPackage extends AbstractLoadJavaUsingClassFilesTest {
+            public void testAllFilesPresentInProtectedPackage() throws Exception {
+                JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/protectedPackage"), Pattern.compile("^(.+)\\.java$"), true);
+            }
+
+            @TestMetadata("ProtectedPackageConstructor.java")
+            public void testProtectedPackageConstructor() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/protectedPackage/ProtectedPackageConstructor.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("ProtectedPackageFun.java")
+            public void testProtectedPackageFun() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/protectedPackage/ProtectedPackageFun.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("ProtectedPackageProperty.java")
+            public void testProtectedPackageProperty() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/protectedPackage/ProtectedPackageProperty.java");
+                doTestCompiledJava(fileName);
+            }
+        }
+
+        @TestMetadata("compiler/testData/loadJava/compiledJava/protectedStatic")
+        @TestDataPath("$PROJECT_ROOT")
+        @RunWith(JUnit3RunnerWithInners.class)
+        public static class ProtectedStatic extends AbstractLoadJavaUsingClassFilesTest {
+            public void testAllFilesPresentInProtectedStatic() throws Exception {
+                JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/protectedStatic"), Pattern.compile("^(.+)\\.java$"), true);
+            }
+
+            @TestMetadata("ConstructorInProtectedStaticNestedClass.java")
+            public void testConstructorInProtectedStaticNestedClass() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/protectedStatic/ConstructorInProtectedStaticNestedClass.java");
+                doTestCompiledJava(fileName);
+            }
+        }
+
+        @TestMetadata("compiler/testData/loadJava/compiledJava/rendering")
+        @TestDataPath("$PROJECT_ROOT")
+        @RunWith(JUnit3RunnerWithInners.class)
+        public static class Rendering extends AbstractLoadJavaUsingClassFilesTest {
+            public void testAllFilesPresentInRendering() throws Exception {
+                JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/rendering"), Pattern.compile("^(.+)\\.java$"), true);
+            }
+
+            @TestMetadata("Rendering.java")
+            public void testRendering() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/rendering/Rendering.java");
+                doTestCompiledJava(fileName);
+            }
+        }
+
+        @TestMetadata("compiler/testData/loadJava/compiledJava/sam")
+        @TestDataPath("$PROJECT_ROOT")
+        @RunWith(JUnit3RunnerWithInners.class)
+        public static class Sam extends AbstractLoadJavaUsingClassFilesTest {
+            public void testAllFilesPresentInSam() throws Exception {
+                JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/sam"), Pattern.compile("^(.+)\\.java$"), true);
+            }
+
+            @TestMetadata("Comparator.java")
+            public void testComparator() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/Comparator.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("FilenameFilter.java")
+            public void testFilenameFilter() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/FilenameFilter.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("GenericInterfaceParameterWithSelfBound.java")
+            public void testGenericInterfaceParameterWithSelfBound() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/GenericInterfaceParameterWithSelfBound.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("GenericInterfaceParametersWithBounds.java")
+            public void testGenericInterfaceParametersWithBounds() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/GenericInterfaceParametersWithBounds.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("GenericMethodParameters.java")
+            public void testGenericMethodParameters() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/GenericMethodParameters.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("InterfaceWithObjectMethod.java")
+            public void testInterfaceWithObjectMethod() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/InterfaceWithObjectMethod.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("Nested.java")
+            public void testNested() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/Nested.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("Runnable.java")
+            public void testRunnable() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/Runnable.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("SamSubinterfaceOfTwo.java")
+            public void testSamSubinterfaceOfTwo() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/SamSubinterfaceOfTwo.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("SamSubinterfaceOverridding.java")
+            public void testSamSubinterfaceOverridding() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/SamSubinterfaceOverridding.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("SubstitutedSamInterface.java")
+            public void testSubstitutedSamInterface() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/SubstitutedSamInterface.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("SubstitutedSamInterfaceSubclassOfBuiltin.java")
+            public void testSubstitutedSamInterfaceSubclassOfBuiltin() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/SubstitutedSamInterfaceSubclassOfBuiltin.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("VarargParameter.java")
+            public void testVarargParameter() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/VarargParameter.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("compiler/testData/loadJava/compiledJava/sam/adapters")
+            @TestDataPath("$PROJECT_ROOT")
+            @RunWith(JUnit3RunnerWithInners.class)
+            public static class Adapters extends AbstractLoadJavaUsingClassFilesTest {
+                public void testAllFilesPresentInAdapters() throws Exception {
+                    JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/sam/adapters"), Pattern.compile("^(.+)\\.java$"), true);
+                }
+
+                @TestMetadata("AmbiguousAdapters.java")
+                public void testAmbiguousAdapters() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/AmbiguousAdapters.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("Basic.java")
+                public void testBasic() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/Basic.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("Constructor.java")
+                public void testConstructor() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/Constructor.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("ConstructorWithAnnotations.java")
+                public void testConstructorWithAnnotations() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/ConstructorWithAnnotations.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("DeepSamLoop.java")
+                public void testDeepSamLoop() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/DeepSamLoop.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("NoSamForClassTypeParameter.java")
+                public void testNoSamForClassTypeParameter() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/NoSamForClassTypeParameter.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("NoSamForMethodTypeParameter.java")
+                public void testNoSamForMethodTypeParameter() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/NoSamForMethodTypeParameter.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("NonTrivialFunctionType.java")
+                public void testNonTrivialFunctionType() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/NonTrivialFunctionType.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("PrivateSamAdapter.java")
+                public void testPrivateSamAdapter() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/PrivateSamAdapter.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("SelfAsParameter.java")
+                public void testSelfAsParameter() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/SelfAsParameter.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("SeveralSamParameters.java")
+                public void testSeveralSamParameters() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/SeveralSamParameters.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("TypeParameterOfClass.java")
+                public void testTypeParameterOfClass() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/TypeParameterOfClass.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("TypeParameterOfMethod.java")
+                public void testTypeParameterOfMethod() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/TypeParameterOfMethod.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("TypeParameterOfOuterClass.java")
+                public void testTypeParameterOfOuterClass() throws Exception {
+                    String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/TypeParameterOfOuterClass.java");
+                    doTestCompiledJava(fileName);
+                }
+
+                @TestMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/inheritance")
+                @TestDataPath("$PROJECT_ROOT")
+                @RunWith(JUnit3RunnerWithInners.class)
+                public static class Inheritance extends AbstractLoadJavaUsingClassFilesTest {
+                    @TestMetadata("AdapterDoesntOverrideDeclaration.java")
+                    public void testAdapterDoesntOverrideDeclaration() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/inheritance/AdapterDoesntOverrideDeclaration.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    public void testAllFilesPresentInInheritance() throws Exception {
+                        JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/sam/adapters/inheritance"), Pattern.compile("^(.+)\\.java$"), true);
+                    }
+
+                    @TestMetadata("InheritedAdapterAndDeclaration.java")
+                    public void testInheritedAdapterAndDeclaration() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/inheritance/InheritedAdapterAndDeclaration.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritedAmbiguousAdapters.java")
+                    public void testInheritedAmbiguousAdapters() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/inheritance/InheritedAmbiguousAdapters.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritedAndOverriddenAmbiguousAdapters.java")
+                    public void testInheritedAndOverriddenAmbiguousAdapters() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/inheritance/InheritedAndOverriddenAmbiguousAdapters.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritedOverridden.java")
+                    public void testInheritedOverridden() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/inheritance/InheritedOverridden.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritedOverriddenAdapter.java")
+                    public void testInheritedOverriddenAdapter() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/inheritance/InheritedOverriddenAdapter.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritedSameAdapters.java")
+                    public void testInheritedSameAdapters() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/inheritance/InheritedSameAdapters.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritedSameAdaptersWithSubstitution.java")
+                    public void testInheritedSameAdaptersWithSubstitution() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/inheritance/InheritedSameAdaptersWithSubstitution.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("InheritedSimple.java")
+                    public void testInheritedSimple() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/inheritance/InheritedSimple.java");
+                        doTestCompiledJava(fileName);
+                    }
+
+                    @TestMetadata("OverriddenAmbiguousAdapters.java")
+                    public void testOverriddenAmbiguousAdapters() throws Exception {
+                        String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/sam/adapters/inheritance/OverriddenAmbiguousAdapters.java");
+                        doTestCompiledJava(fileName);
+                    }
+                }
+            }
+        }
+
+        @TestMetadata("compiler/testData/loadJava/compiledJava/signaturePropagation")
+        @TestDataPath("$PROJECT_ROOT")
+        @RunWith(JUnit3RunnerWithInners.class)
+        public static class SignaturePropagation extends AbstractLoadJavaUsingClassFilesTest {
+            public void testAllFilesPresentInSignaturePropagation() throws Exception {
+                JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/signaturePropagation"), Pattern.compile("^(.+)\\.java$"), true);
+            }
+
+            @TestMetadata("ArraysInSubtypes.java")
+            public void testArraysInSubtypes() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/signaturePropagation/ArraysInSubtypes.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("MethodTypeParameterErased.java")
+            public void testMethodTypeParameterErased() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/signaturePropagation/MethodTypeParameterErased.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("RawSuperType.java")
+            public void testRawSuperType() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/signaturePropagation/RawSuperType.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("RawSuperTypeWithBound.java")
+            public void testRawSuperTypeWithBound() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/signaturePropagation/RawSuperTypeWithBound.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("RawSuperTypeWithRecursiveBound.java")
+            public void testRawSuperTypeWithRecursiveBound() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/signaturePropagation/RawSuperTypeWithRecursiveBound.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("RawSuperTypeWithRecursiveBoundMultipleParameters.java")
+            public void testRawSuperTypeWithRecursiveBoundMultipleParameters() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/signaturePropagation/RawSuperTypeWithRecursiveBoundMultipleParameters.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("ReturnInnerSubclassOfSupersInner.java")
+            public void testReturnInnerSubclassOfSupersInner() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/signaturePropagation/ReturnInnerSubclassOfSupersInner.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("SubclassWithRawType.java")
+            public void testSubclassWithRawType() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/signaturePropagation/SubclassWithRawType.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("TwoSuperclassesInconsistentGenericTypes.java")
+            public void testTwoSuperclassesInconsistentGenericTypes() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/signaturePropagation/TwoSuperclassesInconsistentGenericTypes.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("TwoSuperclassesVarargAndNot.java")
+            public void testTwoSuperclassesVarargAndNot() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/signaturePropagation/TwoSuperclassesVarargAndNot.java");
+                doTestCompiledJava(fileName);
+            }
+        }
+
+        @TestMetadata("compiler/testData/loadJava/compiledJava/static")
+        @TestDataPath("$PROJECT_ROOT")
+        @RunWith(JUnit3RunnerWithInners.class)
+        public static class Static extends AbstractLoadJavaUsingClassFilesTest {
+            public void testAllFilesPresentInStatic() throws Exception {
+                JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/static"), Pattern.compile("^(.+)\\.java$"), true);
+            }
+
+            @TestMetadata("DeeplyInnerClass.java")
+            public void testDeeplyInnerClass() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/static/DeeplyInnerClass.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("DeeplyNestedStatic.java")
+            public void testDeeplyNestedStatic() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/static/DeeplyNestedStatic.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("Enum.java")
+            public void testEnum() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/static/Enum.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("InnerClass.java")
+            public void testInnerClass() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/static/InnerClass.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("Simple.java")
+            public void testSimple() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/static/Simple.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("StaticFinal.java")
+            public void testStaticFinal() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/static/StaticFinal.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("StaticMembersFromParentClass.java")
+            public void testStaticMembersFromParentClass() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/static/StaticMembersFromParentClass.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("StaticMembersFromParentInterface.java")
+            public void testStaticMembersFromParentInterface() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/static/StaticMembersFromParentInterface.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("StaticMembersInEnum.java")
+            public void testStaticMembersInEnum() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/static/StaticMembersInEnum.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("StaticMembersInEnumFromParents.java")
+            public void testStaticMembersInEnumFromParents() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/static/StaticMembersInEnumFromParents.java");
+                doTestCompiledJava(fileName);
+            }
+        }
+
+        @TestMetadata("compiler/testData/loadJava/compiledJava/vararg")
+        @TestDataPath("$PROJECT_ROOT")
+        @RunWith(JUnit3RunnerWithInners.class)
+        public static class Vararg extends AbstractLoadJavaUsingClassFilesTest {
+            public void testAllFilesPresentInVararg() throws Exception {
+                JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJava/vararg"), Pattern.compile("^(.+)\\.java$"), true);
+            }
+
+            @TestMetadata("VarargInt.java")
+            public void testVarargInt() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/vararg/VarargInt.java");
+                doTestCompiledJava(fileName);
+            }
+
+            @TestMetadata("VarargString.java")
+            public void testVarargString() throws Exception {
+                String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJava/vararg/VarargString.java");
+                doTestCompiledJava(fileName);
+            }
+        }
+    }
+
+    @TestMetadata("compiler/testData/loadJava/compiledJavaAndKotlin")
+    @TestDataPath("$PROJECT_ROOT")
+    @RunWith(JUnit3RunnerWithInners.class)
+    public static class CompiledJavaAndKotlin extends AbstractLoadJavaUsingClassFilesTest {
+        public void testAllFilesPresentInCompiledJavaAndKotlin() throws Exception {
+            JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJavaAndKotlin"), Pattern.compile("^(.+)\\.txt$"), true);
+        }
+
+        @TestMetadata("MixedPackage.txt")
+        public void testMixedPackage() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJavaAndKotlin/MixedPackage.txt");
+            doTestCompiledJavaAndKotlin(fileName);
+        }
+
+    }
+
+    @TestMetadata("compiler/testData/loadJava/compiledJavaIncludeObjectMethods")
+    @TestDataPath("$PROJECT_ROOT")
+    @RunWith(JUnit3RunnerWithInners.class)
+    public static class CompiledJavaIncludeObjectMethods extends AbstractLoadJavaUsingClassFilesTest {
+        public void testAllFilesPresentInCompiledJavaIncludeObjectMethods() throws Exception {
+            JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/compiledJavaIncludeObjectMethods"), Pattern.compile("^(.+)\\.java$"), true);
+        }
+
+        @TestMetadata("ClassWithObjectMethod.java")
+        public void testClassWithObjectMethod() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJavaIncludeObjectMethods/ClassWithObjectMethod.java");
+            doTestCompiledJavaIncludeObjectMethods(fileName);
+        }
+
+        @TestMetadata("EmptyInterface.java")
+        public void testEmptyInterface() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJavaIncludeObjectMethods/EmptyInterface.java");
+            doTestCompiledJavaIncludeObjectMethods(fileName);
+        }
+
+        @TestMetadata("InterfaceWithObjectMethods.java")
+        public void testInterfaceWithObjectMethods() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/compiledJavaIncludeObjectMethods/InterfaceWithObjectMethods.java");
+            doTestCompiledJavaIncludeObjectMethods(fileName);
+        }
+    }
+
+    @TestMetadata("compiler/testData/loadJava/kotlinAgainstCompiledJavaWithKotlin")
+    @TestDataPath("$PROJECT_ROOT")
+    @RunWith(JUnit3RunnerWithInners.class)
+    public static class KotlinAgainstCompiledJavaWithKotlin extends AbstractLoadJavaUsingClassFilesTest {
+        public void testAllFilesPresentInKotlinAgainstCompiledJavaWithKotlin() throws Exception {
+            JetTestUtils.assertAllTestsPresentByMetadata(this.getClass(), new File("compiler/testData/loadJava/kotlinAgainstCompiledJavaWithKotlin"), Pattern.compile("^(.+)\\.kt$"), false);
+        }
+
+        @TestMetadata("InheritJavaField.kt")
+        public void testInheritJavaField() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/kotlinAgainstCompiledJavaWithKotlin/InheritJavaField.kt");
+            doTestKotlinAgainstCompiledJavaWithKotlin(fileName);
+        }
+
+        @TestMetadata("InheritParameterName.kt")
+        public void testInheritParameterName() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/kotlinAgainstCompiledJavaWithKotlin/InheritParameterName.kt");
+            doTestKotlinAgainstCompiledJavaWithKotlin(fileName);
+        }
+
+        @TestMetadata("javaRefersToKotlin.kt")
+        public void testJavaRefersToKotlin() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/kotlinAgainstCompiledJavaWithKotlin/javaRefersToKotlin.kt");
+            doTestKotlinAgainstCompiledJavaWithKotlin(fileName);
+        }
+
+        @TestMetadata("propagationAgainstDeserializedSuperclass.kt")
+        public void testPropagationAgainstDeserializedSuperclass() throws Exception {
+            String fileName = JetTestUtils.navigationMetadata("compiler/testData/loadJava/kotlinAgainstCompiledJavaWithKotlin/propagationAgainstDeserializedSuperclass.kt");
+            doTestKotlinAgainstCompiledJavaWithKotlin(fileName);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.load.java.structure.impl.classFiles
+
+import com.intellij.openapi.util.io.FileUtil
+import com.intellij.openapi.vfs.StandardFileSystems
+import com.intellij.openapi.vfs.VirtualFile
+import org.jetbrains.kotlin.builtins.PrimitiveType
+import org.jetbrains.kotlin.cli.jvm.compiler.KotlinCoreEnvironment
+import org.jetbrains.kotlin.load.java.structure.*
+import org.jetbrains.kotlin.name.ClassId
+import org.jetbrains.kotlin.name.FqName
+import org.jetbrains.kotlin.resolve.lazy.KotlinTestWithEnvironment
+import org.jetbrains.kotlin.test.ConfigurationKind
+import org.jetbrains.kotlin.test.JetTestUtils
+import java.io.File
+import java.util.HashMap
+
+/**
+ * Checks the types parsed from generic signatures. The parser is internal, so they are read via [BinaryJavaClass]
+ */
+public class SignatureParserTest : KotlinTestWithEnvironment() {
+    override fun createEnvironment(): KotlinCoreEnvironment = createEnvironmentWithMockJdk(ConfigurationKind.JDK_ONLY)
+
+    private val classes = HashMap<ClassId, JavaClass?>()
+    private var root: VirtualFile? = null
+
+    override fun setUp() {
+        super.setUp()
+
+        val tmpdir = JetTestUtils.tmpDirForTest(this)
+        val source = File(tmpdir, "test/Signatures.java")
+        FileUtil.writeToFile(source, """
+            package test;
+
+            import java.util.*;
+
+            public class Signatures<T extends Comparable<? super T> & java.io.Serializable, E extends T, I extends Runnable, N> {
+                public List<?> unbounded;
+                public Map<? extends Number, ? super Integer> bounded;
+                public List<int[][]> arrays;
+                public Outer<String>.Inner<T> inner;
+
+                public <R extends Map<T, R>> void method(Outer<R>.Inner<E> inner, R[] array) {}
+            }
+
+            class Outer<A> {
+                class Inner<B> {}
+            }
+        """)
+        JetTestUtils.compileJavaFiles(listOf(source), listOf("-d", tmpdir.getPath()))
+        root = StandardFileSystems.local().refreshAndFindFileByPath(tmpdir.getPath())
+    }
+
+    private fun findClass(classId: ClassId): JavaClass? {
+        if (classId in classes) return classes[classId]
+
+        val path = classId.getPackageFqName().asString().replace('.', '/') + "/" +
+                   classId.getRelativeClassName().asString().replace('.', '$') + ".class"
+        val result = root!!.findFileByRelativePath(path)?.let { BinaryJavaClass(it, classId) { findClass(it) } }
+        classes[classId] = result
+        return result
+    }
+
+    private val signatures: JavaClass
+        get() = findClass(ClassId.topLevel(FqName("test.Signatures")))!!
+
+    private fun fieldType(name: String): JavaClassifierType =
+            signatures.getFields().single { it.getName().asString() == name }.getType() as JavaClassifierType
+
+    private fun typeParameter(name: String): JavaTypeParameter =
+            signatures.getTypeParameters().single { it.getName().asString() == name }
+
+    fun testWildcards() {
+        val unbounded = fieldType("unbounded").getTypeArguments().single() as JavaWildcardType
+        assertNull(unbounded.getBound())
+
+        val (extends, superBound) = fieldType("bounded").getTypeArguments().map { it as JavaWildcardType }
+        assertTrue(extends.isExtends())
+        assertEquals("Number", (extends.getBound() as JavaClassifierType).getPresentableText())
+        assertFalse(superBound.isExtends())
+        assertEquals("Integer", (superBound.getBound() as JavaClassifierType).getPresentableText())
+    }
+
+    fun testArrays() {
+        val array = fieldType("arrays").getTypeArguments().single() as JavaArrayType
+        val component = (array.getComponentType() as JavaArrayType).getComponentType()
+        assertEquals(PrimitiveType.INT, (component as JavaPrimitiveType).getType())
+    }
+
+    fun testInnerGenericClass() {
+        val type = fieldType("inner")
+        val inner = type.getClassifier() as JavaClass
+        assertEquals("test.Outer.Inner", inner.getFqName().asString())
+        assertEquals(listOf(typeParameter("T")), type.getTypeArguments().map { (it as JavaClassifierType).getClassifier() })
+
+        val substitutor = type.getSubstitutor()
+        val outerTypeParameter = inner.getOuterClass()!!.getTypeParameters().single()
+        assertEquals("String", (substitutor.substitute(outerTypeParameter) as JavaClassifierType).getPresentableText())
+        val innerTypeParameter = inner.getTypeParameters().single()
+        assertEquals(typeParameter("T"), (substitutor.substitute(innerTypeParameter) as JavaClassifierType).getClassifier())
+    }
+
+    fun testMemberTypeResolvedBeforeClassTypeParameters() {
+        // getTypeParameters() of the class is not called before the type variable of the field is resolved
+        val typeVariable = fieldType("inner").getTypeArguments().single() as JavaClassifierType
+        val t = typeVariable.getClassifier()
+        assertNotNull(t)
+        assertEquals(typeParameter("T"), t)
+
+        val method = signatures.getMethods().single { it.getName().asString() == "method" }
+        val innerType = method.getValueParameters().first().getType() as JavaClassifierType
+        assertEquals(typeParameter("E"), (innerType.getTypeArguments().single() as JavaClassifierType).getClassifier())
+    }
+
+    fun testTypeVariableBounds() {
+        val t = typeParameter("T")
+        val (comparable, serializable) = t.getUpperBounds().toList()
+        assertEquals("Comparable", comparable.getPresentableText().substringBefore('<'))
+        val comparableArgument = comparable.getTypeArguments().single() as JavaWildcardType
+        assertFalse(comparableArgument.isExtends())
+        assertEquals(t, (comparableArgument.getBound() as JavaClassifierType).getClassifier())
+        assertEquals("Serializable", serializable.getPresentableText())
+
+        assertEquals(t, typeParameter("E").getUpperBounds().single().getClassifier())
+        // Bounded by an interface only, the class bound is empty in the signature
+        assertEquals("Runnable", typeParameter("I").getUpperBounds().single().getPresentableText())
+        // Bounded by Object implicitly
+        assertTrue(typeParameter("N").getUpperBounds().isEmpty())
+    }
+
+    fun testMethodTypeParameters() {
+        val method = signatures.getMethods().single { it.getName().asString() == "method" }
+        val r = method.getTypeParameters().single()
+        val bound = r.getUpperBounds().single()
+        assertEquals(listOf(typeParameter("T"), r), bound.getTypeArguments().map { (it as JavaClassifierType).getClassifier() })
+
+        val (innerParameter, arrayParameter) = method.getValueParameters().map { it.getType() }
+        val innerType = innerParameter as JavaClassifierType
+        assertEquals(typeParameter("E"), (innerType.getTypeArguments().single() as JavaClassifierType).getClassifier())
+        val outerTypeParameter = (innerType.getClassifier() as JavaClass).getOuterClass()!!.getTypeParameters().single()
+        assertEquals(r, (innerType.getSubstitutor().substitute(outerTypeParameter) as JavaClassifierType).getClassifier())
+
+        assertEquals(r, ((arrayParameter as JavaArrayType).getComponentType() as JavaClassifierType).getClassifier())
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.load.kotlin;
+
+import junit.framework.TestCase;
+import kotlin.jvm.functions.Function3;
+import kotlin.jvm.functions.Function4;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.kotlin.descriptors.SourceElement;
+import org.jetbrains.kotlin.load.java.JvmAbi;
+import org.jetbrains.kotlin.load.kotlin.header.KotlinClassHeader;
+import org.jetbrains.kotlin.load.kotlin.header.ReadKotlinClassHeaderAnnotationVisitor;
+import org.jetbrains.kotlin.name.ClassId;
+import org.jetbrains.kotlin.name.Name;
+import org.jetbrains.org.objectweb.asm.AnnotationVisitor;
+import org.jetbrains.org.objectweb.asm.ClassWriter;
+import org.jetbrains.org.objectweb.asm.MethodVisitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.jetbrains.org.objectweb.asm.Opcodes.*;
+
+public class FileBasedKotlinClassTest extends TestCase {
+    private static final String SYNTHETIC_CLASS = "kotlin/jvm/internal/KotlinSyntheticClass";
+
+    public void testMembersOfNonKotlinClassAreNotRecorded() {
+        byte[] bytes = generateClass(false, null);
+
+        ReadKotlinClassHeaderAnnotationVisitor headerVisitor = new ReadKotlinClassHeaderAnnotationVisitor();
+        FileBasedKotlinClass.ClassContentsReader reader = FileBasedKotlinClass.ClassContentsReader.read(bytes, headerVisitor, true);
+        assertNull(headerVisitor.createHeader());
+        assertEquals(0, reader.contents.getMemberCount());
+
+        assertEquals(3, FileBasedKotlinClass.ClassContentsReader.read(generateClass(true, null), null, true).contents.getMemberCount());
+    }
+
+    public void testAllMembersAreVisited() {
+        final byte[] bytes = generateClass(true, null);
+        List<String> expected = Arrays.asList("field", "plain", "annotated", "@java.lang.Deprecated");
+
+        TestKotlinClass withContents = FileBasedKotlinClass.createWithContents(
+                bytes, new Function4<ClassId, KotlinClassHeader, InnerClassesInfo, ClassContents, TestKotlinClass>() {
+                    @Override
+                    public TestKotlinClass invoke(ClassId id, KotlinClassHeader header, InnerClassesInfo innerClasses, ClassContents contents) {
+                        return new TestKotlinClass(bytes, id, header, innerClasses, contents);
+                    }
+                });
+        assertNotNull(withContents);
+        assertEquals(expected, visitMembers(withContents));
+
+        // Read from the file on first use, like the classes restored from the jar metadata cache
+        TestKotlinClass withoutContents = FileBasedKotlinClass.create(
+                bytes, new Function3<ClassId, KotlinClassHeader, InnerClassesInfo, TestKotlinClass>() {
+                    @Override
+                    public TestKotlinClass invoke(ClassId id, KotlinClassHeader header, InnerClassesInfo innerClasses) {
+                        return new TestKotlinClass(bytes, id, header, innerClasses, null);
+                    }
+                });
+        assertNotNull(withoutContents);
+        assertEquals(expected, visitMembers(withoutContents));
+    }
+
+    public void testHeaderIsReadBeforeInnerClasses() {
+        byte[] bytes = generateClass(true, "PACKAGE_PART");
+
+        KotlinClassHeader header = FileBasedKotlinClass.create(
+                bytes, new Function3<ClassId, KotlinClassHeader, InnerClassesInfo, KotlinClassHeader>() {
+                    @Override
+                    public KotlinClassHeader invoke(ClassId id, KotlinClassHeader header, InnerClassesInfo innerClasses) {
+                        return header;
+                    }
+                });
+        assertNotNull(header);
+        assertEquals(KotlinClassHeader.Kind.SYNTHETIC_CLASS, header.getKind());
+        // ASM reports class annotations before the InnerClasses attribute, so the enum class of the kind
+        // is not known to be nested in KotlinSyntheticClass when the header is read
+        assertNull(header.getSyntheticClassKind());
+    }
+
+    @NotNull
+    private static List<String> visitMembers(@NotNull FileBasedKotlinClass kotlinClass) {
+        final List<String> result = new ArrayList<String>();
+        kotlinClass.visitMembers(new KotlinJvmBinaryClass.MemberVisitor() {
+            @Override
+            public KotlinJvmBinaryClass.MethodAnnotationVisitor visitMethod(@NotNull Name name, @NotNull String desc) {
+                result.add(name.asString());
+                return new KotlinJvmBinaryClass.MethodAnnotationVisitor() {
+                    @Override
+                    public KotlinJvmBinaryClass.AnnotationArgumentVisitor visitParameterAnnotation(
+                            int index, @NotNull ClassId classId, @NotNull SourceElement source
+                    ) {
+                        return null;
+                    }
+
+                    @Override
+                    public KotlinJvmBinaryClass.AnnotationArgumentVisitor visitAnnotation(@NotNull ClassId classId, @NotNull SourceElement source) {
+                        result.add("@" + classId.asSingleFqName());
+                        return null;
+                    }
+
+                    @Override
+                    public void visitEnd() {
+                    }
+                };
+            }
+
+            @Override
+            public KotlinJvmBinaryClass.AnnotationVisitor visitField(@NotNull Name name, @NotNull String desc, @Nullable Object initializer) {
+                result.add(name.asString());
+                return null;
+            }
+        });
+        return result;
+    }
+
+    @NotNull
+    private static byte[] generateClass(boolean withHeader, @Nullable String syntheticClassKind) {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(V1_6, ACC_PUBLIC | ACC_ABSTRACT, "test/A", null, "java/lang/Object", null);
+
+        if (withHeader) {
+            AnnotationVisitor header = writer.visitAnnotation("L" + SYNTHETIC_CLASS + ";", true);
+            header.visit("version", JvmAbi.VERSION.toArray());
+            if (syntheticClassKind != null) {
+                header.visitEnum("kind", "L" + SYNTHETIC_CLASS + "$Kind;", syntheticClassKind);
+            }
+            header.visitEnd();
+        }
+        writer.visitInnerClass(SYNTHETIC_CLASS + "$Kind", SYNTHETIC_CLASS, "Kind", ACC_PUBLIC | ACC_STATIC | ACC_FINAL | ACC_ENUM);
+
+        writer.visitField(ACC_PUBLIC, "field", "I", null, null).visitEnd();
+        writer.visitMethod(ACC_PUBLIC | ACC_ABSTRACT, "plain", "()V", null, null).visitEnd();
+        MethodVisitor annotated = writer.visitMethod(ACC_PUBLIC | ACC_ABSTRACT, "annotated", "()V", null, null);
+        annotated.visitAnnotation("Ljava/lang/Deprecated;", true).visitEnd();
+        annotated.visitEnd();
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private static class TestKotlinClass extends FileBasedKotlinClass {
+        private final byte[] bytes;
+
+        private TestKotlinClass(
+                @NotNull byte[] bytes,
+                @NotNull ClassId classId,
+                @NotNull KotlinClassHeader classHeader,
+                @NotNull InnerClassesInfo innerClasses,
+                @Nullable ClassContents contents
+        ) {
+            super(classId, classHeader, innerClasses, contents);
+            this.bytes = bytes;
+        }
+
+        @NotNull
+        @Override
+        protected byte[] getFileContents() {
+            return bytes;
+        }
+
+        @NotNull
+        @Override
+        public String getLocation() {
+            return "test/A.class";
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof TestKotlinClass && Arrays.equals(((TestKotlinClass) obj).bytes, bytes);
+        }
+
+        @Override
+        public String toString() {
+            return "TestKotlinClass";
+        }
+    }
+}
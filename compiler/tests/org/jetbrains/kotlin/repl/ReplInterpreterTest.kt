@@ -0,0 +1,70 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.repl
+
+import com.intellij.testFramework.UsefulTestCase
+import org.jetbrains.kotlin.cli.jvm.repl.ReplInterpreter
+import org.jetbrains.kotlin.test.ConfigurationKind
+import org.jetbrains.kotlin.test.JetTestUtils
+import org.jetbrains.kotlin.test.TestJdkKind
+import java.io.PrintWriter
+import java.io.StringWriter
+import kotlin.text.Regex
+
+public class ReplInterpreterTest : UsefulTestCase() {
+    init {
+        System.setProperty("java.awt.headless", "true")
+    }
+
+    private fun createInterpreter(): ReplInterpreter {
+        val configuration = JetTestUtils.compilerConfigurationForTests(ConfigurationKind.ALL, TestJdkKind.MOCK_JDK)
+        return ReplInterpreter(getTestRootDisposable()!!, configuration, false, null)
+    }
+
+    private fun ReplInterpreter.evalSuccessfully(line: String): Any? {
+        val result = eval(line)
+        assertEquals("Result of: $line", ReplInterpreter.LineResultType.SUCCESS, result.getType())
+        return result.getValue()
+    }
+
+    private fun ReplInterpreter.dumpedClasses(): String {
+        val writer = StringWriter()
+        PrintWriter(writer).use { dumpClasses(it) }
+        return writer.toString()
+    }
+
+    public fun testEarlierLinesSurviveArrayGrowth() {
+        val repl = createInterpreter()
+        repl.evalSuccessfully("val v0 = 0")
+        for (i in 1..40) {
+            repl.evalSuccessfully("val v$i = v${i - 1} + $i")
+        }
+        assertEquals(820, repl.evalSuccessfully("v40"))
+        assertEquals(1, repl.evalSuccessfully("v1"))
+    }
+
+    public fun testDumpContainsOnlyTheLastLine() {
+        val repl = createInterpreter()
+        repl.evalSuccessfully("val x = 1")
+        repl.evalSuccessfully("fun f() = { x + 1 }")
+
+        val dump = repl.dumpedClasses()
+        assertFalse(dump, Regex("class Line1\\b").containsMatchIn(dump))
+        assertTrue(dump, Regex("class Line2\\b").containsMatchIn(dump))
+        assertEquals(2, repl.evalSuccessfully("f()()"))
+    }
+}
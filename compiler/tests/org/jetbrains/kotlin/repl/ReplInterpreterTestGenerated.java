@@ -89,6 +89,12 @@ public class ReplInterpreterTestGenerated extends AbstractReplInterpreterTest {
         doTest(fileName);
     }
 
+    @TestMetadata("manyEarlierLines.repl")
+    public void testManyEarlierLines() throws Exception {
+        String fileName = JetTestUtils.navigationMetadata("compiler/testData/repl/manyEarlierLines.repl");
+        doTest(fileName);
+    }
+
     @TestMetadata("simple.repl")
     public void testSimple() throws Exception {
         String fileName = JetTestUtils.navigationMetadata("compiler/testData/repl/simple.repl");
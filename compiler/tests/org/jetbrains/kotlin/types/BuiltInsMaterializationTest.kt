@@ -0,0 +1,57 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.types
+
+import junit.framework.TestCase
+import org.jetbrains.kotlin.builtins.KotlinBuiltIns
+import org.jetbrains.kotlin.incremental.components.NoLookupLocation
+import org.jetbrains.kotlin.name.Name
+import org.jetbrains.kotlin.platform.JvmBuiltIns
+import org.jetbrains.kotlin.resolve.DescriptorUtils
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+public class BuiltInsMaterializationTest : TestCase() {
+    fun testConcurrentLookupsAfterMaterialization() {
+        val builtIns = JvmBuiltIns.Instance
+        builtIns.materialize()
+        assertTrue(builtIns.isMaterialized())
+
+        val classNames = builtIns.getBuiltInsPackageScope().getAllDescriptors().map { it.getName() } +
+                         (0..22).map { Name.identifier(KotlinBuiltIns.getFunctionName(it)) }
+
+        val executor = Executors.newFixedThreadPool(8)
+        try {
+            val results = (1..8).map {
+                executor.submit(Callable {
+                    classNames.map { name ->
+                        val descriptor = builtIns.getBuiltInsPackageScope().getClassifier(name, NoLookupLocation.FROM_TEST)
+                        descriptor?.let { DescriptorUtils.getFqName(it).asString() }
+                    } + builtIns.getAnyType().toString()
+                })
+            }.map { it.get(30, TimeUnit.SECONDS) }
+
+            for (result in results) {
+                assertEquals(results.first(), result)
+            }
+        }
+        finally {
+            executor.shutdown()
+        }
+    }
+}
@@ -16,6 +16,10 @@
 
 package org.jetbrains.kotlin.utils
 
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
 import java.io.File
 import javax.xml.bind.DatatypeConverter.parseBase64Binary
 import javax.xml.bind.DatatypeConverter.printBase64Binary
@@ -27,6 +31,7 @@ public class KotlinJavascriptMetadata(public val abiVersion: Int, public val mod
 public object KotlinJavascriptMetadataUtils {
     public val JS_EXT: String = ".js"
     public val META_JS_SUFFIX: String = ".meta.js"
+    public val BINARY_META_SUFFIX: String = ".kjsmeta"
     public val VFS_PROTOCOL: String = "kotlin-js-meta"
     private val KOTLIN_JAVASCRIPT_METHOD_NAME = "kotlin_module_metadata"
     private val KOTLIN_JAVASCRIPT_METHOD_NAME_PATTERN = "\\.kotlin_module_metadata\\(".toPattern()
@@ -34,12 +39,20 @@ public object KotlinJavascriptMetadataUtils {
      * Matches string like <name>.kotlin_module_metadata(<abi version>, <module name>, <base64 data>)
      */
     private val METADATA_PATTERN = "(?m)\\w+\\.$KOTLIN_JAVASCRIPT_METHOD_NAME\\((\\d+),\\s*(['\"])([^'\"]*)\\2,\\s*(['\"])([^'\"]*)\\4\\)".toPattern()
+    private val BINARY_METADATA_MAGIC = 0x4B4A534D // "KJSM"
 
     @JvmStatic
     public val ABI_VERSION: Int = 3
 
     public fun replaceSuffix(filePath: String): String = filePath.substringBeforeLast(JS_EXT) + META_JS_SUFFIX
 
+    /**
+     * Path of the binary metadata file written next to [filePath], which is either the output `.js` file or its `.meta.js` file
+     */
+    public fun getBinaryMetadataPath(filePath: String): String =
+            (if (filePath.endsWith(META_JS_SUFFIX)) filePath.removeSuffix(META_JS_SUFFIX) else filePath.substringBeforeLast(JS_EXT)) +
+            BINARY_META_SUFFIX
+
     @JvmStatic
     public fun isAbiVersionCompatible(abiVersion: Int): Boolean = abiVersion == ABI_VERSION
 
@@ -59,19 +72,30 @@ public object KotlinJavascriptMetadataUtils {
     public fun formatMetadataAsString(moduleName: String, content: ByteArray): String =
         "// Kotlin.$KOTLIN_JAVASCRIPT_METHOD_NAME($ABI_VERSION, \"$moduleName\", \"${printBase64Binary(content)}\");\n"
 
+    /**
+     * Same data as [formatMetadataAsString] without the Base64 encoding, so that it can be read without scanning the text of the library
+     */
+    public fun formatMetadataAsBinary(moduleName: String, content: ByteArray): ByteArray {
+        val byteStream = ByteArrayOutputStream()
+        val output = DataOutputStream(byteStream)
+        output.writeInt(BINARY_METADATA_MAGIC)
+        output.writeInt(ABI_VERSION)
+        output.writeUTF(moduleName)
+        output.writeInt(content.size())
+        output.write(content)
+        output.close()
+        return byteStream.toByteArray()
+    }
+
     @JvmStatic
     public fun loadMetadata(file: File): List<KotlinJavascriptMetadata> {
         assert(file.exists()) { "Library " + file + " not found" }
         val metadataList = arrayListOf<KotlinJavascriptMetadata>()
-        LibraryUtils.traverseJsLibrary(file) { content, relativePath ->
-            var path = file.getPath()
-
-            if (relativePath.isNotBlank()) {
-                path += "/$relativePath"
-            }
-
-            parseMetadata(content, metadataList)
-        }
+        LibraryUtils.traverseJsLibraryMetadata(
+                file,
+                { content, relativePath -> parseMetadata(content, metadataList) },
+                { content, relativePath -> parseBinaryMetadata(content, metadataList) }
+        )
 
         return metadataList
     }
@@ -92,4 +116,16 @@ public object KotlinJavascriptMetadataUtils {
             metadataList.add(KotlinJavascriptMetadata(abiVersion, moduleName, parseBase64Binary(data)))
         }
     }
+
+    @JvmStatic
+    public fun parseBinaryMetadata(content: ByteArray, metadataList: MutableList<KotlinJavascriptMetadata>) {
+        val input = DataInputStream(ByteArrayInputStream(content))
+        if (content.size() < 4 || input.readInt() != BINARY_METADATA_MAGIC) return
+
+        val abiVersion = input.readInt()
+        val moduleName = input.readUTF()
+        val body = ByteArray(input.readInt())
+        input.readFully(body)
+        metadataList.add(KotlinJavascriptMetadata(abiVersion, moduleName, body))
+    }
 }
@@ -125,6 +125,107 @@ public object LibraryUtils {
         }
     }
 
+    /**
+     * Traverses the library like [traverseJsLibrary], but passes binary metadata files to [binaryAction] and skips the `.js` files
+     * which have such a file next to them, so that the library text is not loaded and scanned for metadata
+     */
+    @JvmStatic
+    public fun traverseJsLibraryMetadata(
+            lib: File,
+            textAction: (content: String, path: String) -> Unit,
+            binaryAction: (content: ByteArray, path: String) -> Unit
+    ) {
+        when {
+            lib.isDirectory() -> traverseDirectoryMetadata(lib, textAction, binaryAction)
+            FileUtil.isJarOrZip(lib) -> traverseArchiveMetadata(lib, textAction, binaryAction)
+            lib.getName().endsWith(KotlinJavascriptMetadataUtils.JS_EXT) -> {
+                val binaryFile = lib.getBinaryMetadataFile()
+                if (binaryFile.isFile() && binaryFile.isBinaryMetadataUpToDate()) {
+                    binaryAction(FileUtil.loadFileBytes(binaryFile), "")
+                }
+                else {
+                    traverseJsLibrary(lib, textAction)
+                }
+            }
+            else ->
+                throw IllegalArgumentException("Unknown library format (directory, zip or js file expected): $lib")
+        }
+    }
+
+    private fun File.getBinaryMetadataFile() = File(KotlinJavascriptMetadataUtils.getBinaryMetadataPath(getPath()))
+
+    private fun File.isBinaryMetadataUpToDate(): Boolean {
+        val pathWithoutExt = getPath().removeSuffix(KotlinJavascriptMetadataUtils.BINARY_META_SUFFIX)
+        return listOf(KotlinJavascriptMetadataUtils.JS_EXT, KotlinJavascriptMetadataUtils.META_JS_SUFFIX)
+                .map { File(pathWithoutExt + it) }
+                .all { !it.isFile() || it.lastModified() <= lastModified() }
+    }
+
+    private fun traverseDirectoryMetadata(
+            dir: File,
+            textAction: (content: String, path: String) -> Unit,
+            binaryAction: (content: ByteArray, path: String) -> Unit
+    ) {
+        try {
+            FileUtil.processFilesRecursively(dir, object : Processor<File> {
+                override fun process(file: File): Boolean {
+                    if (!file.isFile()) return true
+
+                    val relativePath = FileUtil.getRelativePath(dir, file) ?: throw IllegalArgumentException("relativePath should not be null " + dir + " " + file)
+                    val suggestedRelativePath = getSuggestedPath(relativePath) ?: return true
+
+                    if (relativePath.endsWith(KotlinJavascriptMetadataUtils.BINARY_META_SUFFIX)) {
+                        if (file.isBinaryMetadataUpToDate()) {
+                            binaryAction(FileUtil.loadFileBytes(file), suggestedRelativePath)
+                        }
+                    }
+                    else if (relativePath.endsWith(KotlinJavascriptMetadataUtils.JS_EXT)) {
+                        val binaryFile = file.getBinaryMetadataFile()
+                        if (!binaryFile.isFile() || !binaryFile.isBinaryMetadataUpToDate()) {
+                            textAction(FileUtil.loadFile(file), suggestedRelativePath)
+                        }
+                    }
+                    return true
+                }
+            })
+        }
+        catch (ex: IOException) {
+            LOG.error("Could not read files from directory ${dir.getName()}: ${ex.getMessage()}")
+        }
+    }
+
+    private fun traverseArchiveMetadata(
+            file: File,
+            textAction: (content: String, path: String) -> Unit,
+            binaryAction: (content: ByteArray, path: String) -> Unit
+    ) {
+        val zipFile = ZipFile(file.getPath())
+        try {
+            val zipEntries = zipFile.entries()
+            while (zipEntries.hasMoreElements()) {
+                val entry = zipEntries.nextElement()
+                val entryName = entry.getName()
+                if (entry.isDirectory()) continue
+
+                val relativePath = getSuggestedPath(entryName) ?: continue
+
+                if (entryName.endsWith(KotlinJavascriptMetadataUtils.BINARY_META_SUFFIX)) {
+                    binaryAction(FileUtil.loadBytes(zipFile.getInputStream(entry)), relativePath)
+                }
+                else if (entryName.endsWith(KotlinJavascriptMetadataUtils.JS_EXT) &&
+                         zipFile.getEntry(KotlinJavascriptMetadataUtils.getBinaryMetadataPath(entryName)) == null) {
+                    textAction(FileUtil.loadTextAndClose(zipFile.getInputStream(entry)), relativePath)
+                }
+            }
+        }
+        catch (ex: IOException) {
+            LOG.error("Could not extract files from archive ${file.getName()}: ${ex.getMessage()}")
+        }
+        finally {
+            zipFile.close()
+        }
+    }
+
     private fun File.runIfFileExists(action: (content: String, path: String)->Unit) {
         if (isFile()) {
             action(FileUtil.loadFile(this), "")
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.builtins
+
+import org.jetbrains.kotlin.builtins.functions.FunctionClassDescriptor
+import org.jetbrains.kotlin.descriptors.*
+import org.jetbrains.kotlin.descriptors.annotations.Annotations
+import org.jetbrains.kotlin.incremental.components.NoLookupLocation
+import org.jetbrains.kotlin.resolve.scopes.KtScope
+import org.jetbrains.kotlin.types.KotlinType
+import org.jetbrains.kotlin.types.flexibility
+import org.jetbrains.kotlin.types.isFlexible
+import java.util.HashSet
+
+/**
+ * Computes all lazy values of the descriptors in the built-ins module: classes, their members, supertypes, type parameters
+ * and annotations. Memoized values of [org.jetbrains.kotlin.storage.LockBasedStorageManager] are read without locking once
+ * computed, so after this the built-ins can be used from many threads without contending on the storage manager lock
+ */
+internal class BuiltInsMaterializer(private val builtIns: KotlinBuiltIns) {
+    private val visitedClasses = HashSet<ClassDescriptor>()
+
+    fun materialize() {
+        for (fqName in KotlinBuiltIns.BUILT_INS_PACKAGE_FQ_NAMES) {
+            for (fragment in builtIns.builtInsModule.getPackage(fqName).fragments) {
+                materializeScope(fragment.getMemberScope())
+            }
+        }
+
+        // Function classes are created on request and are not listed in the package scopes
+        for (kind in FunctionClassDescriptor.Kind.values()) {
+            val scope = builtIns.builtInsModule.getPackage(kind.packageFqName).memberScope
+            for (arity in 0..MAX_MATERIALIZED_FUNCTION_ARITY) {
+                val classifier = scope.getClassifier(kind.numberedClassName(arity), NoLookupLocation.FROM_BUILTINS)
+                (classifier as? ClassDescriptor)?.let { materializeClass(it) }
+            }
+        }
+    }
+
+    private fun materializeScope(scope: KtScope) {
+        for (descriptor in scope.getAllDescriptors()) {
+            materializeDescriptor(descriptor)
+        }
+    }
+
+    private fun materializeDescriptor(descriptor: DeclarationDescriptor) {
+        materializeAnnotations(descriptor.annotations)
+        when (descriptor) {
+            is ClassDescriptor -> materializeClass(descriptor)
+            is PropertyDescriptor -> {
+                materializeCallable(descriptor)
+                descriptor.getter?.let { materializeCallable(it) }
+                descriptor.setter?.let { materializeCallable(it) }
+            }
+            is CallableDescriptor -> materializeCallable(descriptor)
+        }
+    }
+
+    private fun materializeClass(descriptor: ClassDescriptor) {
+        if (!visitedClasses.add(descriptor)) return
+
+        materializeAnnotations(descriptor.annotations)
+        descriptor.defaultType
+        descriptor.modality
+        for (typeParameter in descriptor.typeConstructor.parameters) {
+            typeParameter.upperBounds.forEach { materializeType(it) }
+        }
+        descriptor.typeConstructor.supertypes.forEach { materializeType(it) }
+
+        descriptor.constructors.forEach { materializeCallable(it) }
+        descriptor.companionObjectDescriptor?.let { materializeClass(it) }
+
+        materializeScope(descriptor.unsubstitutedMemberScope)
+        materializeScope(descriptor.staticScope)
+    }
+
+    private fun materializeCallable(descriptor: CallableDescriptor) {
+        materializeAnnotations(descriptor.annotations)
+        descriptor.extensionReceiverParameter?.let { materializeType(it.type) }
+        for (typeParameter in descriptor.typeParameters) {
+            typeParameter.upperBounds.forEach { materializeType(it) }
+        }
+        for (parameter in descriptor.valueParameters) {
+            materializeAnnotations(parameter.annotations)
+            materializeType(parameter.type)
+            parameter.varargElementType?.let { materializeType(it) }
+        }
+        descriptor.returnType?.let { materializeType(it) }
+        descriptor.overriddenDescriptors
+    }
+
+    private fun materializeType(type: KotlinType) {
+        materializeAnnotations(type.annotations)
+        if (type.isFlexible()) {
+            materializeType(type.flexibility().lowerBound)
+            materializeType(type.flexibility().upperBound)
+            return
+        }
+
+        type.constructor.declarationDescriptor
+        type.isMarkedNullable
+        for (projection in type.arguments) {
+            if (!projection.isStarProjection) {
+                materializeType(projection.type)
+            }
+        }
+    }
+
+    private fun materializeAnnotations(annotations: Annotations) {
+        for (annotation in annotations) {
+            annotation.type
+            annotation.allValueArguments
+        }
+    }
+
+    companion object {
+        // Function classes of the larger arities are not present in the runtime and are very rarely used
+        private val MAX_MATERIALIZED_FUNCTION_ARITY = 22
+    }
+}
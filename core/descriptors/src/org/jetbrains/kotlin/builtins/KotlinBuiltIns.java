@@ -65,6 +65,8 @@ public abstract class KotlinBuiltIns {
     private final Map<KotlinType, KotlinType> primitiveJetTypeToJetArrayType;
     private final Map<KotlinType, KotlinType> jetArrayTypeToPrimitiveJetType;
 
+    private volatile boolean materialized = false;
+
     public static final FqNames FQ_NAMES = new FqNames();
 
     protected KotlinBuiltIns() {
@@ -196,6 +198,23 @@ public abstract class KotlinBuiltIns {
         return builtInsModule;
     }
 
+    /**
+     * Eagerly deserializes the whole built-ins module. After this call the already deserialized declarations are served
+     * without taking the lock of the storage manager, which matters when the same instance is used by many concurrent compilations.
+     * Lookups of keys that were never computed, e.g. a classifier with a name that is not a built-in, still take the lock
+     */
+    public void materialize() {
+        synchronized (builtInsModule) {
+            if (materialized) return;
+            new BuiltInsMaterializer(this).materialize();
+            materialized = true;
+        }
+    }
+
+    public boolean isMaterialized() {
+        return materialized;
+    }
+
     @NotNull
     public PackageFragmentDescriptor getBuiltInsPackageFragment() {
         return builtinsPackageFragment;
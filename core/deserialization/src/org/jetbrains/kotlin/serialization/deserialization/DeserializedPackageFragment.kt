@@ -37,10 +37,13 @@ public abstract class DeserializedPackageFragment(
         private val loadResource: (path: String) -> InputStream?
 ) : PackageFragmentDescriptorImpl(module, fqName) {
 
-    val nameResolver = NameResolverImpl.read(
-            loadResource(serializedResourcePaths.getStringTableFilePath(fqName))
-            ?: loadResourceSure(serializedResourcePaths.fallbackPaths.getStringTableFilePath(fqName))
-    )
+    // Read on the first access to the package, so that libraries with many packages don't pay for the ones which are never used
+    val nameResolver by storageManager.createLazyValue {
+        NameResolverImpl.read(
+                loadResource(serializedResourcePaths.getStringTableFilePath(fqName))
+                ?: loadResourceSure(serializedResourcePaths.fallbackPaths.getStringTableFilePath(fqName))
+        )
+    }
 
     protected var components: DeserializationComponents by Delegates.notNull()
 
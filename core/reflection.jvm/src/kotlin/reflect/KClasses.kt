@@ -58,6 +58,14 @@ public val KClass<*>.defaultType: KType
     get() = KTypeImpl((this as KClassImpl<*>).descriptor.defaultType) { jClass }
 
 
+/**
+ * Returns all functions and properties declared in this class.
+ * Does not include members declared in supertypes.
+ */
+public val KClass<*>.declaredMembers: Collection<KCallable<*>>
+    get() = (this as KClassImpl).data.declaredMembers
+
+
 /**
  * Returns all functions declared in this class, including all non-static methods declared in the class
  * and the superclasses, as well as static methods declared in the class.
@@ -69,28 +77,19 @@ public val KClass<*>.functions: Collection<KFunction<*>>
  * Returns static functions declared in this class.
  */
 public val KClass<*>.staticFunctions: Collection<KFunction<*>>
-    get() = (this as KClassImpl)
-            .getMembers(staticScope, declaredOnly = false, nonExtensions = true, extensions = true)
-            .filterIsInstance<KFunction<*>>()
-            .toList()
+    get() = (this as KClassImpl).data.staticFunctions
 
 /**
  * Returns non-extension non-static functions declared in this class and all of its superclasses.
  */
 public val KClass<*>.memberFunctions: Collection<KFunction<*>>
-    get() = (this as KClassImpl)
-            .getMembers(memberScope, declaredOnly = false, nonExtensions = true, extensions = false)
-            .filterIsInstance<KFunction<*>>()
-            .toList()
+    get() = (this as KClassImpl).data.memberFunctions
 
 /**
  * Returns extension functions declared in this class and all of its superclasses.
  */
 public val KClass<*>.memberExtensionFunctions: Collection<KFunction<*>>
-    get() = (this as KClassImpl)
-            .getMembers(memberScope, declaredOnly = false, nonExtensions = false, extensions = true)
-            .filterIsInstance<KFunction<*>>()
-            .toList()
+    get() = (this as KClassImpl).data.memberExtensionFunctions
 
 /**
  * Returns all functions declared in this class.
@@ -98,72 +97,47 @@ public val KClass<*>.memberExtensionFunctions: Collection<KFunction<*>>
  * declared in the class and the superclasses, as well as static methods declared in the class.
  */
 public val KClass<*>.declaredFunctions: Collection<KFunction<*>>
-    get() = (this as KClassImpl)
-            .getMembers(memberScope, declaredOnly = true, nonExtensions = true, extensions = true)
-            .plus(getMembers(staticScope, declaredOnly = true, nonExtensions = true, extensions = true))
-            .filterIsInstance<KFunction<*>>()
-            .toList()
+    get() = (this as KClassImpl).data.declaredFunctions
 
 /**
  * Returns non-extension non-static functions declared in this class.
  */
 public val KClass<*>.declaredMemberFunctions: Collection<KFunction<*>>
-    get() = (this as KClassImpl)
-            .getMembers(memberScope, declaredOnly = true, nonExtensions = true, extensions = false)
-            .filterIsInstance<KFunction<*>>()
-            .toList()
+    get() = (this as KClassImpl).data.declaredMemberFunctions
 
 /**
  * Returns extension functions declared in this class.
  */
 public val KClass<*>.declaredMemberExtensionFunctions: Collection<KFunction<*>>
-    get() = (this as KClassImpl)
-            .getMembers(memberScope, declaredOnly = true, nonExtensions = false, extensions = true)
-            .filterIsInstance<KFunction<*>>()
-            .toList()
+    get() = (this as KClassImpl).data.declaredMemberExtensionFunctions
 
 /**
  * Returns static properties declared in this class.
  * Only properties representing static fields of Java classes are considered static.
  */
 public val KClass<*>.staticProperties: Collection<KProperty0<*>>
-    get() = (this as KClassImpl)
-            .getMembers(staticScope, declaredOnly = false, nonExtensions = true, extensions = false)
-            .filterIsInstance<KProperty0<*>>()
-            .toList()
+    get() = (this as KClassImpl).data.staticProperties
 
 /**
  * Returns non-extension properties declared in this class and all of its superclasses.
  */
 public val <T : Any> KClass<T>.memberProperties: Collection<KProperty1<T, *>>
-    get() = (this as KClassImpl<T>)
-            .getMembers(memberScope, declaredOnly = false, nonExtensions = true, extensions = false)
-            .filterIsInstance<KProperty1<T, *>>()
-            .toList()
+    get() = (this as KClassImpl<T>).data.memberProperties
 
 /**
  * Returns extension properties declared in this class and all of its superclasses.
  */
 public val <T : Any> KClass<T>.memberExtensionProperties: Collection<KProperty2<T, *, *>>
-    get() = (this as KClassImpl<T>)
-            .getMembers(memberScope, declaredOnly = false, nonExtensions = false, extensions = true)
-            .filterIsInstance<KProperty2<T, *, *>>()
-            .toList()
+    get() = (this as KClassImpl<T>).data.memberExtensionProperties
 
 /**
  * Returns non-extension properties declared in this class.
  */
 public val <T : Any> KClass<T>.declaredMemberProperties: Collection<KProperty1<T, *>>
-    get() = (this as KClassImpl<T>)
-            .getMembers(memberScope, declaredOnly = true, nonExtensions = true, extensions = false)
-            .filterIsInstance<KProperty1<T, *>>()
-            .toList()
+    get() = (this as KClassImpl<T>).data.declaredMemberProperties
 
 /**
  * Returns extension properties declared in this class.
  */
 public val <T : Any> KClass<T>.declaredMemberExtensionProperties: Collection<KProperty2<T, *, *>>
-    get() = (this as KClassImpl<T>)
-            .getMembers(memberScope, declaredOnly = true, nonExtensions = false, extensions = true)
-            .filterIsInstance<KProperty2<T, *, *>>()
-            .toList()
+    get() = (this as KClassImpl<T>).data.declaredMemberExtensionProperties
@@ -29,3 +29,13 @@ public val KClass<*>.jvmName: String
     get() {
         return (this as KClassImpl).jClass.getName()
     }
+
+/**
+ * Loads all reflection data of the class represented by this [KClass] instance: its members, constructors and their parameters,
+ * and the JVM methods, constructors and fields used to call them.
+ * The data is retained while this [KClass] instance is reachable, so calling this function is useful before the class
+ * is accessed reflectively many times, e.g. by a serialization framework.
+ */
+public fun KClass<*>.warmUpReflection() {
+    (this as KClassImpl).warmUp()
+}
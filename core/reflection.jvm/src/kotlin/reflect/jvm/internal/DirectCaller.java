@@ -0,0 +1,31 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kotlin.reflect.jvm.internal;
+
+/**
+ * A superclass of callers generated by {@link DirectCallerGenerator}, which invoke a member directly without Java reflection.
+ * Must be public because subclasses are defined in other class loaders
+ *
+ * @suppress
+ */
+public abstract class DirectCaller {
+    public abstract Object call(Object[] args);
+
+    public Object call1(Object arg) {
+        return call(new Object[] {arg});
+    }
+}
@@ -0,0 +1,474 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package kotlin.reflect.jvm.internal
+
+import java.io.ByteArrayOutputStream
+import java.io.DataOutputStream
+import java.lang.reflect.Constructor
+import java.lang.reflect.Field
+import java.lang.reflect.InvocationTargetException
+import java.lang.reflect.Method
+import java.lang.reflect.Modifier
+import java.util.HashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * A generated [DirectCaller] together with the JVM types of its arguments.
+ * Arguments which don't conform to these types are passed to the reflective caller, which reports errors in the usual way
+ */
+internal class DirectCall(
+        private val caller: DirectCaller,
+        private val parameterClasses: Array<Class<*>>,
+        private val nullableParameters: BooleanArray,
+        private val wrapExceptions: Boolean
+) {
+    fun accepts(args: Array<*>): Boolean {
+        if (args.size() != parameterClasses.size()) return false
+        for (i in args.indices) {
+            if (!accepts(i, args[i])) return false
+        }
+        return true
+    }
+
+    fun accepts1(arg: Any?): Boolean =
+            parameterClasses.size() == 1 && accepts(0, arg)
+
+    private fun accepts(index: Int, arg: Any?): Boolean =
+            if (arg == null) nullableParameters[index] else parameterClasses[index].isInstance(arg)
+
+    fun call(args: Array<*>): Any? =
+            try {
+                caller.call(args)
+            }
+            catch (e: Throwable) {
+                throw wrap(e)
+            }
+
+    fun call1(arg: Any?): Any? =
+            try {
+                caller.call1(arg)
+            }
+            catch (e: Throwable) {
+                throw wrap(e)
+            }
+
+    // Method.invoke and Constructor.newInstance wrap everything thrown by the member, the generated code shouldn't differ
+    private fun wrap(e: Throwable): Throwable =
+            if (wrapExceptions) InvocationTargetException(e) else e
+}
+
+/**
+ * Generates subclasses of [DirectCaller] which invoke public members of public classes with plain JVM instructions.
+ *
+ * Each class is defined in its own class loader, a child of the member's class loader, the same way the JDK defines
+ * its own reflection accessors: the class can be unloaded as soon as the caller is no longer used.
+ * The generated classes don't have branches, so the class file version predating stack map frames is used
+ */
+internal object DirectCallerGenerator {
+    private val DIRECT_CALLER_CLASS = javaClass<DirectCaller>()
+    private val DIRECT_CALLER_INTERNAL_NAME = DIRECT_CALLER_CLASS.name.replace('.', '/')
+    private val UNIT_CLASS = javaClass<Unit>()
+    private val UNIT_INTERNAL_NAME = UNIT_CLASS.name.replace('.', '/')
+
+    private val counter = AtomicInteger()
+
+    private enum class Kind {
+        CONSTRUCTOR,
+        STATIC_METHOD,
+        INSTANCE_METHOD,
+        FIELD_GETTER,
+        FIELD_SETTER
+    }
+
+    fun generate(caller: FunctionCaller<*>): DirectCall? {
+        val member = caller.member
+        val kind = when (caller) {
+            is FunctionCaller.Constructor -> Kind.CONSTRUCTOR
+            is FunctionCaller.StaticMethod -> Kind.STATIC_METHOD
+            is FunctionCaller.InstanceMethod -> Kind.INSTANCE_METHOD
+            is FunctionCaller.StaticFieldGetter, is FunctionCaller.InstanceFieldGetter -> Kind.FIELD_GETTER
+            is FunctionCaller.StaticFieldSetter, is FunctionCaller.InstanceFieldSetter -> Kind.FIELD_SETTER
+            else -> return null
+        }
+
+        val owner = member.declaringClass
+        if (!Modifier.isPublic(member.modifiers) || !owner.isPublicType()) return null
+
+        val isStatic = Modifier.isStatic(member.modifiers)
+        // Static interface methods need a newer class file version
+        if (isStatic && owner.isInterface) return null
+
+        val parameterClasses = arrayListOf<Class<*>>()
+        if (kind != Kind.CONSTRUCTOR && !isStatic) {
+            parameterClasses.add(owner)
+        }
+        when (member) {
+            is Constructor<*> -> {
+                if (owner.isEnum || owner.isInterface || Modifier.isAbstract(owner.modifiers)) return null
+                parameterClasses.addAll(member.parameterTypes)
+            }
+            is Method -> parameterClasses.addAll(member.parameterTypes)
+            is Field -> if (kind == Kind.FIELD_SETTER) {
+                if (Modifier.isFinal(member.modifiers)) return null
+                parameterClasses.add(member.type)
+            }
+        }
+
+        if (parameterClasses.size() > MAX_PARAMETERS || parameterClasses.any { !it.isPublicType() }) return null
+
+        return try {
+            val loader = DirectCallerClassLoader(owner.classLoader)
+            if ((parameterClasses + owner).any { !it.isResolvableFrom(loader) }) return null
+
+            val name = "kotlin.reflect.jvm.internal.GeneratedDirectCaller" + counter.incrementAndGet()
+            val bytes = ClassGenerator(name.replace('.', '/'), kind, member, isStatic, parameterClasses).generate()
+            val instance = loader.define(name, bytes).newInstance() as DirectCaller
+
+            // A null receiver is passed to the reflective caller which throws NullPointerException without invoking anything
+            val nullableParameters = BooleanArray(parameterClasses.size())
+            for ((index, parameterClass) in parameterClasses.withIndex()) {
+                nullableParameters[index] = !parameterClass.isPrimitive && !(index == 0 && kind != Kind.CONSTRUCTOR && !isStatic)
+            }
+
+            DirectCall(
+                    instance,
+                    parameterClasses.map { it.wrapperType ?: it }.toTypedArray(),
+                    nullableParameters,
+                    wrapExceptions = kind != Kind.FIELD_GETTER && kind != Kind.FIELD_SETTER
+            )
+        }
+        catch (e: Exception) {
+            null
+        }
+        catch (e: LinkageError) {
+            null
+        }
+    }
+
+    private fun Class<*>.isPublicType(): Boolean {
+        var type = this
+        while (type.isArray) type = type.componentType
+        return type.isPrimitive || Modifier.isPublic(type.modifiers)
+    }
+
+    private fun Class<*>.isResolvableFrom(loader: ClassLoader): Boolean {
+        var type = this
+        while (type.isArray) type = type.componentType
+        return type.isPrimitive || try {
+            Class.forName(type.name, false, loader) == type
+        }
+        catch (e: ClassNotFoundException) {
+            false
+        }
+    }
+
+    private class DirectCallerClassLoader(parent: ClassLoader?) : ClassLoader(parent) {
+        override fun loadClass(name: String, resolve: Boolean): Class<*> = when (name) {
+            DIRECT_CALLER_CLASS.name -> DIRECT_CALLER_CLASS
+            UNIT_CLASS.name -> UNIT_CLASS
+            else -> super.loadClass(name, resolve)
+        }
+
+        fun define(name: String, bytes: ByteArray): Class<*> =
+                defineClass(name, bytes, 0, bytes.size())
+    }
+
+    private class ClassGenerator(
+            private val className: String,
+            private val kind: Kind,
+            private val member: java.lang.reflect.Member,
+            private val isStatic: Boolean,
+            private val parameterClasses: List<Class<*>>
+    ) {
+        private val constantPool = ByteArrayOutputStream()
+        private val constantPoolOutput = DataOutputStream(constantPool)
+        private val constants = HashMap<String, Int>()
+        private var constantCount = 1
+
+        fun generate(): ByteArray {
+            val thisClass = classConstant(className)
+            val superClass = classConstant(DIRECT_CALLER_INTERNAL_NAME)
+
+            val methods = arrayListOf(
+                    method("<init>", "()V", maxStack = 1, maxLocals = 1) {
+                        writeByte(ALOAD_0)
+                        writeByte(INVOKESPECIAL)
+                        writeShort(memberConstant(METHOD_REF, DIRECT_CALLER_INTERNAL_NAME, "<init>", "()V"))
+                        writeByte(RETURN)
+                    },
+                    method("call", "([Ljava/lang/Object;)Ljava/lang/Object;", maxStack(), maxLocals = 2) {
+                        generateCall { index ->
+                            writeByte(ALOAD_1)
+                            pushInt(index)
+                            writeByte(AALOAD)
+                        }
+                    }
+            )
+            if (parameterClasses.size() == 1) {
+                methods.add(method("call1", "(Ljava/lang/Object;)Ljava/lang/Object;", maxStack(), maxLocals = 2) {
+                    generateCall { writeByte(ALOAD_1) }
+                })
+            }
+
+            val result = ByteArrayOutputStream()
+            with(DataOutputStream(result)) {
+                writeInt(0xCAFEBABE.toInt())
+                writeShort(0)
+                writeShort(CLASS_FILE_VERSION)
+                writeShort(constantCount)
+                write(constantPool.toByteArray())
+                writeShort(ACC_PUBLIC or ACC_FINAL or ACC_SUPER)
+                writeShort(thisClass)
+                writeShort(superClass)
+                writeShort(0) // interfaces
+                writeShort(0) // fields
+                writeShort(methods.size())
+                for (method in methods) {
+                    write(method)
+                }
+                writeShort(0) // attributes
+            }
+            return result.toByteArray()
+        }
+
+        private fun maxStack(): Int = 5 + 2 * parameterClasses.size()
+
+        private fun method(name: String, desc: String, maxStack: Int, maxLocals: Int, generateCode: DataOutputStream.() -> Unit): ByteArray {
+            val code = ByteArrayOutputStream()
+            DataOutputStream(code).generateCode()
+
+            val result = ByteArrayOutputStream()
+            with(DataOutputStream(result)) {
+                writeShort(ACC_PUBLIC)
+                writeShort(utf8Constant(name))
+                writeShort(utf8Constant(desc))
+                writeShort(1)
+                writeShort(utf8Constant("Code"))
+                writeInt(12 + code.size())
+                writeShort(maxStack)
+                writeShort(maxLocals)
+                writeInt(code.size())
+                write(code.toByteArray())
+                writeShort(0) // exception table
+                writeShort(0) // attributes
+            }
+            return result.toByteArray()
+        }
+
+        private fun DataOutputStream.generateCall(loadArgument: DataOutputStream.(Int) -> Unit) {
+            val owner = member.declaringClass.internalName
+
+            fun loadArguments() {
+                for ((index, parameterClass) in parameterClasses.withIndex()) {
+                    loadArgument(index)
+                    unbox(parameterClass)
+                }
+            }
+
+            when (kind) {
+                Kind.CONSTRUCTOR -> {
+                    writeByte(NEW)
+                    writeShort(classConstant(owner))
+                    writeByte(DUP)
+                    loadArguments()
+                    writeByte(INVOKESPECIAL)
+                    writeShort(memberConstant(METHOD_REF, owner, "<init>", methodDescriptor(parameterClasses, Void.TYPE)))
+                    writeByte(ARETURN)
+                    return
+                }
+                Kind.STATIC_METHOD, Kind.INSTANCE_METHOD -> {
+                    member as Method
+                    loadArguments()
+                    val desc = methodDescriptor(member.parameterTypes.asList(), member.returnType)
+                    when {
+                        isStatic -> {
+                            writeByte(INVOKESTATIC)
+                            writeShort(memberConstant(METHOD_REF, owner, member.name, desc))
+                        }
+                        member.declaringClass.isInterface -> {
+                            writeByte(INVOKEINTERFACE)
+                            writeShort(memberConstant(INTERFACE_METHOD_REF, owner, member.name, desc))
+                            writeByte(member.parameterTypes.fold(1) { size, type -> size + type.stackSize })
+                            writeByte(0)
+                        }
+                        else -> {
+                            writeByte(INVOKEVIRTUAL)
+                            writeShort(memberConstant(METHOD_REF, owner, member.name, desc))
+                        }
+                    }
+                    box(member.returnType)
+                }
+                Kind.FIELD_GETTER -> {
+                    member as Field
+                    loadArguments()
+                    writeByte(if (isStatic) GETSTATIC else GETFIELD)
+                    writeShort(memberConstant(FIELD_REF, owner, member.name, member.type.descriptor))
+                    box(member.type)
+                }
+                Kind.FIELD_SETTER -> {
+                    member as Field
+                    loadArguments()
+                    writeByte(if (isStatic) PUTSTATIC else PUTFIELD)
+                    writeShort(memberConstant(FIELD_REF, owner, member.name, member.type.descriptor))
+                    box(Void.TYPE)
+                }
+            }
+            writeByte(ARETURN)
+        }
+
+        private fun DataOutputStream.unbox(type: Class<*>) {
+            val wrapper = type.wrapperType
+            when {
+                wrapper != null -> {
+                    writeByte(CHECKCAST)
+                    writeShort(classConstant(wrapper.internalName))
+                    writeByte(INVOKEVIRTUAL)
+                    writeShort(memberConstant(METHOD_REF, wrapper.internalName, type.name + "Value", "()" + type.descriptor))
+                }
+                type != javaClass<Any>() -> {
+                    writeByte(CHECKCAST)
+                    writeShort(classConstant(type.internalName))
+                }
+            }
+        }
+
+        // Unit is returned for void members, as in FunctionCaller.Method
+        private fun DataOutputStream.box(type: Class<*>) {
+            if (type == Void.TYPE) {
+                writeByte(GETSTATIC)
+                writeShort(memberConstant(FIELD_REF, UNIT_INTERNAL_NAME, "INSTANCE", "L$UNIT_INTERNAL_NAME;"))
+                return
+            }
+            val wrapper = type.wrapperType ?: return
+            writeByte(INVOKESTATIC)
+            writeShort(memberConstant(METHOD_REF, wrapper.internalName, "valueOf", "(" + type.descriptor + ")" + wrapper.descriptor))
+        }
+
+        // Indices are small, see MAX_PARAMETERS
+        private fun DataOutputStream.pushInt(value: Int) {
+            writeByte(BIPUSH)
+            writeByte(value)
+        }
+
+        private fun utf8Constant(value: String): Int =
+                constant("U$value") {
+                    writeByte(UTF8)
+                    writeUTF(value)
+                }
+
+        private fun classConstant(internalName: String): Int {
+            val name = utf8Constant(internalName)
+            return constant("C$internalName") {
+                writeByte(CLASS)
+                writeShort(name)
+            }
+        }
+
+        private fun memberConstant(tag: Int, owner: String, name: String, desc: String): Int {
+            val ownerIndex = classConstant(owner)
+            val nameIndex = utf8Constant(name)
+            val descIndex = utf8Constant(desc)
+            val nameAndType = constant("N$name:$desc") {
+                writeByte(NAME_AND_TYPE)
+                writeShort(nameIndex)
+                writeShort(descIndex)
+            }
+            return constant("$tag$owner.$name:$desc") {
+                writeByte(tag)
+                writeShort(ownerIndex)
+                writeShort(nameAndType)
+            }
+        }
+
+        private fun constant(key: String, write: DataOutputStream.() -> Unit): Int {
+            constants[key]?.let { return it }
+            constantPoolOutput.write()
+            val index = constantCount++
+            constants[key] = index
+            return index
+        }
+    }
+
+    private val Class<*>.internalName: String
+        get() = name.replace('.', '/')
+
+    private val Class<*>.descriptor: String
+        get() = when {
+            this == Void.TYPE -> "V"
+            isPrimitive -> PRIMITIVE_DESCRIPTORS[name]!!
+            isArray -> internalName
+            else -> "L$internalName;"
+        }
+
+    private val Class<*>.stackSize: Int
+        get() = if (this == java.lang.Long.TYPE || this == java.lang.Double.TYPE) 2 else 1
+
+    private val Class<*>.wrapperType: Class<*>?
+        get() = PRIMITIVE_WRAPPERS[this]
+
+    private fun methodDescriptor(parameterTypes: List<Class<*>>, returnType: Class<*>): String =
+            parameterTypes.joinToString("", "(", ")") { it.descriptor } + returnType.descriptor
+
+    private val PRIMITIVE_WRAPPERS = mapOf(
+            java.lang.Boolean.TYPE to javaClass<java.lang.Boolean>(),
+            java.lang.Character.TYPE to javaClass<java.lang.Character>(),
+            java.lang.Byte.TYPE to javaClass<java.lang.Byte>(),
+            java.lang.Short.TYPE to javaClass<java.lang.Short>(),
+            java.lang.Integer.TYPE to javaClass<java.lang.Integer>(),
+            java.lang.Float.TYPE to javaClass<java.lang.Float>(),
+            java.lang.Long.TYPE to javaClass<java.lang.Long>(),
+            java.lang.Double.TYPE to javaClass<java.lang.Double>()
+    )
+
+    private val PRIMITIVE_DESCRIPTORS = mapOf(
+            "boolean" to "Z", "char" to "C", "byte" to "B", "short" to "S", "int" to "I", "float" to "F", "long" to "J", "double" to "D"
+    )
+
+    // JVM limits the number of method parameters to 255 slots, but there's no point in generating callers for such methods
+    private val MAX_PARAMETERS = 64
+
+    private val CLASS_FILE_VERSION = 49
+
+    private val ACC_PUBLIC = 0x0001
+    private val ACC_FINAL = 0x0010
+    private val ACC_SUPER = 0x0020
+
+    private val UTF8 = 1
+    private val CLASS = 7
+    private val FIELD_REF = 9
+    private val METHOD_REF = 10
+    private val INTERFACE_METHOD_REF = 11
+    private val NAME_AND_TYPE = 12
+
+    private val BIPUSH = 0x10
+    private val ALOAD_0 = 0x2a
+    private val ALOAD_1 = 0x2b
+    private val AALOAD = 0x32
+    private val DUP = 0x59
+    private val ARETURN = 0xb0
+    private val RETURN = 0xb1
+    private val GETSTATIC = 0xb2
+    private val PUTSTATIC = 0xb3
+    private val GETFIELD = 0xb4
+    private val PUTFIELD = 0xb5
+    private val INVOKEVIRTUAL = 0xb6
+    private val INVOKESPECIAL = 0xb7
+    private val INVOKESTATIC = 0xb8
+    private val INVOKEINTERFACE = 0xb9
+    private val NEW = 0xbb
+    private val CHECKCAST = 0xc0
+}
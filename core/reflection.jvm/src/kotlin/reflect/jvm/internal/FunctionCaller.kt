@@ -33,7 +33,45 @@ internal abstract class FunctionCaller<out M : Member>(
             instanceClass?.let { listOf(it, *valueParameterTypes) } ?:
             valueParameterTypes.toList()
 
-    abstract fun call(args: Array<*>): Any?
+    // Calls of public members are switched to a generated DirectCaller after this many reflective calls
+    private var reflectiveCalls = if (DIRECT_CALL_THRESHOLD < 0) -1 else 0
+
+    @Volatile private var directCall: DirectCall? = null
+
+    fun call(args: Array<*>): Any? {
+        checkArguments(args)
+
+        val directCall = directCall ?: createDirectCallIfNeeded()
+        if (directCall != null && directCall.accepts(args)) {
+            return directCall.call(args)
+        }
+
+        return callReflectively(args)
+    }
+
+    // A call with a single argument (e.g. a property getter with a receiver), which doesn't need an array on the fast path
+    fun call1(arg: Any?): Any? {
+        val directCall = directCall
+        if (directCall != null && parameterTypes.size() == 1 && directCall.accepts1(arg)) {
+            return directCall.call1(arg)
+        }
+
+        return call(arrayOf(arg))
+    }
+
+    private fun createDirectCallIfNeeded(): DirectCall? {
+        // Races here are harmless: at worst several equivalent callers are generated
+        if (reflectiveCalls < 0 || ++reflectiveCalls < DIRECT_CALL_THRESHOLD) return null
+
+        val result = DirectCallerGenerator.generate(this)
+        if (result == null) {
+            reflectiveCalls = -1
+        }
+        directCall = result
+        return result
+    }
+
+    protected abstract fun callReflectively(args: Array<*>): Any?
 
     protected open fun checkArguments(args: Array<*>) {
         if (parameterTypes.size() != args.size()) {
@@ -58,8 +96,7 @@ internal abstract class FunctionCaller<out M : Member>(
             },
             constructor.genericParameterTypes
     ) {
-        override fun call(args: Array<*>): Any? {
-            checkArguments(args)
+        override fun callReflectively(args: Array<*>): Any? {
             return member.newInstance(*args)
         }
     }
@@ -86,22 +123,19 @@ internal abstract class FunctionCaller<out M : Member>(
     }
 
     class StaticMethod(method: ReflectMethod) : Method(method) {
-        override fun call(args: Array<*>): Any? {
-            checkArguments(args)
+        override fun callReflectively(args: Array<*>): Any? {
             return callMethod(null, args)
         }
     }
 
     class InstanceMethod(method: ReflectMethod) : Method(method) {
-        override fun call(args: Array<*>): Any? {
-            checkArguments(args)
+        override fun callReflectively(args: Array<*>): Any? {
             return callMethod(args[0], args.asList().subList(1, args.size()).toTypedArray())
         }
     }
 
     class JvmStaticInObject(method: ReflectMethod) : Method(method, requiresInstance = true) {
-        override fun call(args: Array<*>): Any? {
-            checkArguments(args)
+        override fun callReflectively(args: Array<*>): Any? {
             checkObjectInstance(args.firstOrNull())
             return callMethod(null, args.asList().subList(1, args.size()).toTypedArray())
         }
@@ -118,8 +152,7 @@ internal abstract class FunctionCaller<out M : Member>(
             if (requiresInstance) field.declaringClass else null,
             emptyArray()
     ) {
-        override fun call(args: Array<*>): Any? {
-            checkArguments(args)
+        override fun callReflectively(args: Array<*>): Any? {
             return member.get(if (instanceClass != null) args.first() else null)
         }
     }
@@ -141,8 +174,7 @@ internal abstract class FunctionCaller<out M : Member>(
             }
         }
 
-        override fun call(args: Array<*>): Any? {
-            checkArguments(args)
+        override fun callReflectively(args: Array<*>): Any? {
             return member.set(if (instanceClass != null) args.first() else null, args.last())
         }
     }
@@ -167,8 +199,7 @@ internal abstract class FunctionCaller<out M : Member>(
             klass,
             emptyArray()
     ) {
-        override fun call(args: Array<*>): Any? {
-            checkArguments(args)
+        override fun callReflectively(args: Array<*>): Any? {
             return member.get(args.first())
         }
     }
@@ -193,9 +224,13 @@ internal abstract class FunctionCaller<out M : Member>(
             klass,
             arrayOf(field.genericType)
     ) {
-        override fun call(args: Array<*>): Any? {
-            checkArguments(args)
+        override fun callReflectively(args: Array<*>): Any? {
             return member.set(instanceClass, args.last())
         }
     }
+
+    companion object {
+        // A negative value disables generation of direct callers
+        private val DIRECT_CALL_THRESHOLD = Integer.getInteger("kotlin.reflect.jvm.directCallThreshold", 16)
+    }
 }
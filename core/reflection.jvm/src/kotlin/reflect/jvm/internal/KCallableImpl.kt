@@ -29,6 +29,7 @@ import kotlin.reflect.jvm.javaType
 internal interface KCallableImpl<out R> : KCallable<R>, KAnnotatedElementImpl {
     val descriptor: CallableMemberDescriptor
 
+    // Callers are held on strong references in implementations: they only reference JVM members, but looking those up is expensive
     val caller: FunctionCaller<*>
 
     val defaultCaller: FunctionCaller<*>?
@@ -32,9 +32,13 @@ import org.jetbrains.kotlin.platform.JavaToKotlinClassMap
 import org.jetbrains.kotlin.resolve.DescriptorUtils
 import org.jetbrains.kotlin.resolve.scopes.KtScope
 import org.jetbrains.kotlin.serialization.deserialization.findClassAcrossModuleDependencies
+import java.util.Collections
 import kotlin.reflect.KCallable
 import kotlin.reflect.KClass
 import kotlin.reflect.KFunction
+import kotlin.reflect.KProperty0
+import kotlin.reflect.KProperty1
+import kotlin.reflect.KProperty2
 import kotlin.reflect.KotlinReflectionInternalError
 
 internal class KClassImpl<T : Any>(override val jClass: Class<T>) : KDeclarationContainerImpl(), KClass<T>, KAnnotatedElementImpl {
@@ -59,10 +63,139 @@ internal class KClassImpl<T : Any>(override val jClass: Class<T>) : KDeclaration
 
     internal val staticScope: KtScope get() = descriptor.staticScope
 
+    // Member lists are held on a strong reference: they are requested repeatedly (e.g. by serialization frameworks), and
+    // recomputing them involves walking the scopes and creating new KCallable instances with their own caches.
+    // The data dies together with this KClassImpl instance, which is only weakly referenced from the KClass cache
+    private val data_ = ReflectProperties.lazy { Data() }
+
+    internal val data: Data
+        get() = data_()
+
+    internal inner class Data {
+        // Also keeps the descriptors of the members (memoized in the class scopes) from being collected
+        val descriptor: ClassDescriptor = this@KClassImpl.descriptor
+
+        val allNonStaticMembers: Collection<KCallableImpl<*>> by ReflectProperties.lazy {
+            getMembers(memberScope, declaredOnly = false, nonExtensions = true, extensions = true).toCallableList().unmodifiable()
+        }
+
+        val allStaticMembers: Collection<KCallableImpl<*>> by ReflectProperties.lazy {
+            getMembers(staticScope, declaredOnly = false, nonExtensions = true, extensions = true).toCallableList().unmodifiable()
+        }
+
+        val declaredNonStaticMembers: Collection<KCallableImpl<*>> by ReflectProperties.lazy {
+            allNonStaticMembers.filter { it.isDeclared }.unmodifiable()
+        }
+
+        val declaredStaticMembers: Collection<KCallableImpl<*>> by ReflectProperties.lazy {
+            allStaticMembers.filter { it.isDeclared }.unmodifiable()
+        }
+
+        val allMembers: Collection<KCallableImpl<*>> by ReflectProperties.lazy {
+            (allNonStaticMembers + allStaticMembers).unmodifiable()
+        }
+
+        val declaredMembers: Collection<KCallableImpl<*>> by ReflectProperties.lazy {
+            (declaredNonStaticMembers + declaredStaticMembers).unmodifiable()
+        }
+
+        @Suppress("UNCHECKED_CAST")
+        val constructors: Collection<KFunction<T>> by ReflectProperties.lazy {
+            constructorDescriptors.map { KFunctionImpl(this@KClassImpl, it) as KFunction<T> }.unmodifiable()
+        }
+
+        val staticFunctions: Collection<KFunction<*>> by ReflectProperties.lazy {
+            allStaticMembers.filterIsInstance<KFunction<*>>().unmodifiable()
+        }
+
+        val memberFunctions: Collection<KFunction<*>> by ReflectProperties.lazy {
+            allNonStaticMembers.filter { !it.isExtension }.filterIsInstance<KFunction<*>>().unmodifiable()
+        }
+
+        val memberExtensionFunctions: Collection<KFunction<*>> by ReflectProperties.lazy {
+            allNonStaticMembers.filter { it.isExtension }.filterIsInstance<KFunction<*>>().unmodifiable()
+        }
+
+        val declaredFunctions: Collection<KFunction<*>> by ReflectProperties.lazy {
+            declaredMembers.filterIsInstance<KFunction<*>>().unmodifiable()
+        }
+
+        val declaredMemberFunctions: Collection<KFunction<*>> by ReflectProperties.lazy {
+            declaredNonStaticMembers.filter { !it.isExtension }.filterIsInstance<KFunction<*>>().unmodifiable()
+        }
+
+        val declaredMemberExtensionFunctions: Collection<KFunction<*>> by ReflectProperties.lazy {
+            declaredNonStaticMembers.filter { it.isExtension }.filterIsInstance<KFunction<*>>().unmodifiable()
+        }
+
+        val staticProperties: Collection<KProperty0<*>> by ReflectProperties.lazy {
+            allStaticMembers.filter { !it.isExtension }.filterIsInstance<KProperty0<*>>().unmodifiable()
+        }
+
+        val memberProperties: Collection<KProperty1<T, *>> by ReflectProperties.lazy {
+            allNonStaticMembers.filter { !it.isExtension }.filterIsInstance<KProperty1<T, *>>().unmodifiable()
+        }
+
+        val memberExtensionProperties: Collection<KProperty2<T, *, *>> by ReflectProperties.lazy {
+            allNonStaticMembers.filter { it.isExtension }.filterIsInstance<KProperty2<T, *, *>>().unmodifiable()
+        }
+
+        val declaredMemberProperties: Collection<KProperty1<T, *>> by ReflectProperties.lazy {
+            declaredNonStaticMembers.filter { !it.isExtension }.filterIsInstance<KProperty1<T, *>>().unmodifiable()
+        }
+
+        val declaredMemberExtensionProperties: Collection<KProperty2<T, *, *>> by ReflectProperties.lazy {
+            declaredNonStaticMembers.filter { it.isExtension }.filterIsInstance<KProperty2<T, *, *>>().unmodifiable()
+        }
+
+        private val KCallableImpl<*>.isDeclared: Boolean
+            get() = descriptor.kind.isReal()
+
+        private val KCallableImpl<*>.isExtension: Boolean
+            get() = descriptor.extensionReceiverParameter != null
+
+        private fun Sequence<KCallable<*>>.toCallableList(): List<KCallableImpl<*>> =
+                map { it as KCallableImpl<*> }.toList()
+
+        // The lists are cached and returned to every caller, so they must not be modified through a cast to a mutable collection
+        private fun <E> List<E>.unmodifiable(): List<E> = Collections.unmodifiableList(this)
+    }
+
+    /**
+     * Computes all member lists of this class together with the descriptors of the members and the JVM members they're called with,
+     * so that subsequent reflective access to this class doesn't need to load anything
+     */
+    fun warmUp() {
+        val data = data
+        for (member in data.allMembers + data.constructors.map { it as KCallableImpl<*> }) {
+            member.parameters
+            member.computeCallers()
+            if (member is KPropertyImpl<*>) {
+                member.getter.computeCallers()
+                (member as? KMutablePropertyImpl<*>)?.setter?.computeCallers()
+            }
+        }
+
+        with(data) {
+            staticFunctions; memberFunctions; memberExtensionFunctions
+            declaredFunctions; declaredMemberFunctions; declaredMemberExtensionFunctions
+            staticProperties; memberProperties; memberExtensionProperties
+            declaredMemberProperties; declaredMemberExtensionProperties
+        }
+    }
+
+    private fun KCallableImpl<*>.computeCallers() {
+        try {
+            caller
+            defaultCaller
+        }
+        catch (e: KotlinReflectionInternalError) {
+            // Calls of this member are not supported, the error will be reported when it's called
+        }
+    }
+
     override val members: Collection<KCallable<*>>
-        get() = getMembers(memberScope, declaredOnly = false, nonExtensions = true, extensions = true)
-                .plus(getMembers(staticScope, declaredOnly = false, nonExtensions = true, extensions = true))
-                .toList()
+        get() = data.allMembers
 
     override val constructorDescriptors: Collection<ConstructorDescriptor>
         get() {
@@ -113,11 +246,8 @@ internal class KClassImpl<T : Any>(override val jClass: Class<T>) : KDeclaration
         }
     }
 
-    @Suppress("UNCHECKED_CAST")
     override val constructors: Collection<KFunction<T>>
-        get() = constructorDescriptors.map {
-            KFunctionImpl(this, it) as KFunction<T>
-        }
+        get() = data.constructors
 
     override val nestedClasses: Collection<KClass<*>>
         get() = descriptor.unsubstitutedInnerClassesScope.getAllDescriptors().map { nestedClass ->
@@ -27,7 +27,10 @@ internal open class KProperty1Impl<T, out R> : DescriptorBasedProperty<R>, KProp
 
     override val getter by ReflectProperties.lazy { Getter(this) }
 
-    override fun get(receiver: T): R = getter.call(receiver)
+    @Suppress("UNCHECKED_CAST")
+    override fun get(receiver: T): R = reflectionCall {
+        getter.caller.call1(receiver) as R
+    }
 
     class Getter<T, out R>(override val property: KProperty1Impl<T, R>) : KPropertyImpl.Getter<R>(), KProperty1.Getter<T, R> {
         override fun invoke(receiver: T): R = property.get(receiver)
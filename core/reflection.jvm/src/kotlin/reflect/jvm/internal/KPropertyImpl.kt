@@ -57,7 +57,7 @@ internal interface KPropertyImpl<out R> : KProperty<R>, KCallableImpl<R> {
             property.descriptor.getter ?: DescriptorFactory.createDefaultGetter(property.descriptor, Annotations.EMPTY)
         }
 
-        override val caller: FunctionCaller<*> by ReflectProperties.lazySoft {
+        override val caller: FunctionCaller<*> by ReflectProperties.lazy {
             computeCallerForAccessor(isGetter = true)
         }
 
@@ -79,7 +79,7 @@ internal interface KMutablePropertyImpl<R> : KMutableProperty<R>, KPropertyImpl<
             property.descriptor.setter ?: DescriptorFactory.createDefaultSetter(property.descriptor, Annotations.EMPTY)
         }
 
-        override val caller: FunctionCaller<*> by ReflectProperties.lazySoft {
+        override val caller: FunctionCaller<*> by ReflectProperties.lazy {
             computeCallerForAccessor(isGetter = false)
         }
 
@@ -20,6 +20,7 @@ import com.sun.jdi.*
 import org.jetbrains.eval4j.*
 import org.jetbrains.eval4j.Value
 import org.jetbrains.org.objectweb.asm.Type
+import java.util.HashMap
 import com.sun.jdi.Type as jdi_Type
 import com.sun.jdi.Value as jdi_Value
 
@@ -30,32 +31,68 @@ public class JDIEval(
         private val vm: VirtualMachine,
         private val defaultClassLoader: ClassLoaderReference?,
         private val thread: ThreadReference,
-        private val invokePolicy: Int
+        private val invokePolicy: Int,
+        private val mirrorCache: JDIMirrorCache = JDIMirrorCache(vm)
 ) : Eval {
 
-    private val primitiveTypes = mapOf(
-            Type.BOOLEAN_TYPE.getClassName() to vm.mirrorOf(true).type(),
-            Type.BYTE_TYPE.getClassName() to vm.mirrorOf(1.toByte()).type(),
-            Type.SHORT_TYPE.getClassName() to vm.mirrorOf(1.toShort()).type(),
-            Type.INT_TYPE.getClassName() to vm.mirrorOf(1.toInt()).type(),
-            Type.CHAR_TYPE.getClassName() to vm.mirrorOf('1').type(),
-            Type.LONG_TYPE.getClassName() to vm.mirrorOf(1L).type(),
-            Type.FLOAT_TYPE.getClassName() to vm.mirrorOf(1.0f).type(),
-            Type.DOUBLE_TYPE.getClassName() to vm.mirrorOf(1.0).type()
-    )
+    private val primitiveTypes = mirrorCache.primitiveTypes
+
+    // Members are cached only for one evaluation, see JDIMirrorCache
+    private val fields = HashMap<Pair<ReferenceType, String>, Field>()
+    private val methods = HashMap<Triple<ReferenceType, String, String>, List<Method>>()
+    // Same string constants evaluate to the same object, like interned literals in the compiled code
+    private val strings = HashMap<String, StringReference>()
+
+    public val statistics: JdwpCallStatistics = JdwpCallStatistics()
 
     override fun loadClass(classType: Type): Value {
         return loadClass(classType, defaultClassLoader)
     }
 
     fun loadClass(classType: Type, classLoader: ClassLoaderReference?): Value {
+        return findReferenceType(classType, classLoader).classObject().asValue()
+    }
+
+    private fun findReferenceType(classType: Type, classLoader: ClassLoaderReference?): ReferenceType {
+        val cached = mirrorCache.getReferenceType(classType, classLoader)
+        if (cached != null) {
+            statistics.recordCacheHit()
+            return cached
+        }
+
+        val referenceType = findLoadedClass(classType, classLoader) ?: doLoadClass(classType, classLoader).jdiClass!!.reflectedType()
+        mirrorCache.putReferenceType(classType, classLoader, referenceType)
+        return referenceType
+    }
+
+    /**
+     * Returns the class only if it's already loaded in the debuggee, unlike [findReferenceType] this never runs code there
+     */
+    private fun findLoadedReferenceType(classType: Type, classLoader: ClassLoaderReference?): ReferenceType? {
+        val cached = mirrorCache.getReferenceType(classType, classLoader)
+        if (cached != null) {
+            statistics.recordCacheHit()
+            return cached
+        }
+
+        val referenceType = findLoadedClass(classType, classLoader) ?: return null
+        mirrorCache.putReferenceType(classType, classLoader, referenceType)
+        return referenceType
+    }
+
+    private fun findLoadedClass(classType: Type, classLoader: ClassLoaderReference?): ReferenceType? {
+        statistics.record(JdwpCallKind.CLASS_LOOKUP)
         val loadedClasses = vm.classesByName(classType.getInternalName())
         if (!loadedClasses.isEmpty()) {
             val loadedClass = loadedClasses[0]
             if (classType.getDescriptor() in BOOTSTRAP_CLASS_DESCRIPTORS || loadedClass.classLoader() == classLoader) {
-                return loadedClass.classObject().asValue()
+                return loadedClass
             }
         }
+        return null
+    }
+
+    private fun doLoadClass(classType: Type, classLoader: ClassLoaderReference?): Value {
         if (classLoader == null) {
             return invokeStaticMethod(
                     MethodDescription(
@@ -84,7 +121,28 @@ public class JDIEval(
         }
     }
 
-    override fun loadString(str: String): Value = vm.mirrorOf(str).asValue()
+    override fun loadString(str: String): Value {
+        val cached = strings[str]
+        if (cached != null) {
+            statistics.recordCacheHit()
+            return cached.asValue()
+        }
+
+        statistics.record(JdwpCallKind.MIRROR_CREATION)
+        val mirror = vm.mirrorOf(str)
+        // A cached string is used after other calls to the debuggee, it shouldn't be collected meanwhile
+        mirror.disableCollection()
+        strings[str] = mirror
+        return mirror.asValue()
+    }
+
+    /**
+     * Releases the debuggee objects kept by this evaluation. Should be called when the result of the evaluation is not needed anymore
+     */
+    public fun dispose() {
+        strings.values().forEach { it.enableCollection() }
+        strings.clear()
+    }
 
     override fun newInstance(classType: Type): Value {
         return NewObjectValue(classType)
@@ -107,11 +165,12 @@ public class JDIEval(
                 listOf(value)).boolean
     }
 
-    fun Type.asReferenceType(classLoader: ClassLoaderReference? = this@JDIEval.defaultClassLoader): ReferenceType = loadClass(this, classLoader).jdiClass!!.reflectedType()
+    fun Type.asReferenceType(classLoader: ClassLoaderReference? = this@JDIEval.defaultClassLoader): ReferenceType = findReferenceType(this, classLoader)
     fun Type.asArrayType(classLoader: ClassLoaderReference? = this@JDIEval.defaultClassLoader): ArrayType = asReferenceType(classLoader) as ArrayType
 
     override fun newArray(arrayType: Type, size: Int): Value {
         val jdiArrayType = arrayType.asArrayType()
+        statistics.record(JdwpCallKind.MIRROR_CREATION)
         return jdiArrayType.newInstance(size).asValue()
     }
 
@@ -141,10 +200,12 @@ public class JDIEval(
     private fun Value.array() = jdiObj.checkNull() as ArrayReference
 
     override fun getArrayLength(array: Value): Value {
+        statistics.record(JdwpCallKind.ARRAY_ACCESS)
         return int(array.array().length())
     }
 
     override fun getArrayElement(array: Value, index: Value): Value {
+        statistics.record(JdwpCallKind.ARRAY_ACCESS)
         try {
             return array.array().getValue(index.int).asValue()
         }
@@ -154,6 +215,7 @@ public class JDIEval(
     }
 
     override fun setArrayElement(array: Value, index: Value, newValue: Value) {
+        statistics.record(JdwpCallKind.ARRAY_ACCESS)
         try {
             return array.array().setValue(index.int, newValue.asJdiValue(vm, array.asmType.arrayElementType))
         }
@@ -162,12 +224,19 @@ public class JDIEval(
         }
     }
 
-    private fun findField(fieldDesc: FieldDescription): Field {
-        val _class = fieldDesc.ownerType.asReferenceType()
+    private fun findField(fieldDesc: FieldDescription, _class: ReferenceType = fieldDesc.ownerType.asReferenceType()): Field {
+        val key = Pair(_class, fieldDesc.name)
+        fields[key]?.let {
+            statistics.recordCacheHit()
+            return it
+        }
+
+        statistics.record(JdwpCallKind.MEMBER_LOOKUP)
         val field = _class.fieldByName(fieldDesc.name)
         if (field == null) {
             throwBrokenCodeException(NoSuchFieldError("Field not found: $fieldDesc"))
         }
+        fields[key] = field
         return field
     }
 
@@ -181,6 +250,7 @@ public class JDIEval(
 
     override fun getStaticField(fieldDesc: FieldDescription): Value {
         val field = findStaticField(fieldDesc)
+        statistics.record(JdwpCallKind.FIELD_ACCESS)
         return mayThrow { field.declaringType().getValue(field) }.asValue()
     }
 
@@ -197,16 +267,42 @@ public class JDIEval(
         }
 
         val jdiValue = newValue.asJdiValue(vm, field.type().asType())
+        statistics.record(JdwpCallKind.FIELD_ACCESS)
         mayThrow { _class.setValue(field, jdiValue) }
     }
 
+    // JDI ignores access modifiers, so the interpreted code can use the members which are not accessible to a class loaded in the debuggee.
+    // These checks don't load classes, since loading may initialize a class in the debuggee: a class which is not loaded yet is not accessible
+    fun isAccessibleFromAnyClass(classType: Type): Boolean {
+        return when (classType.getSort()) {
+            Type.ARRAY -> isAccessibleFromAnyClass(classType.getElementType())
+            Type.OBJECT -> findLoadedReferenceType(classType, defaultClassLoader)?.isPublic() ?: false
+            else -> true
+        }
+    }
+
+    fun isAccessibleFromAnyClass(fieldDesc: FieldDescription): Boolean {
+        val _class = findLoadedReferenceType(fieldDesc.ownerType, defaultClassLoader) ?: return false
+        val field = findField(fieldDesc, _class)
+        return field.isPublic() && field.declaringType().isPublic()
+    }
+
+    fun isAccessibleFromAnyClass(methodDesc: MethodDescription): Boolean {
+        val _class = findLoadedReferenceType(methodDesc.ownerType, defaultClassLoader) ?: return false
+        val method = findMethod(methodDesc, _class)
+        return method.isPublic() && method.declaringType().isPublic()
+    }
+
     private fun findMethod(methodDesc: MethodDescription, _class: ReferenceType = methodDesc.ownerType.asReferenceType()): Method {
-        val method = when (_class) {
-            is ClassType -> {
-                val m = _class.concreteMethodByName(methodDesc.name, methodDesc.desc)
-                if (m == null) listOf() else listOf(m)
+        val method = methods.getOrPut(Triple(_class, methodDesc.name, methodDesc.desc)) {
+            statistics.record(JdwpCallKind.MEMBER_LOOKUP)
+            when (_class) {
+                is ClassType -> {
+                    val m = _class.concreteMethodByName(methodDesc.name, methodDesc.desc)
+                    if (m == null) listOf() else listOf(m)
+                }
+                else -> _class.methodsByName(methodDesc.name, methodDesc.desc)
             }
-            else -> _class.methodsByName(methodDesc.name, methodDesc.desc)
         }
         if (method.isEmpty()) {
             throwBrokenCodeException(NoSuchMethodError("Method not found: $methodDesc"))
@@ -224,6 +320,7 @@ public class JDIEval(
 
         val args = mapArguments(arguments, method.safeArgumentTypes())
         args.disableCollection()
+        statistics.record(JdwpCallKind.INVOCATION)
         val result = mayThrow { _class.invokeMethod(thread, method, args, invokePolicy) }
         args.enableCollection()
         return result.asValue()
@@ -233,6 +330,7 @@ public class JDIEval(
         val field = findField(fieldDesc)
         val obj = instance.jdiObj.checkNull()
 
+        statistics.record(JdwpCallKind.FIELD_ACCESS)
         return mayThrow { obj.getValue(field) }.asValue()
     }
 
@@ -241,6 +339,7 @@ public class JDIEval(
         val obj = instance.jdiObj.checkNull()
 
         val jdiValue = newValue.asJdiValue(vm, field.type().asType())
+        statistics.record(JdwpCallKind.FIELD_ACCESS)
         mayThrow { obj.setValue(field, jdiValue) }
     }
 
@@ -281,6 +380,7 @@ public class JDIEval(
             val _class = (instance as NewObjectValue).asmType.asReferenceType() as ClassType
             val args = mapArguments(arguments, ctor.safeArgumentTypes())
             args.disableCollection()
+            statistics.record(JdwpCallKind.INVOCATION)
             val result = mayThrow { _class.newInstance(thread, ctor, args, invokePolicy) }
             args.enableCollection()
             instance.value = result
@@ -290,6 +390,7 @@ public class JDIEval(
         fun doInvokeMethod(obj: ObjectReference, method: Method, policy: Int): Value {
             val args = mapArguments(arguments, method.safeArgumentTypes())
             args.disableCollection()
+            statistics.record(JdwpCallKind.INVOCATION)
             val result = mayThrow { obj.invokeMethod(thread, method, args, policy) }
             args.enableCollection()
             return result.asValue()
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.eval4j.jdi
+
+import com.sun.jdi.ClassLoaderReference
+import com.sun.jdi.ReferenceType
+import com.sun.jdi.VirtualMachine
+import org.jetbrains.org.objectweb.asm.Type
+import java.util.EnumMap
+import java.util.concurrent.ConcurrentHashMap
+import com.sun.jdi.Type as jdi_Type
+
+/**
+ * Mirrors which stay valid for the whole lifetime of a debuggee VM and can be shared by all evaluations in it.
+ *
+ * The cache references the VM through its mirrors, so it should be kept by the debug session and dropped with it.
+ *
+ * Only reference types are cached here: redefinition of a class keeps its ReferenceType mirror, while Method and Field
+ * mirrors of the old class version become obsolete, so members are cached per evaluation in [JDIEval]
+ */
+public class JDIMirrorCache(vm: VirtualMachine) {
+    private data class ClassKey(val internalName: String, val classLoader: ClassLoaderReference?)
+
+    private val referenceTypes = ConcurrentHashMap<ClassKey, ReferenceType>()
+
+    val primitiveTypes: Map<String, jdi_Type> = mapOf(
+            Type.BOOLEAN_TYPE.getClassName() to vm.mirrorOf(true).type(),
+            Type.BYTE_TYPE.getClassName() to vm.mirrorOf(1.toByte()).type(),
+            Type.SHORT_TYPE.getClassName() to vm.mirrorOf(1.toShort()).type(),
+            Type.INT_TYPE.getClassName() to vm.mirrorOf(1.toInt()).type(),
+            Type.CHAR_TYPE.getClassName() to vm.mirrorOf('1').type(),
+            Type.LONG_TYPE.getClassName() to vm.mirrorOf(1L).type(),
+            Type.FLOAT_TYPE.getClassName() to vm.mirrorOf(1.0f).type(),
+            Type.DOUBLE_TYPE.getClassName() to vm.mirrorOf(1.0).type()
+    )
+
+    fun getReferenceType(classType: Type, classLoader: ClassLoaderReference?): ReferenceType? {
+        return referenceTypes[ClassKey(classType.getInternalName(), classLoader)]
+    }
+
+    fun putReferenceType(classType: Type, classLoader: ClassLoaderReference?, referenceType: ReferenceType) {
+        referenceTypes[ClassKey(classType.getInternalName(), classLoader)] = referenceType
+    }
+}
+
+public enum class JdwpCallKind {
+    CLASS_LOOKUP,
+    MEMBER_LOOKUP,
+    INVOCATION,
+    FIELD_ACCESS,
+    ARRAY_ACCESS,
+    MIRROR_CREATION
+}
+
+/**
+ * Number of requests to the debuggee made by one [JDIEval], approximated by the JDI calls which need a JDWP round trip
+ */
+public class JdwpCallStatistics {
+    private val counts = EnumMap<JdwpCallKind, Int>(javaClass<JdwpCallKind>())
+
+    public var cacheHits: Int = 0
+        private set
+
+    public val totalCalls: Int
+        get() = counts.values().sum()
+
+    public fun get(kind: JdwpCallKind): Int = counts[kind] ?: 0
+
+    fun record(kind: JdwpCallKind) {
+        counts[kind] = get(kind) + 1
+    }
+
+    fun recordCacheHit() {
+        cacheHits++
+    }
+
+    override fun toString(): String {
+        return "JDWP calls: $totalCalls (" + JdwpCallKind.values().map { "$it: ${get(it)}" }.joinToString() + "), cache hits: $cacheHits"
+    }
+}
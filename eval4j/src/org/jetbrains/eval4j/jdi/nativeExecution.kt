@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.eval4j.jdi
+
+import org.jetbrains.eval4j.*
+import org.jetbrains.eval4j.ExceptionThrown.ExceptionKind
+import org.jetbrains.org.objectweb.asm.Opcodes.*
+import org.jetbrains.org.objectweb.asm.Type
+import org.jetbrains.org.objectweb.asm.tree.*
+
+/**
+ * Checks whether [methodNode], which is already loaded to the debuggee, may be invoked there instead of being interpreted.
+ *
+ * Interpretation needs a request to the debuggee for almost every instruction, so running natively pays off for the code with loops.
+ * The interpreted code accesses the debuggee through JDI which ignores access modifiers, so a method is run natively
+ * only if all the classes and members it uses are public or belong to [fragmentClasses], i.e. were compiled together with it.
+ * The check doesn't load classes in the debuggee, since loading may run static initializers, so a class which is not loaded yet
+ * is treated as inaccessible and the method is interpreted
+ */
+public fun JDIEval.canRunNatively(methodNode: MethodNode, fragmentClasses: Set<String>): Boolean {
+    val instructions = methodNode.instructions
+    if (!instructions.toArray().any { it is JumpInsnNode && instructions.indexOf(it.label) < instructions.indexOf(it) }) {
+        return false
+    }
+
+    fun isAccessible(type: Type): Boolean {
+        val elementType = if (type.getSort() == Type.ARRAY) type.getElementType() else type
+        return elementType.getSort() != Type.OBJECT || elementType.getInternalName() in fragmentClasses || isAccessibleFromAnyClass(elementType)
+    }
+
+    try {
+        for (insn in instructions.toArray()) {
+            val accessible = when (insn) {
+                is InvokeDynamicInsnNode -> false
+                is MethodInsnNode -> insn.owner in fragmentClasses || insn.owner.startsWith("[") ||
+                                     isAccessibleFromAnyClass(MethodDescription(insn))
+                is FieldInsnNode -> insn.owner in fragmentClasses || isAccessibleFromAnyClass(FieldDescription(insn))
+                is TypeInsnNode -> isAccessible(Type.getObjectType(insn.desc))
+                is MultiANewArrayInsnNode -> isAccessible(Type.getType(insn.desc))
+                is LdcInsnNode -> (insn.cst as? Type)?.let { isAccessible(it) } ?: true
+                else -> insn.getOpcode() != MONITORENTER && insn.getOpcode() != MONITOREXIT
+            }
+            if (!accessible) return false
+        }
+    }
+    catch (e: ThrownFromEvalExceptionBase) {
+        // The member couldn't be found, the interpreter will report it properly
+        return false
+    }
+    catch (e: ThrownFromEvaluatedCodeException) {
+        return false
+    }
+
+    return true
+}
+
+/**
+ * Invokes [methodNode] of [ownerType] in the debuggee and reports the result in the same way as [interpreterLoop]
+ */
+public fun JDIEval.invokeNatively(ownerType: Type, methodNode: MethodNode, arguments: List<Value>): InterpreterResult {
+    val isStatic = (methodNode.access and ACC_STATIC) != 0
+    try {
+        val result = if (isStatic) {
+            invokeStaticMethod(MethodDescription(ownerType.getInternalName(), methodNode.name, methodNode.desc, true), arguments)
+        }
+        else {
+            invokeMethod(arguments[0], MethodDescription(ownerType.getInternalName(), methodNode.name, methodNode.desc, false), arguments.drop(1))
+        }
+        return ValueReturned(result)
+    }
+    catch (e: ThrownFromEvaluatedCodeException) {
+        return ExceptionThrown(e.exception, ExceptionKind.FROM_EVALUATED_CODE)
+    }
+    catch (e: ThrownFromEvalExceptionBase) {
+        val exception = e.getCause()!!
+        val exceptionKind = if (e is BrokenCode) ExceptionKind.BROKEN_CODE else ExceptionKind.FROM_EVALUATOR
+        return ExceptionThrown(ObjectValue(exception, Type.getType(exception.javaClass)), exceptionKind)
+    }
+}
@@ -28,6 +28,7 @@ import org.jetbrains.eval4j.jdi.*
 import java.io.File
 import org.jetbrains.org.objectweb.asm.Opcodes
 import org.jetbrains.org.objectweb.asm.Type
+import org.jetbrains.org.objectweb.asm.tree.*
 import org.jetbrains.eval4j.test.getTestName
 import com.sun.jdi.ObjectReference
 import com.sun.jdi.event.BreakpointEvent
@@ -99,6 +100,7 @@ fun suite(): TestSuite {
     latch.await()
 
     var remainingTests = AtomicInteger(0)
+    val mirrorCache = JDIMirrorCache(vm)
 
     val suite = buildTestSuite {
         methodNode, ownerClass, expected ->
@@ -106,7 +108,7 @@ fun suite(): TestSuite {
         object : TestCase(getTestName(methodNode.name)) {
 
             override fun runTest() {
-                val eval = JDIEval(vm, classLoader!!, thread!!, 0)
+                val eval = JDIEval(vm, classLoader!!, thread!!, 0, mirrorCache)
 
                 val args = if ((methodNode.access and Opcodes.ACC_STATIC) == 0) {
                     // Instance method
@@ -138,7 +140,7 @@ fun suite(): TestSuite {
 
                 }
 
-                try {
+                fun checkResult(value: InterpreterResult) {
                     if (expected is ValueReturned && value is ValueReturned && value.result is ObjectValue) {
                         assertEquals(expected.result.obj().toString(), value.result.jdiObj.callToString())
                     }
@@ -151,7 +153,18 @@ fun suite(): TestSuite {
                         assertEquals(expected, value)
                     }
                 }
+
+                try {
+                    checkResult(value)
+
+                    // The test class is already loaded in the debuggee, so the method can be invoked there directly
+                    val ownerType = Type.getType(ownerClass)
+                    if (eval.canRunNatively(methodNode, setOf(ownerType.getInternalName()))) {
+                        checkResult(eval.invokeNatively(ownerType, methodNode, args))
+                    }
+                }
                 finally {
+                    eval.dispose()
                     if (remainingTests.decrementAndGet() == 0) vm.resume()
                 }
 
@@ -159,5 +172,60 @@ fun suite(): TestSuite {
         }
     }
 
+    remainingTests.incrementAndGet()
+    suite.addTest(object : TestCase("mirrorCacheIsSharedByEvaluations") {
+        override fun runTest() {
+            val debugeeType = Type.getType(DEBUGEE_CLASS)
+            val sharedCache = JDIMirrorCache(vm)
+            val first = JDIEval(vm, classLoader!!, thread!!, 0, sharedCache)
+            val second = JDIEval(vm, classLoader!!, thread!!, 0, sharedCache)
+            val isolated = JDIEval(vm, classLoader!!, thread!!, 0)
+            try {
+                first.loadClass(debugeeType)
+                assertEquals(1, first.statistics.get(JdwpCallKind.CLASS_LOOKUP))
+                assertEquals(0, first.statistics.cacheHits)
+
+                second.loadClass(debugeeType)
+                assertEquals(0, second.statistics.get(JdwpCallKind.CLASS_LOOKUP))
+                assertEquals(1, second.statistics.cacheHits)
+                assertEquals(first.loadClass(debugeeType).jdiObj, second.loadClass(debugeeType).jdiObj)
+
+                isolated.loadClass(debugeeType)
+                assertEquals(1, isolated.statistics.get(JdwpCallKind.CLASS_LOOKUP))
+                assertEquals(0, isolated.statistics.cacheHits)
+            }
+            finally {
+                first.dispose()
+                second.dispose()
+                isolated.dispose()
+                if (remainingTests.decrementAndGet() == 0) vm.resume()
+            }
+        }
+    })
+
+    remainingTests.incrementAndGet()
+    suite.addTest(object : TestCase("canRunNativelyDoesNotLoadClasses") {
+        override fun runTest() {
+            val notLoadedClass = Type.getType(javaClass<NotLoadedInDebugee>())
+            // A loop which reads a static field of the class
+            val methodNode = MethodNode(Opcodes.ACC_PUBLIC or Opcodes.ACC_STATIC, "loop", "()V", null, null)
+            val loopStart = LabelNode()
+            methodNode.instructions.add(loopStart)
+            methodNode.instructions.add(FieldInsnNode(Opcodes.GETSTATIC, notLoadedClass.getInternalName(), "VALUE", "I"))
+            methodNode.instructions.add(InsnNode(Opcodes.POP))
+            methodNode.instructions.add(JumpInsnNode(Opcodes.GOTO, loopStart))
+
+            val eval = JDIEval(vm, classLoader!!, thread!!, 0)
+            try {
+                assertFalse(eval.canRunNatively(methodNode, setOf()))
+                assertTrue(vm.classesByName(notLoadedClass.getClassName()).isEmpty())
+            }
+            finally {
+                eval.dispose()
+                if (remainingTests.decrementAndGet() == 0) vm.resume()
+            }
+        }
+    })
+
     return suite
-}
\ No newline at end of file
+}
@@ -210,6 +210,10 @@ fun main(args: Array<String>) {
             model("codegen/boxAgainstJava", testMethod = "doTestAgainstJava")
         }
 
+        testClass<AbstractBlackBoxCodegenTest>("BlackBoxAgainstJavaClassFilesCodegenTestGenerated") {
+            model("codegen/boxAgainstJava", testMethod = "doTestAgainstJavaClassFiles")
+        }
+
         testClass<AbstractBlackBoxCodegenTest>("BlackBoxWithJavaCodegenTestGenerated") {
             model("codegen/boxWithJava", testMethod = "doTestWithJava", extension = null, recursive = true, excludeParentDirs = true)
         }
@@ -261,6 +265,13 @@ fun main(args: Array<String>) {
             model("loadJava/sourceJava", extension = "java", testMethod = "doTestSourceJava")
         }
 
+        testClass<AbstractLoadJavaUsingClassFilesTest>() {
+            model("loadJava/compiledJava", extension = "java", testMethod = "doTestCompiledJava")
+            model("loadJava/compiledJavaAndKotlin", extension = "txt", testMethod = "doTestCompiledJavaAndKotlin")
+            model("loadJava/compiledJavaIncludeObjectMethods", extension = "java", testMethod = "doTestCompiledJavaIncludeObjectMethods")
+            model("loadJava/kotlinAgainstCompiledJavaWithKotlin", extension = "kt", testMethod = "doTestKotlinAgainstCompiledJavaWithKotlin", recursive = false)
+        }
+
         testClass<AbstractLoadKotlinWithTypeTableTest>() {
             model("loadJava/compiledKotlin")
         }
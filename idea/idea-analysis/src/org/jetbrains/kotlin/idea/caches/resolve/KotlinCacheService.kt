@@ -23,7 +23,6 @@ import com.intellij.openapi.roots.ProjectRootModificationTracker
 import com.intellij.psi.util.CachedValueProvider
 import com.intellij.psi.util.CachedValuesManager
 import com.intellij.psi.util.PsiModificationTracker
-import com.intellij.util.containers.SLRUCache
 import org.jetbrains.kotlin.analyzer.EmptyResolverForProject
 import org.jetbrains.kotlin.container.getService
 import org.jetbrains.kotlin.idea.project.AnalyzerFacadeProvider
@@ -44,6 +43,8 @@ public class KotlinCacheService(val project: Project) {
     companion object {
         @JvmStatic
         public fun getInstance(project: Project): KotlinCacheService = ServiceManager.getService(project, javaClass<KotlinCacheService>())!!
+
+        private val MAX_INCREMENTAL_LAYERS = 20
     }
 
     public fun getResolutionFacade(elements: List<KtElement>): ResolutionFacade {
@@ -52,7 +53,9 @@ public class KotlinCacheService(val project: Project) {
 
     private val globalFacadesPerPlatform = listOf(JvmPlatform, JsPlatform).keysToMap { platform -> GlobalFacade(platform) }
 
-    private inner class GlobalFacade(platform: TargetPlatform) {
+    public val resolverRebuildStatistics: ResolverRebuildStatistics = ResolverRebuildStatistics()
+
+    private inner class GlobalFacade(private val platform: TargetPlatform) {
         val facadeForLibraries = ProjectResolutionFacade(project) {
             globalResolveSessionProvider(
                     "project libraries for platform $platform",
@@ -68,16 +71,104 @@ public class KotlinCacheService(val project: Project) {
         }
 
         val facadeForModules = ProjectResolutionFacade(project) {
-            globalResolveSessionProvider(
-                    "project source roots and libraries for platform $platform",
-                    project,
-                    platform,
-                    reuseDataFrom = facadeForLibraries,
-                    moduleFilter = { !it.isLibraryClasses() },
-                    dependencies = listOf(PsiModificationTracker.OUT_OF_CODE_BLOCK_MODIFICATION_COUNT))
+            computeResolverProviderForModules()
+        }
+
+        // The previous state is read and replaced under this lock, so that each computation builds on the result of the previous one
+        private val resolverForModulesLock = Any()
+        private var lastResolverForModules: ResolverForModulesState? = null
+
+        private fun computeResolverProviderForModules(): CachedValueProvider.Result<ModuleResolverProvider> {
+            return synchronized(resolverForModulesLock) {
+                doComputeResolverProviderForModules()
+            }
+        }
+
+        private fun doComputeResolverProviderForModules(): CachedValueProvider.Result<ModuleResolverProvider> {
+            val modificationTracker = KotlinModuleModificationTracker.getInstance(project)
+            val stamp = modificationTracker.modificationStamp
+            val librariesResolverProvider = facadeForLibraries.moduleResolverProvider
+            val dependencies = listOf(
+                    PsiModificationTracker.OUT_OF_CODE_BLOCK_MODIFICATION_COUNT,
+                    LibraryModificationTracker.getInstance(project),
+                    ProjectRootModificationTracker.getInstance(project)
+            )
+
+            val previous = lastResolverForModules
+            val modifiedModules = if (previous != null && previous.canBeReused(librariesResolverProvider)) {
+                modificationTracker.getModulesModifiedSince(previous.stamp)
+            }
+            else null
+
+            val startTime = System.currentTimeMillis()
+            val (kind, description, result) = when {
+                previous == null || modifiedModules == null -> Triple(
+                        ResolverRebuildStatistics.RebuildKind.FULL,
+                        "project source roots and libraries for platform $platform",
+                        globalResolveSessionProvider(
+                                "project source roots and libraries for platform $platform",
+                                project,
+                                platform,
+                                reuseDataFrom = librariesResolverProvider,
+                                moduleFilter = { !it.isLibraryClasses() },
+                                dependencies = dependencies
+                        )
+                )
+
+                modifiedModules.isEmpty() -> Triple(
+                        ResolverRebuildStatistics.RebuildKind.REUSED,
+                        "no modules modified for platform $platform",
+                        CachedValueProvider.Result.create(previous.resolverProvider, dependencies + previous.resolverProvider.exceptionTracker)
+                )
+
+                else -> {
+                    val affectedModules = modifiedModules.getTransitiveDependentModules()
+                    val debugName = "modules affected by modification of ${modifiedModules.joinToString()} for platform $platform"
+                    Triple(
+                            ResolverRebuildStatistics.RebuildKind.INCREMENTAL,
+                            "${affectedModules.size()} module(s) affected by modification of ${modifiedModules.joinToString()} for platform $platform",
+                            // Resolvers of the modules which don't see the modified ones are taken from the previous resolver
+                            globalResolveSessionProvider(
+                                    debugName,
+                                    project,
+                                    platform,
+                                    reuseDataFrom = previous.resolverProvider,
+                                    moduleFilter = { it in affectedModules },
+                                    dependencies = dependencies
+                            )
+                    )
+                }
+            }
+            val time = System.currentTimeMillis() - startTime
+
+            resolverRebuildStatistics.record(kind, time, description)
+            LOG.debug("Resolvers rebuilt ($kind in $time ms): $description")
+
+            val provider = result.value
+            lastResolverForModules = when (kind) {
+                ResolverRebuildStatistics.RebuildKind.FULL -> ResolverForModulesState(provider, librariesResolverProvider, stamp, 0)
+                ResolverRebuildStatistics.RebuildKind.INCREMENTAL -> ResolverForModulesState(provider, librariesResolverProvider, stamp, previous!!.layers + 1)
+                ResolverRebuildStatistics.RebuildKind.REUSED -> previous!!.copy(stamp = stamp)
+            }
+
+            return result
         }
     }
 
+    // Incrementally rebuilt resolvers delegate to the previous ones, so the whole chain is rebuilt from time to time to release memory
+    private data class ResolverForModulesState(
+            val resolverProvider: ModuleResolverProvider,
+            val librariesResolverProvider: ModuleResolverProvider,
+            val stamp: Long,
+            val layers: Int,
+            val exceptionCount: Long = resolverProvider.exceptionTracker.modificationCount
+    ) {
+        fun canBeReused(currentLibrariesResolverProvider: ModuleResolverProvider): Boolean =
+                librariesResolverProvider === currentLibrariesResolverProvider &&
+                exceptionCount == resolverProvider.exceptionTracker.modificationCount &&
+                layers < MAX_INCREMENTAL_LAYERS
+    }
+
     @Deprecated("Use JetElement.getResolutionFacade(), please avoid introducing new usages")
     public fun <T : Any> getProjectService(platform: TargetPlatform, ideaModuleInfo: IdeaModuleInfo, serviceClass: Class<T>): T {
         return globalFacade(platform).resolverForModuleInfo(ideaModuleInfo).componentProvider.getService(serviceClass)
@@ -98,6 +189,7 @@ public class KotlinCacheService(val project: Project) {
         val debugName = "completion/highlighting in $syntheticFileModule for files ${files.joinToString { it.name }} for platform $targetPlatform"
         return when {
             syntheticFileModule is ModuleSourceInfo -> {
+                // The dependents are rebuilt too: they include the modules in a dependency cycle with this one and its test source info
                 val dependentModules = syntheticFileModule.getDependentModules()
                 ProjectResolutionFacade(project) {
                     globalResolveSessionProvider(
@@ -105,7 +197,7 @@ public class KotlinCacheService(val project: Project) {
                             project,
                             targetPlatform,
                             syntheticFiles = files,
-                            reuseDataFrom = globalFacade(targetPlatform),
+                            reuseDataFrom = globalFacade(targetPlatform).moduleResolverProvider,
                             moduleFilter = { it in dependentModules },
                             dependencies = dependenciesForSyntheticFileCache
                     )
@@ -119,7 +211,7 @@ public class KotlinCacheService(val project: Project) {
                             project,
                             targetPlatform,
                             syntheticFiles = files,
-                            reuseDataFrom = librariesFacade(targetPlatform),
+                            reuseDataFrom = librariesFacade(targetPlatform).moduleResolverProvider,
                             moduleFilter = { it == syntheticFileModule },
                             dependencies = dependenciesForSyntheticFileCache
                     )
@@ -149,19 +241,18 @@ public class KotlinCacheService(val project: Project) {
 
     private val syntheticFileCachesLock = Any()
 
-    private val slruCacheProvider = CachedValueProvider {
-        CachedValueProvider.Result(object : SLRUCache<Set<KtFile>, ProjectResolutionFacade>(2, 3) {
-            override fun createValue(files: Set<KtFile>): ProjectResolutionFacade {
-                return createFacadeForSyntheticFiles(files)
-            }
-        }, LibraryModificationTracker.getInstance(project), ProjectRootModificationTracker.getInstance(project))
+    private val syntheticFilesCacheProvider = CachedValueProvider {
+        val cache = SyntheticFilesFacadeCache(SyntheticFilesFacadeCache.getBudgetKb(), resolverRebuildStatistics) {
+            createFacadeForSyntheticFiles(it)
+        }
+        CachedValueProvider.Result(cache, LibraryModificationTracker.getInstance(project), ProjectRootModificationTracker.getInstance(project))
     }
 
     private fun getFacadeForSyntheticFiles(files: Set<KtFile>): ProjectResolutionFacade {
         return synchronized(syntheticFileCachesLock) {
             //NOTE: computations inside createCacheForSyntheticFiles depend on project root structure
-            // so we additionally drop the whole slru cache on change
-            CachedValuesManager.getManager(project).getCachedValue(project, slruCacheProvider).get(files)
+            // so we additionally drop the whole cache on change
+            CachedValuesManager.getManager(project).getCachedValue(project, syntheticFilesCacheProvider).get(files)
         }
     }
 
@@ -197,13 +288,12 @@ private fun globalResolveSessionProvider(
         platform: TargetPlatform,
         dependencies: Collection<Any>,
         moduleFilter: (IdeaModuleInfo) -> Boolean,
-        reuseDataFrom: ProjectResolutionFacade? = null,
+        reuseDataFrom: ModuleResolverProvider? = null,
         syntheticFiles: Collection<KtFile> = listOf(),
         logProcessCanceled: Boolean = false
 ): CachedValueProvider.Result<ModuleResolverProvider> {
-    val delegateResolverProvider = reuseDataFrom?.moduleResolverProvider
-    val delegateResolverForProject = delegateResolverProvider?.resolverForProject ?: EmptyResolverForProject()
-    val globalContext = (delegateResolverProvider as? ModuleResolverProviderImpl)?.globalContext
+    val delegateResolverForProject = reuseDataFrom?.resolverForProject ?: EmptyResolverForProject()
+    val globalContext = (reuseDataFrom as? ModuleResolverProviderImpl)?.globalContext
                                 ?.withCompositeExceptionTrackerUnderSameLock()
                         ?: GlobalContext(logProcessCanceled)
 
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.idea.caches.resolve
+
+import com.intellij.openapi.components.ServiceManager
+import com.intellij.openapi.project.Project
+import com.intellij.psi.PsiManager
+import com.intellij.psi.PsiTreeChangeAdapter
+import com.intellij.psi.PsiTreeChangeEvent
+import com.intellij.psi.util.PsiModificationTracker
+import org.jetbrains.kotlin.idea.util.ProjectRootsUtil
+import org.jetbrains.kotlin.psi.KtFile
+import java.util.HashMap
+
+/**
+ * Attributes out-of-block modifications to the modules whose Kotlin sources were changed,
+ * so that resolvers of the other modules can be kept.
+ *
+ * Every out-of-block modification not coming from a Kotlin source file of some module (Java files, file renames, etc.)
+ * is considered to affect all modules
+ */
+public class KotlinModuleModificationTracker(project: Project) {
+    companion object {
+        @JvmStatic
+        public fun getInstance(project: Project): KotlinModuleModificationTracker =
+                ServiceManager.getService(project, javaClass<KotlinModuleModificationTracker>())!!
+    }
+
+    private val psiModificationTracker = PsiModificationTracker.SERVICE.getInstance(project)
+
+    private var stamp = 0L
+    private var lastSeenOutOfCodeBlockModificationCount = psiModificationTracker.outOfCodeBlockModificationCount
+    private var lastModificationOfAllModules = 0L
+    private val lastModificationByModule = HashMap<ModuleSourceInfo, Long>()
+
+    init {
+        PsiManager.getInstance(project).addPsiTreeChangeListener(object : PsiTreeChangeAdapter() {
+            override fun childAdded(event: PsiTreeChangeEvent) = processChange(event, attributable = true)
+            override fun childRemoved(event: PsiTreeChangeEvent) = processChange(event, attributable = true)
+            override fun childReplaced(event: PsiTreeChangeEvent) = processChange(event, attributable = true)
+            override fun childrenChanged(event: PsiTreeChangeEvent) = processChange(event, attributable = true)
+            override fun childMoved(event: PsiTreeChangeEvent) = processChange(event, attributable = false)
+            override fun propertyChanged(event: PsiTreeChangeEvent) = processChange(event, attributable = false)
+        }, project)
+    }
+
+    public val modificationStamp: Long
+        get() = synchronized(this) {
+            checkUnobservedModifications()
+            stamp
+        }
+
+    /**
+     * Returns the modules modified after [stamp] was obtained from [modificationStamp],
+     * or null if there were modifications which could affect any module
+     */
+    @Synchronized
+    public fun getModulesModifiedSince(stamp: Long): Set<ModuleSourceInfo>? {
+        checkUnobservedModifications()
+        if (lastModificationOfAllModules > stamp) return null
+
+        return lastModificationByModule.filterValues { it > stamp }.keySet()
+    }
+
+    // The out-of-block modification counter is incremented by tree change preprocessors before listeners are notified,
+    // so an increment since the previous event was caused by the change being reported
+    private fun processChange(event: PsiTreeChangeEvent, attributable: Boolean) {
+        val outOfCodeBlockModificationCount = psiModificationTracker.outOfCodeBlockModificationCount
+        synchronized(this) {
+            if (outOfCodeBlockModificationCount == lastSeenOutOfCodeBlockModificationCount) return
+            lastSeenOutOfCodeBlockModificationCount = outOfCodeBlockModificationCount
+
+            val file = event.file as? KtFile
+            val moduleInfo = if (attributable && file != null && ProjectRootsUtil.isInProjectSource(file)) {
+                file.getModuleInfo() as? ModuleSourceInfo
+            }
+            else null
+
+            if (moduleInfo != null) {
+                lastModificationByModule[moduleInfo] = ++stamp
+            }
+            else {
+                modifyAllModules()
+            }
+        }
+    }
+
+    private fun checkUnobservedModifications() {
+        val outOfCodeBlockModificationCount = psiModificationTracker.outOfCodeBlockModificationCount
+        if (outOfCodeBlockModificationCount != lastSeenOutOfCodeBlockModificationCount) {
+            lastSeenOutOfCodeBlockModificationCount = outOfCodeBlockModificationCount
+            modifyAllModules()
+        }
+    }
+
+    private fun modifyAllModules() {
+        lastModificationOfAllModules = ++stamp
+        // Modifications before this one can't change the result of getModulesModifiedSince anymore
+        lastModificationByModule.clear()
+    }
+}
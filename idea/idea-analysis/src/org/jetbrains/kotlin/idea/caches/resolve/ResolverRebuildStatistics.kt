@@ -0,0 +1,83 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.idea.caches.resolve
+
+import java.util.EnumMap
+
+/**
+ * Counts rebuilds of the project-wide module resolvers in [KotlinCacheService] and the time spent setting them up,
+ * as well as hits and misses of the cache of facades for synthetic files
+ */
+public class ResolverRebuildStatistics {
+    public enum class RebuildKind {
+        // All module resolvers were recreated
+        FULL,
+        // Only resolvers of the modified modules and their dependents were recreated
+        INCREMENTAL,
+        // No module was affected by the modification, the resolvers were kept
+        REUSED
+    }
+
+    private val counts = EnumMap<RebuildKind, Int>(javaClass<RebuildKind>())
+    private val times = EnumMap<RebuildKind, Long>(javaClass<RebuildKind>())
+    private var lastRebuild: String? = null
+
+    @Volatile public var syntheticFilesCacheHits: Int = 0
+        private set
+
+    @Volatile public var syntheticFilesCacheMisses: Int = 0
+        private set
+
+    @Volatile public var syntheticFilesCacheEvictions: Int = 0
+        private set
+
+    @Synchronized
+    public fun record(kind: RebuildKind, timeMs: Long, description: String) {
+        counts[kind] = getCount(kind) + 1
+        times[kind] = getTimeMs(kind) + timeMs
+        lastRebuild = "$kind in $timeMs ms: $description"
+    }
+
+    @Synchronized
+    fun recordSyntheticFilesCacheHit() {
+        syntheticFilesCacheHits++
+    }
+
+    @Synchronized
+    fun recordSyntheticFilesCacheMiss() {
+        syntheticFilesCacheMisses++
+    }
+
+    @Synchronized
+    fun recordSyntheticFilesCacheEviction() {
+        syntheticFilesCacheEvictions++
+    }
+
+    @Synchronized
+    public fun getCount(kind: RebuildKind): Int = counts[kind] ?: 0
+
+    @Synchronized
+    public fun getTimeMs(kind: RebuildKind): Long = times[kind] ?: 0L
+
+    @Synchronized
+    override fun toString(): String {
+        val lines = RebuildKind.values().map { "$it: ${getCount(it)} rebuild(s), ${getTimeMs(it)} ms" }
+        val syntheticFilesCache = "Synthetic files cache: $syntheticFilesCacheHits hit(s), $syntheticFilesCacheMisses miss(es), " +
+                                  "$syntheticFilesCacheEvictions eviction(s)"
+        return (lines + "Last: ${lastRebuild ?: "none"}" + syntheticFilesCache).joinToString("\n")
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.idea.caches.resolve
+
+import org.jetbrains.kotlin.psi.KtFile
+import java.util.LinkedHashMap
+
+/**
+ * LRU cache of resolution facades for synthetic files limited by the estimated memory of the facades rather than by their number.
+ *
+ * The memory is mostly taken by the analysis results of the synthetic files, so the estimate grows with their text length.
+ * The budget (in kilobytes) can be changed with the [BUDGET_PROPERTY] system property.
+ * Not thread-safe, access is guarded by the caller
+ */
+public class SyntheticFilesFacadeCache<F : Any>(
+        private val budgetKb: Long,
+        private val statistics: ResolverRebuildStatistics,
+        private val createFacade: (Set<KtFile>) -> F
+) {
+    companion object {
+        public val BUDGET_PROPERTY: String = "kotlin.synthetic.files.cache.budget.kb"
+
+        private val DEFAULT_BUDGET_KB = 16L * 1024
+
+        // The weights are rough guesses rather than measurements, the retained size of a facade can't be computed cheaply.
+        // A facade has its own resolver for the module of the synthetic files: a container of a few hundred components
+        // with lazy scopes and the descriptors resolved for that module, which is assumed to take a few hundred kilobytes.
+        // The analysis results of a file (AST, PSI, binding context entries and descriptors) are assumed to take
+        // a few dozen bytes per character of its text. With these numbers the default budget keeps about 60 facades
+        // for short code fragments, or about 10 facades for files of 20 000 characters.
+        private val FACADE_BASE_WEIGHT_KB = 256L
+        private val WEIGHT_PER_CHARACTER_BYTES = 64L
+
+        public fun getBudgetKb(): Long = java.lang.Long.getLong(BUDGET_PROPERTY, DEFAULT_BUDGET_KB)
+
+        public fun estimateWeightKb(files: Set<KtFile>): Long {
+            val textLength = files.fold(0L) { length, file -> length + file.getTextLength() }
+            return FACADE_BASE_WEIGHT_KB + textLength * WEIGHT_PER_CHARACTER_BYTES / 1024
+        }
+    }
+
+    private class Entry<F>(val facade: F, val weightKb: Long)
+
+    // Access order, the least recently used entry goes first
+    private val entries = LinkedHashMap<Set<KtFile>, Entry<F>>(16, 0.75f, true)
+    private var totalWeightKb = 0L
+
+    public fun get(files: Set<KtFile>): F {
+        val cached = entries[files]
+        if (cached != null) {
+            statistics.recordSyntheticFilesCacheHit()
+            return cached.facade
+        }
+
+        statistics.recordSyntheticFilesCacheMiss()
+        val entry = Entry(createFacade(files), estimateWeightKb(files))
+        entries[files] = entry
+        totalWeightKb += entry.weightKb
+        evict()
+        return entry.facade
+    }
+
+    // The most recently used entry is kept even if it alone exceeds the budget
+    private fun evict() {
+        val iterator = entries.values().iterator()
+        while (totalWeightKb > budgetKb && entries.size() > 1) {
+            val eldest = iterator.next()
+            iterator.remove()
+            totalWeightKb -= eldest.weightKb
+            statistics.recordSyntheticFilesCacheEviction()
+        }
+    }
+}
@@ -40,6 +40,22 @@ public fun ModuleSourceInfo.getDependentModules(): Set<ModuleSourceInfo> {
     }
 }
 
+// Modules which may see declarations of the given modules directly or through other modules
+public fun Collection<ModuleSourceInfo>.getTransitiveDependentModules(): Set<ModuleSourceInfo> {
+    val result = HashSet<ModuleSourceInfo>(this)
+    val walkingQueue = Queue<ModuleSourceInfo>(10)
+    forEach { walkingQueue.addLast(it) }
+
+    while (!walkingQueue.isEmpty()) {
+        for (dependent in walkingQueue.pullFirst()!!.getDependentModules()) {
+            if (result.add(dependent)) {
+                walkingQueue.addLast(dependent)
+            }
+        }
+    }
+    return result
+}
+
 //NOTE: getDependents adapted from com.intellij.openapi.module.impl.scopes.ModuleWithDependentsScope#buildDependents()
 private fun getDependents(module: Module): Set<Module> {
     val result = THashSet<Module>()
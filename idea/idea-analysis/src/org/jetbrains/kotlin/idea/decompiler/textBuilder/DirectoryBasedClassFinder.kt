@@ -34,17 +34,37 @@ import org.jetbrains.kotlin.serialization.deserialization.NameResolver
 import org.jetbrains.kotlin.serialization.js.KotlinJavascriptSerializationUtil
 import org.jetbrains.kotlin.serialization.js.toClassData
 import org.jetbrains.kotlin.serialization.jvm.JvmProtoBufUtil
+import java.util.HashMap
 
+/**
+ * Finds Kotlin classes in the directory of the package being decompiled.
+ *
+ * An instance is created for building the text or the stub of a single file, so the found classes are remembered:
+ * the same class is requested for its own data and then for the annotations of each of its members
+ */
 class DirectoryBasedClassFinder(
         val packageDirectory: VirtualFile,
         val directoryPackageFqName: FqName
 ) : KotlinClassFinder {
+    private val foundClasses = HashMap<ClassId, KotlinJvmBinaryClass?>()
+
     override fun findKotlinClass(javaClass: JavaClass) = findKotlinClass(javaClass.classId)
 
     override fun findKotlinClass(classId: ClassId): KotlinJvmBinaryClass? {
         if (classId.getPackageFqName() != directoryPackageFqName) {
             return null
         }
+        synchronized(foundClasses) {
+            if (classId in foundClasses) return foundClasses[classId]
+        }
+        val kotlinClass = doFindKotlinClass(classId)
+        synchronized(foundClasses) {
+            foundClasses[classId] = kotlinClass
+        }
+        return kotlinClass
+    }
+
+    private fun doFindKotlinClass(classId: ClassId): KotlinJvmBinaryClass? {
         val targetName = classId.getRelativeClassName().pathSegments().joinToString("$", postfix = ".class")
         val virtualFile = packageDirectory.findChild(targetName)
         if (virtualFile != null && isKotlinWithCompatibleAbiVersion(virtualFile)) {
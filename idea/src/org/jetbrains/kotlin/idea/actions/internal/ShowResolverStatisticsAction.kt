@@ -0,0 +1,36 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.idea.actions.internal
+
+import com.intellij.openapi.actionSystem.AnAction
+import com.intellij.openapi.actionSystem.AnActionEvent
+import com.intellij.openapi.actionSystem.CommonDataKeys
+import com.intellij.openapi.ui.Messages
+import org.jetbrains.kotlin.idea.caches.resolve.KotlinCacheService
+
+public class ShowResolverStatisticsAction : AnAction() {
+    override fun actionPerformed(e: AnActionEvent) {
+        val project = CommonDataKeys.PROJECT.getData(e.getDataContext()) ?: return
+        val statistics = KotlinCacheService.getInstance(project).resolverRebuildStatistics
+        Messages.showInfoMessage(project, statistics.toString(), "Kotlin Resolver Statistics")
+    }
+
+    override fun update(e: AnActionEvent) {
+        e.getPresentation().setVisible(KotlinInternalMode.enabled)
+        e.getPresentation().setEnabled(KotlinInternalMode.enabled && CommonDataKeys.PROJECT.getData(e.getDataContext()) != null)
+    }
+}
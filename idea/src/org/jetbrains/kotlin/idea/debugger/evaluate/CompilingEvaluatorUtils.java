@@ -30,6 +30,7 @@ import org.jetbrains.org.objectweb.asm.Opcodes;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 // Copied from com.intellij.debugger.ui.impl.watch.CompilingEvaluator
 public class CompilingEvaluatorUtils {
@@ -67,9 +68,13 @@ public class CompilingEvaluatorUtils {
         ArrayType arrayClass = (ArrayType)process.findClass(context, "byte[]", context.getClassLoader());
         ArrayReference reference = process.newInstance(arrayClass, bytes.length);
         keep(reference, context);
-        for (int i = 0; i < bytes.length; i++) {
-            reference.setValue(i, ((VirtualMachineProxyImpl)process.getVirtualMachineProxy()).mirrorOf(bytes[i]));
+        VirtualMachineProxyImpl proxy = (VirtualMachineProxyImpl)process.getVirtualMachineProxy();
+        List<Value> values = new ArrayList<Value>(bytes.length);
+        for (byte b : bytes) {
+            values.add(proxy.mirrorOf(b));
         }
+        // One request to the debuggee instead of a request per byte
+        reference.setValues(values);
         return reference;
     }
 
@@ -28,6 +28,7 @@ import com.intellij.openapi.diagnostic.Attachment
 import com.intellij.openapi.diagnostic.Logger
 import com.intellij.openapi.progress.ProcessCanceledException
 import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.Key
 import com.intellij.openapi.vfs.CharsetToolkit
 import com.intellij.psi.JavaPsiFacade
 import com.intellij.psi.PsiDocumentManager
@@ -44,8 +45,11 @@ import com.sun.jdi.VirtualMachine
 import com.sun.jdi.request.EventRequest
 import org.jetbrains.eval4j.*
 import org.jetbrains.eval4j.jdi.JDIEval
+import org.jetbrains.eval4j.jdi.JDIMirrorCache
 import org.jetbrains.eval4j.jdi.asJdiValue
 import org.jetbrains.eval4j.jdi.asValue
+import org.jetbrains.eval4j.jdi.canRunNatively
+import org.jetbrains.eval4j.jdi.invokeNatively
 import org.jetbrains.eval4j.jdi.makeInitialFrame
 import org.jetbrains.kotlin.codegen.*
 import org.jetbrains.kotlin.codegen.binding.CodegenBinding
@@ -214,12 +218,15 @@ class KotlinEvaluator(val codeFragment: KtCodeFragment,
         private fun runEval4j(context: EvaluationContextImpl, compiledData: CompiledDataDescriptor): InterpreterResult {
             val virtualMachine = context.debugProcess.virtualMachineProxy.virtualMachine
 
-            if (compiledData.additionalClasses.isNotEmpty()) {
-                loadClasses(context, compiledData.additionalClasses)
-            }
-
             var resultValue: InterpreterResult? = null
             ClassReader(compiledData.bytecodes).accept(object : ClassVisitor(ASM5) {
+                private var className: String? = null
+
+                override fun visit(version: Int, access: Int, name: String, signature: String?, superName: String?, interfaces: Array<out String>?) {
+                    className = name
+                    super.visit(version, access, name, signature, superName, interfaces)
+                }
+
                 override fun visitMethod(access: Int, name: String, desc: String, signature: String?, exceptions: Array<out String>?): MethodVisitor? {
                     if (name == compiledData.funName) {
                         val argumentTypes = Type.getArgumentTypes(desc)
@@ -231,16 +238,7 @@ class KotlinEvaluator(val codeFragment: KtCodeFragment,
                                                   virtualMachine.eventRequestManager().classPrepareRequests()
                                 allRequests.forEach { it.disable() }
 
-                                val eval = JDIEval(virtualMachine,
-                                                   context.classLoader,
-                                                   context.suspendContext.thread?.threadReference!!,
-                                                   context.suspendContext.getInvokePolicy())
-
-                                resultValue = interpreterLoop(
-                                        this,
-                                        makeInitialFrame(this, args.zip(argumentTypes).map { boxOrUnboxArgumentIfNeeded(eval, it.first, it.second) }),
-                                        eval
-                                )
+                                resultValue = evaluate(context, compiledData, className!!, this, args)
 
                                 allRequests.forEach { it.enable() }
                             }
@@ -254,6 +252,69 @@ class KotlinEvaluator(val codeFragment: KtCodeFragment,
             return resultValue ?: throw IllegalStateException("resultValue is null: cannot find method ${compiledData.funName}")
         }
 
+        // The mirror cache is kept by the debug process, so it's dropped together with the debug session
+        private val MIRROR_CACHE_KEY: Key<JDIMirrorCache> = Key.create("KOTLIN_EVALUATOR_MIRROR_CACHE")
+
+        private fun createEval(context: EvaluationContextImpl): JDIEval {
+            val debugProcess = context.debugProcess
+            val vm = debugProcess.virtualMachineProxy.virtualMachine
+            var mirrorCache = debugProcess.getUserData(MIRROR_CACHE_KEY)
+            if (mirrorCache == null) {
+                mirrorCache = JDIMirrorCache(vm)
+                debugProcess.putUserData(MIRROR_CACHE_KEY, mirrorCache)
+            }
+
+            return JDIEval(vm,
+                           context.classLoader,
+                           context.suspendContext.thread?.threadReference!!,
+                           context.suspendContext.getInvokePolicy(),
+                           mirrorCache)
+        }
+
+        // Code with loops is run natively in the debuggee if it's possible, otherwise it's interpreted by eval4j
+        private fun evaluate(
+                context: EvaluationContextImpl,
+                compiledData: CompiledDataDescriptor,
+                className: String,
+                methodNode: MethodNode,
+                args: List<Value>
+        ): InterpreterResult {
+            val fragmentClasses = compiledData.additionalClasses.map { it.first.replace('.', '/') }.toSet() + className
+            val runNatively = createEval(context).let { eval ->
+                try {
+                    eval.canRunNatively(methodNode, fragmentClasses)
+                }
+                finally {
+                    eval.dispose()
+                }
+            }
+
+            if (runNatively) {
+                loadClasses(context, listOf(className.replace('/', '.') to compiledData.bytecodes) + compiledData.additionalClasses)
+            }
+            else if (compiledData.additionalClasses.isNotEmpty()) {
+                loadClasses(context, compiledData.additionalClasses)
+            }
+
+            val eval = createEval(context)
+            try {
+                val argumentTypes = Type.getArgumentTypes(methodNode.desc)
+                val arguments = args.zip(argumentTypes).map { boxOrUnboxArgumentIfNeeded(eval, it.first, it.second) }
+                return if (runNatively) {
+                    eval.invokeNatively(Type.getObjectType(className), methodNode, arguments)
+                }
+                else {
+                    interpreterLoop(methodNode, makeInitialFrame(methodNode, arguments), eval)
+                }
+            }
+            finally {
+                eval.dispose()
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Evaluated ${compiledData.funName}${if (runNatively) " natively" else ""}: ${eval.statistics}")
+                }
+            }
+        }
+
         private fun boxOrUnboxArgumentIfNeeded(eval: JDIEval, argumentValue: Value, parameterType: Type): Value {
             val argumentType = argumentValue.asmType
 
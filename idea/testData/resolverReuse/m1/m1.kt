@@ -0,0 +1,3 @@
+package m1
+
+fun m1() {}
@@ -0,0 +1,3 @@
+package m2
+
+fun m2() = m1.m1()
@@ -0,0 +1,3 @@
+package m3
+
+fun m3() {}
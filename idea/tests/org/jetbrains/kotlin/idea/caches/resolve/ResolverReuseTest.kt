@@ -0,0 +1,137 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.idea.caches.resolve
+
+import com.intellij.codeInsight.daemon.DaemonAnalyzerTestCase
+import com.intellij.openapi.command.WriteCommandAction
+import com.intellij.openapi.module.Module
+import com.intellij.openapi.module.StdModuleTypes
+import com.intellij.openapi.roots.DependencyScope
+import com.intellij.openapi.roots.ModuleRootManager
+import com.intellij.openapi.roots.ModuleRootModificationUtil
+import com.intellij.psi.PsiManager
+import com.intellij.psi.impl.PsiModificationTrackerImpl
+import org.jetbrains.kotlin.descriptors.ModuleDescriptor
+import org.jetbrains.kotlin.idea.caches.resolve.ResolverRebuildStatistics.RebuildKind
+import org.jetbrains.kotlin.idea.test.PluginTestCaseBase
+import org.jetbrains.kotlin.psi.KtFile
+import org.jetbrains.kotlin.psi.KtPsiFactory
+import org.junit.Assert
+import kotlin.properties.Delegates
+
+class ResolverReuseTest : DaemonAnalyzerTestCase() {
+
+    private val TEST_DATA_PATH = PluginTestCaseBase.getTestDataPathBase() + "/resolverReuse/"
+
+    // m2 depends on m1, m3 is not related to them
+    private var m1: Module by Delegates.notNull()
+    private var m2: Module by Delegates.notNull()
+    private var m3: Module by Delegates.notNull()
+
+    override fun setUp() {
+        super.setUp()
+        m1 = module("m1")
+        m2 = module("m2")
+        m3 = module("m3")
+        m2.addDependency(m1)
+    }
+
+    fun testModificationRebuildsResolversOfModuleAndItsDependents() {
+        val before = moduleDescriptors()
+        val statistics = KotlinCacheService.getInstance(myProject).resolverRebuildStatistics
+        val incrementalRebuilds = statistics.getCount(RebuildKind.INCREMENTAL)
+
+        addFunction(m1.kotlinFile())
+        val after = moduleDescriptors()
+
+        Assert.assertNotSame(before[m1], after[m1])
+        Assert.assertNotSame(before[m2], after[m2])
+        Assert.assertSame(before[m3], after[m3])
+        Assert.assertEquals(incrementalRebuilds + 1, statistics.getCount(RebuildKind.INCREMENTAL))
+    }
+
+    fun testModificationOfIndependentModuleKeepsOtherResolvers() {
+        val before = moduleDescriptors()
+
+        addFunction(m3.kotlinFile())
+        val after = moduleDescriptors()
+
+        Assert.assertSame(before[m1], after[m1])
+        Assert.assertSame(before[m2], after[m2])
+        Assert.assertNotSame(before[m3], after[m3])
+    }
+
+    fun testResolversAreReusedWithoutModifications() {
+        val before = moduleDescriptors()
+        Assert.assertEquals(before, moduleDescriptors())
+    }
+
+    fun testModificationTrackerAttributesModificationsToModules() {
+        val tracker = KotlinModuleModificationTracker.getInstance(myProject)
+        val stamp = tracker.modificationStamp
+        Assert.assertEquals(setOf<ModuleSourceInfo>(), tracker.getModulesModifiedSince(stamp))
+
+        addFunction(m1.kotlinFile())
+        Assert.assertEquals(setOf(m1.productionSourceInfo()), tracker.getModulesModifiedSince(stamp))
+
+        val stampAfterM1 = tracker.modificationStamp
+        addFunction(m3.kotlinFile())
+        Assert.assertEquals(setOf(m1.productionSourceInfo(), m3.productionSourceInfo()), tracker.getModulesModifiedSince(stamp))
+        Assert.assertEquals(setOf(m3.productionSourceInfo()), tracker.getModulesModifiedSince(stampAfterM1))
+    }
+
+    fun testUnattributedModificationRebuildsAllResolvers() {
+        val tracker = KotlinModuleModificationTracker.getInstance(myProject)
+        val stamp = tracker.modificationStamp
+        val before = moduleDescriptors()
+        val statistics = KotlinCacheService.getInstance(myProject).resolverRebuildStatistics
+        val fullRebuilds = statistics.getCount(RebuildKind.FULL)
+
+        (PsiManager.getInstance(myProject).getModificationTracker() as PsiModificationTrackerImpl).incOutOfCodeBlockModificationCounter()
+        Assert.assertNull(tracker.getModulesModifiedSince(stamp))
+
+        val after = moduleDescriptors()
+        for (module in listOf(m1, m2, m3)) {
+            Assert.assertNotSame(before[module], after[module])
+        }
+        Assert.assertEquals(fullRebuilds + 1, statistics.getCount(RebuildKind.FULL))
+    }
+
+    private fun moduleDescriptors(): Map<Module, ModuleDescriptor> {
+        return listOf(m1, m2, m3).toMap({ it }, { it.kotlinFile().getResolutionFacade().moduleDescriptor })
+    }
+
+    private fun addFunction(file: KtFile) {
+        object : WriteCommandAction.Simple<Unit>(myProject) {
+            override fun run() {
+                file.add(KtPsiFactory(myProject).createFunction("fun added${file.getDeclarations().size()}() {}"))
+            }
+        }.execute().throwException()
+    }
+
+    private fun Module.kotlinFile(): KtFile {
+        val sourceRoot = ModuleRootManager.getInstance(this).getSourceRoots().single()
+        return PsiManager.getInstance(myProject).findFile(sourceRoot.findChild("${getName()}.kt")!!) as KtFile
+    }
+
+    private fun module(name: String): Module {
+        return createModuleFromTestData(TEST_DATA_PATH + name, name, StdModuleTypes.JAVA, true)!!
+    }
+
+    private fun Module.addDependency(other: Module) =
+            ModuleRootModificationUtil.addDependency(this, other, DependencyScope.COMPILE, false)
+}
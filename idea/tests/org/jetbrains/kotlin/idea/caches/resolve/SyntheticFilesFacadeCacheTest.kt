@@ -0,0 +1,101 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.idea.caches.resolve
+
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase
+import org.jetbrains.kotlin.psi.KtFile
+import org.jetbrains.kotlin.psi.KtPsiFactory
+import org.junit.Assert
+import java.util.ArrayList
+
+class SyntheticFilesFacadeCacheTest : LightCodeInsightFixtureTestCase() {
+    private val statistics = ResolverRebuildStatistics()
+    private val created = ArrayList<Set<KtFile>>()
+
+    private fun cache(budgetKb: Long) = SyntheticFilesFacadeCache(budgetKb, statistics) { files -> created.add(files); Any() }
+
+    private fun file(name: String, textLength: Int = 0) =
+            KtPsiFactory(getProject()).createFile("$name.kt", " ".repeat(textLength))
+
+    fun testWeightGrowsWithTextLength() {
+        val small = SyntheticFilesFacadeCache.estimateWeightKb(setOf(file("a")))
+        val large = SyntheticFilesFacadeCache.estimateWeightKb(setOf(file("b", 16 * 1024)))
+        Assert.assertEquals(256L, small)
+        Assert.assertEquals(small + 1024L, large)
+        // The base weight is counted once per facade
+        Assert.assertEquals(large, SyntheticFilesFacadeCache.estimateWeightKb(setOf(file("c", 16 * 1024), file("d"))))
+    }
+
+    fun testHitReturnsCachedFacade() {
+        val cache = cache(budgetKb = 1024)
+        val files = setOf(file("a"))
+
+        val facade = cache.get(files)
+        Assert.assertSame(facade, cache.get(files))
+        Assert.assertSame(facade, cache.get(setOf(files.single())))
+        Assert.assertEquals(listOf(files), created)
+        Assert.assertEquals(2, statistics.syntheticFilesCacheHits)
+        Assert.assertEquals(1, statistics.syntheticFilesCacheMisses)
+    }
+
+    fun testLeastRecentlyUsedFacadeIsEvicted() {
+        // Room for two facades of short files
+        val cache = cache(budgetKb = 2 * 256)
+        val a = setOf(file("a"))
+        val b = setOf(file("b"))
+        val c = setOf(file("c"))
+
+        val facadeA = cache.get(a)
+        cache.get(b)
+        Assert.assertSame(facadeA, cache.get(a))
+        cache.get(c)
+        Assert.assertEquals(1, statistics.syntheticFilesCacheEvictions)
+
+        // b was the least recently used one
+        Assert.assertSame(facadeA, cache.get(a))
+        cache.get(b)
+        Assert.assertEquals(listOf(a, b, c, b), created)
+    }
+
+    fun testLargeFacadeEvictsSeveralSmallOnes() {
+        val cache = cache(budgetKb = 4 * 256)
+        val small = (1..4).map { setOf(file("small$it")) }
+        small.forEach { cache.get(it) }
+        Assert.assertEquals(0, statistics.syntheticFilesCacheEvictions)
+
+        // 256 KB + 512 KB for the text, so that three small facades have to be evicted
+        cache.get(setOf(file("large", 8 * 1024)))
+        Assert.assertEquals(3, statistics.syntheticFilesCacheEvictions)
+
+        cache.get(small[3])
+        Assert.assertEquals(4 + 1, created.size())
+    }
+
+    fun testMostRecentlyUsedFacadeIsKeptOverBudget() {
+        val cache = cache(budgetKb = 1)
+        val a = setOf(file("a"))
+        val b = setOf(file("b"))
+
+        val facadeA = cache.get(a)
+        Assert.assertSame(facadeA, cache.get(a))
+        Assert.assertEquals(0, statistics.syntheticFilesCacheEvictions)
+
+        cache.get(b)
+        Assert.assertEquals(1, statistics.syntheticFilesCacheEvictions)
+        Assert.assertNotSame(facadeA, cache.get(a))
+    }
+}
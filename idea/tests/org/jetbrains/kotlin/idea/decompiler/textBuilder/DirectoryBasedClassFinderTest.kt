@@ -0,0 +1,110 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.idea.decompiler.textBuilder
+
+import com.intellij.openapi.vfs.LocalFileSystem
+import com.intellij.openapi.vfs.VirtualFile
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase
+import org.jetbrains.kotlin.descriptors.SourceElement
+import org.jetbrains.kotlin.load.kotlin.KotlinJvmBinaryClass
+import org.jetbrains.kotlin.load.kotlin.header.KotlinClassHeader
+import org.jetbrains.kotlin.name.ClassId
+import org.jetbrains.kotlin.name.FqName
+import org.jetbrains.kotlin.name.Name
+import org.jetbrains.kotlin.test.JetTestUtils
+import org.jetbrains.kotlin.test.MockLibraryUtil
+import java.io.File
+import java.util.ArrayList
+
+public class DirectoryBasedClassFinderTest : LightCodeInsightFixtureTestCase() {
+    private val packageFqName = FqName("test")
+    private val outerId = ClassId.topLevel(FqName("test.Outer"))
+    private val nestedId = ClassId(packageFqName, FqName("Outer.Nested"), false)
+    private val annotationId = ClassId.topLevel(FqName("test.Ann"))
+
+    private fun compilePackageDirectory(): VirtualFile {
+        val sources = JetTestUtils.tmpDir("directoryBasedClassFinderSources")
+        File(sources, "test.kt").writeText("""
+            package test
+
+            annotation class Ann
+
+            class Outer {
+                @Ann fun f() {}
+                fun h() {}
+
+                class Nested {
+                    @Ann fun g() {}
+                }
+            }
+        """)
+        val outDir = JetTestUtils.tmpDir("directoryBasedClassFinderClasses")
+        MockLibraryUtil.compileKotlin(sources.getPath(), outDir)
+        return LocalFileSystem.getInstance().refreshAndFindFileByIoFile(File(outDir, "test"))!!
+    }
+
+    private fun KotlinJvmBinaryClass.annotatedMembers(): List<String> {
+        val result = ArrayList<String>()
+        visitMembers(object : KotlinJvmBinaryClass.MemberVisitor {
+            override fun visitMethod(name: Name, desc: String) = object : KotlinJvmBinaryClass.MethodAnnotationVisitor {
+                override fun visitAnnotation(classId: ClassId, source: SourceElement): KotlinJvmBinaryClass.AnnotationArgumentVisitor? {
+                    if (classId == annotationId) result.add(name.asString())
+                    return null
+                }
+
+                override fun visitParameterAnnotation(index: Int, classId: ClassId, source: SourceElement) = null
+
+                override fun visitEnd() {
+                }
+            }
+
+            override fun visitField(name: Name, desc: String, initializer: Any?) = null
+        })
+        return result
+    }
+
+    public fun testNestedClassAndMemberAnnotationsAreFound() {
+        val finder = DirectoryBasedClassFinder(compilePackageDirectory(), packageFqName)
+
+        val outer = finder.findKotlinClass(outerId)!!
+        assertEquals(KotlinClassHeader.Kind.CLASS, outer.getClassHeader().kind)
+        assertEquals(listOf("f"), outer.annotatedMembers())
+
+        val nested = finder.findKotlinClass(nestedId)!!
+        assertEquals(nestedId, nested.getClassId())
+        assertEquals(listOf("g"), nested.annotatedMembers())
+
+        assertNull(finder.findKotlinClass(ClassId.topLevel(FqName("other.Outer"))))
+        assertNull(finder.findKotlinClass(ClassId.topLevel(FqName("test.Missing"))))
+    }
+
+    public fun testEachClassFileIsReadOnce() {
+        val finder = DirectoryBasedClassFinder(compilePackageDirectory(), packageFqName)
+
+        val outer = finder.findKotlinClass(outerId)!!
+        val nested = finder.findKotlinClass(nestedId)!!
+        val annotation = finder.findKotlinClass(annotationId)!!
+
+        // Lookups of other classes in between evict the outer class from the one-entry KotlinBinaryClassCache,
+        // so getting the same instances back means the class files were not read again
+        for (i in 1..3) {
+            assertSame(outer, finder.findKotlinClass(outerId))
+            assertSame(nested, finder.findKotlinClass(nestedId))
+            assertSame(annotation, finder.findKotlinClass(annotationId))
+        }
+    }
+}
@@ -32,6 +32,7 @@ import org.jetbrains.kotlin.load.kotlin.incremental.components.IncrementalCompil
 import org.jetbrains.kotlin.progress.CompilationCanceledStatus
 import org.jetbrains.kotlin.rmi.*
 import org.jetbrains.kotlin.rmi.kotlinr.*
+import org.jetbrains.kotlin.utils.KotlinPaths
 import java.io.*
 import java.lang.reflect.Field
 import java.lang.reflect.Modifier
@@ -135,11 +136,7 @@ public object KotlinCompilerRunner {
                 val libPath = CompilerRunnerUtil.getLibPath(environment.kotlinPaths, messageCollector)
                 val compilerId = CompilerId.makeCompilerId(File(libPath, "kotlin-compiler.jar"))
                 val daemonOptions = configureDaemonOptions()
-                val daemonJVMOptions = configureDaemonJVMOptions(true)
-                // the property should be set by default for daemon builds to avoid parallel building problems
-                // but it cannot be currently set by default globally, because it seems breaks many tests
-                // TODO: find out how to get rid of the property and make it the default behavior
-                daemonJVMOptions.jvmParams.add("Dkotlin.environment.keepalive")
+                val daemonJVMOptions = configureJpsDaemonJVMOptions()
 
                 val daemonReportMessages = ArrayList<DaemonReportMessage>()
 
@@ -163,6 +160,30 @@ public object KotlinCompilerRunner {
         }
     }
 
+    /**
+     * Starts looking for or starting the daemon in background, so that it's ready by the time the first target is compiled.
+     * Uses the same options as [getDaemonConnection], so that it picks up the pre-warmed connection.
+     */
+    public fun prewarmDaemon(kotlinPaths: KotlinPaths) {
+        if (!isDaemonEnabled()) return
+
+        val libPath = kotlinPaths.getLibPath()
+        if (!libPath.isDirectory()) return
+
+        val compilerId = CompilerId.makeCompilerId(File(libPath, "kotlin-compiler.jar"))
+        KotlinCompilerClient.prewarmCompileService(compilerId, configureJpsDaemonJVMOptions(), configureDaemonOptions(),
+                                                   DaemonReportingTargets(null, ArrayList<DaemonReportMessage>()))
+    }
+
+    private fun configureJpsDaemonJVMOptions(): DaemonJVMOptions {
+        val daemonJVMOptions = configureDaemonJVMOptions(true)
+        // the property should be set by default for daemon builds to avoid parallel building problems
+        // but it cannot be currently set by default globally, because it seems breaks many tests
+        // TODO: find out how to get rid of the property and make it the default behavior
+        daemonJVMOptions.jvmParams.add("Dkotlin.environment.keepalive")
+        return daemonJVMOptions
+    }
+
     private fun tryCompileWithDaemon(compilerClassName: String,
                                      argsArray: Array<String>,
                                      environment: CompilerEnvironment,
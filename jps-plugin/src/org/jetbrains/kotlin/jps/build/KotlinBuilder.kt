@@ -94,6 +94,8 @@ public class KotlinBuilder : ModuleLevelBuilder(BuilderCategory.SOURCE_PROCESSOR
         if (historyLabel != null) {
             LOG.info("Label in local history: $historyLabel")
         }
+
+        KotlinCompilerRunner.prewarmDaemon(PathUtil.getKotlinPathsForJpsPluginOrJpsTests())
     }
 
     override fun build(
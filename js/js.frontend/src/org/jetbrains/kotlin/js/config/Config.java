@@ -57,6 +57,8 @@ public abstract class Config {
 
     private final boolean sourcemap;
     private final boolean metaInfo;
+    private final boolean removeUnusedDeclarations;
+    private final boolean binaryMetaInfo;
 
     @NotNull
     protected final List<KotlinJavascriptMetadata> metadata = new SmartList<KotlinJavascriptMetadata>();
@@ -72,7 +74,9 @@ public abstract class Config {
             @NotNull EcmaVersion ecmaVersion,
             boolean sourcemap,
             boolean inlineEnabled,
-            boolean metaInfo
+            boolean metaInfo,
+            boolean removeUnusedDeclarations,
+            boolean binaryMetaInfo
     ) {
         this.project = project;
         this.target = ecmaVersion;
@@ -80,6 +84,8 @@ public abstract class Config {
         this.sourcemap = sourcemap;
         this.inlineEnabled = inlineEnabled;
         this.metaInfo = metaInfo;
+        this.removeUnusedDeclarations = removeUnusedDeclarations;
+        this.binaryMetaInfo = binaryMetaInfo;
     }
 
     public boolean isSourcemap() {
@@ -90,6 +96,14 @@ public abstract class Config {
         return metaInfo;
     }
 
+    public boolean isRemoveUnusedDeclarations() {
+        return removeUnusedDeclarations;
+    }
+
+    public boolean isBinaryMetaInfo() {
+        return binaryMetaInfo;
+    }
+
     public boolean isInlineEnabled() {
         return inlineEnabled;
     }
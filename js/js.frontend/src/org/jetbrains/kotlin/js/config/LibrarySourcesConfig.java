@@ -70,9 +70,11 @@ public class LibrarySourcesConfig extends Config {
             boolean sourceMap,
             boolean inlineEnabled,
             boolean isUnitTestConfig,
-            boolean metaInfo
+            boolean metaInfo,
+            boolean removeUnusedDeclarations,
+            boolean binaryMetaInfo
     ) {
-        super(project, moduleId, ecmaVersion, sourceMap, inlineEnabled, metaInfo);
+        super(project, moduleId, ecmaVersion, sourceMap, inlineEnabled, metaInfo, removeUnusedDeclarations, binaryMetaInfo);
         this.files = files;
         this.isUnitTestConfig = isUnitTestConfig;
     }
@@ -197,6 +199,8 @@ public class LibrarySourcesConfig extends Config {
         boolean inlineEnabled = true;
         boolean isUnitTestConfig = false;
         boolean metaInfo = false;
+        boolean removeUnusedDeclarations = false;
+        boolean binaryMetaInfo = false;
 
         public Builder(@NotNull Project project, @NotNull String moduleId, @NotNull List<String> files) {
             this.project = project;
@@ -229,8 +233,19 @@ public class LibrarySourcesConfig extends Config {
             return this;
         }
 
+        public Builder removeUnusedDeclarations(boolean removeUnusedDeclarations) {
+            this.removeUnusedDeclarations = removeUnusedDeclarations;
+            return this;
+        }
+
+        public Builder binaryMetaInfo(boolean binaryMetaInfo) {
+            this.binaryMetaInfo = binaryMetaInfo;
+            return this;
+        }
+
         public Config build() {
-            return new LibrarySourcesConfig(project, moduleId, files, ecmaVersion, sourceMap, inlineEnabled, isUnitTestConfig, metaInfo);
+            return new LibrarySourcesConfig(project, moduleId, files, ecmaVersion, sourceMap, inlineEnabled, isUnitTestConfig, metaInfo,
+                                            removeUnusedDeclarations, binaryMetaInfo);
         }
     }
 
@@ -76,7 +76,7 @@ public object KotlinJavascriptSerializationUtil {
                         null
                 }
             }
-            else ByteArrayInputStream(contentMap.get(path))
+            else contentMap.get(path)!!.newInput()
         }
     }
 
@@ -98,6 +98,8 @@ public object KotlinJavascriptSerializationUtil {
     public fun metadataAsString(moduleName: String, moduleDescriptor: ModuleDescriptor): String =
         KotlinJavascriptMetadataUtils.formatMetadataAsString(moduleName, moduleDescriptor.toBinaryMetadata())
 
+    public fun serializeMetadata(moduleDescriptor: ModuleDescriptor): ByteArray = moduleDescriptor.toBinaryMetadata()
+
     fun serializePackage(module: ModuleDescriptor, fqName: FqName, writeFun: (String, ByteArray) -> Unit) {
         val packageView = module.getPackage(fqName)
 
@@ -178,7 +180,7 @@ public object KotlinJavascriptSerializationUtil {
         return contentMap
     }
 
-    private fun getPackages(contentMap: Map<String, ByteArray>): Set<String> {
+    private fun getPackages(contentMap: Map<String, ByteString>): Set<String> {
         val keys = contentMap.keySet().map { (if (it.startsWith('/')) it else "/" + it).substringBeforeLast('/') }.toSet()
 
         val result = hashSetOf<String>()
@@ -200,15 +202,16 @@ public object KotlinJavascriptSerializationUtil {
 }
 
 public fun KotlinJavascriptMetadata.forEachFile(operation: (filePath: String, fileContent: ByteArray) -> Unit): Unit =
-        this.body.toContentMap().forEach { operation(it.getKey(), it.getValue()) }
+        this.body.toContentMap().forEach { operation(it.getKey(), it.getValue().toByteArray()) }
 
-private fun ByteArray.toContentMap(): Map<String, ByteArray> {
+// Contents are not copied out of the parsed library, each file is read from its ByteString only when its package is resolved
+private fun ByteArray.toContentMap(): Map<String, ByteString> {
     val gzipInputStream = GZIPInputStream(ByteArrayInputStream(this))
     val content = JsProtoBuf.Library.parseFrom(gzipInputStream)
     gzipInputStream.close()
 
-    val contentMap: MutableMap<String, ByteArray> = hashMapOf()
-    content.getEntryList().forEach { entry -> contentMap[entry.getPath()] = entry.getContent().toByteArray() }
+    val contentMap: MutableMap<String, ByteString> = hashMapOf()
+    content.getEntryList().forEach { entry -> contentMap[entry.getPath()] = entry.getContent() }
 
     return contentMap
 }
\ No newline at end of file
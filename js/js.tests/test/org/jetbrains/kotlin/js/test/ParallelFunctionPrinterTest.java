@@ -0,0 +1,82 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.js.test;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.kotlin.backend.common.output.OutputFile;
+import org.jetbrains.kotlin.js.config.Config;
+import org.jetbrains.kotlin.js.facade.K2JSTranslator;
+import org.jetbrains.kotlin.js.facade.MainCallParameters;
+import org.jetbrains.kotlin.js.facade.TranslationResult;
+import org.jetbrains.kotlin.js.sourceMap.ParallelFunctionPrinter;
+import org.jetbrains.kotlin.psi.KtFile;
+
+import java.io.File;
+import java.util.List;
+
+public final class ParallelFunctionPrinterTest extends SingleFileTranslationTest {
+    public ParallelFunctionPrinterTest() {
+        super("sourcemap/");
+    }
+
+    @Override
+    protected boolean shouldGenerateSourceMap() {
+        return true;
+    }
+
+    public void testBinaryOperation() throws Exception {
+        generateJavaScriptFiles(getInputFilePath("binaryOperation.kt"), MainCallParameters.noCall(), DEFAULT_ECMA_VERSIONS);
+    }
+
+    public void testMethodCallInMethod() throws Exception {
+        generateJavaScriptFiles(getInputFilePath("methodCallInMethod.kt"), MainCallParameters.noCall(), DEFAULT_ECMA_VERSIONS);
+    }
+
+    @Override
+    protected void translateFiles(
+            @NotNull List<KtFile> jetFiles,
+            @NotNull File outputFile,
+            @NotNull MainCallParameters mainCallParameters,
+            @NotNull Config config
+    ) throws Exception {
+        TranslationResult result = new K2JSTranslator(config).translate(jetFiles, mainCallParameters);
+        assertTrue(result instanceof TranslationResult.Success);
+        TranslationResult.Success success = (TranslationResult.Success) result;
+
+        int oldThreshold = ParallelFunctionPrinter.setMinFunctionsToPrintInParallel(Integer.MAX_VALUE);
+        try {
+            assertTrue(ParallelFunctionPrinter.printFunctions(success.getProgram(), false, true).isEmpty());
+            List<OutputFile> serialFiles = success.getOutputFiles(outputFile, null, null).asList();
+
+            ParallelFunctionPrinter.setMinFunctionsToPrintInParallel(0);
+            assertFalse(ParallelFunctionPrinter.printFunctions(success.getProgram(), false, true).isEmpty());
+            List<OutputFile> parallelFiles = success.getOutputFiles(outputFile, null, null).asList();
+
+            assertEquals(2, serialFiles.size());
+            assertEquals(serialFiles.size(), parallelFiles.size());
+            for (int i = 0; i < serialFiles.size(); i++) {
+                OutputFile serialFile = serialFiles.get(i);
+                OutputFile parallelFile = parallelFiles.get(i);
+                assertEquals(serialFile.getRelativePath(), parallelFile.getRelativePath());
+                assertEquals(serialFile.getRelativePath(), serialFile.asText(), parallelFile.asText());
+            }
+        }
+        finally {
+            ParallelFunctionPrinter.setMinFunctionsToPrintInParallel(oldThreshold);
+        }
+    }
+}
@@ -32,10 +32,12 @@ import org.jetbrains.kotlin.psi.KtFile;
 import org.jetbrains.kotlin.resolve.BindingTrace;
 import org.jetbrains.kotlin.resolve.diagnostics.Diagnostics;
 
+import java.util.Collections;
 import java.util.List;
 
 import static org.jetbrains.kotlin.diagnostics.DiagnosticUtils.hasError;
 import static org.jetbrains.kotlin.js.translate.utils.ExpandIsCallsKt.expandIsCalls;
+import static org.jetbrains.kotlin.js.translate.utils.RemoveUnusedDeclarationsKt.removeUnusedDeclarations;
 
 /**
  * An entry point of translator.
@@ -86,6 +88,10 @@ public final class K2JSTranslator {
 
         expandIsCalls(program, context);
         ProgressIndicatorAndCompilationCanceledStatus.checkCanceled();
-        return new TranslationResult.Success(config, files, program, diagnostics, moduleDescriptor);
+
+        List<String> removedDeclarations = config.isRemoveUnusedDeclarations()
+                                           ? removeUnusedDeclarations(program, context)
+                                           : Collections.<String>emptyList();
+        return new TranslationResult.Success(config, files, program, diagnostics, moduleDescriptor, removedDeclarations);
     }
 }
@@ -21,12 +21,15 @@ import com.google.dart.compiler.util.TextOutput
 import com.google.dart.compiler.util.TextOutputImpl
 import com.intellij.openapi.util.text.StringUtil
 import com.intellij.openapi.vfs.VfsUtilCore
+import org.jetbrains.kotlin.backend.common.output.OutputFile
 import org.jetbrains.kotlin.backend.common.output.OutputFileCollection
+import org.jetbrains.kotlin.backend.common.output.SimpleBinaryOutputFile
 import org.jetbrains.kotlin.backend.common.output.SimpleOutputFile
 import org.jetbrains.kotlin.backend.common.output.SimpleOutputFileCollection
 import org.jetbrains.kotlin.descriptors.ModuleDescriptor
 import org.jetbrains.kotlin.js.config.Config
 import org.jetbrains.kotlin.js.sourceMap.JsSourceGenerationVisitor
+import org.jetbrains.kotlin.js.sourceMap.ParallelFunctionPrinter
 import org.jetbrains.kotlin.js.sourceMap.SourceMap3Builder
 import org.jetbrains.kotlin.js.sourceMap.SourceMapBuilder
 import org.jetbrains.kotlin.psi.KtFile
@@ -46,7 +49,8 @@ public abstract class TranslationResult protected constructor(public val diagnos
             private val files: List<KtFile>,
             public val program: JsProgram,
             diagnostics: Diagnostics,
-            private val moduleDescriptor: ModuleDescriptor
+            private val moduleDescriptor: ModuleDescriptor,
+            public val removedDeclarations: List<String> = emptyList()
     ) : TranslationResult(diagnostics) {
         public fun getCode(): String = getCode(TextOutputImpl(), sourceMapBuilder = null)
 
@@ -70,14 +74,21 @@ public abstract class TranslationResult protected constructor(public val diagnos
             }
 
             val jsFile = SimpleOutputFile(sourceFiles, outputFile.getName(), prefix + code + postfix)
-            val outputFiles = arrayListOf(jsFile)
+            val outputFiles = arrayListOf<OutputFile>(jsFile)
 
             if (config.isMetaInfo()) {
                 val metaFileName = KotlinJavascriptMetadataUtils.replaceSuffix(outputFile.getName())
-                val metaFileContent = KotlinJavascriptSerializationUtil.metadataAsString(config.getModuleId(), moduleDescriptor)
+                val metadata = KotlinJavascriptSerializationUtil.serializeMetadata(moduleDescriptor)
+                val metaFileContent = KotlinJavascriptMetadataUtils.formatMetadataAsString(config.getModuleId(), metadata)
                 val sourceFilesForMetaFile = ArrayList(sourceFiles)
                 val jsMetaFile = SimpleOutputFile(sourceFilesForMetaFile, metaFileName, metaFileContent)
                 outputFiles.add(jsMetaFile)
+
+                if (config.isBinaryMetaInfo()) {
+                    val binaryMetaFileName = KotlinJavascriptMetadataUtils.getBinaryMetadataPath(outputFile.getName())
+                    val binaryMetaFileContent = KotlinJavascriptMetadataUtils.formatMetadataAsBinary(config.getModuleId(), metadata)
+                    outputFiles.add(SimpleBinaryOutputFile(ArrayList(sourceFiles), binaryMetaFileName, binaryMetaFileContent))
+                }
             }
 
             if (sourceMapBuilder != null) {
@@ -90,7 +101,8 @@ public abstract class TranslationResult protected constructor(public val diagnos
         }
 
         private fun getCode(output: TextOutput, sourceMapBuilder: SourceMapBuilder?): String {
-            program.accept(JsSourceGenerationVisitor(output, sourceMapBuilder))
+            val printedFunctions = ParallelFunctionPrinter.printFunctions(program, output.isCompact(), sourceMapBuilder != null)
+            program.accept(JsSourceGenerationVisitor(output, sourceMapBuilder, printedFunctions))
             return output.toString()
         }
     }
@@ -23,17 +23,49 @@ import com.intellij.util.SmartList;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class JsSourceGenerationVisitor extends JsToStringGenerationVisitor implements TextOutput.OutListener {
+    @Nullable
+    private final SourceInfoConsumer sourceInfoConsumer;
+
+    // Only used to add the link to the source map after the whole program
     @Nullable
     private final SourceMapBuilder sourceMapBuilder;
 
     private final List<Object> pendingSources = new SmartList<Object>();
 
+    private final Map<JsFunction, PrintedFunction> printedFunctions;
+
     public JsSourceGenerationVisitor(TextOutput out, @Nullable SourceMapBuilder sourceMapBuilder) {
+        this(out, sourceMapBuilder, Collections.<JsFunction, PrintedFunction>emptyMap());
+    }
+
+    public JsSourceGenerationVisitor(
+            TextOutput out,
+            @Nullable SourceMapBuilder sourceMapBuilder,
+            @NotNull Map<JsFunction, PrintedFunction> printedFunctions
+    ) {
+        this(out, sourceMapBuilder, sourceMapBuilder, printedFunctions);
+    }
+
+    // Used to print a part of the program, which has no source map of its own
+    JsSourceGenerationVisitor(TextOutput out, @Nullable SourceInfoConsumer sourceInfoConsumer) {
+        this(out, sourceInfoConsumer, null, Collections.<JsFunction, PrintedFunction>emptyMap());
+    }
+
+    private JsSourceGenerationVisitor(
+            TextOutput out,
+            @Nullable SourceInfoConsumer sourceInfoConsumer,
+            @Nullable SourceMapBuilder sourceMapBuilder,
+            @NotNull Map<JsFunction, PrintedFunction> printedFunctions
+    ) {
         super(out);
+        this.sourceInfoConsumer = sourceInfoConsumer;
         this.sourceMapBuilder = sourceMapBuilder;
+        this.printedFunctions = printedFunctions;
         out.setOutListener(this);
     }
 
@@ -44,8 +76,8 @@ public class JsSourceGenerationVisitor extends JsToStringGenerationVisitor imple
 
     @Override
     public void newLined() {
-        if (sourceMapBuilder != null) {
-            sourceMapBuilder.newLine();
+        if (sourceInfoConsumer != null) {
+            sourceInfoConsumer.newLine();
         }
     }
 
@@ -53,15 +85,23 @@ public class JsSourceGenerationVisitor extends JsToStringGenerationVisitor imple
     public void indentedAfterNewLine() {
         if (pendingSources.isEmpty()) return;
 
-        assert sourceMapBuilder != null;
+        assert sourceInfoConsumer != null;
         for (Object source : pendingSources) {
-            sourceMapBuilder.processSourceInfo(source);
+            sourceInfoConsumer.processSourceInfo(source);
         }
         pendingSources.clear();
     }
 
     @Override
     public void accept(JsNode node) {
+        PrintedFunction printedFunction = printedFunctions.get(node);
+        if (printedFunction != null) {
+            // The source info of the function itself is recorded in the printed text
+            printedFunction.printTo(p, sourceInfoConsumer);
+            needSemi = true;
+            return;
+        }
+
         if (!(node instanceof JsNameRef) && !(node instanceof JsLiteral.JsThisRef)) {
             mapSource(node);
         }
@@ -69,14 +109,14 @@ public class JsSourceGenerationVisitor extends JsToStringGenerationVisitor imple
     }
 
     private void mapSource(JsNode node) {
-        if (sourceMapBuilder != null) {
+        if (sourceInfoConsumer != null) {
             Object sourceInfo = node.getSource();
             if (sourceInfo != null) {
                 if (p.isJustNewlined()) {
                     pendingSources.add(sourceInfo);
                 }
                 else {
-                    sourceMapBuilder.processSourceInfo(sourceInfo);
+                    sourceInfoConsumer.processSourceInfo(sourceInfo);
                 }
             }
         }
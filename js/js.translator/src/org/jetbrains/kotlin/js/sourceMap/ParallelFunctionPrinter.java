@@ -0,0 +1,135 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.js.sourceMap;
+
+import com.google.dart.compiler.backend.js.ast.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.TestOnly;
+import org.jetbrains.kotlin.utils.ExceptionUtilsKt;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Prints functions declared in object literals (members of classes and packages), which make up most of the generated code,
+ * on several threads before the whole program is printed by {@link JsSourceGenerationVisitor}
+ */
+public final class ParallelFunctionPrinter {
+    // Printing a few functions in parallel isn't worth dispatching them to the threads
+    private static volatile int minFunctionsToPrintInParallel = 64;
+
+    private ParallelFunctionPrinter() {
+    }
+
+    @TestOnly
+    public static int setMinFunctionsToPrintInParallel(int value) {
+        int oldValue = minFunctionsToPrintInParallel;
+        minFunctionsToPrintInParallel = value;
+        return oldValue;
+    }
+
+    @NotNull
+    public static Map<JsFunction, PrintedFunction> printFunctions(
+            @NotNull JsProgram program,
+            final boolean compact,
+            final boolean recordSourceInfo
+    ) {
+        List<JsFunction> functions = collectFunctions(program);
+        if (functions.isEmpty() || functions.size() < minFunctionsToPrintInParallel) {
+            return Collections.emptyMap();
+        }
+
+        // Several tasks per thread even out the difference in function sizes
+        int tasks = ExecutorHolder.THREADS * 4;
+        int batchSize = (functions.size() + tasks - 1) / tasks;
+        List<Future<List<PrintedFunction>>> futures = new ArrayList<Future<List<PrintedFunction>>>();
+        ExecutorService executor = ExecutorHolder.EXECUTOR;
+        try {
+            for (int start = 0; start < functions.size(); start += batchSize) {
+                final List<JsFunction> batch = functions.subList(start, Math.min(start + batchSize, functions.size()));
+                futures.add(executor.submit(new Callable<List<PrintedFunction>>() {
+                    @Override
+                    public List<PrintedFunction> call() {
+                        List<PrintedFunction> result = new ArrayList<PrintedFunction>(batch.size());
+                        for (JsFunction function : batch) {
+                            result.add(PrintedFunction.print(function, compact, recordSourceInfo));
+                        }
+                        return result;
+                    }
+                }));
+            }
+
+            Map<JsFunction, PrintedFunction> printedFunctions = new IdentityHashMap<JsFunction, PrintedFunction>(functions.size());
+            Iterator<JsFunction> functionIterator = functions.iterator();
+            for (Future<List<PrintedFunction>> future : futures) {
+                List<PrintedFunction> printedBatch;
+                try {
+                    printedBatch = future.get();
+                }
+                catch (InterruptedException e) {
+                    throw ExceptionUtilsKt.rethrow(e);
+                }
+                catch (ExecutionException e) {
+                    throw ExceptionUtilsKt.rethrow(e.getCause());
+                }
+
+                for (PrintedFunction printedFunction : printedBatch) {
+                    printedFunctions.put(functionIterator.next(), printedFunction);
+                }
+            }
+            return printedFunctions;
+        }
+        finally {
+            for (Future<List<PrintedFunction>> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    // The pool is shared by all translations and its threads are daemons, so it's never shut down
+    private static class ExecutorHolder {
+        static final int THREADS = Runtime.getRuntime().availableProcessors();
+
+        static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS, new ThreadFactory() {
+            @Override
+            public Thread newThread(@NotNull Runnable runnable) {
+                Thread thread = new Thread(runnable, "JS function printer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    // Nested functions are printed together with the outermost one
+    @NotNull
+    private static List<JsFunction> collectFunctions(@NotNull JsProgram program) {
+        final List<JsFunction> functions = new ArrayList<JsFunction>();
+        program.accept(new RecursiveJsVisitor() {
+            @Override
+            public void visitPropertyInitializer(@NotNull JsPropertyInitializer x) {
+                JsExpression value = x.getValueExpr();
+                if (value instanceof JsFunction) {
+                    functions.add((JsFunction) value);
+                }
+                else {
+                    super.visitPropertyInitializer(x);
+                }
+            }
+        });
+        return functions;
+    }
+}
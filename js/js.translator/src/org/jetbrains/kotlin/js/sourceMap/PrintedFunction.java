@@ -0,0 +1,116 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.js.sourceMap;
+
+import com.google.dart.compiler.backend.js.ast.JsFunction;
+import com.google.dart.compiler.util.TextOutput;
+import com.google.dart.compiler.util.TextOutputImpl;
+import com.intellij.openapi.util.text.StringUtil;
+import gnu.trove.TIntArrayList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Text of a function printed separately from the rest of the program, see {@link ParallelFunctionPrinter}.
+ *
+ * The function is printed with zero indentation, the indentation of the place where it's inserted is added by {@link #printTo}.
+ * Source infos are not resolved when the function is printed but only remembered with their positions,
+ * they are passed to the source map builder of the whole program when the text is inserted
+ */
+public class PrintedFunction {
+    private final List<String> lines;
+    private final TIntArrayList sourceInfoLines;
+    private final TIntArrayList sourceInfoColumns;
+    private final List<Object> sourceInfos;
+
+    private PrintedFunction(
+            @NotNull List<String> lines,
+            @NotNull TIntArrayList sourceInfoLines,
+            @NotNull TIntArrayList sourceInfoColumns,
+            @NotNull List<Object> sourceInfos
+    ) {
+        this.lines = lines;
+        this.sourceInfoLines = sourceInfoLines;
+        this.sourceInfoColumns = sourceInfoColumns;
+        this.sourceInfos = sourceInfos;
+    }
+
+    @NotNull
+    public static PrintedFunction print(@NotNull JsFunction function, boolean compact, boolean recordSourceInfo) {
+        TextOutputImpl output = new TextOutputImpl(compact);
+        SourceInfoRecorder recorder = recordSourceInfo ? new SourceInfoRecorder(output) : null;
+        new JsSourceGenerationVisitor(output, recorder).accept(function);
+
+        List<String> lines = StringUtil.split(output.toString(), "\n", true, false);
+        if (recorder == null) {
+            return new PrintedFunction(lines, new TIntArrayList(0), new TIntArrayList(0), new ArrayList<Object>(0));
+        }
+        return new PrintedFunction(lines, recorder.lines, recorder.columns, recorder.sourceInfos);
+    }
+
+    public void printTo(@NotNull TextOutput output, @Nullable SourceInfoConsumer sourceInfoConsumer) {
+        int sourceInfoIndex = 0;
+        for (int line = 0; line < lines.size(); line++) {
+            if (line > 0) {
+                output.newline();
+            }
+
+            String text = lines.get(line);
+            int column = 0;
+            while (sourceInfoIndex < sourceInfos.size() && sourceInfoLines.get(sourceInfoIndex) == line) {
+                int sourceInfoColumn = sourceInfoColumns.get(sourceInfoIndex);
+                if (sourceInfoColumn > column) {
+                    output.print(text.substring(column, sourceInfoColumn));
+                    column = sourceInfoColumn;
+                }
+                output.maybeIndent();
+                if (sourceInfoConsumer != null) {
+                    sourceInfoConsumer.processSourceInfo(sourceInfos.get(sourceInfoIndex));
+                }
+                sourceInfoIndex++;
+            }
+            if (column < text.length()) {
+                output.print(text.substring(column));
+            }
+        }
+    }
+
+    private static class SourceInfoRecorder implements SourceInfoConsumer {
+        private final TextOutput output;
+        private final TIntArrayList lines = new TIntArrayList();
+        private final TIntArrayList columns = new TIntArrayList();
+        private final List<Object> sourceInfos = new ArrayList<Object>();
+
+        private SourceInfoRecorder(@NotNull TextOutput output) {
+            this.output = output;
+        }
+
+        @Override
+        public void processSourceInfo(Object info) {
+            lines.add(output.getLine());
+            columns.add(output.getColumn());
+            sourceInfos.add(info);
+        }
+
+        @Override
+        public void newLine() {
+        }
+    }
+}
@@ -18,15 +18,11 @@ package org.jetbrains.kotlin.js.sourceMap;
 
 import java.io.File;
 
-public interface SourceMapBuilder {
-    void newLine();
-
+public interface SourceMapBuilder extends SourceInfoConsumer {
     void skipLinesAtBeginning(int count);
 
     void addMapping(String source, int sourceLine, int sourceColumn);
 
-    void processSourceInfo(Object info);
-
     void addLink();
 
     File getOutFile();
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2010-2015 JetBrains s.r.o.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jetbrains.kotlin.js.translate.utils
+
+import com.google.dart.compiler.backend.js.ast.*
+import org.jetbrains.kotlin.js.translate.context.Namer
+import org.jetbrains.kotlin.js.translate.context.TranslationContext
+import java.util.*
+
+/**
+ * Removes members of packages (classes, functions, properties) which are not reachable from the code run when the module is loaded,
+ * i.e. package initializers, the call of `main` and test calls. Returns qualified names of the removed members.
+ * Properties with initializers and objects are initialized by package initializers, so they are always kept.
+ *
+ * Reachability is approximated by names: a member is kept if its name is referenced from reachable code in any way,
+ * so members of different packages with the same name are kept or removed together, and all members of a kept class are kept.
+ * Declarations accessed from outside of the module are removed too, so this is only applicable to closed programs
+ */
+public fun removeUnusedDeclarations(program: JsProgram, context: TranslationContext): List<String> {
+    val namer = context.namer()
+    val members = ArrayList<PackageMember>()
+
+    program.accept(object : RecursiveJsVisitor() {
+        override fun visitInvocation(invocation: JsInvocation) {
+            if (invocation.getQualifier() === namer.rootPackageDefinitionMethodReference()) {
+                collectPackageMembers(invocation, null, namer, members)
+            }
+            super.visitInvocation(invocation)
+        }
+    })
+
+    val membersByName = members.groupBy { it.name }
+    val memberInitializers = members.mapTo(Collections.newSetFromMap(IdentityHashMap<JsPropertyInitializer, Boolean>())) { it.initializer }
+    val referencedNames = HashSet<String>()
+    val namesToProcess = ArrayDeque<String>()
+
+    val referenceCollector = object : RecursiveJsVisitor() {
+        override fun visitPropertyInitializer(x: JsPropertyInitializer) {
+            if (x !in memberInitializers) {
+                super.visitPropertyInitializer(x)
+            }
+        }
+
+        override fun visitNameRef(nameRef: JsNameRef) {
+            reference(nameRef.getIdent())
+            super.visitNameRef(nameRef)
+        }
+
+        override fun visitString(x: JsStringLiteral) {
+            reference(x.getValue())
+        }
+
+        private fun reference(name: String) {
+            if (referencedNames.add(name)) {
+                namesToProcess.add(name)
+            }
+        }
+    }
+
+    // Everything except the package members runs when the module is loaded
+    referenceCollector.accept(program)
+    while (namesToProcess.isNotEmpty()) {
+        val name = namesToProcess.poll()
+        membersByName[name]?.forEach { referenceCollector.accept(it.initializer.getValueExpr()) }
+    }
+
+    val unusedMembers = members.filter { it.name !in referencedNames }
+    for (member in unusedMembers) {
+        member.containingLiteral.getPropertyInitializers().remove(member.initializer)
+    }
+    return unusedMembers.map { it.qualifiedName }
+}
+
+private fun collectPackageMembers(packageDefinition: JsInvocation, packageName: String?, namer: Namer, members: MutableList<PackageMember>) {
+    val membersLiteral = packageDefinition.getArguments().lastOrNull() as? JsObjectLiteral ?: return
+    for (initializer in membersLiteral.getPropertyInitializers()) {
+        val name = initializer.getLabelExpr().asLabel() ?: continue
+        val qualifiedName = if (packageName == null) name else "$packageName.$name"
+        val value = initializer.getValueExpr()
+        if (value is JsInvocation && value.getQualifier() === namer.packageDefinitionMethodReference()) {
+            collectPackageMembers(value, qualifiedName, namer, members)
+        }
+        else {
+            members.add(PackageMember(name, qualifiedName, initializer, membersLiteral))
+        }
+    }
+}
+
+private class PackageMember(
+        val name: String,
+        val qualifiedName: String,
+        val initializer: JsPropertyInitializer,
+        val containingLiteral: JsObjectLiteral
+)
+
+private fun JsExpression.asLabel(): String? = when (this) {
+    is JsNameRef -> getIdent()
+    is JsStringLiteral -> getValue()
+    else -> null
+}
@@ -10111,6 +10111,39 @@ public fun ShortArray.joinToString(separator: String = ", ", prefix: String = ""
     return joinTo(StringBuilder(), separator, prefix, postfix, limit, truncated, transform).toString()
 }
 
+/**
+ * Returns a sequence of Double values from the given collection, which does not box them.
+ */
+public fun DoubleArray.asDoubleSequence(): DoubleSequence {
+    return object : DoubleSequence {
+        override fun iterator(): DoubleIterator {
+            return this@asDoubleSequence.iterator()
+        }
+    }
+}
+
+/**
+ * Returns a sequence of Int values from the given collection, which does not box them.
+ */
+public fun IntArray.asIntSequence(): IntSequence {
+    return object : IntSequence {
+        override fun iterator(): IntIterator {
+            return this@asIntSequence.iterator()
+        }
+    }
+}
+
+/**
+ * Returns a sequence of Long values from the given collection, which does not box them.
+ */
+public fun LongArray.asLongSequence(): LongSequence {
+    return object : LongSequence {
+        override fun iterator(): LongIterator {
+            return this@asLongSequence.iterator()
+        }
+    }
+}
+
 /**
  * Returns a sequence from the given collection.
  */
@@ -12,6 +12,72 @@ import java.util.*
 
 import java.util.Collections // TODO: it's temporary while we have java.util.Collections in js
 
+/**
+ * Returns a sequence of Double values from the given collection, which does not box them.
+ */
+public fun DoubleProgression.asDoubleSequence(): DoubleSequence {
+    return object : DoubleSequence {
+        override fun iterator(): DoubleIterator {
+            return this@asDoubleSequence.iterator()
+        }
+    }
+}
+
+/**
+ * Returns a sequence of Double values from the given collection, which does not box them.
+ */
+public fun DoubleRange.asDoubleSequence(): DoubleSequence {
+    return object : DoubleSequence {
+        override fun iterator(): DoubleIterator {
+            return this@asDoubleSequence.iterator()
+        }
+    }
+}
+
+/**
+ * Returns a sequence of Int values from the given collection, which does not box them.
+ */
+public fun IntProgression.asIntSequence(): IntSequence {
+    return object : IntSequence {
+        override fun iterator(): IntIterator {
+            return this@asIntSequence.iterator()
+        }
+    }
+}
+
+/**
+ * Returns a sequence of Int values from the given collection, which does not box them.
+ */
+public fun IntRange.asIntSequence(): IntSequence {
+    return object : IntSequence {
+        override fun iterator(): IntIterator {
+            return this@asIntSequence.iterator()
+        }
+    }
+}
+
+/**
+ * Returns a sequence of Long values from the given collection, which does not box them.
+ */
+public fun LongProgression.asLongSequence(): LongSequence {
+    return object : LongSequence {
+        override fun iterator(): LongIterator {
+            return this@asLongSequence.iterator()
+        }
+    }
+}
+
+/**
+ * Returns a sequence of Long values from the given collection, which does not box them.
+ */
+public fun LongRange.asLongSequence(): LongSequence {
+    return object : LongSequence {
+        override fun iterator(): LongIterator {
+            return this@asLongSequence.iterator()
+        }
+    }
+}
+
 /**
  * Checks if the specified [item] belongs to this range.
  */
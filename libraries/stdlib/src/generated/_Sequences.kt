@@ -345,7 +345,7 @@ public inline fun <T> Sequence<T>.singleOrNull(predicate: (T) -> Boolean): T? {
  */
 public fun <T> Sequence<T>.drop(n: Int): Sequence<T> {
     require(n >= 0, { "Requested element count $n is less than zero." })
-    return if (n == 0) this else DropSequence(this, n)
+    return if (n == 0) this else if (this is DropSequence<T>) this.drop(n) else DropSequence(this, n)
 }
 
 /**
@@ -359,14 +359,14 @@ public fun <T> Sequence<T>.dropWhile(predicate: (T) -> Boolean): Sequence<T> {
  * Returns a sequence containing all elements matching the given [predicate].
  */
 public fun <T> Sequence<T>.filter(predicate: (T) -> Boolean): Sequence<T> {
-    return FilteringSequence(this, true, predicate)
+    return if (this is FilteringSequence<T>) this.filter(true, predicate) else FilteringSequence(this, true, predicate)
 }
 
 /**
  * Returns a sequence containing all elements not matching the given [predicate].
  */
 public fun <T> Sequence<T>.filterNot(predicate: (T) -> Boolean): Sequence<T> {
-    return FilteringSequence(this, false, predicate)
+    return if (this is FilteringSequence<T>) this.filter(false, predicate) else FilteringSequence(this, false, predicate)
 }
 
 /**
@@ -405,7 +405,7 @@ public inline fun <T, C : MutableCollection<in T>> Sequence<T>.filterTo(destinat
  */
 public fun <T> Sequence<T>.take(n: Int): Sequence<T> {
     require(n >= 0, { "Requested element count $n is less than zero." })
-    return if (n == 0) emptySequence() else TakeSequence(this, n)
+    return if (n == 0) emptySequence() else if (this is TakeSequence<T>) this.take(n) else TakeSequence(this, n)
 }
 
 /**
@@ -473,9 +473,7 @@ public fun <T> Sequence<T>.toArrayList(): ArrayList<T> {
  * Appends all elements to the given [collection].
  */
 public fun <T, C : MutableCollection<in T>> Sequence<T>.toCollection(collection: C): C {
-    for (item in this) {
-        collection.add(item)
-    }
+    pushValues { collection.add(it) }
     return collection
 }
 
@@ -584,7 +582,7 @@ public inline fun <T, K> Sequence<T>.groupByTo(map: MutableMap<K, MutableList<T>
  * Returns a sequence containing the results of applying the given [transform] function to each element of the original sequence.
  */
 public fun <T, R> Sequence<T>.map(transform: (T) -> R): Sequence<R> {
-    return TransformingSequence(this, transform)
+    return if (this is TransformableSequence<T>) this.map(transform) else TransformingSequence(this, transform)
 }
 
 /**
@@ -702,6 +700,33 @@ public fun <T> Sequence<T>.count(): Int {
     return count
 }
 
+/**
+ * Returns the number of elements in this collection.
+ */
+public fun DoubleSequence.count(): Int {
+    var count = 0
+    for (element in this) count++
+    return count
+}
+
+/**
+ * Returns the number of elements in this collection.
+ */
+public fun IntSequence.count(): Int {
+    var count = 0
+    for (element in this) count++
+    return count
+}
+
+/**
+ * Returns the number of elements in this collection.
+ */
+public fun LongSequence.count(): Int {
+    var count = 0
+    for (element in this) count++
+    return count
+}
+
 /**
  * Returns the number of elements matching the given [predicate].
  */
@@ -727,6 +752,27 @@ public inline fun <T> Sequence<T>.forEach(operation: (T) -> Unit): Unit {
     for (element in this) operation(element)
 }
 
+/**
+ * Performs the given [operation] on each element.
+ */
+public inline fun DoubleSequence.forEach(operation: (Double) -> Unit): Unit {
+    for (element in this) operation(element)
+}
+
+/**
+ * Performs the given [operation] on each element.
+ */
+public inline fun IntSequence.forEach(operation: (Int) -> Unit): Unit {
+    for (element in this) operation(element)
+}
+
+/**
+ * Performs the given [operation] on each element.
+ */
+public inline fun LongSequence.forEach(operation: (Long) -> Unit): Unit {
+    for (element in this) operation(element)
+}
+
 /**
  * Performs the given [operation] on each element, providing sequential index with the element.
  */
@@ -1028,6 +1074,381 @@ public fun <T> Sequence<T>.asSequence(): Sequence<T> {
     return this
 }
 
+/**
+ * Returns a sequence of boxed values from the given primitive sequence.
+ */
+public fun DoubleSequence.asSequence(): Sequence<Double> {
+    return object : Sequence<Double> {
+        override fun iterator(): Iterator<Double> {
+            return this@asSequence.iterator()
+        }
+    }
+}
+
+/**
+ * Returns a sequence of boxed values from the given primitive sequence.
+ */
+public fun IntSequence.asSequence(): Sequence<Int> {
+    return object : Sequence<Int> {
+        override fun iterator(): Iterator<Int> {
+            return this@asSequence.iterator()
+        }
+    }
+}
+
+/**
+ * Returns a sequence of boxed values from the given primitive sequence.
+ */
+public fun LongSequence.asSequence(): Sequence<Long> {
+    return object : Sequence<Long> {
+        override fun iterator(): Iterator<Long> {
+            return this@asSequence.iterator()
+        }
+    }
+}
+
+/**
+ * Returns a sequence containing all elements matching the given [predicate].
+ */
+public inline fun IntSequence.filter(crossinline predicate: (Int) -> Boolean): IntSequence {
+    return object : IntSequence {
+        override fun iterator(): IntIterator = object : IntIterator() {
+            val iterator = this@filter.iterator()
+            var nextState: Int = -1 // -1 for unknown, 0 for done, 1 for continue
+            var nextItem: Int = 0
+            private fun calcNext() {
+                while (iterator.hasNext()) {
+                    val item = iterator.nextInt()
+                    if (predicate(item)) {
+                        nextItem = item
+                        nextState = 1
+                        return
+                    }
+                }
+                nextState = 0
+            }
+            override fun nextInt(): Int {
+                if (nextState == -1)
+                    calcNext()
+                if (nextState == 0)
+                    throw NoSuchElementException()
+                nextState = -1
+                return nextItem
+            }
+            override fun hasNext(): Boolean {
+                if (nextState == -1)
+                    calcNext()
+                return nextState == 1
+            }
+        }
+    }
+}
+
+/**
+ * Returns a sequence containing all elements matching the given [predicate].
+ */
+public inline fun LongSequence.filter(crossinline predicate: (Long) -> Boolean): LongSequence {
+    return object : LongSequence {
+        override fun iterator(): LongIterator = object : LongIterator() {
+            val iterator = this@filter.iterator()
+            var nextState: Int = -1 // -1 for unknown, 0 for done, 1 for continue
+            var nextItem: Long = 0L
+            private fun calcNext() {
+                while (iterator.hasNext()) {
+                    val item = iterator.nextLong()
+                    if (predicate(item)) {
+                        nextItem = item
+                        nextState = 1
+                        return
+                    }
+                }
+                nextState = 0
+            }
+            override fun nextLong(): Long {
+                if (nextState == -1)
+                    calcNext()
+                if (nextState == 0)
+                    throw NoSuchElementException()
+                nextState = -1
+                return nextItem
+            }
+            override fun hasNext(): Boolean {
+                if (nextState == -1)
+                    calcNext()
+                return nextState == 1
+            }
+        }
+    }
+}
+
+/**
+ * Returns a sequence containing all elements matching the given [predicate].
+ */
+public inline fun DoubleSequence.filter(crossinline predicate: (Double) -> Boolean): DoubleSequence {
+    return object : DoubleSequence {
+        override fun iterator(): DoubleIterator = object : DoubleIterator() {
+            val iterator = this@filter.iterator()
+            var nextState: Int = -1 // -1 for unknown, 0 for done, 1 for continue
+            var nextItem: Double = 0.0
+            private fun calcNext() {
+                while (iterator.hasNext()) {
+                    val item = iterator.nextDouble()
+                    if (predicate(item)) {
+                        nextItem = item
+                        nextState = 1
+                        return
+                    }
+                }
+                nextState = 0
+            }
+            override fun nextDouble(): Double {
+                if (nextState == -1)
+                    calcNext()
+                if (nextState == 0)
+                    throw NoSuchElementException()
+                nextState = -1
+                return nextItem
+            }
+            override fun hasNext(): Boolean {
+                if (nextState == -1)
+                    calcNext()
+                return nextState == 1
+            }
+        }
+    }
+}
+
+/**
+ * Returns a sequence containing all elements not matching the given [predicate].
+ */
+public inline fun IntSequence.filterNot(crossinline predicate: (Int) -> Boolean): IntSequence {
+    return object : IntSequence {
+        override fun iterator(): IntIterator = object : IntIterator() {
+            val iterator = this@filterNot.iterator()
+            var nextState: Int = -1 // -1 for unknown, 0 for done, 1 for continue
+            var nextItem: Int = 0
+            private fun calcNext() {
+                while (iterator.hasNext()) {
+                    val item = iterator.nextInt()
+                    if (!predicate(item)) {
+                        nextItem = item
+                        nextState = 1
+                        return
+                    }
+                }
+                nextState = 0
+            }
+            override fun nextInt(): Int {
+                if (nextState == -1)
+                    calcNext()
+                if (nextState == 0)
+                    throw NoSuchElementException()
+                nextState = -1
+                return nextItem
+            }
+            override fun hasNext(): Boolean {
+                if (nextState == -1)
+                    calcNext()
+                return nextState == 1
+            }
+        }
+    }
+}
+
+/**
+ * Returns a sequence containing all elements not matching the given [predicate].
+ */
+public inline fun LongSequence.filterNot(crossinline predicate: (Long) -> Boolean): LongSequence {
+    return object : LongSequence {
+        override fun iterator(): LongIterator = object : LongIterator() {
+            val iterator = this@filterNot.iterator()
+            var nextState: Int = -1 // -1 for unknown, 0 for done, 1 for continue
+            var nextItem: Long = 0L
+            private fun calcNext() {
+                while (iterator.hasNext()) {
+                    val item = iterator.nextLong()
+                    if (!predicate(item)) {
+                        nextItem = item
+                        nextState = 1
+                        return
+                    }
+                }
+                nextState = 0
+            }
+            override fun nextLong(): Long {
+                if (nextState == -1)
+                    calcNext()
+                if (nextState == 0)
+                    throw NoSuchElementException()
+                nextState = -1
+                return nextItem
+            }
+            override fun hasNext(): Boolean {
+                if (nextState == -1)
+                    calcNext()
+                return nextState == 1
+            }
+        }
+    }
+}
+
+/**
+ * Returns a sequence containing all elements not matching the given [predicate].
+ */
+public inline fun DoubleSequence.filterNot(crossinline predicate: (Double) -> Boolean): DoubleSequence {
+    return object : DoubleSequence {
+        override fun iterator(): DoubleIterator = object : DoubleIterator() {
+            val iterator = this@filterNot.iterator()
+            var nextState: Int = -1 // -1 for unknown, 0 for done, 1 for continue
+            var nextItem: Double = 0.0
+            private fun calcNext() {
+                while (iterator.hasNext()) {
+                    val item = iterator.nextDouble()
+                    if (!predicate(item)) {
+                        nextItem = item
+                        nextState = 1
+                        return
+                    }
+                }
+                nextState = 0
+            }
+            override fun nextDouble(): Double {
+                if (nextState == -1)
+                    calcNext()
+                if (nextState == 0)
+                    throw NoSuchElementException()
+                nextState = -1
+                return nextItem
+            }
+            override fun hasNext(): Boolean {
+                if (nextState == -1)
+                    calcNext()
+                return nextState == 1
+            }
+        }
+    }
+}
+
+/**
+ * Accumulates value starting with [initial] value and applying [operation] from left to right to current accumulator value and each element.
+ */
+public inline fun DoubleSequence.fold(initial: Double, operation: (Double, Double) -> Double): Double {
+    var accumulator = initial
+    for (element in this) accumulator = operation(accumulator, element)
+    return accumulator
+}
+
+/**
+ * Accumulates value starting with [initial] value and applying [operation] from left to right to current accumulator value and each element.
+ */
+public inline fun IntSequence.fold(initial: Int, operation: (Int, Int) -> Int): Int {
+    var accumulator = initial
+    for (element in this) accumulator = operation(accumulator, element)
+    return accumulator
+}
+
+/**
+ * Accumulates value starting with [initial] value and applying [operation] from left to right to current accumulator value and each element.
+ */
+public inline fun LongSequence.fold(initial: Long, operation: (Long, Long) -> Long): Long {
+    var accumulator = initial
+    for (element in this) accumulator = operation(accumulator, element)
+    return accumulator
+}
+
+/**
+ * Returns a sequence containing the results of applying the given [transform] function to each element of the original sequence.
+ */
+public inline fun IntSequence.map(crossinline transform: (Int) -> Int): IntSequence {
+    return object : IntSequence {
+        override fun iterator(): IntIterator = object : IntIterator() {
+            val iterator = this@map.iterator()
+            override fun nextInt(): Int {
+                return transform(iterator.nextInt())
+            }
+            override fun hasNext(): Boolean {
+                return iterator.hasNext()
+            }
+        }
+    }
+}
+
+/**
+ * Returns a sequence containing the results of applying the given [transform] function to each element of the original sequence.
+ */
+public inline fun LongSequence.map(crossinline transform: (Long) -> Long): LongSequence {
+    return object : LongSequence {
+        override fun iterator(): LongIterator = object : LongIterator() {
+            val iterator = this@map.iterator()
+            override fun nextLong(): Long {
+                return transform(iterator.nextLong())
+            }
+            override fun hasNext(): Boolean {
+                return iterator.hasNext()
+            }
+        }
+    }
+}
+
+/**
+ * Returns a sequence containing the results of applying the given [transform] function to each element of the original sequence.
+ */
+public inline fun DoubleSequence.map(crossinline transform: (Double) -> Double): DoubleSequence {
+    return object : DoubleSequence {
+        override fun iterator(): DoubleIterator = object : DoubleIterator() {
+            val iterator = this@map.iterator()
+            override fun nextDouble(): Double {
+                return transform(iterator.nextDouble())
+            }
+            override fun hasNext(): Boolean {
+                return iterator.hasNext()
+            }
+        }
+    }
+}
+
+/**
+ * Returns an array of Double containing all of the elements of this sequence.
+ */
+public fun DoubleSequence.toDoubleArray(): DoubleArray {
+    var result = DoubleArray(10)
+    var size = 0
+    for (element in this) {
+        if (size == result.size())
+            result = result.copyOf(size * 2)
+        result[size++] = element
+    }
+    return if (size == result.size()) result else result.copyOf(size)
+}
+
+/**
+ * Returns an array of Int containing all of the elements of this sequence.
+ */
+public fun IntSequence.toIntArray(): IntArray {
+    var result = IntArray(10)
+    var size = 0
+    for (element in this) {
+        if (size == result.size())
+            result = result.copyOf(size * 2)
+        result[size++] = element
+    }
+    return if (size == result.size()) result else result.copyOf(size)
+}
+
+/**
+ * Returns an array of Long containing all of the elements of this sequence.
+ */
+public fun LongSequence.toLongArray(): LongArray {
+    var result = LongArray(10)
+    var size = 0
+    for (element in this) {
+        if (size == result.size())
+            result = result.copyOf(size * 2)
+        result[size++] = element
+    }
+    return if (size == result.size()) result else result.copyOf(size)
+}
+
 /**
  * Returns a sequence containing all elements that are instances of specified type parameter R.
  */
@@ -1152,6 +1573,48 @@ public fun Sequence<Short>.average(): Double {
     return if (count == 0) 0.0 else sum / count
 }
 
+/**
+ * Returns an average value of elements in the collection.
+ */
+public fun DoubleSequence.average(): Double {
+    val iterator = iterator()
+    var sum: Double = 0.0
+    var count: Int = 0
+    while (iterator.hasNext()) {
+        sum += iterator.next()
+        count += 1
+    }
+    return if (count == 0) 0.0 else sum / count
+}
+
+/**
+ * Returns an average value of elements in the collection.
+ */
+public fun IntSequence.average(): Double {
+    val iterator = iterator()
+    var sum: Double = 0.0
+    var count: Int = 0
+    while (iterator.hasNext()) {
+        sum += iterator.next()
+        count += 1
+    }
+    return if (count == 0) 0.0 else sum / count
+}
+
+/**
+ * Returns an average value of elements in the collection.
+ */
+public fun LongSequence.average(): Double {
+    val iterator = iterator()
+    var sum: Double = 0.0
+    var count: Int = 0
+    while (iterator.hasNext()) {
+        sum += iterator.next()
+        count += 1
+    }
+    return if (count == 0) 0.0 else sum / count
+}
+
 /**
  * Returns the sum of all elements in the collection.
  */
@@ -1230,3 +1693,39 @@ public fun Sequence<Short>.sum(): Int {
     return sum
 }
 
+/**
+ * Returns the sum of all elements in the collection.
+ */
+public fun DoubleSequence.sum(): Double {
+    val iterator = iterator()
+    var sum: Double = 0.0
+    while (iterator.hasNext()) {
+        sum += iterator.next()
+    }
+    return sum
+}
+
+/**
+ * Returns the sum of all elements in the collection.
+ */
+public fun IntSequence.sum(): Int {
+    val iterator = iterator()
+    var sum: Int = 0
+    while (iterator.hasNext()) {
+        sum += iterator.next()
+    }
+    return sum
+}
+
+/**
+ * Returns the sum of all elements in the collection.
+ */
+public fun LongSequence.sum(): Long {
+    val iterator = iterator()
+    var sum: Long = 0L
+    while (iterator.hasNext()) {
+        sum += iterator.next()
+    }
+    return sum
+}
+
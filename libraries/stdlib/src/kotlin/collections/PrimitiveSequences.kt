@@ -0,0 +1,49 @@
+@file:kotlin.jvm.JvmMultifileClass
+@file:kotlin.jvm.JvmName("SequencesKt")
+
+package kotlin
+
+/**
+ * A sequence of `Int` values that returns them through its iterator without boxing. The values are evaluated lazily,
+ * and the sequence is potentially infinite.
+ *
+ * The lazy [map], [filter] and [filterNot] stages are inline functions, so their lambdas are called with unboxed values too.
+ *
+ * Use [asSequence] to get a [Sequence] of boxed values.
+ */
+public interface IntSequence {
+    /**
+     * Returns an iterator that returns the values from the sequence.
+     */
+    public operator fun iterator(): IntIterator
+}
+
+/**
+ * A sequence of `Long` values that returns them through its iterator without boxing. The values are evaluated lazily,
+ * and the sequence is potentially infinite.
+ *
+ * The lazy [map], [filter] and [filterNot] stages are inline functions, so their lambdas are called with unboxed values too.
+ *
+ * Use [asSequence] to get a [Sequence] of boxed values.
+ */
+public interface LongSequence {
+    /**
+     * Returns an iterator that returns the values from the sequence.
+     */
+    public operator fun iterator(): LongIterator
+}
+
+/**
+ * A sequence of `Double` values that returns them through its iterator without boxing. The values are evaluated lazily,
+ * and the sequence is potentially infinite.
+ *
+ * The lazy [map], [filter] and [filterNot] stages are inline functions, so their lambdas are called with unboxed values too.
+ *
+ * Use [asSequence] to get a [Sequence] of boxed values.
+ */
+public interface DoubleSequence {
+    /**
+     * Returns an iterator that returns the values from the sequence.
+     */
+    public operator fun iterator(): DoubleIterator
+}
@@ -85,6 +85,29 @@ public fun <T, R> Sequence<Pair<T, R>>.unzip(): Pair<List<T>, List<R>> {
     return listT to listR
 }
 
+/**
+ * A sequence stage which can absorb a following `map` stage, so that both are evaluated by a single iterator.
+ */
+internal interface TransformableSequence<out T> : Sequence<T> {
+    fun <R> map(transformer: (T) -> R): Sequence<R>
+}
+
+/**
+ * A sequence which can pass its values to an action right from the loop over its source, without creating
+ * an iterator of its own.
+ */
+internal interface PushingSequence<out T> : Sequence<T> {
+    fun forEachValue(action: (T) -> Unit)
+}
+
+/**
+ * Passes all values of this sequence to the given [action], pushing them through the stages of the sequence
+ * which support that instead of pulling them through their iterators.
+ */
+internal fun <T> Sequence<T>.pushValues(action: (T) -> Unit) {
+    if (this is PushingSequence<T>) forEachValue(action) else for (element in this) action(element)
+}
+
 /**
  * A sequence that returns the values from the underlying [sequence] that either match or do not match
  * the specified [predicate].
@@ -95,7 +118,20 @@ public fun <T, R> Sequence<Pair<T, R>>.unzip(): Pair<List<T>, List<R>> {
 internal class FilteringSequence<T>(private val sequence: Sequence<T>,
                                   private val sendWhen: Boolean = true,
                                   private val predicate: (T) -> Boolean
-                                 ) : Sequence<T> {
+                                 ) : TransformableSequence<T>, PushingSequence<T> {
+
+    /**
+     * Returns a sequence checking the given [predicate] after the predicate of this sequence in the same stage.
+     */
+    fun filter(sendWhen: Boolean, predicate: (T) -> Boolean): Sequence<T> =
+            FilteringSequence(sequence, true, { this.predicate(it) == this.sendWhen && predicate(it) == sendWhen })
+
+    override fun <R> map(transformer: (T) -> R): Sequence<R> =
+            FilteringTransformingSequence(sequence, sendWhen, predicate, transformer)
+
+    override fun forEachValue(action: (T) -> Unit) {
+        sequence.pushValues { if (predicate(it) == sendWhen) action(it) }
+    }
 
     override fun iterator(): Iterator<T> = object : Iterator<T> {
         val iterator = sequence.iterator();
@@ -139,7 +175,7 @@ internal class FilteringSequence<T>(private val sequence: Sequence<T>,
  */
 
 internal class TransformingSequence<T, R>
-constructor(private val sequence: Sequence<T>, private val transformer: (T) -> R) : Sequence<R> {
+constructor(private val sequence: Sequence<T>, private val transformer: (T) -> R) : TransformableSequence<R>, PushingSequence<R> {
     override fun iterator(): Iterator<R> = object : Iterator<R> {
         val iterator = sequence.iterator()
         override fun next(): R {
@@ -150,6 +186,70 @@ constructor(private val sequence: Sequence<T>, private val transformer: (T) -> R
             return iterator.hasNext()
         }
     }
+
+    override fun <E> map(transformer: (R) -> E): Sequence<E> =
+            TransformingSequence(sequence, { transformer(this.transformer(it)) })
+
+    override fun forEachValue(action: (R) -> Unit) {
+        sequence.pushValues { action(transformer(it)) }
+    }
+}
+
+/**
+ * A sequence which returns the results of applying the given [transformer] function to the values
+ * in the underlying [sequence] that either match or do not match the specified [predicate].
+ * It is created for a `filter` stage followed by a `map` stage, so that both are evaluated by a single iterator.
+ *
+ * @param sendWhen If `true`, values for which the predicate returns `true` are transformed. Otherwise,
+ * values for which the predicate returns `false` are transformed
+ */
+internal class FilteringTransformingSequence<T, R>(private val sequence: Sequence<T>,
+                                                   private val sendWhen: Boolean,
+                                                   private val predicate: (T) -> Boolean,
+                                                   private val transformer: (T) -> R
+                                                  ) : TransformableSequence<R>, PushingSequence<R> {
+
+    override fun iterator(): Iterator<R> = object : Iterator<R> {
+        val iterator = sequence.iterator();
+        var nextState: Int = -1 // -1 for unknown, 0 for done, 1 for continue
+        var nextItem: T? = null
+
+        private fun calcNext() {
+            while (iterator.hasNext()) {
+                val item = iterator.next()
+                if (predicate(item) == sendWhen) {
+                    nextItem = item
+                    nextState = 1
+                    return
+                }
+            }
+            nextState = 0
+        }
+
+        override fun next(): R {
+            if (nextState == -1)
+                calcNext()
+            if (nextState == 0)
+                throw NoSuchElementException()
+            val result = nextItem
+            nextItem = null
+            nextState = -1
+            return transformer(result as T)
+        }
+
+        override fun hasNext(): Boolean {
+            if (nextState == -1)
+                calcNext()
+            return nextState == 1
+        }
+    }
+
+    override fun <E> map(transformer: (R) -> E): Sequence<E> =
+            FilteringTransformingSequence(sequence, sendWhen, predicate, { transformer(this.transformer(it)) })
+
+    override fun forEachValue(action: (R) -> Unit) {
+        sequence.pushValues { if (predicate(it) == sendWhen) action(transformer(it)) }
+    }
 }
 
 /**
@@ -302,6 +402,11 @@ internal class TakeSequence<T>
         require (count >= 0) { throw IllegalArgumentException("count should be non-negative, but is $count") }
     }
 
+    /**
+     * Returns a sequence taking at most [n] values from the underlying sequence in the same stage.
+     */
+    fun take(n: Int): Sequence<T> = if (n >= count) this else TakeSequence(sequence, n)
+
     override fun iterator(): Iterator<T> = object : Iterator<T> {
         var left = count
         val iterator = sequence.iterator();
@@ -377,6 +482,15 @@ internal class DropSequence<T>
         require (count >= 0) { throw IllegalArgumentException("count should be non-negative, but is $count") }
     }
 
+    /**
+     * Returns a sequence skipping [n] more values from the underlying sequence in the same stage.
+     */
+    fun drop(n: Int): Sequence<T> {
+        val total = count + n
+        // Keep the stages separate if the total count overflows
+        return if (total < 0) DropSequence(this, n) else DropSequence(sequence, total)
+    }
+
     override fun iterator(): Iterator<T> = object : Iterator<T> {
         val iterator = sequence.iterator();
         var left = count
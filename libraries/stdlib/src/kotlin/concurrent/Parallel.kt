@@ -0,0 +1,260 @@
+@file:JvmVersion
+@file:JvmName("ParallelKt")
+package kotlin.concurrent
+
+import java.util.ArrayList
+import java.util.Arrays
+import java.util.Comparator
+import java.util.RandomAccess
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.ThreadFactory
+
+/**
+ * Returns a list containing the results of applying the given [transform] function to each element of the original collection.
+ *
+ * The elements are split into chunks which are transformed in parallel on the [executor]; the chunk containing the first
+ * elements is transformed by the calling thread. The order of the results is the order of the original elements, but
+ * the order of [transform] calls is not specified.
+ *
+ * @param executor the executor to run the chunks on. By default it's a shared pool of daemon threads, one per available processor.
+ * Note that the calling thread waits for the chunks to complete, so it must not be a thread of a bounded [executor].
+ */
+public fun <T, R> Iterable<T>.parallelMap(executor: ExecutorService = defaultParallelExecutor, transform: (T) -> R): List<R> {
+    val chunks = splitIntoChunks().mapInParallel(executor) { chunk -> chunk.map(transform) }
+    val result = ArrayList<R>(chunks.sumBy { it.size() })
+    for (chunk in chunks) result.addAll(chunk)
+    return result
+}
+
+/**
+ * Returns a list containing all elements matching the given [predicate].
+ *
+ * The elements are split into chunks which are filtered in parallel on the [executor]; the chunk containing the first
+ * elements is filtered by the calling thread. The matching elements are returned in their original order, but
+ * the order of [predicate] calls is not specified.
+ *
+ * @param executor the executor to run the chunks on. By default it's a shared pool of daemon threads, one per available processor.
+ * Note that the calling thread waits for the chunks to complete, so it must not be a thread of a bounded [executor].
+ */
+public fun <T> Iterable<T>.parallelFilter(executor: ExecutorService = defaultParallelExecutor, predicate: (T) -> Boolean): List<T> {
+    val chunks = splitIntoChunks().mapInParallel(executor) { chunk -> chunk.filter(predicate) }
+    val result = ArrayList<T>(chunks.sumBy { it.size() })
+    for (chunk in chunks) result.addAll(chunk)
+    return result
+}
+
+/**
+ * Accumulates value of each chunk of the elements in parallel, starting with [initial] value and applying [operation]
+ * from left to right to current accumulator value and each element of the chunk, and then combines values of the chunks
+ * from left to right with the [combine] function.
+ *
+ * Since [initial] value is used for every chunk, it must be an identity of [combine], e.g. `0` for addition or
+ * an empty collection for concatenation, and `combine(acc, operation(initial, e))` must be equal to `operation(acc, e)`.
+ * If [initial] is a mutable object, it's shared by all chunks.
+ *
+ * @param executor the executor to run the chunks on. By default it's a shared pool of daemon threads, one per available processor.
+ * Note that the calling thread waits for the chunks to complete, so it must not be a thread of a bounded [executor].
+ */
+public fun <T, R> Iterable<T>.parallelFold(initial: R, combine: (R, R) -> R, executor: ExecutorService = defaultParallelExecutor,
+                                           operation: (R, T) -> R): R {
+    val chunks = splitIntoChunks().mapInParallel(executor) { chunk -> chunk.fold(initial, operation) }
+    var accumulator = initial
+    for ((index, value) in chunks.withIndex()) accumulator = if (index == 0) value else combine(accumulator, value)
+    return accumulator
+}
+
+/**
+ * Sorts the array in-place according to the natural order of its elements.
+ *
+ * Ranges of the array are sorted in parallel on the [executor] and then merged, also in parallel.
+ * The sort is stable: equal elements preserve their order relative to each other.
+ *
+ * @param executor the executor to run the tasks on, the same as for [parallelMap].
+ */
+public fun <T : Comparable<T>> Array<T>.parallelSort(executor: ExecutorService = defaultParallelExecutor): Unit {
+    parallelSortWith(Comparator<T> { a, b -> a.compareTo(b) }, executor)
+}
+
+/**
+ * Sorts the array in-place according to the order specified by the given [comparator].
+ *
+ * Ranges of the array are sorted in parallel on the [executor] and then merged, also in parallel.
+ * The sort is stable: equal elements preserve their order relative to each other.
+ *
+ * @param executor the executor to run the tasks on, the same as for [parallelMap].
+ */
+public fun <T> Array<T>.parallelSortWith(comparator: Comparator<in T>, executor: ExecutorService = defaultParallelExecutor): Unit {
+    parallelMergeSort(size(), executor,
+                      { from, to -> Arrays.sort(this, from, to, comparator) },
+                      { from, mid, to ->
+                          val left = copyOfRange(from, mid)
+                          var i = 0
+                          var j = mid
+                          var k = from
+                          while (i < left.size() && j < to) {
+                              this[k++] = if (comparator.compare(left[i], this[j]) <= 0) left[i++] else this[j++]
+                          }
+                          while (i < left.size()) this[k++] = left[i++]
+                      })
+}
+
+/**
+ * Sorts the array in-place.
+ *
+ * Ranges of the array are sorted in parallel on the [executor] and then merged, also in parallel.
+ *
+ * @param executor the executor to run the tasks on, the same as for [parallelMap].
+ */
+public fun IntArray.parallelSort(executor: ExecutorService = defaultParallelExecutor): Unit {
+    parallelMergeSort(size(), executor,
+                      { from, to -> Arrays.sort(this, from, to) },
+                      { from, mid, to ->
+                          val left = copyOfRange(from, mid)
+                          var i = 0
+                          var j = mid
+                          var k = from
+                          while (i < left.size() && j < to) {
+                              this[k++] = if (left[i] <= this[j]) left[i++] else this[j++]
+                          }
+                          while (i < left.size()) this[k++] = left[i++]
+                      })
+}
+
+/**
+ * Sorts the array in-place.
+ *
+ * Ranges of the array are sorted in parallel on the [executor] and then merged, also in parallel.
+ *
+ * @param executor the executor to run the tasks on, the same as for [parallelMap].
+ */
+public fun LongArray.parallelSort(executor: ExecutorService = defaultParallelExecutor): Unit {
+    parallelMergeSort(size(), executor,
+                      { from, to -> Arrays.sort(this, from, to) },
+                      { from, mid, to ->
+                          val left = copyOfRange(from, mid)
+                          var i = 0
+                          var j = mid
+                          var k = from
+                          while (i < left.size() && j < to) {
+                              this[k++] = if (left[i] <= this[j]) left[i++] else this[j++]
+                          }
+                          while (i < left.size()) this[k++] = left[i++]
+                      })
+}
+
+/**
+ * Sorts the array in-place, in the same order as [java.util.Arrays.sort] does: `-0.0` is less than `0.0`
+ * and `NaN` is greater than any other value.
+ *
+ * Ranges of the array are sorted in parallel on the [executor] and then merged, also in parallel.
+ *
+ * @param executor the executor to run the tasks on, the same as for [parallelMap].
+ */
+public fun DoubleArray.parallelSort(executor: ExecutorService = defaultParallelExecutor): Unit {
+    parallelMergeSort(size(), executor,
+                      { from, to -> Arrays.sort(this, from, to) },
+                      { from, mid, to ->
+                          val left = copyOfRange(from, mid)
+                          var i = 0
+                          var j = mid
+                          var k = from
+                          while (i < left.size() && j < to) {
+                              this[k++] = if (java.lang.Double.compare(left[i], this[j]) <= 0) left[i++] else this[j++]
+                          }
+                          while (i < left.size()) this[k++] = left[i++]
+                      })
+}
+
+// Arrays shorter than this are sorted in the calling thread, as the tasks would cost more than they save
+private val MIN_PARALLEL_SORT_SIZE = 1 shl 13
+
+private val parallelism: Int
+    get() = Runtime.getRuntime().availableProcessors()
+
+private val defaultParallelExecutor: ExecutorService
+    get() = DefaultParallelExecutor.executor
+
+private object DefaultParallelExecutor {
+    val executor: ExecutorService = Executors.newFixedThreadPool(parallelism, ThreadFactory { runnable ->
+        ParallelWorkerThread(runnable).apply { setDaemon(true) }
+    })
+}
+
+private class ParallelWorkerThread(runnable: Runnable) : Thread(runnable, "kotlin-parallel-worker")
+
+/**
+ * Splits the elements into about four chunks per available processor, so that the work is balanced
+ * if the chunks take different time to process.
+ */
+private fun <T> Iterable<T>.splitIntoChunks(): List<List<T>> {
+    val list = if (this is List<T> && this is RandomAccess) this else toArrayList()
+    if (list.isEmpty()) return emptyList()
+
+    val chunkCount = Math.min(list.size(), parallelism * 4)
+    return (0..chunkCount - 1).map { list.subList(splitPoint(list.size(), it, chunkCount), splitPoint(list.size(), it + 1, chunkCount)) }
+}
+
+private fun splitPoint(size: Int, index: Int, count: Int): Int = (size.toLong() * index / count).toInt()
+
+/**
+ * Applies [transform] to all the [tasks] on the [executor], except the first task which is run in the calling thread,
+ * and returns the results in the order of the tasks.
+ *
+ * When called from a thread of the default executor, for example from a nested parallel operation, the tasks are run
+ * in the calling thread one by one, since waiting for other threads of a bounded pool could cause a deadlock.
+ */
+private fun <T, R> List<T>.mapInParallel(executor: ExecutorService, transform: (T) -> R): List<R> {
+    if (size() <= 1 || Thread.currentThread() is ParallelWorkerThread) return map(transform)
+
+    val futures = drop(1).map { task -> executor.submit(Callable<R> { transform(task) }) }
+    try {
+        val result = ArrayList<R>(size())
+        result.add(transform(this[0]))
+        for (future in futures) result.add(future.getResult())
+        return result
+    }
+    catch (e: Throwable) {
+        for (future in futures) future.cancel(true)
+        throw e
+    }
+}
+
+private fun <R> Future<R>.getResult(): R {
+    try {
+        return get()
+    }
+    catch (e: ExecutionException) {
+        throw e.getCause() ?: e
+    }
+}
+
+/**
+ * Sorts ranges of an array of the given [size] in parallel with [sortRange], and then merges adjacent sorted ranges with
+ * [mergeRanges] until the whole array is sorted. Merges of the same width are independent and are also run in parallel.
+ */
+private fun parallelMergeSort(size: Int, executor: ExecutorService,
+                              sortRange: (from: Int, to: Int) -> Unit,
+                              mergeRanges: (from: Int, mid: Int, to: Int) -> Unit) {
+    if (size < MIN_PARALLEL_SORT_SIZE) {
+        sortRange(0, size)
+        return
+    }
+
+    val rangeCount = Math.min(parallelism, size / MIN_PARALLEL_SORT_SIZE)
+    val bounds = (0..rangeCount).map { splitPoint(size, it, rangeCount) }
+
+    (0..rangeCount - 1).toList().mapInParallel(executor) { sortRange(bounds[it], bounds[it + 1]) }
+
+    var width = 1
+    while (width < rangeCount) {
+        val step = width * 2
+        (0..rangeCount - 1 - width step step).toList().mapInParallel(executor) {
+            mergeRanges(bounds[it], bounds[it + width], bounds[Math.min(it + step, rangeCount)])
+        }
+        width = step
+    }
+}
@@ -0,0 +1,26 @@
+package test.collections
+
+import org.junit.Test as test
+import kotlin.test.*
+
+class PrimitiveSequenceJVMTest {
+
+    private fun assertHoldsNoFunctions(stage: Any) {
+        for (field in stage.javaClass.getDeclaredFields()) {
+            assertFalse(javaClass<Function<*>>().isAssignableFrom(field.getType()), "$field of a primitive sequence stage holds a function")
+        }
+    }
+
+    @test fun stagesCallInlinedLambdas() {
+        // A stage that stored its lambda would call it through Function1.invoke(Object) and box every element
+        val offset = 1
+        val sequence = intArrayOf(1, 2, 3, 4).asIntSequence().map { it + offset }.filter { it % 2 == 0 }.filterNot { it > 4 }
+        val iterator = sequence.iterator()
+        assertHoldsNoFunctions(sequence)
+        assertHoldsNoFunctions(iterator)
+
+        assertEquals(2, iterator.nextInt())
+        assertEquals(4, iterator.nextInt())
+        assertFalse(iterator.hasNext())
+    }
+}
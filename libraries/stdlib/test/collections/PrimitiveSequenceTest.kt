@@ -0,0 +1,79 @@
+package test.collections
+
+import org.junit.Test as test
+import kotlin.test.*
+
+public class PrimitiveSequenceTest {
+
+    @test fun intArrayPipeline() {
+        val sequence = intArrayOf(1, 2, 3, 4, 5, 6).asIntSequence()
+        assertEquals(listOf(4, 8, 12), sequence.filter { it % 2 == 0 }.map { it * 2 }.asSequence().toList())
+        assertEquals(listOf(1, 3, 5), sequence.filterNot { it % 2 == 0 }.asSequence().toList())
+        assertEquals(21, sequence.sum())
+        assertEquals(3.5, sequence.average())
+        assertEquals(6, sequence.count())
+        assertEquals(720, sequence.fold(1) { acc, e -> acc * e })
+    }
+
+    @test fun chainedStages() {
+        var mapped = 0
+        val threshold = 10
+        val sequence = (1..10).asIntSequence()
+                .map { mapped++; it * 3 }
+                .filter { it % 2 == 0 }
+                .map { it + threshold }
+                .filterNot { it > 3 * threshold }
+        assertEquals(0, mapped, "stages must be lazy")
+
+        assertEquals(listOf(16, 22, 28), sequence.asSequence().toList())
+        assertEquals(10, mapped)
+        // Each iteration runs the whole chain again
+        assertEquals(66, sequence.sum())
+        assertEquals(20, mapped)
+
+        val longs = longArrayOf(1L, 2L, 3L, 4L).asLongSequence().filter { it > 1L }.map { it * it }.filterNot { it == 9L }
+        assertEquals(listOf(4L, 16L), longs.asSequence().toList())
+        val doubles = doubleArrayOf(0.5, 1.5, 2.5).asDoubleSequence().map { it * 2 }.filter { it < 4.0 }.map { it + 0.5 }
+        assertEquals(listOf(1.5, 3.5), doubles.toDoubleArray().asList())
+    }
+
+    @test fun arrayToArrayPipeline() {
+        val squaresOfOdd = intArrayOf(1, 2, 3, 4, 5).asIntSequence().filter { it % 2 == 1 }.map { it * it }.toIntArray()
+        assertEquals(listOf(1, 9, 25), squaresOfOdd.asList())
+    }
+
+    @test fun emptySequences() {
+        assertEquals(0, intArrayOf().asIntSequence().count())
+        assertEquals(0L, (1L..0L).asLongSequence().sum())
+        assertEquals(0.0, doubleArrayOf().asDoubleSequence().average())
+        assertEquals(0, intArrayOf(1, 2).asIntSequence().filter { false }.toIntArray().size())
+    }
+
+    @test fun rangesAndProgressions() {
+        assertEquals(55, (1..10).asIntSequence().sum())
+        assertEquals(25, (1..10 step 2).asIntSequence().sum())
+        assertEquals(listOf(2L, 4L, 6L), (1L..3L).asLongSequence().map { it * 2 }.asSequence().toList())
+    }
+
+    @test fun toPrimitiveArray() {
+        val result = (1..100).asIntSequence().map { it * it }.toIntArray()
+        assertEquals(100, result.size())
+        assertEquals(1, result[0])
+        assertEquals(10000, result[99])
+
+        assertTrue(doubleArrayOf(0.5, 1.5).asDoubleSequence().map { it * 2 }.toDoubleArray().asList() == listOf(1.0, 3.0))
+    }
+
+    @test fun forEach() {
+        var sum = 0L
+        longArrayOf(1L, 2L, 3L).asLongSequence().forEach { sum += it }
+        assertEquals(6L, sum)
+    }
+
+    @test fun iteratorAfterEnd() {
+        val iterator = intArrayOf(1, 2).asIntSequence().filter { it > 1 }.iterator()
+        assertEquals(2, iterator.nextInt())
+        assertFalse(iterator.hasNext())
+        fails { iterator.nextInt() }
+    }
+}
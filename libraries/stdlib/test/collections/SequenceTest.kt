@@ -347,6 +347,41 @@ public class SequenceTest {
         assertEquals(listOf("act", "wast", "test"), sequenceOf("act", "test", "wast").sortedWith(comparator).toList())
     }
 
+    @test fun fusedStagesKeepEvaluationOrder() {
+        val log = arrayListOf<String>()
+        val sequence = sequenceOf(1, 2, 3, 4)
+                .filter { log.add("filter $it"); it > 1 }
+                .filterNot { log.add("filterNot $it"); it == 3 }
+                .map { log.add("map $it"); it * 10 }
+                .map { log.add("map $it"); "$it" }
+
+        assertEquals(listOf("20", "40"), sequence.toList())
+        assertEquals(listOf("filter 1",
+                            "filter 2", "filterNot 2", "map 2", "map 20",
+                            "filter 3", "filterNot 3",
+                            "filter 4", "filterNot 4", "map 4", "map 40"), log)
+
+        log.clear()
+        assertEquals(listOf("20", "40"), sequence.iterator().asSequence().toList())
+        assertEquals(11, log.size())
+    }
+
+    @test fun fusedTakeAndDrop() {
+        val sequence = sequenceOf(1, 2, 3, 4, 5, 6, 7, 8)
+        assertEquals(listOf(1, 2), sequence.take(5).take(2).toList())
+        assertEquals(listOf(1, 2, 3), sequence.take(3).take(5).toList())
+        assertEquals(listOf(6, 7, 8), sequence.drop(2).drop(3).toList())
+        assertEquals(listOf<Int>(), sequence.drop(1).drop(Int.MAX_VALUE).toList())
+        assertEquals(listOf(4, 5), sequence.drop(1).take(5).drop(2).take(2).toList())
+    }
+
+    @test fun fusedStagesAreReiterable() {
+        val sequence = sequenceOf(1, 2, 3).filter { it != 2 }.map { it + 1 }.map { it * 2 }
+        assertEquals(listOf(4, 8), sequence.toList())
+        assertEquals(listOf(4, 8), sequence.toList())
+        assertEquals(setOf(4, 8), sequence.toSet())
+    }
+
     /*
     test fun pairIterator() {
         val pairStr = (fibonacci() zip fibonacci().map { i -> i*2 }).joinToString(limit = 10)
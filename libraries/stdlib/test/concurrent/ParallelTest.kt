@@ -0,0 +1,76 @@
+package test.concurrent
+
+import kotlin.concurrent.*
+import kotlin.test.*
+
+import org.junit.Test as test
+
+import java.util.Random
+import java.util.concurrent.*
+
+class ParallelTest {
+    @test fun parallelMapKeepsOrder() {
+        val list = (1..10000).toList()
+        assertEquals(list.map { it * 2 }, list.parallelMap { it * 2 })
+        assertEquals(listOf<Int>(), listOf<Int>().parallelMap { it * 2 })
+    }
+
+    @test fun parallelFilterKeepsOrder() {
+        val list = (1..10000).toList()
+        assertEquals(list.filter { it % 3 == 0 }, list.parallelFilter { it % 3 == 0 })
+    }
+
+    @test fun parallelFold() {
+        val list = (1..10000).toList()
+        assertEquals(list.sum().toLong(), list.parallelFold(0L, { a, b -> a + b }) { acc, e -> acc + e })
+        assertEquals("abcdef", "abcdef".toList().parallelFold("", { a, b -> a + b }) { acc, c -> acc + c })
+        assertEquals(42, listOf<Int>().parallelFold(42, { a, b -> a + b }) { acc, e -> acc + e })
+    }
+
+    @test fun userSuppliedExecutor() {
+        val pool = Executors.newFixedThreadPool(2)
+        try {
+            val threads = ConcurrentHashMap<Thread, Boolean>()
+            val result = (1..1000).toList().parallelMap(pool) { threads.put(Thread.currentThread(), true); it + 1 }
+            assertEquals((2..1001).toList(), result)
+            assertTrue(threads.keySet().any { it != Thread.currentThread() })
+        }
+        finally {
+            pool.shutdown()
+        }
+    }
+
+    @test fun nestedOperations() {
+        val result = (1..20).toList().parallelMap { i -> (1..i).toList().parallelMap { it * i }.sum() }
+        assertEquals((1..20).map { i -> (1..i).sumBy { it * i } }, result)
+    }
+
+    @test fun exceptionIsRethrown() {
+        val e = fails {
+            (1..1000).toList().parallelMap { if (it == 700) throw IllegalStateException() else it }
+        }
+        assertTrue(e is IllegalStateException)
+    }
+
+    @test fun parallelSort() {
+        val random = Random(42)
+        for (size in listOf(0, 1, 100, 100000)) {
+            val ints = (1..size).map { random.nextInt() }.toIntArray()
+            val expectedInts = ints.copyOf().apply { sort() }
+            ints.parallelSort()
+            assertTrue(expectedInts.asList() == ints.asList())
+
+            val doubles = (1..size).map { if (it % 100 == 0) Double.NaN else random.nextGaussian() }.toDoubleArray()
+            val expectedDoubles = doubles.copyOf().apply { sort() }
+            doubles.parallelSort()
+            assertTrue(expectedDoubles.asList() == doubles.asList())
+        }
+    }
+
+    @test fun parallelSortWithIsStable() {
+        val original = (1..50000).map { "${it % 7}:$it" }
+        val strings = original.toTypedArray()
+        strings.parallelSortWith(compareBy<String> { it.substringBefore(':') })
+        assertEquals(original.sortedBy { it.substringBefore(':') }, strings.asList())
+    }
+}
@@ -86,6 +86,7 @@ fun aggregates(): List<GenericFunction> {
     }
 
     templates add f("count()") {
+        include(SequencesOfPrimitives)
         doc { "Returns the number of elements in this collection." }
         returns("Int")
         body {
@@ -465,6 +466,7 @@ fun aggregates(): List<GenericFunction> {
 
     templates add f("forEach(operation: (T) -> Unit)") {
         inline(true)
+        include(SequencesOfPrimitives)
 
         doc { "Performs the given [operation] on each element." }
         returns("Unit")
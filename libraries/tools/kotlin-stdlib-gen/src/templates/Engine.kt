@@ -9,6 +9,7 @@ import kotlin.properties.Delegates
 
 enum class Family {
     Sequences,
+    SequencesOfPrimitives,
     Iterables,
     Collections,
     Lists,
@@ -27,7 +28,7 @@ enum class Family {
     val isPrimitiveSpecialization: Boolean by lazy { this in primitiveSpecializations }
 
     companion object {
-        val primitiveSpecializations = setOf(ArraysOfPrimitives, RangesOfPrimitives, ProgressionsOfPrimitives, Primitives)
+        val primitiveSpecializations = setOf(ArraysOfPrimitives, SequencesOfPrimitives, RangesOfPrimitives, ProgressionsOfPrimitives, Primitives)
         val defaultFamilies = setOf(Iterables, Sequences, ArraysOfObjects, ArraysOfPrimitives, Strings)
     }
 }
@@ -46,6 +47,7 @@ enum class PrimitiveType {
         val defaultPrimitives = PrimitiveType.values.toSet()
         val numericPrimitives = setOf(Int, Long, Byte, Short, Double, Float)
         val integralPrimitives = setOf(Int, Long, Byte, Short, Char)
+        val sequencePrimitives = setOf(Int, Long, Double)
 
         val descendingByDomainCapacity = listOf(Double, Float, Long, Int, Short, Char, Byte)
 
@@ -181,18 +183,22 @@ class GenericFunction(val signature: String, val keyword: String = "fun") {
         val onlyPrimitives = buildFamilyPrimitives[f]
 
         if (f.isPrimitiveSpecialization || onlyPrimitives != null) {
-            return (onlyPrimitives ?: buildPrimitives).sortedBy { it.name }
+            return primitivesFor(f, onlyPrimitives ?: buildPrimitives).sortedBy { it.name }
                     .map { primitive -> ConcreteFunction( { build(it, f, primitive) }, sourceFileFor(f) ) }
         } else {
             return listOf(ConcreteFunction( { build(it, f, null) }, sourceFileFor(f) ))
         }
     }
 
+    // Primitive sequences are provided only for Int, Long and Double, as primitive streams in Java 8 are
+    private fun primitivesFor(f: Family, primitives: Set<PrimitiveType>): Set<PrimitiveType> =
+            if (f == SequencesOfPrimitives) primitives.intersect(PrimitiveType.sequencePrimitives) else primitives
+
     private fun sourceFileFor(f: Family) = sourceFile[f] ?: getDefaultSourceFile(f)
 
     private fun getDefaultSourceFile(f: Family): SourceFile = when (f) {
         Iterables, Collections, Lists -> SourceFile.Collections
-        Sequences -> SourceFile.Sequences
+        Sequences, SequencesOfPrimitives -> SourceFile.Sequences
         Sets -> SourceFile.Sets
         Ranges, RangesOfPrimitives, ProgressionsOfPrimitives -> SourceFile.Ranges
         ArraysOfObjects, InvariantArraysOfObjects, ArraysOfPrimitives -> SourceFile.Arrays
@@ -213,7 +219,7 @@ class GenericFunction(val signature: String, val keyword: String = "fun") {
     fun build(builder: StringBuilder, f: Family) {
         val onlyPrimitives = buildFamilyPrimitives[f]
         if (f.isPrimitiveSpecialization || onlyPrimitives != null) {
-            for (primitive in (onlyPrimitives ?: buildPrimitives).sortedBy { it.name })
+            for (primitive in primitivesFor(f, onlyPrimitives ?: buildPrimitives).sortedBy { it.name })
                 build(builder, f, primitive)
         } else {
             build(builder, f, null)
@@ -297,6 +303,7 @@ class GenericFunction(val signature: String, val keyword: String = "fun") {
             Maps -> "Map<K, V>"
             Sets -> "Set<$isAsteriskOrT>"
             Sequences -> "Sequence<$isAsteriskOrT>"
+            SequencesOfPrimitives -> primitive?.let { it.name + "Sequence" } ?: throw IllegalArgumentException("Primitive sequence should specify primitive type")
             InvariantArraysOfObjects -> "Array<T>"
             ArraysOfObjects -> "Array<${isAsteriskOrT.replace("T", "out T")}>"
             Strings -> "String"
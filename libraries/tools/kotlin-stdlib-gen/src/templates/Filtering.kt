@@ -43,7 +43,7 @@ fun filtering(): List<GenericFunction> {
         body(Sequences) {
             """
             require(n >= 0, { "Requested element count $n is less than zero." })
-            return if (n == 0) this else DropSequence(this, n)
+            return if (n == 0) this else if (this is DropSequence<T>) this.drop(n) else DropSequence(this, n)
             """
         }
 
@@ -102,7 +102,7 @@ fun filtering(): List<GenericFunction> {
         body(Sequences) {
             """
             require(n >= 0, { "Requested element count $n is less than zero." })
-            return if (n == 0) emptySequence() else TakeSequence(this, n)
+            return if (n == 0) emptySequence() else if (this is TakeSequence<T>) this.take(n) else TakeSequence(this, n)
             """
         }
 
@@ -335,7 +335,7 @@ fun filtering(): List<GenericFunction> {
         returns(Sequences) { "Sequence<T>" }
         body(Sequences) {
             """
-            return FilteringSequence(this, true, predicate)
+            return if (this is FilteringSequence<T>) this.filter(true, predicate) else FilteringSequence(this, true, predicate)
             """
         }
     }
@@ -390,7 +390,7 @@ fun filtering(): List<GenericFunction> {
         returns(Sequences) { "Sequence<T>" }
         body(Sequences) {
             """
-            return FilteringSequence(this, false, predicate)
+            return if (this is FilteringSequence<T>) this.filter(false, predicate) else FilteringSequence(this, false, predicate)
             """
         }
     }
@@ -66,7 +66,7 @@ fun mapping(): List<GenericFunction> {
         returns(Sequences) { "Sequence<R>" }
         doc(Sequences) { "Returns a sequence containing the results of applying the given [transform] function to each element of the original sequence." }
         body(Sequences) {
-            "return TransformingSequence(this, transform)"
+            "return if (this is TransformableSequence<T>) this.map(transform) else TransformingSequence(this, transform)"
         }
         include(Maps)
     }
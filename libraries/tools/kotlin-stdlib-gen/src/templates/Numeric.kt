@@ -7,6 +7,7 @@ fun numeric(): List<GenericFunction> {
 
     templates add f("sum()") {
         exclude(Strings)
+        include(SequencesOfPrimitives)
         buildFamilies.forEach { family -> onlyPrimitives(family, numericPrimitives) }
         doc { "Returns the sum of all elements in the collection." }
         returns("SUM")
@@ -25,6 +26,7 @@ fun numeric(): List<GenericFunction> {
 
     templates add f("average()") {
         exclude(Strings)
+        include(SequencesOfPrimitives)
         buildFamilies.forEach { family -> onlyPrimitives(family, numericPrimitives) }
         doc { "Returns an average value of elements in the collection."}
         returns("Double")
@@ -6,8 +6,9 @@ fun sequences(): List<GenericFunction> {
     val templates = arrayListOf<GenericFunction>()
 
     templates add f("asSequence()") {
-        include(Maps)
+        include(Maps, SequencesOfPrimitives)
         doc { "Returns a sequence from the given collection." }
+        doc(SequencesOfPrimitives) { "Returns a sequence of boxed values from the given primitive sequence." }
         returns("Sequence<T>")
         body {
             """
@@ -37,6 +38,155 @@ fun sequences(): List<GenericFunction> {
         }
     }
 
+    templates addAll PrimitiveType.sequencePrimitives.map { primitive ->
+        val sequenceType = primitive.name + "Sequence"
+        f("as$sequenceType()") {
+            only(ArraysOfPrimitives, RangesOfPrimitives, ProgressionsOfPrimitives)
+            buildFamilies.forEach { family -> onlyPrimitives(family, primitive) }
+            doc { "Returns a sequence of ${primitive.name} values from the given collection, which does not box them." }
+            returns(sequenceType)
+            body {
+                """
+                return object : $sequenceType {
+                    override fun iterator(): ${primitive.name}Iterator {
+                        return this@as$sequenceType.iterator()
+                    }
+                }
+                """
+            }
+        }
+    }
+
+    templates addAll PrimitiveType.sequencePrimitives.map { primitive ->
+        val sequenceType = primitive.name + "Sequence"
+        f("map(crossinline transform: (T) -> T)") {
+            only(SequencesOfPrimitives)
+            onlyPrimitives(SequencesOfPrimitives, primitive)
+            inline(true)
+            doc { "Returns a sequence containing the results of applying the given [transform] function to each element of the original sequence." }
+            returns("SELF")
+            body {
+                """
+                return object : $sequenceType {
+                    override fun iterator(): ${primitive.name}Iterator = object : ${primitive.name}Iterator() {
+                        val iterator = this@map.iterator()
+
+                        override fun next${primitive.name}(): ${primitive.name} {
+                            return transform(iterator.next${primitive.name}())
+                        }
+
+                        override fun hasNext(): Boolean {
+                            return iterator.hasNext()
+                        }
+                    }
+                }
+                """
+            }
+        }
+    }
+
+    templates addAll PrimitiveType.sequencePrimitives.map { primitive ->
+        f("filter(crossinline predicate: (T) -> Boolean)") {
+            only(SequencesOfPrimitives)
+            onlyPrimitives(SequencesOfPrimitives, primitive)
+            inline(true)
+            doc { "Returns a sequence containing all elements matching the given [predicate]." }
+            returns("SELF")
+            body { filteringPrimitiveSequence(primitive, "filter", "predicate(item)") }
+        }
+    }
+
+    templates addAll PrimitiveType.sequencePrimitives.map { primitive ->
+        f("filterNot(crossinline predicate: (T) -> Boolean)") {
+            only(SequencesOfPrimitives)
+            onlyPrimitives(SequencesOfPrimitives, primitive)
+            inline(true)
+            doc { "Returns a sequence containing all elements not matching the given [predicate]." }
+            returns("SELF")
+            body { filteringPrimitiveSequence(primitive, "filterNot", "!predicate(item)") }
+        }
+    }
+
+    templates add f("fold(initial: T, operation: (T, T) -> T)") {
+        only(SequencesOfPrimitives)
+        inline(true)
+
+        doc { "Accumulates value starting with [initial] value and applying [operation] from left to right to current accumulator value and each element." }
+        returns("T")
+        body {
+            """
+            var accumulator = initial
+            for (element in this) accumulator = operation(accumulator, element)
+            return accumulator
+            """
+        }
+    }
+
+    templates addAll PrimitiveType.sequencePrimitives.map { primitive ->
+        val arrayType = primitive.name + "Array"
+        f("to$arrayType()") {
+            only(SequencesOfPrimitives)
+            onlyPrimitives(SequencesOfPrimitives, primitive)
+            doc { "Returns an array of ${primitive.name} containing all of the elements of this sequence." }
+            returns(arrayType)
+            body {
+                """
+                var result = $arrayType(10)
+                var size = 0
+                for (element in this) {
+                    if (size == result.size())
+                        result = result.copyOf(size * 2)
+                    result[size++] = element
+                }
+                return if (size == result.size()) result else result.copyOf(size)
+                """
+            }
+        }
+    }
+
     return templates
 }
 
+/**
+ * The body of a lazy filtering operation on a primitive sequence. It's generated inline, so that the predicate is called
+ * with an unboxed value instead of through the generic function interface.
+ */
+private fun filteringPrimitiveSequence(primitive: PrimitiveType, functionName: String, condition: String): String {
+    val type = primitive.name
+    return """
+            return object : ${type}Sequence {
+                override fun iterator(): ${type}Iterator = object : ${type}Iterator() {
+                    val iterator = this@$functionName.iterator()
+                    var nextState: Int = -1 // -1 for unknown, 0 for done, 1 for continue
+                    var nextItem: $type = ZERO
+
+                    private fun calcNext() {
+                        while (iterator.hasNext()) {
+                            val item = iterator.next$type()
+                            if ($condition) {
+                                nextItem = item
+                                nextState = 1
+                                return
+                            }
+                        }
+                        nextState = 0
+                    }
+
+                    override fun next$type(): $type {
+                        if (nextState == -1)
+                            calcNext()
+                        if (nextState == 0)
+                            throw NoSuchElementException()
+                        nextState = -1
+                        return nextItem
+                    }
+
+                    override fun hasNext(): Boolean {
+                        if (nextState == -1)
+                            calcNext()
+                        return nextState == 1
+                    }
+                }
+            }
+            """
+}
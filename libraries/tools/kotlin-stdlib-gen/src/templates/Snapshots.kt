@@ -18,6 +18,12 @@ fun snapshots(): List<GenericFunction> {
             return collection
             """
         }
+        body(Sequences) {
+            """
+            pushValues { collection.add(it) }
+            return collection
+            """
+        }
     }
 
     templates add f("toSet()") {